@@ -16,20 +16,29 @@
 
 package com.consol.citrus.camel.endpoint;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
-import com.consol.citrus.messaging.Consumer;
+import com.consol.citrus.message.MessageSelectorBuilder;
+import com.consol.citrus.messaging.SelectiveConsumer;
 import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
+import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
 
 /**
+ * Consumer receives exchanges from Camel endpoint uri. Selective receive operations subscribe once to the endpoint
+ * uri and buffer all incoming exchanges so messages not matching the selector remain available for other
+ * receive operations. Once subscribed all further receive operations on this consumer read from that buffer.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
-public class CamelConsumer implements Consumer {
+public class CamelConsumer implements SelectiveConsumer {
     /** Endpoint configuration */
     private final CamelEndpointConfiguration endpointConfiguration;
 
@@ -39,6 +48,9 @@ public class CamelConsumer implements Consumer {
     /** Cached consumer template - only created once for this consumer */
     private ConsumerTemplate consumerTemplate;
 
+    /** Buffer of subscribed endpoint uri - only created once on first selective receive */
+    private volatile CamelExchangeBuffer exchangeBuffer;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(CamelConsumer.class);
 
@@ -57,8 +69,17 @@ public class CamelConsumer implements Consumer {
         return receive(context, endpointConfiguration.getTimeout());
     }
 
+    @Override
+    public Message receive(String selector, TestContext context) {
+        return receive(selector, context, endpointConfiguration.getTimeout());
+    }
+
     @Override
     public Message receive(TestContext context, long timeout) {
+        if (exchangeBuffer != null) {
+            return receive(null, context, timeout);
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Receiving message from camel endpoint: '" + endpointConfiguration.getEndpointUri() + "'");
         }
@@ -77,6 +98,66 @@ public class CamelConsumer implements Consumer {
         return message;
     }
 
+    @Override
+    public Message receive(String selector, TestContext context, long timeout) {
+        if (!StringUtils.hasText(selector) && exchangeBuffer == null) {
+            return receive(context, timeout);
+        }
+
+        String endpointName = endpointConfiguration.getEndpointUri();
+        if (StringUtils.hasText(selector)) {
+            endpointName += "(" + selector + ")";
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Receiving message from camel endpoint: '" + endpointName + "'");
+        }
+
+        Exchange exchange;
+        if (StringUtils.hasText(selector)) {
+            exchange = getExchangeBuffer().poll(new DispatchingMessageSelector(selector, context.getApplicationContext()),
+                    MessageSelectorBuilder.withString(selector).toKeyValueMap(), timeout);
+        } else {
+            exchange = getExchangeBuffer().poll(null, null, timeout);
+        }
+
+        if (exchange == null) {
+            throw new ActionTimeoutException("Action timed out while receiving message from camel endpoint '" + endpointName + "'");
+        }
+
+        log.info("Received message from camel endpoint: '" + endpointName + "'");
+
+        Message message = endpointConfiguration.getMessageConverter().convertInbound(exchange, endpointConfiguration, context);
+        context.onInboundMessage(message);
+
+        return message;
+    }
+
+    /**
+     * Subscribes to the endpoint uri with exchange buffer if not done yet. Subscription is done only once
+     * for this consumer and its lifecycle is bound to the Camel context.
+     * @return
+     */
+    protected synchronized CamelExchangeBuffer getExchangeBuffer() {
+        if (exchangeBuffer == null) {
+            CamelExchangeBuffer buffer = new CamelExchangeBuffer();
+
+            try {
+                org.apache.camel.Consumer consumer = endpointConfiguration.getCamelContext()
+                        .getEndpoint(endpointConfiguration.getEndpointUri())
+                        .createConsumer(buffer);
+                endpointConfiguration.getCamelContext().addService(consumer, true);
+                ServiceHelper.startService(consumer);
+            } catch (Exception e) {
+                throw new CitrusRuntimeException("Failed to subscribe to camel endpoint '" + endpointConfiguration.getEndpointUri() + "'", e);
+            }
+
+            exchangeBuffer = buffer;
+        }
+
+        return exchangeBuffer;
+    }
+
     /**
      * Creates new consumer template if not present yet. Create consumer template only once which is
      * mandatory for direct endpoints that do only support one single consumer at a time.
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.camel.endpoint;
+
+import com.consol.citrus.channel.selector.RootQNameMessageSelector;
+import com.consol.citrus.channel.selector.XPathEvaluatingMessageSelector;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Processor subscribed to a Camel endpoint that buffers all incoming exchanges in arrival order. Buffered exchanges
+ * are indexed by their header and property values so selective consumers are able to look up exchanges with
+ * header matching selectors without scanning the whole buffer. Selectors may also use XPath or root QName
+ * expressions as supported by {@link com.consol.citrus.channel.selector.DispatchingMessageSelector}.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class CamelExchangeBuffer implements Processor {
+
+    /** Buffered exchanges in arrival order */
+    private final Set<BufferedExchange> exchanges = new LinkedHashSet<>();
+
+    /** Header index: header name to header value to buffered exchanges in arrival order */
+    private final Map<String, Map<String, Set<BufferedExchange>>> headerIndex = new HashMap<>();
+
+    /** Lock guarding buffer and index */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signals arrival of new exchanges to waiting consumers */
+    private final Condition exchangeArrived = lock.newCondition();
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        add(exchange.copy());
+    }
+
+    /**
+     * Adds new exchange to this buffer and notifies waiting consumers.
+     * @param exchange
+     */
+    public void add(Exchange exchange) {
+        BufferedExchange buffered = new BufferedExchange(exchange);
+
+        lock.lock();
+        try {
+            exchanges.add(buffered);
+            for (Map.Entry<String, Object> header : buffered.headers.entrySet()) {
+                if (header.getValue() == null) {
+                    continue;
+                }
+
+                Map<String, Set<BufferedExchange>> values = headerIndex.get(header.getKey());
+                if (values == null) {
+                    values = new HashMap<>();
+                    headerIndex.put(header.getKey(), values);
+                }
+
+                Set<BufferedExchange> indexed = values.get(header.getValue().toString());
+                if (indexed == null) {
+                    indexed = new LinkedHashSet<>();
+                    values.put(header.getValue().toString(), indexed);
+                }
+
+                indexed.add(buffered);
+            }
+
+            exchangeArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the first exchange accepted by given message selector. Blocks until a matching
+     * exchange arrives or given timeout is exceeded. Returns null on timeout.
+     *
+     * @param selector message selector, null accepts any exchange
+     * @param matchingHeaders selector key value pairs used to narrow the candidates via header index
+     * @param timeout
+     * @return
+     */
+    public Exchange poll(MessageSelector selector, Map<String, String> matchingHeaders, long timeout) {
+        long nanosLeft = TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        lock.lock();
+        try {
+            BufferedExchange found = find(selector, matchingHeaders);
+            while (found == null && nanosLeft > 0) {
+                nanosLeft = exchangeArrived.awaitNanos(nanosLeft);
+                found = find(selector, matchingHeaders);
+            }
+
+            if (found == null) {
+                return null;
+            }
+
+            remove(found);
+            return found.exchange;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of currently buffered exchanges.
+     * @return
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return exchanges.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds first exchange accepted by message selector. Caller must hold the lock.
+     * @param selector
+     * @param matchingHeaders
+     * @return
+     */
+    private BufferedExchange find(MessageSelector selector, Map<String, String> matchingHeaders) {
+        for (BufferedExchange candidate : getCandidates(matchingHeaders)) {
+            if (selector == null || selector.accept(candidate.message)) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Narrows the buffered exchanges to the smallest index bucket of all plain header selector entries.
+     * Falls back to all buffered exchanges when selector holds no plain header entries.
+     * @param matchingHeaders
+     * @return
+     */
+    private Collection<BufferedExchange> getCandidates(Map<String, String> matchingHeaders) {
+        Collection<BufferedExchange> candidates = exchanges;
+
+        if (matchingHeaders == null) {
+            return candidates;
+        }
+
+        for (Map.Entry<String, String> matchingHeader : matchingHeaders.entrySet()) {
+            if (matchingHeader.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT) ||
+                    matchingHeader.getKey().equals(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT)) {
+                continue;
+            }
+
+            Map<String, Set<BufferedExchange>> values = headerIndex.get(matchingHeader.getKey());
+            Set<BufferedExchange> indexed = values != null ? values.get(matchingHeader.getValue()) : null;
+            if (indexed == null) {
+                return Collections.emptySet();
+            }
+
+            if (indexed.size() < candidates.size()) {
+                candidates = indexed;
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Removes exchange from buffer and header index. Caller must hold the lock.
+     * @param buffered
+     */
+    private void remove(BufferedExchange buffered) {
+        exchanges.remove(buffered);
+
+        for (Map.Entry<String, Object> header : buffered.headers.entrySet()) {
+            Map<String, Set<BufferedExchange>> values = headerIndex.get(header.getKey());
+            if (values == null || header.getValue() == null) {
+                continue;
+            }
+
+            Set<BufferedExchange> indexed = values.get(header.getValue().toString());
+            if (indexed != null) {
+                indexed.remove(buffered);
+
+                if (indexed.isEmpty()) {
+                    values.remove(header.getValue().toString());
+                }
+            }
+
+            if (values.isEmpty()) {
+                headerIndex.remove(header.getKey());
+            }
+        }
+    }
+
+    /**
+     * Buffered exchange holding a Spring message view on the exchange that message selectors are able to evaluate.
+     */
+    private static final class BufferedExchange {
+        private final Exchange exchange;
+        private final Map<String, Object> headers = new HashMap<>();
+        private final Message<?> message;
+
+        BufferedExchange(Exchange exchange) {
+            this.exchange = exchange;
+
+            org.apache.camel.Message camelMessage = exchange.hasOut() ? exchange.getOut() : exchange.getIn();
+            headers.putAll(exchange.getProperties());
+            headers.putAll(camelMessage.getHeaders());
+
+            String payload = camelMessage.getBody(String.class);
+            this.message = MessageBuilder.withPayload(payload != null ? payload : "")
+                    .copyHeaders(headers)
+                    .build();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.camel.Exchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import java.util.Map;
 
@@ -83,6 +84,23 @@ public class CamelSyncConsumer extends CamelConsumer implements ReplyProducer {
         return message;
     }
 
+    /**
+     * Synchronous exchanges block the Camel route until reply is sent so they are not buffered for selective
+     * receive operations. Falls back to plain receive ignoring the message selector.
+     * @param selector
+     * @param context
+     * @param timeout
+     * @return
+     */
+    @Override
+    public Message receive(String selector, TestContext context, long timeout) {
+        if (StringUtils.hasText(selector)) {
+            log.warn(String.format("Unable to receive selective on synchronous camel endpoint: '%s'", endpointConfiguration.getEndpointUri()));
+        }
+
+        return receive(context, timeout);
+    }
+
     @Override
     public void send(Message message, TestContext context) {
         Assert.notNull(message, "Message is empty - unable to send empty message");
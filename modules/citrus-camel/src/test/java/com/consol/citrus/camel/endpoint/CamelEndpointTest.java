@@ -17,8 +17,10 @@
 package com.consol.citrus.camel.endpoint;
 
 import com.consol.citrus.camel.message.CitrusCamelMessageHeaders;
+import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.SelectiveConsumer;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.apache.camel.*;
@@ -156,4 +158,45 @@ public class CamelEndpointTest extends AbstractTestNGUnitTest {
 
         verify(messageListeners).onOutboundMessage(requestMessage, context);
     }
+
+    @Test
+    public void testCamelEndpointSelectiveConsumer() throws Exception {
+        String endpointUri = "seda:news-feed";
+        CamelContext camelContext = new DefaultCamelContext();
+        camelContext.start();
+
+        try {
+            CamelEndpointConfiguration endpointConfiguration = new CamelEndpointConfiguration();
+            endpointConfiguration.setCamelContext(camelContext);
+            endpointConfiguration.setEndpointUri(endpointUri);
+
+            CamelEndpoint camelEndpoint = new CamelEndpoint(endpointConfiguration);
+            SelectiveConsumer consumer = (SelectiveConsumer) camelEndpoint.createConsumer();
+
+            try {
+                consumer.receive("operation = 'newsFeed'", context, 100L);
+                Assert.fail("Missing timeout exception");
+            } catch (ActionTimeoutException e) {
+                Assert.assertTrue(e.getMessage().contains("seda:news-feed(operation = 'newsFeed')"));
+            }
+
+            ProducerTemplate producerTemplate = camelContext.createProducerTemplate();
+            producerTemplate.sendBodyAndHeader(endpointUri, "Hello from Camel!", "operation", "greeting");
+            producerTemplate.sendBodyAndHeader(endpointUri, "Hello from Camel News!", "operation", "newsFeed");
+            producerTemplate.sendBodyAndHeader(endpointUri, "<news><title>Camel</title></news>", "operation", "newsFeed");
+
+            Message receivedMessage = consumer.receive("operation = 'newsFeed'", context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(String.class), "Hello from Camel News!");
+            Assert.assertEquals(receivedMessage.getHeader("operation"), "newsFeed");
+
+            receivedMessage = consumer.receive("xpath://news/title = 'Camel'", context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(String.class), "<news><title>Camel</title></news>");
+
+            receivedMessage = consumer.receive(context, 5000L);
+            Assert.assertEquals(receivedMessage.getPayload(String.class), "Hello from Camel!");
+            Assert.assertEquals(receivedMessage.getHeader("operation"), "greeting");
+        } finally {
+            camelContext.stop();
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.camel.endpoint;
+
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
+import com.consol.citrus.message.MessageSelectorBuilder;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class CamelExchangeBufferTest extends AbstractTestNGUnitTest {
+
+    private CamelContext camelContext = new DefaultCamelContext();
+
+    @Test
+    public void testSelectiveRetrieval() {
+        CamelExchangeBuffer buffer = new CamelExchangeBuffer();
+
+        buffer.add(createExchange("Hello Citrus!", "correlationId", "1"));
+        buffer.add(createExchange("Hello Camel!", "correlationId", "2"));
+        buffer.add(createExchange("Hello again Citrus!", "correlationId", "1"));
+
+        Assert.assertEquals(buffer.size(), 3);
+
+        Assert.assertEquals(poll(buffer, "correlationId = '2'", 0L).getIn().getBody(), "Hello Camel!");
+        Assert.assertEquals(poll(buffer, "correlationId = '1'", 0L).getIn().getBody(), "Hello Citrus!");
+        Assert.assertNull(poll(buffer, "correlationId = '2'", 0L));
+        Assert.assertNull(poll(buffer, "unknown = '1'", 0L));
+
+        Assert.assertEquals(buffer.poll(null, null, 0L).getIn().getBody(), "Hello again Citrus!");
+        Assert.assertEquals(buffer.size(), 0);
+    }
+
+    @Test
+    public void testBlockingRetrieval() throws Exception {
+        final CamelExchangeBuffer buffer = new CamelExchangeBuffer();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Exchange> result = executor.submit(new Callable<Exchange>() {
+                @Override
+                public Exchange call() throws Exception {
+                    return poll(buffer, "correlationId = '2'", 5000L);
+                }
+            });
+
+            buffer.add(createExchange("Hello Citrus!", "correlationId", "1"));
+            buffer.add(createExchange("Hello Camel!", "correlationId", "2"));
+
+            Assert.assertEquals(result.get(5000L, TimeUnit.MILLISECONDS).getIn().getBody(), "Hello Camel!");
+            Assert.assertEquals(buffer.size(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimedRetrieval() {
+        CamelExchangeBuffer buffer = new CamelExchangeBuffer();
+        buffer.add(createExchange("Hello Citrus!", "correlationId", "1"));
+
+        long start = System.currentTimeMillis();
+        Assert.assertNull(poll(buffer, "correlationId = '2'", 200L));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 150L);
+        Assert.assertEquals(buffer.size(), 1);
+    }
+
+    private Exchange poll(CamelExchangeBuffer buffer, String selector, long timeout) {
+        return buffer.poll(new DispatchingMessageSelector(selector, applicationContext),
+                MessageSelectorBuilder.withString(selector).toKeyValueMap(), timeout);
+    }
+
+    private Exchange createExchange(String body, String headerName, String headerValue) {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(body);
+        exchange.getIn().setHeader(headerName, headerValue);
+        return exchange;
+    }
+}
@@ -274,6 +274,7 @@ public class TestCase extends AbstractActionContainer implements BeanNameAware {
             }
 
             afterTest(context);
+            context.closeMessageStore();
         }
     }
 
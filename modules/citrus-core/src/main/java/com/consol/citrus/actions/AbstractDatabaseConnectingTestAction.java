@@ -26,6 +26,7 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.core.support.JdbcDaoSupport;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -51,6 +52,9 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
     
     /** List of SQL statements */
     protected List<String> statements = new ArrayList<>();
+
+    /** Indexes of statements read from file resource that hold placeholders, null for inline statements */
+    private BitSet dynamicContent;
     
     /** This actions explicit test actor */
     private TestActor actor;
@@ -90,8 +94,7 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
      * @return list of SQL statements.
      */
     protected List<String> createStatementsFromFileResource(TestContext context) {
-        return SqlUtils.createStatementsFromFileResource(new PathMatchingResourcePatternResolver()
-                .getResource(context.replaceDynamicContentInString(sqlResourcePath)));
+        return createStatementsFromFileResource(context, null);
     }
 
     /**
@@ -102,8 +105,29 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
      * @return list of SQL statements.
      */
     protected List<String> createStatementsFromFileResource(TestContext context, SqlUtils.LastScriptLineDecorator lineDecorator) {
-        return SqlUtils.createStatementsFromFileResource(new PathMatchingResourcePatternResolver()
-                .getResource(context.replaceDynamicContentInString(sqlResourcePath)), lineDecorator);
+        BitSet placeholders = new BitSet();
+        List<String> stmts = SqlUtils.createStatementsFromFileResource(new PathMatchingResourcePatternResolver()
+                .getResource(context.replaceDynamicContentInString(sqlResourcePath)), lineDecorator, placeholders);
+        dynamicContent = placeholders;
+        return stmts;
+    }
+
+    /**
+     * Replaces test variables and functions in statement at given index. Statements read from file resource
+     * are skipped when the SQL script parser has not marked them as holding placeholders.
+     *
+     * @param index the statement index.
+     * @param stmt the statement.
+     * @param context the current test context.
+     * @return
+     */
+    protected String replaceDynamicContent(int index, String stmt, TestContext context) {
+        BitSet placeholders = dynamicContent;
+        if (placeholders != null && !placeholders.get(index)) {
+            return stmt;
+        }
+
+        return context.replaceDynamicContentInString(stmt);
     }
     
     /**
@@ -145,6 +169,7 @@ public abstract class AbstractDatabaseConnectingTestAction extends JdbcDaoSuppor
      */
     public AbstractDatabaseConnectingTestAction setStatements(List<String> statements) {
         this.statements = statements;
+        this.dynamicContent = null;
         return this;
     }
     
@@ -53,7 +53,7 @@ public class ExecutePLSQLAction extends AbstractDatabaseConnectingTestAction {
     @Override
     public void doExecute(TestContext context) {
         if (StringUtils.hasText(script)) {
-            statements = createStatementsFromScript(context);
+            setStatements(createStatementsFromScript(context));
         } else if (StringUtils.hasText(sqlResourcePath)) {
             statements = createStatementsFromFileResource(context, new SqlUtils.LastScriptLineDecorator() {
                 @Override
@@ -68,9 +68,10 @@ public class ExecutePLSQLAction extends AbstractDatabaseConnectingTestAction {
             });
         }
 
-        for (String stmt : statements) {
+        for (int i = 0; i < statements.size(); i++) {
+            String stmt = statements.get(i);
             try {
-                stmt = context.replaceDynamicContentInString(stmt.trim());
+                stmt = replaceDynamicContent(i, stmt.trim(), context);
 
                 if (log.isDebugEnabled()) {
                     log.debug("Executing PLSQL statement: " + stmt);
@@ -18,6 +18,13 @@ package com.consol.citrus.actions;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Test action execute SQL statements. Use this action when executing
@@ -25,6 +32,9 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
  * embedded inline in the test case description or given by an external file resource.
  * 
  * When executing SQL query statements (SELECT) see {@link ExecuteSQLQueryAction}.
+ *
+ * Optional batch size groups statements to JDBC batches that are sent to the database in a single round trip. When
+ * transaction manager is set all statements are executed within one single transaction.
  * 
  * @author Christoph Deppisch, Jan Szczepanski
  * @since 2006
@@ -33,6 +43,12 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     /** boolean flag marking that possible SQL errors will be ignored */
     private boolean ignoreErrors = false;
 
+    /** Number of statements sent to the database in one JDBC batch, zero or less executes statements one by one */
+    private int batchSize = 0;
+
+    /** Optional transaction manager wrapping all statements in one single transaction */
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor.
      */
@@ -41,18 +57,41 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     }
 
     @Override
-    public void doExecute(TestContext context) {
+    public void doExecute(final TestContext context) {
         if (statements.isEmpty()) {
             statements = createStatementsFromFileResource(context);
         }
 
-        for (String stmt : statements)  {
-            try {
-                stmt = context.replaceDynamicContentInString(stmt.trim());
+        if (transactionManager != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Executing SQL statements in transaction");
+            }
 
-                if (stmt.endsWith(";")) {
-                    stmt = stmt.substring(0, stmt.length()-1);
+            new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    executeStatements(context);
                 }
+            });
+        } else {
+            executeStatements(context);
+        }
+    }
+
+    /**
+     * Executes all statements either one by one or in JDBC batches.
+     * @param context
+     */
+    protected void executeStatements(TestContext context) {
+        if (batchSize > 0) {
+            executeBatches(context);
+            return;
+        }
+
+        for (int i = 0; i < statements.size(); i++)  {
+            String stmt = statements.get(i);
+            try {
+                stmt = prepareStatement(i, stmt, context);
 
                 if (log.isDebugEnabled()) {
                     log.debug("Executing SQL statement: " + stmt);
@@ -72,6 +111,71 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         }
     }
 
+    /**
+     * Executes statements in JDBC batches of given batch size. Errors are reported per batch.
+     * @param context
+     */
+    private void executeBatches(TestContext context) {
+        List<String> batch = new ArrayList<>(Math.min(batchSize, statements.size()));
+        int batchCount = 0;
+        int batchStart = 1;
+        int executed = 0;
+
+        for (int i = 0; i < statements.size(); i++) {
+            try {
+                batch.add(prepareStatement(i, statements.get(i), context));
+            } catch (Exception e) {
+                if (ignoreErrors) {
+                    log.error("Error while preparing statement " + statements.get(i) + " " + e.getLocalizedMessage());
+                } else {
+                    throw new CitrusRuntimeException(e);
+                }
+            }
+
+            if (batch.size() == batchSize || (i == statements.size() - 1 && !batch.isEmpty())) {
+                batchCount++;
+
+                try {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Executing SQL batch %s with statements %s to %s", batchCount, batchStart, i + 1));
+                    }
+
+                    getJdbcTemplate().batchUpdate(batch.toArray(new String[batch.size()]));
+                    executed += batch.size();
+                } catch (Exception e) {
+                    String message = String.format("Error while executing SQL batch %s with statements %s to %s", batchCount, batchStart, i + 1);
+                    if (ignoreErrors) {
+                        log.error(message + " " + e.getLocalizedMessage());
+                    } else {
+                        throw new CitrusRuntimeException(message, e);
+                    }
+                }
+
+                batch.clear();
+                batchStart = i + 2;
+            }
+        }
+
+        log.info(String.format("SQL batch execution successful for %s of %s statements in %s batches", executed, statements.size(), batchCount));
+    }
+
+    /**
+     * Replaces dynamic content and removes trailing semicolon.
+     * @param index
+     * @param stmt
+     * @param context
+     * @return
+     */
+    private String prepareStatement(int index, String stmt, TestContext context) {
+        stmt = replaceDynamicContent(index, stmt.trim(), context);
+
+        if (stmt.endsWith(";")) {
+            stmt = stmt.substring(0, stmt.length()-1);
+        }
+
+        return stmt;
+    }
+
     /**
      * Ignore errors during execution.
      * @param ignoreErrors boolean flag to set
@@ -88,4 +192,38 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
     public boolean isIgnoreErrors() {
         return ignoreErrors;
     }
+
+    /**
+     * Gets the batch size.
+     * @return
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of statements sent to the database in one JDBC batch.
+     * @param batchSize
+     */
+    public ExecuteSQLAction setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Gets the transaction manager.
+     * @return
+     */
+    public PlatformTransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    /**
+     * Sets the transaction manager wrapping all statements in one single transaction.
+     * @param transactionManager
+     */
+    public ExecuteSQLAction setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+        return this;
+    }
 }
@@ -28,8 +28,12 @@ import org.slf4j.LoggerFactory;
 import org.apache.commons.codec.binary.Base64;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.*;
 import org.springframework.util.CollectionUtils;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -39,6 +43,9 @@ import java.util.Map.Entry;
  * The class enables you to query data result sets from a
  * database. Validation will happen on column basis inside the result set.
  *
+ * Result sets are streamed row by row so column value validation and variable extraction run incrementally. Only
+ * script validation needs the complete result set which is then collected in memory.
+ *
  * @author Christoph Deppisch, Jan Zahalka
  * @since 2008
  */
@@ -52,6 +59,9 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
     /** Script validation context */
     private ScriptValidationContext scriptValidationContext;
 
+    /** Number of rows fetched from the database in one round trip, zero or less uses the driver default */
+    private int fetchSize = 0;
+
     /** SQL result set script validator */
     @Autowired(required = false)
     private SqlResultSetScriptValidator validator;
@@ -76,14 +86,12 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
         }
 
         try {
-            //for control result set validation
-            Map<String, List<String>> columnValuesMap = new HashMap<String, List<String>>();
-            //for groovy script validation
-            List<Map<String, Object>> allResultRows = new ArrayList<Map<String, Object>>();
+            ResultSetValidationHandler resultSetHandler = new ResultSetValidationHandler(context);
 
-            for (String stmt : statements) {
+            for (int i = 0; i < statements.size(); i++) {
+                String stmt = statements.get(i);
                 validateSqlStatement(stmt);
-                stmt = context.replaceDynamicContentInString(stmt.trim());
+                stmt = replaceDynamicContent(i, stmt.trim(), context);
 
                 if (stmt.endsWith(";")) {
                     stmt = stmt.substring(0, stmt.length()-1);
@@ -92,24 +100,21 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
                 if (log.isDebugEnabled()) {
                     log.debug("Executing SQL query: " + stmt);
                 }
-                List<Map<String, Object>> results = getJdbcTemplate().queryForList(stmt);
 
-                log.info("SQL query execution successful");
+                executeQuery(stmt, resultSetHandler);
 
-                allResultRows.addAll(results);
-                fillColumnValuesMap(results, columnValuesMap);
+                log.info("SQL query execution successful");
             }
 
             // perform validation
-            performValidation(columnValuesMap, allResultRows, context);
+            performValidation(resultSetHandler, context);
 
             // fill the request test context variables (extract tag)
-            fillContextVariables(columnValuesMap, context);
+            fillContextVariables(resultSetHandler, context);
 
             // legacy: save all columns as variables TODO: remove in major version upgrade
-            for (Entry<String, List<String>> column : columnValuesMap.entrySet()) {
-                List<String> columnValues = column.getValue();
-                context.setVariable(column.getKey().toUpperCase(), columnValues.get(0) == null ? NULL_VALUE : columnValues.get(0));
+            for (Entry<String, String> column : resultSetHandler.getFirstValues().entrySet()) {
+                context.setVariable(column.getKey().toUpperCase(), column.getValue() == null ? NULL_VALUE : column.getValue());
             }
         } catch (DataAccessException e) {
             log.error("Failed to execute SQL statement", e);
@@ -117,20 +122,38 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
         }
     }
 
+    /**
+     * Executes query and streams result rows to given row callback handler. Uses custom fetch size if set.
+     * @param stmt
+     * @param rowCallbackHandler
+     */
+    private void executeQuery(String stmt, RowCallbackHandler rowCallbackHandler) {
+        if (fetchSize > 0) {
+            getJdbcTemplate().query(stmt, new PreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps) throws SQLException {
+                    ps.setFetchSize(fetchSize);
+                }
+            }, rowCallbackHandler);
+        } else {
+            getJdbcTemplate().query(stmt, rowCallbackHandler);
+        }
+    }
+
     /**
      * Fills the (requested) test context variables with the db result values
-     * @param columnValuesMap the map containing column names --> list of result values
+     * @param resultSetHandler the result set handler holding extracted column values
      * @param context the test context the variables are stored to
      * @throws CitrusRuntimeException if requested column name was not found
      */
-    private void fillContextVariables(Map<String, List<String>> columnValuesMap, TestContext context)
+    private void fillContextVariables(ResultSetValidationHandler resultSetHandler, TestContext context)
             throws CitrusRuntimeException {
         for (Entry<String, String> variableEntry : extractVariables.entrySet()) {
             String columnName = variableEntry.getKey();
-            if (columnValuesMap.containsKey(columnName.toLowerCase())) {
-                context.setVariable(variableEntry.getValue(), constructVariableValue(columnValuesMap.get(columnName.toLowerCase())));
-            } else if (columnValuesMap.containsKey(columnName.toUpperCase())) {
-                context.setVariable(variableEntry.getValue(), constructVariableValue(columnValuesMap.get(columnName.toUpperCase())));
+            List<String> columnValues = resultSetHandler.getExtractedValues(columnName);
+
+            if (columnValues != null) {
+                context.setVariable(variableEntry.getValue(), constructVariableValue(columnValues));
             } else {
                 throw new CitrusRuntimeException("Failed to create variables from database values! " +
                         "Unable to find column '" + columnName + "' in database result set");
@@ -139,28 +162,15 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
     }
 
     /**
-     * Form a Map object which contains all columns of the result as keys
-     * and a List of row values as values of the Map
-     * @param results result map from last jdbc query execution
-     * @param columnValuesMap map holding all result columns and corresponding values
+     * Converts column value to string representation. Binary values are Base64 encoded.
+     * @param value
+     * @return
      */
-    private void fillColumnValuesMap(List<Map<String, Object>> results, Map<String, List<String>> columnValuesMap) {
-        for (Map<String, Object> row : results) {
-            for (Entry<String, Object> column : row.entrySet()) {
-                String columnValue;
-                String columnName = column.getKey();
-                if (!columnValuesMap.containsKey(columnName)) {
-                    columnValuesMap.put(columnName, new ArrayList<String>());
-                }
-
-                if (column.getValue() instanceof byte[]) {
-                    columnValue = Base64.encodeBase64String((byte[]) column.getValue());
-                } else {
-                    columnValue = column.getValue() == null ? null : column.getValue().toString();
-                }
-
-                columnValuesMap.get(columnName).add((columnValue));
-            }
+    private static String getColumnValue(Object value) {
+        if (value instanceof byte[]) {
+            return Base64.encodeBase64String((byte[]) value);
+        } else {
+            return value == null ? null : value.toString();
         }
     }
 
@@ -205,61 +215,226 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
 
     /**
      * Validates the database result set. At first script validation is done (if any was given).
-     * Afterwards the control result set validation is performed.
+     * Afterwards the control result set validation results are evaluated.
      *
-     * @param columnValuesMap map containing column names as keys and list of string as retrieved values from db
-     * @param allResultRows list of all result rows retrieved from database
-     * @return success flag
+     * @param resultSetHandler the result set handler that has processed all result rows
+     * @param context
      * @throws UnknownElementException
      * @throws ValidationException
      */
-    private void performValidation(final Map<String, List<String>> columnValuesMap,
-            List<Map<String, Object>> allResultRows, TestContext context)
+    private void performValidation(ResultSetValidationHandler resultSetHandler, TestContext context)
             throws UnknownElementException, ValidationException {
         // apply script validation if specified
         if (scriptValidationContext != null) {
-            getScriptValidator().validateSqlResultSet(allResultRows, scriptValidationContext, context);
+            getScriptValidator().validateSqlResultSet(resultSetHandler.getAllResultRows(), scriptValidationContext, context);
         }
 
         //now apply control set validation if specified
         if (CollectionUtils.isEmpty(controlResultSet)) {
             return;
         }
-        performControlResultSetValidation(columnValuesMap, context);
+        resultSetHandler.verifyControlResultSet();
         log.info("SQL query validation successful: All values OK");
     }
 
-    private void performControlResultSetValidation(final Map<String, List<String>> columnValuesMap, TestContext context)
-            throws CitrusRuntimeException {
-        for (Entry<String, List<String>> controlEntry : controlResultSet.entrySet()) {
-            String columnName = controlEntry.getKey();
-
-            if (columnValuesMap.containsKey(columnName.toLowerCase())) {
-                columnName = columnName.toLowerCase();
-            } else if (columnValuesMap.containsKey(columnName.toUpperCase())) {
-                columnName = columnName.toUpperCase();
-            } else if (!columnValuesMap.containsKey(columnName)) {
-                throw new CitrusRuntimeException("Could not find column '" + columnName + "' in SQL result set");
+    /**
+     * Resolves result set column name for given name. Lower case and upper case column names take
+     * precedence over the exact column name.
+     * @param columnName
+     * @param columnNames
+     * @param exactMatch
+     * @return the matching column name or null if not present.
+     */
+    private static String resolveColumnName(String columnName, Set<String> columnNames, boolean exactMatch) {
+        if (columnNames.contains(columnName.toLowerCase())) {
+            return columnName.toLowerCase();
+        } else if (columnNames.contains(columnName.toUpperCase())) {
+            return columnName.toUpperCase();
+        } else if (exactMatch && columnNames.contains(columnName)) {
+            return columnName;
+        }
+
+        return null;
+    }
+
+    /**
+     * Row callback handler validates control column values and collects extracted column values row by row. The
+     * complete result set is only kept in memory when script validation needs it.
+     */
+    private class ResultSetValidationHandler implements RowCallbackHandler {
+        /** Test context */
+        private final TestContext context;
+
+        /** Maps each result row to column map */
+        private final ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+
+        /** All result rows for script validation */
+        private final List<Map<String, Object>> allResultRows = new ArrayList<>();
+
+        /** Number of values per column */
+        private final Map<String, Integer> rowCounts = new LinkedHashMap<>();
+
+        /** First value per column */
+        private final Map<String, String> firstValues = new LinkedHashMap<>();
+
+        /** Resolved result set column names for control columns */
+        private final Map<String, String> controlColumns = new HashMap<>();
+
+        /** First validation error per control column */
+        private final Map<String, RuntimeException> validationErrors = new HashMap<>();
+
+        /** Resolved result set column names for extracted columns */
+        private final Map<String, String> extractColumns = new HashMap<>();
+
+        /** Column values for extracted columns */
+        private final Map<String, List<String>> extractedValues = new HashMap<>();
+
+        /** Number of processed rows */
+        private int rowNum = 0;
+
+        ResultSetValidationHandler(TestContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Map<String, Object> row = rowMapper.mapRow(rs, rowNum++);
+
+            if (scriptValidationContext != null) {
+                allResultRows.add(row);
+            }
+
+            Set<String> columnNames = new HashSet<>(row.keySet());
+            resolveColumns(columnNames);
+
+            for (Entry<String, Object> column : row.entrySet()) {
+                String columnName = column.getKey();
+                String columnValue = getColumnValue(column.getValue());
+
+                Integer rowCount = rowCounts.get(columnName);
+                int index = rowCount == null ? 0 : rowCount;
+                rowCounts.put(columnName, index + 1);
+
+                if (index == 0) {
+                    firstValues.put(columnName, columnValue);
+                }
+
+                for (Entry<String, List<String>> controlEntry : controlResultSet.entrySet()) {
+                    if (columnName.equals(controlColumns.get(controlEntry.getKey()))) {
+                        validateColumnValue(controlEntry.getKey(), columnName, controlEntry.getValue(), index, columnValue);
+                    }
+                }
+
+                for (Entry<String, String> extractColumn : extractColumns.entrySet()) {
+                    if (columnName.equals(extractColumn.getValue())) {
+                        extractedValues.get(extractColumn.getKey()).add(columnValue);
+                    }
+                }
             }
+        }
 
-            List<String> resultColumnValues = columnValuesMap.get(columnName);
-            List<String> controlColumnValues = controlEntry.getValue();
+        /**
+         * Resolves control and extract column names that are not resolved yet with given result column names.
+         * @param columnNames
+         */
+        private void resolveColumns(Set<String> columnNames) {
+            if (controlColumns.size() < controlResultSet.size()) {
+                for (String controlColumn : controlResultSet.keySet()) {
+                    if (!controlColumns.containsKey(controlColumn)) {
+                        String columnName = resolveColumnName(controlColumn, columnNames, true);
+                        if (columnName != null) {
+                            controlColumns.put(controlColumn, columnName);
+                        }
+                    }
+                }
+            }
 
-            // first check size of column values (representing number of allResultRows in result set)
-            if (resultColumnValues.size() != controlColumnValues.size()) {
-                throw new CitrusRuntimeException("Validation failed for column: '" +  columnName + "' " +
-                        "expected rows count: " + controlColumnValues.size() + " but was " + resultColumnValues.size());
+            if (extractColumns.size() < extractVariables.size()) {
+                for (String extractColumn : extractVariables.keySet()) {
+                    if (!extractColumns.containsKey(extractColumn)) {
+                        String columnName = resolveColumnName(extractColumn, columnNames, false);
+                        if (columnName != null) {
+                            extractColumns.put(extractColumn, columnName);
+                            extractedValues.put(extractColumn, new ArrayList<String>());
+                        }
+                    }
+                }
             }
+        }
 
-            Iterator<String> it = resultColumnValues.iterator();
-            for (String controlValue : controlColumnValues) {
-                String resultValue = it.next();
-                //check if controlValue is variable or function (and resolve it)
-                controlValue = context.replaceDynamicContentInString(controlValue);
+        /**
+         * Validates single column value with respective control value. Validation errors are kept
+         * and reported after all rows are processed in order to give row count mismatches precedence.
+         * @param controlColumn
+         * @param columnName
+         * @param controlValues
+         * @param index
+         * @param resultValue
+         */
+        private void validateColumnValue(String controlColumn, String columnName, List<String> controlValues, int index, String resultValue) {
+            if (index >= controlValues.size() || validationErrors.containsKey(controlColumn)) {
+                return;
+            }
 
+            try {
+                //check if controlValue is variable or function (and resolve it)
+                String controlValue = context.replaceDynamicContentInString(controlValues.get(index));
                 validateSingleValue(columnName, controlValue, resultValue, context);
+            } catch (RuntimeException e) {
+                validationErrors.put(controlColumn, e);
             }
         }
+
+        /**
+         * Verifies control result set validation results. Checks column presence, row count and column values.
+         */
+        void verifyControlResultSet() {
+            for (Entry<String, List<String>> controlEntry : controlResultSet.entrySet()) {
+                String columnName = controlColumns.get(controlEntry.getKey());
+
+                if (columnName == null) {
+                    throw new CitrusRuntimeException("Could not find column '" + controlEntry.getKey() + "' in SQL result set");
+                }
+
+                int rowCount = rowCounts.get(columnName);
+                List<String> controlColumnValues = controlEntry.getValue();
+
+                // first check size of column values (representing number of allResultRows in result set)
+                if (rowCount != controlColumnValues.size()) {
+                    throw new CitrusRuntimeException("Validation failed for column: '" +  columnName + "' " +
+                            "expected rows count: " + controlColumnValues.size() + " but was " + rowCount);
+                }
+
+                if (validationErrors.containsKey(controlEntry.getKey())) {
+                    throw validationErrors.get(controlEntry.getKey());
+                }
+            }
+        }
+
+        /**
+         * Gets the extracted values for given column or null if column is not present in result set.
+         * @param columnName
+         * @return
+         */
+        List<String> getExtractedValues(String columnName) {
+            return extractedValues.get(columnName);
+        }
+
+        /**
+         * Gets the first value of each column in result set.
+         * @return
+         */
+        Map<String, String> getFirstValues() {
+            return firstValues;
+        }
+
+        /**
+         * Gets all result rows.
+         * @return
+         */
+        List<Map<String, Object>> getAllResultRows() {
+            return allResultRows;
+        }
     }
 
     /**
@@ -400,4 +575,21 @@ public class ExecuteSQLQueryAction extends AbstractDatabaseConnectingTestAction
     public ScriptValidationContext getScriptValidationContext() {
         return scriptValidationContext;
     }
+
+    /**
+     * Gets the fetch size.
+     * @return
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database in one round trip.
+     * @param fetchSize
+     */
+    public ExecuteSQLQueryAction setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
 }
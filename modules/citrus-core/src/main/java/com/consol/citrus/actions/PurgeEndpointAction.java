@@ -33,10 +33,16 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Action purges all messages from a message endpoint. Action receives
  * a list of endpoint objects or a list of endpoint names that are resolved dynamically at runtime.
+ *
+ * Endpoints are purged concurrently on the task executor of the test context with a limited number of endpoints purged
+ * at the same time. Message selector and endpoint names are resolved before purging starts, each concurrently purged
+ * endpoint uses its own child test context. Each endpoint consumer drains messages until message receive timeout is
+ * reached. Number of purged messages per endpoint is available after execution.
  * 
  * @author Christoph Deppisch
  * @since 2.4
@@ -60,8 +66,14 @@ public class PurgeEndpointAction extends AbstractTestAction implements BeanFacto
     /** Time to wait until timeout in ms */
     private long receiveTimeout = 100;
 
-    /** Wait some time between message consumption in ms */
-    private long sleepTime = 350;
+    /** Optional time to wait between message consumption in ms, no pause by default */
+    private long sleepTime = 0;
+
+    /** Maximum number of endpoints purged concurrently */
+    private int concurrency = 4;
+
+    /** Number of purged messages per endpoint name of last execution */
+    private volatile Map<String, Integer> purgedMessages = Collections.emptyMap();
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(PurgeEndpointAction.class);
@@ -74,20 +86,76 @@ public class PurgeEndpointAction extends AbstractTestAction implements BeanFacto
     }
 
     @Override
-    public void doExecute(TestContext context) {
+    public void doExecute(final TestContext context) {
         if (log.isDebugEnabled()) {
             log.debug("Purging message endpoints ...");
         }
 
-        for (Endpoint endpoint : endpoints) {
-            purgeEndpoint(endpoint, context);
-        }
+        final String selector = buildMessageSelector(context);
 
+        List<Endpoint> purgeEndpoints = new ArrayList<>(endpoints);
         for (String endpointName : endpointNames) {
-            purgeEndpoint(resolveEndpointName(endpointName), context);
+            purgeEndpoints.add(resolveEndpointName(endpointName));
+        }
+
+        List<Integer> purged = new ArrayList<>();
+        if (Math.min(concurrency, purgeEndpoints.size()) <= 1) {
+            for (Endpoint endpoint : purgeEndpoints) {
+                purged.add(purgeEndpoint(endpoint, selector, context));
+            }
+        } else {
+            List<Callable<Integer>> purgeTasks = new ArrayList<>();
+            for (final Endpoint endpoint : purgeEndpoints) {
+                final TestContext purgeContext = context.createChildContext();
+                purgeTasks.add(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        return purgeEndpoint(endpoint, selector, purgeContext);
+                    }
+                });
+            }
+
+            List<Future<Integer>> results = context.getTaskExecutor().invokeAll(purgeTasks, concurrency);
+            try {
+                for (Future<Integer> result : results) {
+                    purged.add(getPurgeResult(result));
+                }
+            } finally {
+                for (Future<Integer> result : results) {
+                    result.cancel(true);
+                }
+            }
+        }
+
+        Map<String, Integer> purgedByName = new LinkedHashMap<>();
+        StringBuilder report = new StringBuilder();
+        for (int i = 0; i < purged.size(); i++) {
+            purgedByName.put(purgeEndpoints.get(i).getName(), purged.get(i));
+            report.append(i > 0 ? ", " : "").append(purgeEndpoints.get(i).getName()).append("=").append(purged.get(i));
         }
 
-        log.info("Purged message endpoints");
+        purgedMessages = Collections.unmodifiableMap(purgedByName);
+        log.info("Purged message endpoints: " + report.toString());
+    }
+
+    /**
+     * Gets number of purged messages from purge task result.
+     * @param result
+     * @return
+     */
+    private int getPurgeResult(Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while purging message endpoints", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CitrusRuntimeException) {
+                throw (CitrusRuntimeException) e.getCause();
+            }
+
+            throw new CitrusRuntimeException(e.getCause());
+        }
     }
 
     /**
@@ -95,9 +163,11 @@ public class PurgeEndpointAction extends AbstractTestAction implements BeanFacto
      * that queues messages.
      * 
      * @param endpoint
+     * @param selector
      * @param context
+     * @return number of purged messages
      */
-    private void purgeEndpoint(Endpoint endpoint, TestContext context) {
+    private int purgeEndpoint(Endpoint endpoint, String selector, TestContext context) {
         if (log.isDebugEnabled()) {
             log.debug("Try to purge message endpoint " + endpoint.getName());
         }
@@ -106,7 +176,6 @@ public class PurgeEndpointAction extends AbstractTestAction implements BeanFacto
         Consumer messageConsumer = endpoint.createConsumer();
         Message message;
         do {
-            String selector = buildMessageSelector(context);
             try {
                 if (StringUtils.hasText(selector) && messageConsumer instanceof SelectiveConsumer) {
                     message = (receiveTimeout >= 0) ? ((SelectiveConsumer) messageConsumer).receive(selector, context, receiveTimeout) : ((SelectiveConsumer) messageConsumer).receive(selector, context);
@@ -124,17 +193,22 @@ public class PurgeEndpointAction extends AbstractTestAction implements BeanFacto
                 log.debug("Removed message from endpoint " + endpoint.getName());
                 messagesPurged++;
 
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    log.warn("Interrupted during wait", e);
+                if (sleepTime > 0) {
+                    try {
+                        Thread.sleep(sleepTime);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CitrusRuntimeException("Interrupted while purging endpoint " + endpoint.getName(), e);
+                    }
                 }
             }
         } while (message != null);
 
         if (log.isDebugEnabled()) {
-            log.debug("Purged " + messagesPurged + " messages from endpoint");
+            log.debug("Purged " + messagesPurged + " messages from endpoint " + endpoint.getName());
         }
+
+        return messagesPurged;
     }
 
     /**
@@ -265,7 +339,33 @@ public class PurgeEndpointAction extends AbstractTestAction implements BeanFacto
     }
 
     /**
-     * Sets the sleepTime.
+     * Gets the number of purged messages per endpoint name of the last execution.
+     * @return
+     */
+    public Map<String, Integer> getPurgedMessages() {
+        return purgedMessages;
+    }
+
+    /**
+     * Gets the maximum number of endpoints purged concurrently.
+     * @return
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the maximum number of endpoints purged concurrently.
+     * @param concurrency
+     */
+    public PurgeEndpointAction setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets the time to pause after each purged message. Default is no pause, previous versions paused 350 milliseconds
+     * after each message.
      * @param sleepTime the sleepTime to set
      */
     public void setSleepTime(long sleepTime) {
@@ -27,7 +27,6 @@ import com.consol.citrus.variable.VariableExtractor;
 import com.consol.citrus.variable.dictionary.DataDictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
@@ -100,8 +99,7 @@ public class SendMessageAction extends AbstractTestAction {
         if (forkMode) {
             log.debug("Forking message sending action ...");
 
-            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
-            taskExecutor.execute(new Runnable() {
+            context.getTaskExecutor().execute(new Runnable() {
                 public void run() {
                     try {
                         messageEndpoint.createProducer().send(message, context);
@@ -19,13 +19,18 @@ package com.consol.citrus.actions;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
+import com.consol.citrus.xml.XsltTemplatesCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.xml.transform.StringResult;
+import org.springframework.util.CollectionUtils;
 import org.springframework.xml.transform.StringSource;
 
 import javax.xml.transform.*;
+import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
 
 
 /**
@@ -33,6 +38,12 @@ import java.io.IOException;
  * with a XSLT document(specified inline or from external file resource)
  * and puts the result in the specified variable.
  *
+ * Stylesheets are compiled only once and held in a {@link XsltTemplatesCache}. The cache is either set explicitly,
+ * looked up in the Spring application context or a default cache shared by all transform actions is used.
+ *
+ * In streaming mode the external XML document resource is passed to the transformer as stream without loading the whole
+ * document to memory first. Test variables in the XML document are not replaced in streaming mode.
+ *
  * @author Philipp Komninos
  * @since 2010
  */
@@ -52,6 +63,15 @@ public class TransformAction extends AbstractTestAction {
 	
 	/** Target variable for the result */
 	private String targetVariable = "transform-result";
+
+	/** Stream external XML document resource to transformer */
+	private boolean streaming = false;
+
+	/** Compiled stylesheet cache */
+	private XsltTemplatesCache templatesCache;
+
+	/** Default stylesheet cache shared by all transform actions */
+	private static final XsltTemplatesCache DEFAULT_TEMPLATES_CACHE = new XsltTemplatesCache();
 	
 	/** Logger */
     private static Logger log = LoggerFactory.getLogger(TransformAction.class);
@@ -65,6 +85,7 @@ public class TransformAction extends AbstractTestAction {
 
 	@Override
 	public void doExecute(TestContext context) {
+		InputStream xmlStream = null;
 		try {
 			if (log.isDebugEnabled()) {
 				log.debug("Starting XSLT transformation");
@@ -72,7 +93,10 @@ public class TransformAction extends AbstractTestAction {
 			
 			//parse XML document and define XML source for transformation
 			Source xmlSource = null;
-			if (xmlResourcePath != null) {
+			if (xmlResourcePath != null && streaming) {
+				xmlStream = FileUtils.getFileResource(xmlResourcePath, context).getInputStream();
+				xmlSource = new StreamSource(xmlStream);
+			} else if (xmlResourcePath != null) {
 				xmlSource = new StringSource(context.replaceDynamicContentInString(FileUtils.readToString(FileUtils.getFileResource(xmlResourcePath, context))));
 			} else if (xmlData != null) {
 				xmlSource = new StringSource(context.replaceDynamicContentInString(xmlData));
@@ -82,20 +106,19 @@ public class TransformAction extends AbstractTestAction {
         				"Cannot transform XML document.");
 			}
 			
-			//parse XSLT document and define  XSLT source for transformation
-			Source xsltSource = null;
+			//resolve XSLT document for transformation
+			String xslt = null;
 			if (xsltResourcePath != null) {
-				xsltSource = new StringSource(context.replaceDynamicContentInString(FileUtils.readToString(FileUtils.getFileResource(xsltResourcePath, context))));
+				xslt = context.replaceDynamicContentInString(FileUtils.readToString(FileUtils.getFileResource(xsltResourcePath, context)));
 			} else if (xsltData != null) {
-				xsltSource = new StringSource(context.replaceDynamicContentInString(xsltData));
+				xslt = context.replaceDynamicContentInString(xsltData);
 			} else {
 				throw new CitrusRuntimeException("Neither inline XSLT nor " +
                 		"external file resource is defined for bean. " +
         				"Cannot transform XSLT document.");
 			}
 			
-			TransformerFactory transformerFactory = TransformerFactory.newInstance();
-			Transformer transformer = transformerFactory.newTransformer(xsltSource);
+			Transformer transformer = getTemplatesCache(context).newTransformer(xslt);
 			
 			StringResult result = new StringResult();
 			transformer.transform(xmlSource, result);
@@ -104,11 +127,40 @@ public class TransformAction extends AbstractTestAction {
 			log.info("Finished XSLT transformation");
 		} catch (IOException e) {
 			throw new CitrusRuntimeException(e);
-		} catch (TransformerConfigurationException e) {
-			throw new CitrusRuntimeException(e);
 		} catch (TransformerException e) {
 			throw new CitrusRuntimeException(e);
+		} finally {
+			if (xmlStream != null) {
+				try {
+					xmlStream.close();
+				} catch (IOException e) {
+					log.warn("Failed to close XML document stream", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the compiled stylesheet cache. When not set explicitly looks up cache in Spring application context and falls back
+	 * to default shared cache.
+	 * @param context
+	 * @return
+	 */
+	private XsltTemplatesCache getTemplatesCache(TestContext context) {
+		if (templatesCache == null) {
+			Map<String, XsltTemplatesCache> caches = null;
+			if (context.getApplicationContext() != null) {
+				caches = context.getApplicationContext().getBeansOfType(XsltTemplatesCache.class);
+			}
+
+			if (!CollectionUtils.isEmpty(caches)) {
+				templatesCache = caches.values().iterator().next();
+			} else {
+				templatesCache = DEFAULT_TEMPLATES_CACHE;
+			}
 		}
+
+		return templatesCache;
 	}
 
 	/**
@@ -147,6 +199,24 @@ public class TransformAction extends AbstractTestAction {
 		return this;
 	}
 
+	/**
+	 * Enables streaming of external XML document resource
+	 * @param streaming the streaming to set
+	 */
+	public TransformAction setStreaming(boolean streaming) {
+		this.streaming = streaming;
+		return this;
+	}
+
+	/**
+	 * Set the compiled stylesheet cache
+	 * @param templatesCache the templatesCache to set
+	 */
+	public TransformAction setTemplatesCache(XsltTemplatesCache templatesCache) {
+		this.templatesCache = templatesCache;
+		return this;
+	}
+
 	/**
 	 * Set the target variable for the result
 	 * @param targetVariable the targetVariable to set
@@ -196,4 +266,20 @@ public class TransformAction extends AbstractTestAction {
         return targetVariable;
     }
 
+    /**
+     * Gets the streaming.
+     * @return the streaming
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Gets the templatesCache.
+     * @return the templatesCache
+     */
+    public XsltTemplatesCache getTemplatesCache() {
+        return templatesCache;
+    }
+
 }
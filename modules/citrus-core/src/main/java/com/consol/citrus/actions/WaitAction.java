@@ -16,7 +16,10 @@
 
 package com.consol.citrus.actions;
 
+import com.consol.citrus.condition.BackoffCondition;
 import com.consol.citrus.condition.Condition;
+import com.consol.citrus.condition.NotifyingCondition;
+import com.consol.citrus.context.CitrusTaskExecutor;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
@@ -26,7 +29,12 @@ import org.springframework.util.StringUtils;
 import java.util.concurrent.*;
 
 /**
- * Pause the test execution until the condition is met or the wait time has been exceeded.
+ * Pause the test execution until the condition is met or the wait time has been exceeded. Conditions are checked on the
+ * task executor of the test context. Each check is a single evaluation that runs on the executor worker pool, the delay
+ * between checks is handled by the executor scheduler so waiting actions do not occupy a thread between checks. A running
+ * check gets interrupted once the wait time is exceeded. Conditions able to notify about state changes are checked right
+ * after each notification in addition to the regular check interval. Conditions defining a backoff delay are checked
+ * with that delay instead of the fixed check interval.
  *
  * @author Martin Maher
  * @since 2.4
@@ -56,50 +64,41 @@ public class WaitAction extends AbstractTestAction {
 
     @Override
     public void doExecute(final TestContext context) {
-        Boolean conditionSatisfied = null;
-        long timeLeft = getWaitTimeMs(context);
+        long waitTime = getWaitTimeMs(context);
         long intervalMs = getIntervalMs(context);
 
-        if (intervalMs > timeLeft) {
-            intervalMs = timeLeft;
+        if (intervalMs > waitTime) {
+            intervalMs = waitTime;
         }
 
-        Callable<Boolean> callable = new Callable<Boolean>() {
-            @Override
-            public Boolean call() {
-                return condition.isSatisfied(context);
-            }
-        };
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Waiting for condition %s", condition.getName()));
+        }
 
-        while (timeLeft > 0) {
-            timeLeft -= intervalMs;
+        CitrusTaskExecutor taskExecutor = context.getTaskExecutor();
+        final ConditionCheck check = new ConditionCheck(context, taskExecutor, Math.max(intervalMs, 1L));
+        check.start();
 
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Waiting for condition %s", condition.getName()));
+        NotifyingCondition.Subscription subscription = null;
+        try {
+            if (condition instanceof NotifyingCondition) {
+                subscription = ((NotifyingCondition) condition).subscribe(context, taskExecutor.getScheduler(), new Runnable() {
+                    @Override
+                    public void run() {
+                        check.trigger();
+                    }
+                });
             }
 
-            ExecutorService executor = Executors.newSingleThreadExecutor();
-            Future<Boolean> future = executor.submit(callable);
-            long checkStartTime = System.currentTimeMillis();
-            try {
-                conditionSatisfied = future.get(intervalMs, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException | TimeoutException | ExecutionException e) {
-                log.warn(String.format("Condition check interrupted with '%s'", e.getClass().getSimpleName()));
-            }
-            executor.shutdown();
-
-            if (Boolean.TRUE.equals(conditionSatisfied)) {
+            if (check.await(waitTime)) {
                 log.info(String.format(condition.getSuccessMessage(context)));
                 return;
             }
+        } finally {
+            check.cancel();
 
-            long sleepTime = intervalMs - (System.currentTimeMillis() - checkStartTime);
-            if (sleepTime > 0) {
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    log.warn("Interrupted during wait!", e);
-                }
+            if (subscription != null) {
+                subscription.cancel();
             }
         }
 
@@ -159,4 +158,140 @@ public class WaitAction extends AbstractTestAction {
     public void setInterval(String interval) {
         this.interval = interval;
     }
+
+    /**
+     * Evaluates the condition until it is satisfied or the check gets cancelled. Each evaluation runs as single task on the
+     * worker pool of the task executor. Next evaluation is scheduled after the check interval or the backoff delay of the
+     * condition. Triggers lead to an immediate evaluation, triggers arriving while the condition is evaluated lead to
+     * another evaluation right after the current one.
+     */
+    private class ConditionCheck implements Runnable {
+        private final TestContext context;
+        private final CitrusTaskExecutor taskExecutor;
+        private final long interval;
+        private final CountDownLatch satisfied = new CountDownLatch(1);
+
+        /** Pending scheduled or running evaluation, guarded by this */
+        private Future<?> next;
+        private int checks = 0;
+        private boolean running = false;
+        private boolean triggered = false;
+        private boolean done = false;
+
+        ConditionCheck(TestContext context, CitrusTaskExecutor taskExecutor, long interval) {
+            this.context = context;
+            this.taskExecutor = taskExecutor;
+            this.interval = interval;
+        }
+
+        /**
+         * Starts first evaluation immediately.
+         */
+        synchronized void start() {
+            next = taskExecutor.submit(this);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+
+                running = true;
+                triggered = false;
+            }
+
+            boolean result = evaluate();
+
+            synchronized (this) {
+                running = false;
+
+                if (done) {
+                    return;
+                }
+
+                if (result) {
+                    done = true;
+                    satisfied.countDown();
+                } else if (triggered) {
+                    next = taskExecutor.submit(this);
+                } else {
+                    next = taskExecutor.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            evaluateNow();
+                        }
+                    }, getDelay(checks++), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        /**
+         * Hands over next evaluation from scheduler to worker pool.
+         */
+        private synchronized void evaluateNow() {
+            if (!done && !running) {
+                next = taskExecutor.submit(this);
+            }
+        }
+
+        /**
+         * Requests immediate evaluation of the condition.
+         */
+        synchronized void trigger() {
+            if (done) {
+                return;
+            }
+
+            if (running) {
+                triggered = true;
+            } else if (next != null && next.cancel(false)) {
+                next = taskExecutor.submit(this);
+            }
+        }
+
+        /**
+         * Stops further evaluations and interrupts running evaluation.
+         */
+        synchronized void cancel() {
+            done = true;
+
+            if (next != null) {
+                next.cancel(true);
+            }
+        }
+
+        /**
+         * Waits for the condition to be satisfied. Returns false when wait time is exceeded.
+         * @param waitTime
+         * @return
+         */
+        boolean await(long waitTime) {
+            try {
+                return satisfied.await(waitTime, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                log.warn("Interrupted during wait!", e);
+                Thread.currentThread().interrupt();
+                return satisfied.getCount() == 0;
+            }
+        }
+
+        private long getDelay(int checks) {
+            if (condition instanceof BackoffCondition) {
+                return Math.max(((BackoffCondition) condition).getBackoffDelay(checks, interval), 1L);
+            }
+
+            return interval;
+        }
+
+        private boolean evaluate() {
+            try {
+                return condition.isSatisfied(context);
+            } catch (RuntimeException e) {
+                log.warn(String.format("Condition check failed with '%s'", e.getClass().getSimpleName()));
+                return false;
+            }
+        }
+    }
 }
@@ -30,6 +30,9 @@ import org.springframework.messaging.PollableChannel;
 import org.springframework.integration.support.channel.BeanFactoryChannelResolver;
 import org.springframework.util.StringUtils;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author Christoph Deppisch
  * @since 1.4
@@ -42,6 +45,17 @@ public class ChannelConsumer extends AbstractSelectiveMessageConsumer {
     /** Endpoint configuration */
     private ChannelEndpointConfiguration endpointConfiguration;
 
+    /** Maximum number of cached message selectors */
+    private static final int SELECTOR_CACHE_CAPACITY = 64;
+
+    /** Compiled message selectors by selector string */
+    private final Map<String, MessageSelector> messageSelectors = new LinkedHashMap<String, MessageSelector>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MessageSelector> eldest) {
+            return size() > SELECTOR_CACHE_CAPACITY;
+        }
+    };
+
     /**
      * Default constructor using endpoint configuration.
      * @param name
@@ -74,7 +88,7 @@ public class ChannelConsumer extends AbstractSelectiveMessageConsumer {
                         "' does not support selective receive operations.");
             }
 
-            MessageSelector messageSelector = new DispatchingMessageSelector(selector, endpointConfiguration.getBeanFactory());
+            MessageSelector messageSelector = getMessageSelector(selector);
             MessageSelectingQueueChannel queueChannel = ((MessageSelectingQueueChannel) destinationChannel);
 
             if (timeout <= 0) {
@@ -102,6 +116,25 @@ public class ChannelConsumer extends AbstractSelectiveMessageConsumer {
         return message;
     }
 
+    /**
+     * Gets compiled message selector for given selector string. Selectors are compiled once and cached
+     * for subsequent selective receive operations.
+     * @param selector
+     * @return
+     */
+    protected MessageSelector getMessageSelector(String selector) {
+        synchronized (messageSelectors) {
+            MessageSelector messageSelector = messageSelectors.get(selector);
+
+            if (messageSelector == null) {
+                messageSelector = new DispatchingMessageSelector(selector, endpointConfiguration.getBeanFactory());
+                messageSelectors.put(selector, messageSelector);
+            }
+
+            return messageSelector;
+        }
+    }
+
     /**
      * Get the destination channel depending on settings in this message sender.
      * Either a direct channel object is set or a channel name which will be resolved
@@ -15,6 +15,9 @@
  */
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
+import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
+import com.consol.citrus.message.MessageHeaders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -22,11 +25,16 @@ import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.core.MessageSelector;
 import org.springframework.util.Assert;
 
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Added selective consumption of messages according to a message selector implementation.
+ *
+ * Channel keeps a secondary index on message id and correlation headers as well as on additional indexed header names.
+ * Header matching selectors that include an indexed header resolve candidate messages from the index instead of
+ * scanning the whole queue.
  * 
  * @author Christoph Deppisch
  */
@@ -39,6 +47,12 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500;
+
+    /** Additional header names indexed besides message id and correlation headers */
+    private Set<String> indexedHeaders = new HashSet<>();
+
+    /** Messages by indexed header name and header value */
+    private final Map<String, Map<String, Set<Message<?>>>> headerIndex = new HashMap<>();
     
     /**
      * Create a channel with the specified queue.
@@ -74,14 +88,29 @@ public class MessageSelectingQueueChannel extends QueueChannel {
      * @return
      */
     public Message<?> receive(MessageSelector selector) {
+        Collection<Message<?>> candidates = getIndexedCandidates(selector);
+        if (candidates != null) {
+            for (Message<?> message : candidates) {
+                if (selector.accept(message) && this.queue.remove(message)) {
+                    removeFromIndex(message);
+                    return message;
+                } else if (!this.queue.contains(message)) {
+                    removeFromIndex(message);
+                }
+            }
+
+            return null;
+        }
+
         Object[] array = this.queue.toArray();
         for (Object o : array) {
             Message<?> message = (Message<?>) o;
             if (selector.accept(message) && this.queue.remove(message)) {
+                removeFromIndex(message);
                 return message;
             }
         }
-        
+
         return null;
     }
     
@@ -116,6 +145,161 @@ public class MessageSelectingQueueChannel extends QueueChannel {
         return message;
     }
 
+    @Override
+    protected boolean doSend(Message<?> message, long timeout) {
+        boolean sent = super.doSend(message, timeout);
+
+        if (sent) {
+            addToIndex(message);
+        }
+
+        return sent;
+    }
+
+    @Override
+    protected Message<?> doReceive(long timeout) {
+        Message<?> message = super.doReceive(timeout);
+
+        if (message != null) {
+            removeFromIndex(message);
+        }
+
+        return message;
+    }
+
+    @Override
+    public List<Message<?>> clear() {
+        List<Message<?>> removed = super.clear();
+        for (Message<?> message : removed) {
+            removeFromIndex(message);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public List<Message<?>> purge(MessageSelector selector) {
+        List<Message<?>> removed = super.purge(selector);
+        for (Message<?> message : removed) {
+            removeFromIndex(message);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Gets candidate messages from header index when given selector matches an indexed header with equality.
+     * Returns null when selector can not be resolved via index so caller needs to scan the whole queue.
+     * @param selector
+     * @return
+     */
+    private Collection<Message<?>> getIndexedCandidates(MessageSelector selector) {
+        Map<String, String> matchingHeaders;
+        if (selector instanceof DispatchingMessageSelector) {
+            matchingHeaders = ((DispatchingMessageSelector) selector).getMatchingHeaders();
+        } else if (selector instanceof HeaderMatchingMessageSelector) {
+            matchingHeaders = ((HeaderMatchingMessageSelector) selector).getMatchingHeaders();
+        } else {
+            return null;
+        }
+
+        for (Map.Entry<String, String> matchEntry : matchingHeaders.entrySet()) {
+            if (isIndexed(matchEntry.getKey())) {
+                synchronized (headerIndex) {
+                    Map<String, Set<Message<?>>> valueIndex = headerIndex.get(matchEntry.getKey());
+                    if (valueIndex == null || !valueIndex.containsKey(matchEntry.getValue())) {
+                        return Collections.emptyList();
+                    }
+
+                    return new ArrayList<>(valueIndex.get(matchEntry.getValue()));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds message to header index for all indexed headers present in message.
+     * @param message
+     */
+    private void addToIndex(Message<?> message) {
+        Map<String, Object> headers = getHeaders(message);
+
+        synchronized (headerIndex) {
+            for (Map.Entry<String, Object> header : headers.entrySet()) {
+                if (header.getValue() != null && isIndexed(header.getKey())) {
+                    Map<String, Set<Message<?>>> valueIndex = headerIndex.get(header.getKey());
+                    if (valueIndex == null) {
+                        valueIndex = new HashMap<>();
+                        headerIndex.put(header.getKey(), valueIndex);
+                    }
+
+                    Set<Message<?>> messages = valueIndex.get(header.getValue().toString());
+                    if (messages == null) {
+                        messages = new LinkedHashSet<>();
+                        valueIndex.put(header.getValue().toString(), messages);
+                    }
+
+                    messages.add(message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes message from header index.
+     * @param message
+     */
+    private void removeFromIndex(Message<?> message) {
+        Map<String, Object> headers = getHeaders(message);
+
+        synchronized (headerIndex) {
+            for (Map.Entry<String, Object> header : headers.entrySet()) {
+                Map<String, Set<Message<?>>> valueIndex = headerIndex.get(header.getKey());
+
+                if (header.getValue() != null && valueIndex != null) {
+                    Set<Message<?>> messages = valueIndex.get(header.getValue().toString());
+
+                    if (messages != null) {
+                        messages.remove(message);
+
+                        if (messages.isEmpty()) {
+                            valueIndex.remove(header.getValue().toString());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets message headers the same way as header matching message selector evaluates them. Citrus message headers
+     * in payload take precedence over channel message headers.
+     * @param message
+     * @return
+     */
+    private Map<String, Object> getHeaders(Message<?> message) {
+        Map<String, Object> headers = new HashMap<String, Object>(message.getHeaders());
+
+        if (message.getPayload() instanceof com.consol.citrus.message.Message) {
+            headers.putAll(((com.consol.citrus.message.Message) message.getPayload()).getHeaders());
+        }
+
+        return headers;
+    }
+
+    /**
+     * Checks if header name is indexed.
+     * @param headerName
+     * @return
+     */
+    private boolean isIndexed(String headerName) {
+        return headerName.equals(MessageHeaders.ID) ||
+                headerName.startsWith(MessageHeaders.MESSAGE_CORRELATION_KEY) ||
+                indexedHeaders.contains(headerName);
+    }
+
     /**
      * Gets the pollingInterval.
      * @return the pollingInterval the pollingInterval to get.
@@ -131,4 +315,20 @@ public class MessageSelectingQueueChannel extends QueueChannel {
     public void setPollingInterval(long pollingInterval) {
         this.pollingInterval = pollingInterval;
     }
+
+    /**
+     * Gets the additional indexed header names.
+     * @return
+     */
+    public Set<String> getIndexedHeaders() {
+        return indexedHeaders;
+    }
+
+    /**
+     * Sets the additional indexed header names.
+     * @param indexedHeaders
+     */
+    public void setIndexedHeaders(Set<String> indexedHeaders) {
+        this.indexedHeaders = indexedHeaders;
+    }
 }
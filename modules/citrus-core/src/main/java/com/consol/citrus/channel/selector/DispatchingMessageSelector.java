@@ -33,64 +33,105 @@ import java.util.Map.Entry;
  * 
  * By default uses {@link HeaderMatchingMessageSelector} and supports {@link RootQNameMessageSelector} and
  * {@link XPathEvaluatingMessageSelector}.
+ *
+ * Selector strings are parsed once and cached so repeated selective receive operations with the same selector
+ * expression do not parse the expression again. Delegate selectors are created once on construction.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
 public class DispatchingMessageSelector implements MessageSelector {
 
+    /** Maximum number of cached selector expressions */
+    private static final int CACHE_CAPACITY = 256;
+
+    /** Parsed selector expressions by selector string */
+    private static final Map<String, Map<String, String>> SELECTOR_CACHE = new LinkedHashMap<String, Map<String, String>>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
     /** List of header elements to match */
-    private Map<String, String> matchingHeaders;
+    private final Map<String, String> matchingHeaders;
     
     /** Spring bean factory */
     private BeanFactory beanFactory;
+
+    /** Delegate selectors evaluating message payload */
+    private final List<MessageSelector> payloadSelectors = new ArrayList<>();
+
+    /** Delegate selector matching remaining header elements */
+    private final HeaderMatchingMessageSelector headerMatchingSelector;
     
     /**
      * Default constructor using a selector string.
      */
     public DispatchingMessageSelector(String selector, BeanFactory beanFactory) {
         this.beanFactory = beanFactory;
-        this.matchingHeaders = MessageSelectorBuilder.withString(selector).toKeyValueMap();
+        this.matchingHeaders = parse(selector);
         
         Assert.isTrue(matchingHeaders.size() > 0, "Invalid empty message selector");
+
+        Map<String, String> headerElements = new LinkedHashMap<>();
+        NamespaceContextBuilder nsContextBuilder = null;
+        for (Entry<String, String> selectorEntry : matchingHeaders.entrySet()) {
+            if (selectorEntry.getKey().equals(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT)) {
+                payloadSelectors.add(new RootQNameMessageSelector(selectorEntry.getValue()));
+            } else if (selectorEntry.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT)) {
+                if (nsContextBuilder == null) {
+                    nsContextBuilder = getNamespContextBuilder();
+                }
+
+                payloadSelectors.add(new XPathEvaluatingMessageSelector(selectorEntry.getKey(), selectorEntry.getValue(), nsContextBuilder));
+            } else {
+                headerElements.put(selectorEntry.getKey(), selectorEntry.getValue());
+            }
+        }
+
+        this.headerMatchingSelector = new HeaderMatchingMessageSelector(headerElements);
+    }
+
+    /**
+     * Parses selector string to key value map. Parsed expressions are cached by selector string.
+     * @param selector
+     * @return
+     */
+    private static Map<String, String> parse(String selector) {
+        synchronized (SELECTOR_CACHE) {
+            Map<String, String> parsed = SELECTOR_CACHE.get(selector);
+
+            if (parsed == null) {
+                parsed = Collections.unmodifiableMap(MessageSelectorBuilder.withString(selector).toKeyValueMap());
+                SELECTOR_CACHE.put(selector, parsed);
+            }
+
+            return parsed;
+        }
     }
     
     @Override
     public boolean accept(Message<?> message) {
-        boolean success = true;
-        
-        Map<String, String> matchingHeadersCopy = new HashMap<String, String>();
-        matchingHeadersCopy.putAll(matchingHeaders);
-                
-        // delegate to root QName message selector if necessary
-        if (matchingHeadersCopy.containsKey(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT)
-                && !(new RootQNameMessageSelector(matchingHeadersCopy.remove(RootQNameMessageSelector.ROOT_QNAME_SELECTOR_ELEMENT))).accept(message)) {
-            success = false;
+        if (!headerMatchingSelector.accept(message)) {
+            return false;
         }
-        
-        //search for xpath selector name
-        Set<String> foundXPathSelectors = new HashSet<String>();
-        for (Entry<String, String> headerEntry : matchingHeadersCopy.entrySet()) {
-            if (headerEntry.getKey().startsWith(XPathEvaluatingMessageSelector.XPATH_SELECTOR_ELEMENT)) {
-                foundXPathSelectors.add(headerEntry.getKey());
-                
-                // delegate to xpath evaluating message selector
-                if (!(new XPathEvaluatingMessageSelector(headerEntry.getKey(), headerEntry.getValue(), getNamespContextBuilder())).accept(message)) {
-                    success = false;
-                }
+
+        for (MessageSelector payloadSelector : payloadSelectors) {
+            if (!payloadSelector.accept(message)) {
+                return false;
             }
         }
-        
-        //remove xpath selector elements after work is done
-        for (String selectorName : foundXPathSelectors) {
-            matchingHeadersCopy.remove(selectorName);
-        }
-        
-        if (!new HeaderMatchingMessageSelector(matchingHeadersCopy).accept(message)) {
-            success = false;
-        }
-        
-        return success;
+
+        return true;
+    }
+
+    /**
+     * Gets the header elements that are matched with plain header equality.
+     * @return
+     */
+    public Map<String, String> getMatchingHeaders() {
+        return headerMatchingSelector.getMatchingHeaders();
     }
 
     /**
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.condition;
+
+/**
+ * Condition that defines its own delay between condition checks. Waiting actions use this delay instead of the
+ * fixed check interval, for instance in order to check more often right after the wait starts.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public interface BackoffCondition extends Condition {
+
+    /**
+     * Gets the delay in milliseconds before the next condition check.
+     *
+     * @param checks number of condition checks performed so far
+     * @param interval configured check interval of the waiting action
+     * @return
+     */
+    long getBackoffDelay(int checks, long interval);
+}
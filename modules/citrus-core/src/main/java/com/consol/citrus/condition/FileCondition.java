@@ -21,15 +21,18 @@ import com.consol.citrus.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
- * Tests for the presence of a file and returns true if the file exists
+ * Tests for the presence of a file and returns true if the file exists. Waiting actions get notified about
+ * file changes in the parent directory via file system watch service.
  *
  * @author Martin Maher
  * @since 2.4
  */
-public class FileCondition extends AbstractCondition {
+public class FileCondition extends AbstractCondition implements NotifyingCondition {
 
     /** File path to check for existence */
     private String filePath;
@@ -58,6 +61,21 @@ public class FileCondition extends AbstractCondition {
         }
     }
 
+    @Override
+    public Subscription subscribe(TestContext context, ScheduledExecutorService scheduler, Runnable callback) {
+        try {
+            File file = FileUtils.getFileResource(filePath, context).getFile().getAbsoluteFile();
+            if (file.getParentFile() == null || !file.getParentFile().isDirectory()) {
+                return null;
+            }
+
+            return FileWatcher.getInstance().watch(file.toPath(), callback);
+        } catch (IOException e) {
+            log.debug(String.format("Unable to watch file resource '%s' - using polling", e.getMessage()));
+            return null;
+        }
+    }
+
     @Override
     public String getSuccessMessage(TestContext context) {
         return String.format("File condition success - file '%s' does exist", context.replaceDynamicContentInString(filePath));
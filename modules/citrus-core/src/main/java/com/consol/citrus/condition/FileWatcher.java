@@ -0,0 +1,178 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.condition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches directories for file changes using a single NIO watch service and one daemon thread shared by all file conditions.
+ * Registered callbacks are notified whenever the watched file is created, modified or deleted.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+final class FileWatcher implements Runnable {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(FileWatcher.class);
+
+    /** Singleton instance */
+    private static FileWatcher instance;
+
+    /** Watch service */
+    private final WatchService watchService;
+
+    /** Registered callbacks per watch key and file name */
+    private final Map<WatchKey, Map<Path, List<Runnable>>> callbacks = new HashMap<>();
+
+    /**
+     * Constructor creating watch service.
+     * @throws IOException
+     */
+    private FileWatcher() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Gets the shared file watcher instance. Starts watcher thread on first access.
+     * @return
+     * @throws IOException
+     */
+    static synchronized FileWatcher getInstance() throws IOException {
+        if (instance == null) {
+            instance = new FileWatcher();
+
+            Thread watcher = new Thread(instance, "citrus-file-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Watches given file and invokes callback on each change.
+     * @param file
+     * @param callback
+     * @return
+     * @throws IOException
+     */
+    NotifyingCondition.Subscription watch(Path file, final Runnable callback) throws IOException {
+        final Path fileName = file.getFileName();
+
+        synchronized (callbacks) {
+            final WatchKey key = file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+            Map<Path, List<Runnable>> files = callbacks.get(key);
+            if (files == null) {
+                files = new HashMap<>();
+                callbacks.put(key, files);
+            }
+
+            List<Runnable> fileCallbacks = files.get(fileName);
+            if (fileCallbacks == null) {
+                fileCallbacks = new ArrayList<>();
+                files.put(fileName, fileCallbacks);
+            }
+
+            fileCallbacks.add(callback);
+
+            return new NotifyingCondition.Subscription() {
+                @Override
+                public void cancel() {
+                    unwatch(key, fileName, callback);
+                }
+            };
+        }
+    }
+
+    /**
+     * Removes callback and cancels watch key when no more callbacks are registered for the directory.
+     * @param key
+     * @param fileName
+     * @param callback
+     */
+    private void unwatch(WatchKey key, Path fileName, Runnable callback) {
+        synchronized (callbacks) {
+            Map<Path, List<Runnable>> files = callbacks.get(key);
+            if (files == null) {
+                return;
+            }
+
+            List<Runnable> fileCallbacks = files.get(fileName);
+            if (fileCallbacks != null) {
+                fileCallbacks.remove(callback);
+
+                if (fileCallbacks.isEmpty()) {
+                    files.remove(fileName);
+                }
+            }
+
+            if (files.isEmpty()) {
+                callbacks.remove(key);
+                key.cancel();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            List<Runnable> notify = new ArrayList<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                synchronized (callbacks) {
+                    Map<Path, List<Runnable>> files = callbacks.get(key);
+                    if (files == null) {
+                        continue;
+                    }
+
+                    if (event.kind() == OVERFLOW) {
+                        for (List<Runnable> fileCallbacks : files.values()) {
+                            notify.addAll(fileCallbacks);
+                        }
+                    } else if (files.containsKey(event.context())) {
+                        notify.addAll(files.get(event.context()));
+                    }
+                }
+            }
+
+            key.reset();
+
+            for (Runnable callback : notify) {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    log.warn("File watch callback raised error", e);
+                }
+            }
+        }
+    }
+}
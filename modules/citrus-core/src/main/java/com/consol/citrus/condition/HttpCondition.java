@@ -22,16 +22,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.*;
 
 /**
  * Tests if a HTTP Endpoint is reachable. The test is successful if the endpoint responds with the expected response
  * code. By default a HTTP 200 response code is expected.
  *
+ * Connections are kept alive between checks so repeated probes reuse the same connection. Waiting actions check the
+ * condition with exponential backoff instead of the fixed interval. Delays start short so the condition is checked more
+ * often right after the wait starts and grow up to the configured check interval.
+ *
  * @author Martin Maher
  * @since 2.4
  */
-public class HttpCondition extends AbstractCondition {
+public class HttpCondition extends AbstractCondition implements BackoffCondition {
 
     /** Http request URL to invoke for the condition check */
     private String url;
@@ -43,6 +48,9 @@ public class HttpCondition extends AbstractCondition {
     /** Request method */
     private String method = "HEAD";
 
+    /** Delay in milliseconds before the second check, doubled with each further check up to the check interval */
+    private static final long INITIAL_BACKOFF = 50L;
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpCondition.class);
 
@@ -58,6 +66,12 @@ public class HttpCondition extends AbstractCondition {
         return getHttpResponseCode(context) == invokeUrl(context);
     }
 
+    @Override
+    public long getBackoffDelay(int checks, long interval) {
+        long delay = INITIAL_BACKOFF << Math.min(checks, 20);
+        return Math.min(delay, Math.max(interval, INITIAL_BACKOFF));
+    }
+
     @Override
     public String getSuccessMessage(TestContext context) {
         return String.format("Http condition success - request url '%s' did return expected status '%s'", getUrl(context), getHttpResponseCode(context));
@@ -85,12 +99,14 @@ public class HttpCondition extends AbstractCondition {
         try {
             httpURLConnection = openConnection(url);
             httpURLConnection.setConnectTimeout(getTimeout(context));
+            httpURLConnection.setReadTimeout(getTimeout(context));
             httpURLConnection.setRequestMethod(method);
 
             responseCode = httpURLConnection.getResponseCode();
+            consumeResponse(httpURLConnection, responseCode);
         } catch (IOException e) {
             log.warn(String.format("Could not access Http url '%s' - %s", url.toExternalForm(), e.getMessage()));
-        } finally {
+
             if (httpURLConnection != null) {
                 httpURLConnection.disconnect();
             }
@@ -99,6 +115,28 @@ public class HttpCondition extends AbstractCondition {
         return responseCode;
     }
 
+    /**
+     * Reads and closes the response stream so the underlying connection is kept alive for the next check.
+     * @param connection
+     * @param responseCode
+     * @throws IOException
+     */
+    private void consumeResponse(HttpURLConnection connection, int responseCode) throws IOException {
+        InputStream response = responseCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (response == null) {
+            return;
+        }
+
+        try {
+            byte[] buffer = new byte[1024];
+            while (response.read(buffer) >= 0) {
+                // discard response body
+            }
+        } finally {
+            response.close();
+        }
+    }
+
     /**
      * Open Http url connection.
      * @param url
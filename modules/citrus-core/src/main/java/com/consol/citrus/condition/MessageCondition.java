@@ -17,18 +17,22 @@
 package com.consol.citrus.condition;
 
 import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.*;
+
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Condition checks whether a message is present in test context message store. Messages are automatically
  * stored in that store when sending and receiving messages with respective test actions. So this condition
  * can be used to wait for a message to arrive or being sent out.
  *
- * Message to check is identified by its name in the message store.
+ * Message to check is identified by its name in the message store. Waiting actions get notified as soon as the
+ * message is stored when the message store supports listeners.
  *
  * @author Christoph Deppisch
  * @since 2.6.2
  */
-public class MessageCondition extends AbstractCondition {
+public class MessageCondition extends AbstractCondition implements NotifyingCondition {
 
     /** Message that should be present in message store */
     private String messageName;
@@ -38,6 +42,32 @@ public class MessageCondition extends AbstractCondition {
         return context.getMessageStore().getMessage(context.replaceDynamicContentInString(messageName)) != null;
     }
 
+    @Override
+    public Subscription subscribe(TestContext context, ScheduledExecutorService scheduler, final Runnable callback) {
+        if (!(context.getMessageStore() instanceof DefaultMessageStore)) {
+            return null;
+        }
+
+        final DefaultMessageStore messageStore = (DefaultMessageStore) context.getMessageStore();
+        final String name = context.replaceDynamicContentInString(messageName);
+        final MessageStoreListener listener = new MessageStoreListener() {
+            @Override
+            public void onMessageStored(String id, Message message) {
+                if (name.equals(id)) {
+                    callback.run();
+                }
+            }
+        };
+
+        messageStore.addMessageStoreListener(listener);
+        return new Subscription() {
+            @Override
+            public void cancel() {
+                messageStore.removeMessageStoreListener(listener);
+            }
+        };
+    }
+
     @Override
     public String getSuccessMessage(TestContext context) {
         return String.format("Message condition success - found message '%s' in message store", context.replaceDynamicContentInString(messageName));
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.condition;
+
+import com.consol.citrus.context.TestContext;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Condition that is able to notify waiting actions as soon as the condition state may have changed. Waiting actions
+ * subscribe to the condition and evaluate the condition right after each notification in addition to the regular
+ * polling interval.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public interface NotifyingCondition extends Condition {
+
+    /**
+     * Registers notification source for this condition. Given callback is invoked each time the condition state may have changed.
+     * Callback is cheap and may be called from any thread. Returns null when no notification source is available in which case
+     * waiting actions fall back to polling the condition.
+     *
+     * @param context the citrus test context
+     * @param scheduler shared scheduler that notification sources may use for scheduling tasks
+     * @param callback callback to invoke on state change
+     * @return subscription to cancel once waiting is finished or null
+     */
+    Subscription subscribe(TestContext context, ScheduledExecutorService scheduler, Runnable callback);
+
+    /**
+     * Handle of registered notification source.
+     */
+    interface Subscription {
+        /**
+         * Cancel notifications and release all resources of notification source.
+         */
+        void cancel();
+    }
+}
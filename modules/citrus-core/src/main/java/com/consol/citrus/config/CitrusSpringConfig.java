@@ -16,6 +16,7 @@
 
 package com.consol.citrus.config;
 
+import com.consol.citrus.context.CitrusTaskExecutor;
 import com.consol.citrus.context.ReferenceResolver;
 import com.consol.citrus.context.SpringBeanReferenceResolver;
 import com.consol.citrus.context.TestContextFactory;
@@ -50,6 +51,11 @@ public class CitrusSpringConfig {
         return new DefaultEndpointFactory();
     }
 
+    @Bean(name = "citrusTaskExecutor")
+    public CitrusTaskExecutor getTaskExecutor() {
+        return new CitrusTaskExecutor();
+    }
+
     @Bean(name = "referenceResolver")
     public ReferenceResolver getReferenceResolver() {
         return new SpringBeanReferenceResolver();
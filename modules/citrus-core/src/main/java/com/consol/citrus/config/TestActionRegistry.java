@@ -60,6 +60,7 @@ public final class TestActionRegistry {
         registerActionParser("input", new InputActionParser());
         registerActionParser("load", new LoadPropertiesActionParser());
         registerActionParser("parallel", new ParallelParser());
+        registerActionParser("parallel-iterate", new ParallelIterateParser());
         registerActionParser("catch", new CatchParser());
         registerActionParser("assert", new AssertParser());
         registerActionParser("plsql", new ExecutePLSQLActionParser());
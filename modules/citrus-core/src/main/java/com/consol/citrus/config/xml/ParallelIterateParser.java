@@ -0,0 +1,55 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.config.xml;
+
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
+import com.consol.citrus.container.ParallelIterate;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.xml.BeanDefinitionParser;
+import org.springframework.beans.factory.xml.ParserContext;
+import org.w3c.dom.Element;
+
+/**
+ * Bean definition parser for parallel iterate container in test case.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ParallelIterateParser implements BeanDefinitionParser {
+
+    @Override
+    public BeanDefinition parse(Element element, ParserContext parserContext) {
+        BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(ParallelIterate.class);
+
+        DescriptionElementParser.doParse(element, builder);
+
+        builder.addPropertyValue("name", element.getLocalName());
+
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("iterations"), "iterations");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("workers"), "workers");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("index"), "indexName");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("start"), "start");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("rate"), "rate");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("ramp-up"), "rampUp");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("statistics-prefix"), "statisticsPrefix");
+
+        ActionContainerParser.doParse(element, parserContext, builder);
+
+        return builder.getBeanDefinition();
+    }
+}
@@ -59,6 +59,7 @@ public class PurgeEndpointActionParser implements BeanDefinitionParser {
         }
 
         BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("receive-timeout"), "receiveTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("concurrency"), "concurrency");
 
         List<String> endpointNames = new ArrayList<String>();
         ManagedList<BeanDefinition> endpointRefs = new ManagedList<BeanDefinition>();
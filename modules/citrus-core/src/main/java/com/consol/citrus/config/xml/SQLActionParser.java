@@ -18,6 +18,7 @@ package com.consol.citrus.config.xml;
 
 import com.consol.citrus.actions.ExecuteSQLAction;
 import com.consol.citrus.actions.ExecuteSQLQueryAction;
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 import com.consol.citrus.validation.script.ScriptValidationContext;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -94,6 +95,9 @@ public class SQLActionParser implements BeanDefinitionParser {
         if (ignoreErrors != null && ignoreErrors.equals("true")) {
             beanDefinition.addPropertyValue("ignoreErrors", true);
         }
+
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("batch-size"), "batchSize");
+        BeanDefinitionParserUtils.setPropertyReference(beanDefinition, element.getAttribute("transaction-manager"), "transactionManager");
         
         return beanDefinition;
     }
@@ -109,6 +113,7 @@ public class SQLActionParser implements BeanDefinitionParser {
     private BeanDefinitionBuilder parseSqlQueryAction(Element element, Element scriptValidationElement, 
             List<Element> validateElements, List<Element> extractElements) {
         BeanDefinitionBuilder beanDefinition = BeanDefinitionBuilder.rootBeanDefinition(ExecuteSQLQueryAction.class);
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("fetch-size"), "fetchSize");
 
         // check for script validation
         if (scriptValidationElement != null) {
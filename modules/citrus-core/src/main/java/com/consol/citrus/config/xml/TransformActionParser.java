@@ -49,6 +49,7 @@ public class TransformActionParser implements BeanDefinitionParser {
         Element xmlResourceElement = DomUtils.getChildElementByTagName(element, "xml-resource");
         if (xmlResourceElement != null) {
             beanDefinition.addPropertyValue("xmlResourcePath", xmlResourceElement.getAttribute("file"));
+            BeanDefinitionParserUtils.setPropertyValue(beanDefinition, xmlResourceElement.getAttribute("streaming"), "streaming");
         }
         
         Element xsltDataElement = DomUtils.getChildElementByTagName(element, "xslt-data");
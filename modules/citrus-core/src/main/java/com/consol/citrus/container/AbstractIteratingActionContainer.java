@@ -16,14 +16,9 @@
 
 package com.consol.citrus.container;
 
-import com.consol.citrus.Citrus;
 import com.consol.citrus.TestAction;
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.util.BooleanExpressionParser;
-import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
-import org.springframework.util.PropertyPlaceholderHelper;
-
-import java.util.Properties;
+import org.springframework.util.ObjectUtils;
 
 /**
  * @author Christoph Deppisch
@@ -43,6 +38,9 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
 
     /** Cache start index for further container executions - e.g. in loop */
     protected int start = 1;
+
+    /** Condition compiled once and evaluated with each iteration */
+    private CompiledCondition compiledCondition;
 	
     @Override
     public final void doExecute(TestContext context) {
@@ -78,30 +76,24 @@ public abstract class AbstractIteratingActionContainer extends AbstractActionCon
             return conditionExpression.evaluate(index, context);
         }
 
-        // replace dynamic content with each iteration
-        String conditionString = condition;
-        if (conditionString.indexOf(Citrus.VARIABLE_PREFIX + indexName + Citrus.VARIABLE_SUFFIX) != -1) {
-            Properties props = new Properties();
-            props.put(indexName, String.valueOf(index));
-            conditionString = new PropertyPlaceholderHelper(Citrus.VARIABLE_PREFIX, Citrus.VARIABLE_SUFFIX).replacePlaceholders(conditionString, props);
-        }
-
-        conditionString = context.replaceDynamicContentInString(conditionString);
+        return getCompiledCondition().evaluate(index, context);
+    }
 
-        if (ValidationMatcherUtils.isValidationMatcherExpression(conditionString)) {
-            try {
-                ValidationMatcherUtils.resolveValidationMatcher("iteratingCondition", String.valueOf(index), conditionString, context);
-                return true;
-            } catch (AssertionError e) {
-                return false;
-            }
-        }
+    /**
+     * Gets the compiled condition. Compiles the condition once and recompiles only in case condition
+     * or index name have changed.
+     * @return
+     */
+    private CompiledCondition getCompiledCondition() {
+        CompiledCondition compiled = compiledCondition;
 
-        if (conditionString.indexOf(indexName) != -1) {
-            conditionString = conditionString.replaceAll(indexName, String.valueOf(index));
+        if (compiled == null || !ObjectUtils.nullSafeEquals(compiled.getCondition(), condition)
+                || !ObjectUtils.nullSafeEquals(compiled.getIndexName(), indexName)) {
+            compiled = CompiledCondition.compile(condition, indexName);
+            compiledCondition = compiled;
         }
 
-        return BooleanExpressionParser.evaluate(conditionString);
+        return compiled;
     }
     
     /**
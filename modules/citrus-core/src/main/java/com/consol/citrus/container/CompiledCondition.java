@@ -0,0 +1,460 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import com.consol.citrus.Citrus;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.util.BooleanExpressionParser;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.PropertyPlaceholderHelper;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * Container condition expression that is parsed only once into an expression tree. Index and variable placeholders
+ * in the condition are kept as slots that get bound to the actual values on each evaluation. So containers evaluating
+ * the same condition many times such as iterations do not have to re-tokenize the condition string over and over again.
+ *
+ * Conditions using functions, validation matchers or expressions that do not fit the plain boolean expression syntax
+ * as well as slot values that are not single number or boolean values are evaluated by replacing dynamic content and
+ * parsing the resulting condition string with {@link BooleanExpressionParser}.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public final class CompiledCondition {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CompiledCondition.class);
+
+    /** Condition expression string */
+    private final String condition;
+
+    /** Optional index variable name */
+    private final String indexName;
+
+    /** Expression tree root, null if condition could not be compiled */
+    private final Node root;
+
+    /**
+     * Private constructor using fields.
+     * @param condition
+     * @param indexName
+     */
+    private CompiledCondition(String condition, String indexName) {
+        this.condition = condition;
+        this.indexName = indexName;
+        this.root = parse();
+    }
+
+    /**
+     * Compiles condition expression without index variable.
+     * @param condition
+     * @return
+     */
+    public static CompiledCondition compile(String condition) {
+        return new CompiledCondition(condition, null);
+    }
+
+    /**
+     * Compiles iterating condition expression using given index variable name.
+     * @param condition
+     * @param indexName
+     * @return
+     */
+    public static CompiledCondition compile(String condition, String indexName) {
+        return new CompiledCondition(condition, indexName);
+    }
+
+    /**
+     * Evaluates condition without index.
+     * @param context
+     * @return
+     */
+    public boolean evaluate(TestContext context) {
+        return evaluate(null, context);
+    }
+
+    /**
+     * Evaluates iterating condition binding the given index.
+     * @param index
+     * @param context
+     * @return
+     */
+    public boolean evaluate(int index, TestContext context) {
+        return evaluate(String.valueOf(index), context);
+    }
+
+    /**
+     * Evaluates expression tree with slots bound to index and variable values. Falls back to interpreting
+     * the condition string when condition is not compiled or slot values do not fit the expression tree.
+     * @param index
+     * @param context
+     * @return
+     */
+    private boolean evaluate(String index, TestContext context) {
+        if (root != null) {
+            String value = root.evaluate(index, context);
+
+            if (value != null) {
+                boolean result = toBoolean(value);
+
+                if (log.isDebugEnabled()) {
+                    log.debug("Boolean expression " + condition + " evaluates to " + result);
+                }
+
+                return result;
+            }
+        }
+
+        return interpret(index, context);
+    }
+
+    /**
+     * Replaces dynamic content in condition string and evaluates the result with validation matchers
+     * or boolean expression parser.
+     * @param index
+     * @param context
+     * @return
+     */
+    private boolean interpret(String index, TestContext context) {
+        String conditionString = condition;
+
+        if (indexName != null && conditionString.contains(Citrus.VARIABLE_PREFIX + indexName + Citrus.VARIABLE_SUFFIX)) {
+            Properties props = new Properties();
+            props.put(indexName, index);
+            conditionString = new PropertyPlaceholderHelper(Citrus.VARIABLE_PREFIX, Citrus.VARIABLE_SUFFIX).replacePlaceholders(conditionString, props);
+        }
+
+        conditionString = context.replaceDynamicContentInString(conditionString);
+
+        if (ValidationMatcherUtils.isValidationMatcherExpression(conditionString)) {
+            try {
+                ValidationMatcherUtils.resolveValidationMatcher("iteratingCondition", index != null ? index : "", conditionString, context);
+                return true;
+            } catch (AssertionError e) {
+                return false;
+            }
+        }
+
+        if (indexName != null && conditionString.contains(indexName)) {
+            conditionString = conditionString.replaceAll(indexName, index);
+        }
+
+        return BooleanExpressionParser.evaluate(conditionString);
+    }
+
+    /**
+     * Checks if condition has been compiled to expression tree.
+     * @return
+     */
+    public boolean isCompiled() {
+        return root != null;
+    }
+
+    /**
+     * Gets the condition.
+     * @return
+     */
+    public String getCondition() {
+        return condition;
+    }
+
+    /**
+     * Gets the index name.
+     * @return
+     */
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * Parses condition to expression tree the same way {@link BooleanExpressionParser} does evaluate
+     * the expression. Returns null if condition does not fit the plain boolean expression syntax.
+     * @return
+     */
+    private Node parse() {
+        if (!StringUtils.hasText(condition) || (indexName != null && (!StringUtils.hasText(indexName) || containsDigit(indexName)))) {
+            return null;
+        }
+
+        List<Object> tokens = tokenize();
+        if (tokens == null) {
+            return null;
+        }
+
+        Deque<String> operators = new ArrayDeque<>();
+        Deque<Node> values = new ArrayDeque<>();
+
+        try {
+            for (Object token : tokens) {
+                if (token instanceof Node) {
+                    values.push((Node) token);
+                } else if (token.equals("(")) {
+                    operators.push("(");
+                } else if (token.equals(")")) {
+                    String operator = operators.pop();
+                    while (!operator.equals("(")) {
+                        values.push(new Operation(operator, values.pop(), values.pop()));
+                        operator = operators.pop();
+                    }
+                } else {
+                    operators.push((String) token);
+                }
+            }
+
+            while (!operators.isEmpty()) {
+                String operator = operators.pop();
+                if (operator.equals("(")) {
+                    return null;
+                }
+
+                values.push(new Operation(operator, values.pop(), values.pop()));
+            }
+
+            return values.pop();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Splits condition into parentheses, operators and value nodes. Returns null if condition holds
+     * any content other than numbers, boolean values, operators, index and variable placeholders.
+     * @return
+     */
+    private List<Object> tokenize() {
+        List<Object> tokens = new ArrayList<>();
+
+        int i = 0;
+        while (i < condition.length()) {
+            char actChar = condition.charAt(i);
+
+            if (actChar == ' ') {
+                i++;
+            } else if (actChar == '(') {
+                tokens.add("(");
+                i++;
+            } else if (actChar == ')') {
+                tokens.add(")");
+                i++;
+            } else if (condition.startsWith(Citrus.VARIABLE_PREFIX, i)) {
+                int end = condition.indexOf(Citrus.VARIABLE_SUFFIX, i);
+                if (end < 0) {
+                    return null;
+                }
+
+                String variableName = condition.substring(i + Citrus.VARIABLE_PREFIX.length(), end);
+                if (!StringUtils.hasText(variableName) || variableName.contains(Citrus.VARIABLE_PREFIX) || variableName.startsWith(Citrus.VARIABLE_ESCAPE)) {
+                    return null;
+                }
+
+                boolean separated = (i == 0 || condition.charAt(i - 1) == ' ' || condition.charAt(i - 1) == '(');
+                int next = end + Citrus.VARIABLE_SUFFIX.length();
+                boolean closing = next < condition.length() && condition.charAt(next) == ')';
+                if (!separated || (next < condition.length() && condition.charAt(next) != ' ' && !closing)) {
+                    return null;
+                }
+
+                if (variableName.equals(indexName)) {
+                    tokens.add(new IndexSlot());
+                } else {
+                    tokens.add(new VariableSlot(variableName, closing));
+                }
+
+                i = next;
+            } else if (Character.isDigit(actChar)) {
+                int m = i;
+                while (m < condition.length() && Character.isDigit(condition.charAt(m))) {
+                    m++;
+                }
+
+                tokens.add(new Literal(condition.substring(i, m)));
+                i = m;
+            } else {
+                int m = i;
+                while (m < condition.length() && !Character.isDigit(condition.charAt(m)) &&
+                        condition.charAt(m) != ' ' && condition.charAt(m) != '(') {
+                    if (condition.startsWith(Citrus.VARIABLE_PREFIX, m)) {
+                        return null;
+                    }
+                    m++;
+                }
+
+                String token = condition.substring(i, m);
+                i = m;
+
+                String closingParentheses = "";
+                while (token.endsWith(")") && indexName != null && token.length() > 1) {
+                    token = token.substring(0, token.length() - 1);
+                    closingParentheses += ")";
+                }
+
+                if (indexName != null && token.equals(indexName)) {
+                    tokens.add(new IndexSlot());
+                } else if (!closingParentheses.isEmpty() || (indexName != null && token.contains(indexName))) {
+                    return null;
+                } else if (BooleanExpressionParser.isBooleanValue(token)) {
+                    tokens.add(new Literal(Boolean.valueOf(token) ? "1" : "0"));
+                } else if (BooleanExpressionParser.isOperator(token)) {
+                    tokens.add(token);
+                } else {
+                    return null;
+                }
+
+                for (int p = 0; p < closingParentheses.length(); p++) {
+                    tokens.add(")");
+                }
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Converts expression result value to boolean.
+     * @param value
+     * @return
+     */
+    private static boolean toBoolean(String value) {
+        if (value.equals("0")) {
+            return false;
+        } else if (value.equals("1")) {
+            return true;
+        }
+
+        return Boolean.valueOf(value);
+    }
+
+    /**
+     * Checks for digit characters.
+     * @param value
+     * @return
+     */
+    private static boolean containsDigit(String value) {
+        for (char c : value.toCharArray()) {
+            if (Character.isDigit(c)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Expression tree node evaluates to String representation. Null result marks that node could not be
+     * evaluated with the given slot values.
+     */
+    private interface Node {
+        String evaluate(String index, TestContext context);
+    }
+
+    /**
+     * Constant number or boolean value.
+     */
+    private static final class Literal implements Node {
+        private final String value;
+
+        Literal(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String evaluate(String index, TestContext context) {
+            return value;
+        }
+    }
+
+    /**
+     * Slot bound to current index value.
+     */
+    private static final class IndexSlot implements Node {
+        @Override
+        public String evaluate(String index, TestContext context) {
+            return index;
+        }
+    }
+
+    /**
+     * Slot bound to test variable value.
+     */
+    private final class VariableSlot implements Node {
+        private final String variableName;
+        private final boolean closing;
+
+        VariableSlot(String variableName, boolean closing) {
+            this.variableName = variableName;
+            this.closing = closing;
+        }
+
+        @Override
+        public String evaluate(String index, TestContext context) {
+            String value = context.getVariable(variableName);
+
+            if (StringUtils.hasLength(value) && !containsNonDigit(value)) {
+                return value;
+            } else if (!closing && BooleanExpressionParser.isBooleanValue(value) && (indexName == null || !value.contains(indexName))) {
+                return Boolean.valueOf(value) ? "1" : "0";
+            }
+
+            return null;
+        }
+
+        private boolean containsNonDigit(String value) {
+            for (char c : value.toCharArray()) {
+                if (!Character.isDigit(c)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Binary operation evaluating both operand nodes.
+     */
+    private static final class Operation implements Node {
+        private final String operator;
+        private final Node value1;
+        private final Node value2;
+
+        Operation(String operator, Node value1, Node value2) {
+            this.operator = operator;
+            this.value1 = value1;
+            this.value2 = value2;
+        }
+
+        @Override
+        public String evaluate(String index, TestContext context) {
+            String result1 = value1.evaluate(index, context);
+            if (result1 == null) {
+                return null;
+            }
+
+            String result2 = value2.evaluate(index, context);
+            if (result2 == null) {
+                return null;
+            }
+
+            return BooleanExpressionParser.getBooleanResultAsString(operator, result1, result2);
+        }
+    }
+}
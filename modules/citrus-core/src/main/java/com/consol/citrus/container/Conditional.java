@@ -18,10 +18,9 @@ package com.consol.citrus.container;
 
 import com.consol.citrus.TestAction;
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.util.BooleanExpressionParser;
-import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Class executes nested test actions if condition expression evaluates to true.
@@ -40,6 +39,9 @@ public class Conditional extends AbstractActionContainer {
     /** Optional condition expression evaluates to true or false */
     private ConditionExpression conditionExpression;
 
+    /** Condition compiled once and evaluated with each execution */
+    private CompiledCondition compiledCondition;
+
     /**
      * Default constructor.
      */
@@ -71,18 +73,13 @@ public class Conditional extends AbstractActionContainer {
             return conditionExpression.evaluate(context);
         }
 
-        // replace dynamic content with each iteration
-        String conditionString = context.replaceDynamicContentInString(condition);
-        if (ValidationMatcherUtils.isValidationMatcherExpression(conditionString)) {
-            try {
-                ValidationMatcherUtils.resolveValidationMatcher("iteratingCondition", "", conditionString, context);
-                return true;
-            } catch (AssertionError e) {
-                return false;
-            }
+        CompiledCondition compiled = compiledCondition;
+        if (compiled == null || !ObjectUtils.nullSafeEquals(compiled.getCondition(), condition)) {
+            compiled = CompiledCondition.compile(condition);
+            compiledCondition = compiled;
         }
 
-        return BooleanExpressionParser.evaluate(conditionString);
+        return compiled.evaluate(context);
     }
 
     /**
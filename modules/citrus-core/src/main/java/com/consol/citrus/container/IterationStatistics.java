@@ -0,0 +1,147 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated timing results of a parallel iteration run. Holds the number of completed iterations, the overall
+ * elapsed time and the latency distribution of all completed iterations.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class IterationStatistics {
+
+    /** Sorted latencies of completed iterations in nanoseconds */
+    private final long[] latencies;
+
+    /** Number of failed iterations */
+    private final int errors;
+
+    /** Overall elapsed time in nanoseconds */
+    private final long elapsed;
+
+    /**
+     * Constructor using latencies of completed iterations, error count and overall elapsed time.
+     * @param latencies
+     * @param errors
+     * @param elapsed
+     */
+    public IterationStatistics(long[] latencies, int errors, long elapsed) {
+        this.latencies = Arrays.copyOf(latencies, latencies.length);
+        Arrays.sort(this.latencies);
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the number of completed iterations.
+     * @return
+     */
+    public int getIterations() {
+        return latencies.length;
+    }
+
+    /**
+     * Gets the number of failed iterations.
+     * @return
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the overall elapsed time in milliseconds.
+     * @return
+     */
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    /**
+     * Gets the number of completed iterations per second.
+     * @return
+     */
+    public double getThroughput() {
+        if (elapsed <= 0) {
+            return 0.0D;
+        }
+
+        return latencies.length / (elapsed / 1E9D);
+    }
+
+    /**
+     * Gets the minimum iteration latency in milliseconds.
+     * @return
+     */
+    public double getMinLatency() {
+        return latencies.length > 0 ? toMillis(latencies[0]) : 0.0D;
+    }
+
+    /**
+     * Gets the maximum iteration latency in milliseconds.
+     * @return
+     */
+    public double getMaxLatency() {
+        return latencies.length > 0 ? toMillis(latencies[latencies.length - 1]) : 0.0D;
+    }
+
+    /**
+     * Gets the mean iteration latency in milliseconds.
+     * @return
+     */
+    public double getMeanLatency() {
+        if (latencies.length == 0) {
+            return 0.0D;
+        }
+
+        long sum = 0L;
+        for (long latency : latencies) {
+            sum += latency;
+        }
+
+        return toMillis(sum) / latencies.length;
+    }
+
+    /**
+     * Gets the iteration latency percentile in milliseconds using nearest rank method.
+     * @param percentile percentile between 0 and 100
+     * @return
+     */
+    public double getPercentile(double percentile) {
+        if (latencies.length == 0) {
+            return 0.0D;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100.0D * latencies.length);
+        return toMillis(latencies[Math.min(Math.max(rank, 1), latencies.length) - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1E6D;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("iterations=%d, errors=%d, elapsed=%dms, throughput=%.2f/s, " +
+                "latency min=%.2fms, mean=%.2fms, p50=%.2fms, p90=%.2fms, p99=%.2fms, max=%.2fms",
+                getIterations(), errors, getElapsedTime(), getThroughput(),
+                getMinLatency(), getMeanLatency(), getPercentile(50), getPercentile(90), getPercentile(99), getMaxLatency());
+    }
+}
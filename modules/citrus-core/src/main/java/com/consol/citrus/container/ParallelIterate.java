@@ -0,0 +1,426 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import com.consol.citrus.TestAction;
+import com.consol.citrus.context.CitrusTaskExecutor;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ParallelContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Container executes the nested test actions a given number of times using workers on the task executor of the test
+ * context. Iterations are partitioned among the workers so each worker runs every n-th iteration. Each iteration executes
+ * the nested actions in its own child test context so the index variable and all variables created within an iteration
+ * are isolated from other iterations and from the parent test context. Exceptions that nested actions add to the child
+ * context during forked operations are reported to the parent test context.
+ *
+ * Optional rate limit restricts the number of iterations started per second over all workers. Optional ramp-up period
+ * starts the workers one after another spread over the given time. After all iterations are finished the container
+ * aggregates the iteration latencies to timing statistics such as throughput and percentile latency.
+ *
+ * All workers share the same nested action instances. Nested containers that keep execution state in the container
+ * instance (iterating containers, timer, parallel and parallel iterate) are not thread safe and are therefore rejected
+ * when the nested actions are set.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ParallelIterate extends AbstractActionContainer {
+
+    /** Number of iterations */
+    private int iterations = 1;
+
+    /** Number of concurrent workers */
+    private int workers = 1;
+
+    /** Name of index variable */
+    private String indexName = "i";
+
+    /** Index start value */
+    private int start = 1;
+
+    /** Maximum number of iterations started per second, zero or less for no rate limit */
+    private double rate = 0.0D;
+
+    /** Time in milliseconds over which workers are started */
+    private long rampUp = 0L;
+
+    /** Optional variable name prefix for statistic results */
+    private String statisticsPrefix;
+
+    /** Statistics of last execution */
+    private volatile IterationStatistics statistics;
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(ParallelIterate.class);
+
+    /**
+     * Default constructor.
+     */
+    public ParallelIterate() {
+        setName("parallel-iterate");
+    }
+
+    @Override
+    public ParallelIterate setActions(List<TestAction> actions) {
+        for (TestAction action : actions) {
+            validateNestedAction(action);
+        }
+
+        super.setActions(actions);
+        return this;
+    }
+
+    @Override
+    public ParallelIterate addTestAction(TestAction action) {
+        validateNestedAction(action);
+        super.addTestAction(action);
+        return this;
+    }
+
+    @Override
+    public void doExecute(final TestContext context) {
+        for (TestAction action : actions) {
+            validateNestedAction(action);
+        }
+
+        final int poolSize = Math.max(1, Math.min(workers, iterations));
+        final long[] latencies = new long[Math.max(iterations, 0)];
+        final boolean[] completed = new boolean[latencies.length];
+        final List<CitrusRuntimeException> exceptions = Collections.synchronizedList(new ArrayList<CitrusRuntimeException>());
+        final AtomicBoolean aborted = new AtomicBoolean(false);
+        final RateLimiter rateLimiter = rate > 0 ? new RateLimiter(rate) : null;
+
+        CitrusTaskExecutor taskExecutor = context.getTaskExecutor();
+        if (poolSize > taskExecutor.getPoolSize()) {
+            log.warn(String.format("Parallel iteration uses %s workers but task executor '%s' is limited to %s threads - " +
+                    "remaining workers start when threads become available", poolSize, taskExecutor.getName(), taskExecutor.getPoolSize()));
+        }
+
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int worker = 0; worker < poolSize; worker++) {
+                final int partition = worker;
+                final long delay = poolSize > 1 ? rampUp * worker / poolSize : 0L;
+
+                futures.add(taskExecutor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (delay > 0 && !sleep(delay)) {
+                            return;
+                        }
+
+                        for (int iteration = partition; iteration < latencies.length && !aborted.get(); iteration += poolSize) {
+                            if (rateLimiter != null && !rateLimiter.acquire()) {
+                                return;
+                            }
+
+                            TestContext iterationContext = context.createChildContext();
+                            iterationContext.setVariable(indexName, String.valueOf(start + iteration));
+
+                            long iterationStart = System.nanoTime();
+                            try {
+                                for (TestAction action : actions) {
+                                    setLastExecutedAction(action);
+                                    action.execute(iterationContext);
+                                }
+
+                                latencies[iteration] = System.nanoTime() - iterationStart;
+                                completed[iteration] = true;
+                            } catch (CitrusRuntimeException e) {
+                                log.error("Parallel iteration raised error", e);
+                                exceptions.add(e);
+                                aborted.set(true);
+                            } catch (RuntimeException | AssertionError e) {
+                                log.error("Parallel iteration raised error", e);
+                                exceptions.add(new CitrusRuntimeException(e));
+                                aborted.set(true);
+                            }
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CitrusRuntimeException("Interrupted while waiting for parallel iterations to finish", e);
+                } catch (ExecutionException e) {
+                    throw new CitrusRuntimeException("Failed to execute parallel iterations", e.getCause());
+                }
+            }
+        } finally {
+            aborted.set(true);
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        statistics = new IterationStatistics(collectLatencies(latencies, completed), exceptions.size(), System.nanoTime() - started);
+        log.info("Parallel iteration finished: " + statistics);
+
+        if (StringUtils.hasText(statisticsPrefix)) {
+            context.setVariable(statisticsPrefix + "iterations", String.valueOf(statistics.getIterations()));
+            context.setVariable(statisticsPrefix + "errors", String.valueOf(statistics.getErrors()));
+            context.setVariable(statisticsPrefix + "elapsed", String.valueOf(statistics.getElapsedTime()));
+            context.setVariable(statisticsPrefix + "throughput", String.valueOf(statistics.getThroughput()));
+            context.setVariable(statisticsPrefix + "min", String.valueOf(statistics.getMinLatency()));
+            context.setVariable(statisticsPrefix + "mean", String.valueOf(statistics.getMeanLatency()));
+            context.setVariable(statisticsPrefix + "max", String.valueOf(statistics.getMaxLatency()));
+            context.setVariable(statisticsPrefix + "p50", String.valueOf(statistics.getPercentile(50)));
+            context.setVariable(statisticsPrefix + "p90", String.valueOf(statistics.getPercentile(90)));
+            context.setVariable(statisticsPrefix + "p99", String.valueOf(statistics.getPercentile(99)));
+        }
+
+        if (!exceptions.isEmpty()) {
+            if (exceptions.size() == 1) {
+                throw exceptions.get(0);
+            } else {
+                throw new ParallelContainerException(exceptions);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that given action and all of its nested actions can be shared by worker threads. Rejects containers
+     * that keep execution state such as loop index or worker threads in the container instance.
+     * @param action
+     */
+    private void validateNestedAction(TestAction action) {
+        if (action instanceof AbstractIteratingActionContainer || action instanceof Timer ||
+                action instanceof Parallel || action instanceof ParallelIterate) {
+            throw new CitrusRuntimeException(String.format("Unsupported nested container '%s' in %s - " +
+                    "container keeps execution state and must not be shared by parallel workers", action.getName(), getName()));
+        }
+
+        if (action instanceof TestActionContainer) {
+            for (TestAction nested : ((TestActionContainer) action).getActions()) {
+                validateNestedAction(nested);
+            }
+        }
+    }
+
+    /**
+     * Collects latencies of all completed iterations.
+     * @param latencies
+     * @param completed
+     * @return
+     */
+    private long[] collectLatencies(long[] latencies, boolean[] completed) {
+        int count = 0;
+        for (boolean done : completed) {
+            if (done) {
+                count++;
+            }
+        }
+
+        long[] result = new long[count];
+        int pos = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            if (completed[i]) {
+                result[pos++] = latencies[i];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Sleeps given time in milliseconds. Returns false when interrupted.
+     * @param millis
+     * @return
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Rate limiter shared by all workers hands out evenly spaced start times.
+     */
+    private static final class RateLimiter {
+        private final long interval;
+        private final AtomicLong nextPermit = new AtomicLong(System.nanoTime());
+
+        RateLimiter(double rate) {
+            this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        }
+
+        /**
+         * Waits for next start permit. Returns false when interrupted.
+         * @return
+         */
+        boolean acquire() {
+            while (true) {
+                long now = System.nanoTime();
+                long permit = nextPermit.get();
+                long next = Math.max(now, permit);
+
+                if (nextPermit.compareAndSet(permit, next + interval)) {
+                    long wait = next - now;
+                    if (wait > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of iterations.
+     * @return
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the number of iterations.
+     * @param iterations
+     */
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Gets the number of workers.
+     * @return
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of workers.
+     * @param workers
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Gets the index name.
+     * @return
+     */
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * Sets the index name.
+     * @param indexName
+     */
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    /**
+     * Gets the index start value.
+     * @return
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Sets the index start value.
+     * @param start
+     */
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    /**
+     * Gets the rate limit in iterations per second.
+     * @return
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Sets the rate limit in iterations per second.
+     * @param rate
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Gets the ramp-up time in milliseconds.
+     * @return
+     */
+    public long getRampUp() {
+        return rampUp;
+    }
+
+    /**
+     * Sets the ramp-up time in milliseconds.
+     * @param rampUp
+     */
+    public void setRampUp(long rampUp) {
+        this.rampUp = rampUp;
+    }
+
+    /**
+     * Gets the statistics variable prefix.
+     * @return
+     */
+    public String getStatisticsPrefix() {
+        return statisticsPrefix;
+    }
+
+    /**
+     * Sets the statistics variable prefix.
+     * @param statisticsPrefix
+     */
+    public void setStatisticsPrefix(String statisticsPrefix) {
+        this.statisticsPrefix = statisticsPrefix;
+    }
+
+    /**
+     * Gets the statistics of the last execution.
+     * @return
+     */
+    public IterationStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -20,7 +20,6 @@ import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.AbstractTestAction;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.functions.FunctionUtils;
-import com.consol.citrus.variable.GlobalVariables;
 import com.consol.citrus.variable.VariableUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,23 +72,7 @@ public class Template extends AbstractTestAction {
         if (globalContext) {
             innerContext = context;
         } else {
-            innerContext = new TestContext();
-            innerContext.setFunctionRegistry(context.getFunctionRegistry());
-
-            GlobalVariables globalVariables = new GlobalVariables();
-            globalVariables.getVariables().putAll(context.getGlobalVariables());
-            innerContext.setGlobalVariables(globalVariables);
-            innerContext.getVariables().putAll(context.getVariables());
-
-            innerContext.setMessageStore(context.getMessageStore());
-            innerContext.setMessageValidatorRegistry(context.getMessageValidatorRegistry());
-            innerContext.setValidationMatcherRegistry(context.getValidationMatcherRegistry());
-            innerContext.setTestListeners(context.getTestListeners());
-            innerContext.setMessageListeners(context.getMessageListeners());
-            innerContext.setMessageConstructionInterceptors(context.getMessageConstructionInterceptors());
-            innerContext.setEndpointFactory(context.getEndpointFactory());
-            innerContext.setNamespaceContextBuilder(context.getNamespaceContextBuilder());
-            innerContext.setApplicationContext(context.getApplicationContext());
+            innerContext = context.createChildContext();
         }
         
         for (Entry<String, String> entry : parameter.entrySet()) {
@@ -21,13 +21,16 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.StringUtils;
 
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Timer container executes nested actions periodically. Timer tasks run on the task executor shared via test context,
+ * so no dedicated timer thread is created per timer. Forked timers do not block the test execution.
+ *
  * @author Martin Maher
  * @since 2.5
  */
@@ -45,9 +48,9 @@ public class Timer extends AbstractActionContainer implements StopTimer {
     private boolean fork = false;
     private String timerId;
 
-    protected boolean timerComplete = false;
+    protected volatile boolean timerComplete = false;
     protected CitrusRuntimeException timerException = null;
-    private java.util.Timer timer;
+    private ScheduledFuture<?> timer;
 
     public Timer() {
         setName("timer");
@@ -55,24 +58,20 @@ public class Timer extends AbstractActionContainer implements StopTimer {
 
     @Override
     public void doExecute(final TestContext context) {
-        if (fork) {
-            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
-            taskExecutor.execute(new Runnable() {
-                public void run() {
-                    configureAndRunTimer(context);
-                }
-            });
-        } else {
-            configureAndRunTimer(context);
+        configureAndRunTimer(context);
+
+        if (!fork) {
+            waitForTimer();
         }
     }
 
     private void configureAndRunTimer(final TestContext context) {
-        timer = new java.util.Timer(getTimerId(), false);
+        timerComplete = false;
+        timerException = null;
 
         context.registerTimer(getTimerId(), this);
 
-        TimerTask timerTask = new TimerTask() {
+        Runnable timerTask = new Runnable() {
             int indexCount = 0;
 
             @Override
@@ -113,8 +112,14 @@ public class Timer extends AbstractActionContainer implements StopTimer {
                 }
             }
         };
-        timer.scheduleAtFixedRate(timerTask, delay, interval);
+        synchronized (this) {
+            if (!timerComplete) {
+                timer = context.getTaskExecutor().scheduleAtFixedRate(timerTask, delay, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
 
+    private void waitForTimer() {
         while (!timerComplete) {
             try {
                 Thread.sleep(interval);
@@ -136,8 +141,10 @@ public class Timer extends AbstractActionContainer implements StopTimer {
     }
 
     @Override
-    public void stopTimer() {
-        timer.cancel();
+    public synchronized void stopTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+        }
         timerComplete = true;
     }
 
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Managed task executor shared by timer containers, forked send actions, wait actions and test executing endpoint adapters.
+ *
+ * Scheduling and blocking work are kept apart. Scheduled tasks such as timer ticks run on a small scheduler pool. Blocking
+ * tasks such as forked sends or test runs run on a bounded worker pool, so neither kind of work is able to starve the other.
+ * Worker tasks exceeding the pool size are queued up to the queue capacity. A warning is logged as soon as tasks start queueing
+ * and tasks exceeding the queue capacity are rejected with {@link TaskRejectedException}.
+ *
+ * Executor statistics are exposed as MBean on the platform MBean server. Executor is defined as bean in the Citrus Spring
+ * application context and shut down with the context. Test contexts created without Spring fall back to a default instance
+ * that is shut down via JVM shutdown hook.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class CitrusTaskExecutor implements TaskExecutor, CitrusTaskExecutorMBean, BeanNameAware, DisposableBean {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CitrusTaskExecutor.class);
+
+    /** Default executor used when no executor bean is available */
+    private static CitrusTaskExecutor defaultExecutor;
+
+    /** Executor name used in MBean object name */
+    private String name = "citrusTaskExecutor";
+
+    /** Maximum number of worker threads */
+    private int poolSize = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+    /** Maximum number of worker tasks waiting for a free thread */
+    private int queueCapacity = 10000;
+
+    /** Number of scheduler threads */
+    private int schedulerPoolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /** Prefix for thread names */
+    private String threadNamePrefix = "citrus-task-";
+
+    /** Lazy initialized worker pool */
+    private ThreadPoolExecutor executor;
+
+    /** Lazy initialized scheduler */
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /** Number of rejected worker tasks */
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+
+    /** Marks saturated worker pool so warning is logged once until queue is drained */
+    private final AtomicBoolean saturated = new AtomicBoolean(false);
+
+    /** Object name of registered MBean */
+    private ObjectName objectName;
+
+    /**
+     * Gets the default executor instance. Instance is created on first access and shut down on JVM shutdown.
+     * @return
+     */
+    public static synchronized CitrusTaskExecutor getDefault() {
+        if (defaultExecutor == null) {
+            defaultExecutor = new CitrusTaskExecutor();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    defaultExecutor.destroy();
+                }
+            }, "citrus-task-shutdown"));
+        }
+
+        return defaultExecutor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        ThreadPoolExecutor workers = getExecutor();
+        workers.execute(task);
+        checkSaturation(workers);
+    }
+
+    /**
+     * Submits blocking task to worker pool. Returned future is able to interrupt the running task.
+     * @param task
+     * @return
+     */
+    public Future<?> submit(Runnable task) {
+        ThreadPoolExecutor workers = getExecutor();
+        Future<?> future = workers.submit(task);
+        checkSaturation(workers);
+        return future;
+    }
+
+    /**
+     * Submits blocking task to worker pool.
+     * @param task
+     * @return
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        ThreadPoolExecutor workers = getExecutor();
+        Future<T> future = workers.submit(task);
+        checkSaturation(workers);
+        return future;
+    }
+
+    /**
+     * Submits all tasks to worker pool running at most given number of tasks at the same time. Tasks are taken in order
+     * by a limited number of worker tasks so the remaining tasks do not occupy worker threads or queue capacity. Returned
+     * futures are in task order and able to interrupt running tasks.
+     * @param tasks
+     * @param concurrency
+     * @return
+     */
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, int concurrency) {
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        final Queue<FutureTask<T>> pending = new ConcurrentLinkedQueue<>();
+        for (Callable<T> task : tasks) {
+            FutureTask<T> future = new FutureTask<>(task);
+            futures.add(future);
+            pending.add(future);
+        }
+
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                FutureTask<T> next;
+                while ((next = pending.poll()) != null) {
+                    next.run();
+                }
+            }
+        };
+
+        int workers = Math.min(Math.max(1, concurrency), futures.size());
+        for (int i = 0; i < workers; i++) {
+            execute(worker);
+        }
+
+        return futures;
+    }
+
+    /**
+     * Executes task once after given delay on the scheduler. Task should be short running, blocking work
+     * should be handed over to the worker pool.
+     * @param task
+     * @param delay
+     * @param unit
+     * @return
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return getScheduler().schedule(task, delay, unit);
+    }
+
+    /**
+     * Executes task periodically at fixed rate on the scheduler. Executions of the same task never overlap.
+     * @param task
+     * @param delay
+     * @param period
+     * @param unit
+     * @return
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long delay, long period, TimeUnit unit) {
+        return getScheduler().scheduleAtFixedRate(task, delay, period, unit);
+    }
+
+    /**
+     * Logs warning when worker tasks start to queue up because all threads are busy.
+     * @param workers
+     */
+    private void checkSaturation(ThreadPoolExecutor workers) {
+        if (workers.getQueue().isEmpty()) {
+            saturated.set(false);
+        } else if (saturated.compareAndSet(false, true)) {
+            log.warn(String.format("Task executor '%s' saturated - all %s threads busy, tasks are queued (queue capacity %s)",
+                    name, poolSize, queueCapacity));
+        }
+    }
+
+    /**
+     * Gets the worker pool for blocking tasks. Creates the pool on first access.
+     * @return
+     */
+    public synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(queueCapacity), new TaskThreadFactory(threadNamePrefix), new RejectedExecutionHandler() {
+                @Override
+                public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+                    rejectedTaskCount.incrementAndGet();
+                    throw new TaskRejectedException(String.format("Task executor '%s' rejected task - all %s threads busy and queue capacity %s exceeded",
+                            name, poolSize, queueCapacity));
+                }
+            });
+            executor.allowCoreThreadTimeOut(true);
+            registerMBean();
+        }
+
+        return executor;
+    }
+
+    /**
+     * Gets the scheduler for delayed and periodic tasks. Creates the scheduler on first access.
+     * @return
+     */
+    public synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(schedulerPoolSize, new TaskThreadFactory(threadNamePrefix + "scheduler-"));
+            scheduler.setRemoveOnCancelPolicy(true);
+            registerMBean();
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Registers this executor as MBean on the platform MBean server once.
+     */
+    private void registerMBean() {
+        if (objectName != null) {
+            return;
+        }
+
+        try {
+            ObjectName mbeanName = new ObjectName("com.consol.citrus:type=TaskExecutor,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            if (server.isRegistered(mbeanName)) {
+                log.debug("Task executor MBean already registered: " + mbeanName);
+                return;
+            }
+
+            server.registerMBean(this, mbeanName);
+            objectName = mbeanName;
+        } catch (JMException e) {
+            log.warn("Failed to register task executor MBean", e);
+        }
+    }
+
+    @Override
+    public synchronized int getQueueSize() {
+        return (executor != null ? executor.getQueue().size() : 0) + getScheduledTaskCount();
+    }
+
+    @Override
+    public synchronized int getScheduledTaskCount() {
+        return scheduler != null ? scheduler.getQueue().size() : 0;
+    }
+
+    @Override
+    public synchronized int getActiveCount() {
+        return (executor != null ? executor.getActiveCount() : 0) + (scheduler != null ? scheduler.getActiveCount() : 0);
+    }
+
+    @Override
+    public synchronized int getCurrentPoolSize() {
+        return (executor != null ? executor.getPoolSize() : 0) + (scheduler != null ? scheduler.getPoolSize() : 0);
+    }
+
+    @Override
+    public synchronized long getCompletedTaskCount() {
+        return (executor != null ? executor.getCompletedTaskCount() : 0L) + (scheduler != null ? scheduler.getCompletedTaskCount() : 0L);
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount.get();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null || scheduler != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Shutting down task executor - %s active threads, %s queued tasks, %s completed tasks, %s rejected tasks",
+                        getActiveCount(), getQueueSize(), getCompletedTaskCount(), getRejectedTaskCount()));
+            }
+        }
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                log.warn("Failed to unregister task executor MBean", e);
+            }
+
+            objectName = null;
+        }
+    }
+
+    @Override
+    public void setBeanName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the executor name.
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the executor name.
+     * @param name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the maximum number of worker threads. Takes effect before the first task is executed.
+     * @param poolSize
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of worker tasks waiting for a free thread. Takes effect before the first task is executed.
+     * @param queueCapacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public int getSchedulerPoolSize() {
+        return schedulerPoolSize;
+    }
+
+    /**
+     * Sets the number of scheduler threads. Takes effect before the first task is scheduled.
+     * @param schedulerPoolSize
+     */
+    public void setSchedulerPoolSize(int schedulerPoolSize) {
+        this.schedulerPoolSize = schedulerPoolSize;
+    }
+
+    /**
+     * Gets the thread name prefix.
+     * @return
+     */
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    /**
+     * Sets the thread name prefix.
+     * @param threadNamePrefix
+     */
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /**
+     * Daemon thread factory naming threads with prefix and sequence number.
+     */
+    private static final class TaskThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger(0);
+        private final String prefix;
+
+        TaskThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+/**
+ * Management interface exposing Citrus task executor statistics via JMX.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public interface CitrusTaskExecutorMBean {
+
+    /**
+     * Gets the number of tasks waiting for execution including scheduled tasks.
+     * @return
+     */
+    int getQueueSize();
+
+    /**
+     * Gets the number of delayed and periodic tasks waiting on the scheduler.
+     * @return
+     */
+    int getScheduledTaskCount();
+
+    /**
+     * Gets the number of threads actively executing tasks.
+     * @return
+     */
+    int getActiveCount();
+
+    /**
+     * Gets the current number of threads in worker pool and scheduler.
+     * @return
+     */
+    int getCurrentPoolSize();
+
+    /**
+     * Gets the number of completed tasks.
+     * @return
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * Gets the number of worker tasks rejected because pool and queue were exhausted.
+     * @return
+     */
+    long getRejectedTaskCount();
+
+    /**
+     * Gets the maximum number of worker threads.
+     * @return
+     */
+    int getPoolSize();
+
+    /**
+     * Gets the maximum number of worker tasks waiting for a free thread.
+     * @return
+     */
+    int getQueueCapacity();
+
+    /**
+     * Gets the number of scheduler threads.
+     * @return
+     */
+    int getSchedulerPoolSize();
+}
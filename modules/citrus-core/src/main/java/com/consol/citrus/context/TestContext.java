@@ -31,14 +31,15 @@ import com.consol.citrus.util.TypeConversionUtils;
 import com.consol.citrus.validation.MessageValidatorRegistry;
 import com.consol.citrus.validation.interceptor.MessageConstructionInterceptors;
 import com.consol.citrus.validation.matcher.ValidationMatcherRegistry;
-import com.consol.citrus.variable.GlobalVariables;
-import com.consol.citrus.variable.VariableUtils;
+import com.consol.citrus.variable.*;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.util.*;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.*;
 import java.util.Map.Entry;
@@ -64,6 +65,9 @@ public class TestContext {
 
     /** Message store */
     private MessageStore messageStore = new DefaultMessageStore();
+
+    /** Marks message store as created for this test context only, so it is closed when the test has finished */
+    private boolean closeMessageStore = false;
     
     /** Function registry holding all available functions */
     private FunctionRegistry functionRegistry = new FunctionRegistry();
@@ -95,11 +99,14 @@ public class TestContext {
     /** Spring bean application context */
     private ApplicationContext applicationContext;
 
+    /** Task executor for timers and forked operations */
+    private CitrusTaskExecutor taskExecutor;
+
     /** Timers registered in test context, that can be stopped */
     protected Map<String, StopTimer> timers = new ConcurrentHashMap<>();
 
     /** List of exceptions that actions raised during execution of forked operations */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<>();
+    private List<CitrusRuntimeException> exceptions = Collections.synchronizedList(new ArrayList<CitrusRuntimeException>());
 
     /**
      * Default constructor
@@ -284,6 +291,41 @@ public class TestContext {
         return resolveDynamicValuesInList(Arrays.asList(array)).toArray(Arrays.copyOf(array, array.length));
     }
     
+    /**
+     * Creates a child test context with layered variable scope. The child context reads variables and global variables
+     * from this context but stores all variable changes in its own scope so this context is not affected. No variables
+     * are copied when creating the child context. All other settings such as registries, listeners and the message store
+     * are shared with this context. Exceptions added to the child context are added to this context so forked operations
+     * within the child context mark the test as failed.
+     *
+     * @return the child test context.
+     */
+    public TestContext createChildContext() {
+        TestContext child = new TestContext();
+        child.setVariables(new VariableScope(variables));
+
+        if (globalVariables != null) {
+            child.globalVariables = new GlobalVariables();
+            child.globalVariables.setVariables(new VariableScope(globalVariables.getVariables()));
+        }
+
+        child.setFunctionRegistry(functionRegistry);
+        child.setMessageStore(messageStore);
+        child.setMessageValidatorRegistry(messageValidatorRegistry);
+        child.setValidationMatcherRegistry(validationMatcherRegistry);
+        child.setTestListeners(testListeners);
+        child.setMessageListeners(messageListeners);
+        child.setMessageConstructionInterceptors(messageConstructionInterceptors);
+        child.setEndpointFactory(endpointFactory);
+        child.setReferenceResolver(referenceResolver);
+        child.setNamespaceContextBuilder(namespaceContextBuilder);
+        child.setApplicationContext(applicationContext);
+        child.setTaskExecutor(taskExecutor);
+        child.exceptions = exceptions;
+
+        return child;
+    }
+
     /**
      * Clears variables in this test context. Initially adds all global variables.
      */
@@ -407,7 +449,33 @@ public class TestContext {
      * @param messageStore
      */
     public void setMessageStore(MessageStore messageStore) {
+        setMessageStore(messageStore, false);
+    }
+
+    /**
+     * Sets the messageStore property. Message stores created for this test context only should be closed
+     * when the test has finished. Shared message stores are never closed by the test context.
+     *
+     * @param messageStore
+     * @param closeOnFinish
+     */
+    public void setMessageStore(MessageStore messageStore, boolean closeOnFinish) {
         this.messageStore = messageStore;
+        this.closeMessageStore = closeOnFinish;
+    }
+
+    /**
+     * Closes message store when it has been created for this test context only and holds resources such as
+     * spill files that should not outlive the test.
+     */
+    public void closeMessageStore() {
+        if (closeMessageStore && messageStore instanceof Closeable) {
+            try {
+                ((Closeable) messageStore).close();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to close message store", e);
+            }
+        }
     }
 
     /**
@@ -581,6 +649,26 @@ public class TestContext {
         this.applicationContext = applicationContext;
     }
 
+    /**
+     * Gets the task executor for timers and forked operations. Uses the default executor if not set.
+     * @return
+     */
+    public CitrusTaskExecutor getTaskExecutor() {
+        if (taskExecutor == null) {
+            return CitrusTaskExecutor.getDefault();
+        }
+
+        return taskExecutor;
+    }
+
+    /**
+     * Sets the task executor for timers and forked operations.
+     * @param taskExecutor
+     */
+    public void setTaskExecutor(CitrusTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
     /**
      * Informs message listeners if present that inbound message was received.
      * @param receivedMessage
@@ -17,7 +17,9 @@
 package com.consol.citrus.context;
 
 import com.consol.citrus.endpoint.EndpointFactory;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.functions.FunctionRegistry;
+import com.consol.citrus.message.MessageStore;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.report.TestListeners;
 import com.consol.citrus.validation.MessageValidatorRegistry;
@@ -34,6 +36,8 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.util.CollectionUtils;
 
+import java.util.Arrays;
+
 /**
  * Factory bean implementation taking care of {@link FunctionRegistry} and {@link GlobalVariables}.
  * 
@@ -71,6 +75,9 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
     @Autowired(required=false)
     private NamespaceContextBuilder namespaceContextBuilder;
 
+    @Autowired(required=false)
+    private CitrusTaskExecutor taskExecutor;
+
     /** Spring bean application context */
     private ApplicationContext applicationContext;
     
@@ -117,12 +124,19 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
             factory.setEndpointFactory(applicationContext.getBean(EndpointFactory.class));
         }
 
+        if (!CollectionUtils.isEmpty(applicationContext.getBeansOfType(CitrusTaskExecutor.class))) {
+            factory.setTaskExecutor(applicationContext.getBean(CitrusTaskExecutor.class));
+        }
+
         factory.setApplicationContext(applicationContext);
 
         return factory;
     }
     
     /**
+     * Creates new test context. Message store is taken from Spring bean application context when present. Message
+     * store beans must use prototype scope so each test context gets its own store that is closed when the test
+     * has finished.
      * @see org.springframework.beans.factory.FactoryBean#getObject()
      */
     public TestContext getObject() {
@@ -142,6 +156,27 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
             context.setNamespaceContextBuilder(namespaceContextBuilder);
         }
 
+        if (taskExecutor != null) {
+            context.setTaskExecutor(taskExecutor);
+        }
+
+        if (applicationContext != null) {
+            String[] messageStores = applicationContext.getBeanNamesForType(MessageStore.class);
+
+            if (messageStores.length > 1) {
+                throw new CitrusRuntimeException("Found multiple message store beans in application context: " + Arrays.toString(messageStores));
+            }
+
+            if (messageStores.length == 1) {
+                if (!applicationContext.isPrototype(messageStores[0])) {
+                    throw new CitrusRuntimeException(String.format("Message store bean '%s' must use prototype scope " +
+                            "in order to create a new message store for each test context", messageStores[0]));
+                }
+
+                context.setMessageStore(applicationContext.getBean(messageStores[0], MessageStore.class), true);
+            }
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Created new test context - using global variables: '"
                     + context.getGlobalVariables() + "'");
@@ -322,6 +357,22 @@ public class TestContextFactory implements FactoryBean<TestContext>, Application
         return messageConstructionInterceptors;
     }
 
+    /**
+     * Sets the task executor.
+     * @param taskExecutor
+     */
+    public void setTaskExecutor(CitrusTaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Gets the task executor.
+     * @return
+     */
+    public CitrusTaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
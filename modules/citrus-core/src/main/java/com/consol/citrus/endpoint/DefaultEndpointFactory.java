@@ -16,6 +16,7 @@
 
 package com.consol.citrus.endpoint;
 
+import com.consol.citrus.Citrus;
 import com.consol.citrus.annotations.CitrusEndpointConfig;
 import com.consol.citrus.config.annotation.*;
 import com.consol.citrus.context.ReferenceResolver;
@@ -42,6 +43,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * Default endpoint components are listed in property file reference where key is the component name and value is the fully qualified class name
  * of the implementing endpoint component class.
  *
+ * Endpoint components and annotation parsers are looked up in the application context once and kept in a registry
+ * as long as the same application context is used. Endpoint uris without variables or functions skip dynamic content replacement.
+ *
  * @author Christoph Deppisch
  * @since 1.4.1
  */
@@ -59,6 +63,18 @@ public class DefaultEndpointFactory implements EndpointFactory {
     /** Endpoint cache for endpoint reuse */
     private Map<String, Endpoint> endpointCache = new ConcurrentHashMap<>();
 
+    /** Cached endpoint names by endpoint uri */
+    private Map<String, String> endpointNames = new ConcurrentHashMap<>();
+
+    /** Default endpoint components instantiated from classpath resource properties */
+    private Map<String, EndpointComponent> defaultComponents = new ConcurrentHashMap<>();
+
+    /** Default annotation parsers instantiated from classpath resource properties */
+    private Map<String, AnnotationConfigParser> defaultParsers = new ConcurrentHashMap<>();
+
+    /** Endpoint components and annotation parsers found in application context */
+    private volatile ComponentRegistry registry;
+
     @Autowired
     private ReferenceResolver referenceResolver;
 
@@ -73,7 +89,7 @@ public class DefaultEndpointFactory implements EndpointFactory {
     @Override
     public Endpoint create(String endpointName, Annotation endpointConfig, TestContext context) {
         String qualifier = endpointConfig.annotationType().getAnnotation(CitrusEndpointConfig.class).qualifier();
-        AnnotationConfigParser parser = getAnnotationParser(context.getApplicationContext()).get(qualifier);
+        AnnotationConfigParser parser = getRegistry(context.getApplicationContext()).annotationParsers.get(qualifier);
 
         if (parser == null) {
             // try to get parser from default Citrus modules
@@ -91,18 +107,29 @@ public class DefaultEndpointFactory implements EndpointFactory {
 
     @Override
     public Endpoint create(String uri, TestContext context) {
-        String endpointUri = context.replaceDynamicContentInString(uri);
+        String endpointUri = isDynamic(uri) ? context.replaceDynamicContentInString(uri) : uri;
         if (!endpointUri.contains(":")) {
             return context.getApplicationContext().getBean(endpointUri, Endpoint.class);
         }
 
+        String knownEndpointName = endpointNames.get(endpointUri);
+        if (knownEndpointName != null) {
+            Endpoint cached = endpointCache.get(knownEndpointName);
+            if (cached != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Found cached endpoint for uri '%s'", knownEndpointName));
+                }
+                return cached;
+            }
+        }
+
         StringTokenizer tok = new StringTokenizer(endpointUri, ":");
         if (tok.countTokens() < 2) {
             throw new CitrusRuntimeException(String.format("Invalid endpoint uri '%s'", endpointUri));
         }
 
         String componentName = tok.nextToken();
-        EndpointComponent component = getEndpointComponents(context.getApplicationContext()).get(componentName);
+        EndpointComponent component = getRegistry(context.getApplicationContext()).endpointComponents.get(componentName);
 
         if (component == null) {
             // try to get component from default Citrus modules
@@ -121,25 +148,60 @@ public class DefaultEndpointFactory implements EndpointFactory {
             cachedEndpointName = endpointUri;
         }
 
-        synchronized (endpointCache) {
-            if (endpointCache.containsKey(cachedEndpointName)) {
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Found cached endpoint for uri '%s'", cachedEndpointName));
-                }
-                return endpointCache.get(cachedEndpointName);
-            } else {
-                Endpoint endpoint = component.createEndpoint(endpointUri, context);
-                endpointCache.put(cachedEndpointName, endpoint);
-                return endpoint;
+        endpointNames.put(endpointUri, cachedEndpointName);
+
+        Endpoint cached = endpointCache.get(cachedEndpointName);
+        if (cached != null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Found cached endpoint for uri '%s'", cachedEndpointName));
             }
+            return cached;
         }
+
+        final EndpointComponent endpointComponent = component;
+        return endpointCache.computeIfAbsent(cachedEndpointName, name -> endpointComponent.createEndpoint(endpointUri, context));
+    }
+
+    /**
+     * Checks if endpoint uri holds variables or functions that need to be replaced.
+     * @param uri
+     * @return
+     */
+    private boolean isDynamic(String uri) {
+        return uri.contains(Citrus.VARIABLE_PREFIX) || uri.indexOf('(') >= 0;
     }
 
-    private Map<String, EndpointComponent> getEndpointComponents(ApplicationContext applicationContext) {
-        return applicationContext.getBeansOfType(EndpointComponent.class);
+    /**
+     * Gets registry of endpoint components and annotation parsers in given application context. Application context is
+     * scanned only once unless a different application context is given.
+     * @param applicationContext
+     * @return
+     */
+    private ComponentRegistry getRegistry(ApplicationContext applicationContext) {
+        ComponentRegistry current = registry;
+        if (current == null || current.applicationContext != applicationContext) {
+            current = new ComponentRegistry(applicationContext);
+            registry = current;
+        }
+
+        return current;
     }
 
     private EndpointComponent resolveDefaultComponent(String componentName) {
+        EndpointComponent cached = defaultComponents.get(componentName);
+        if (cached != null) {
+            return cached;
+        }
+
+        EndpointComponent endpointComponent = createDefaultComponent(componentName);
+        if (endpointComponent != null) {
+            defaultComponents.putIfAbsent(componentName, endpointComponent);
+        }
+
+        return endpointComponent;
+    }
+
+    private EndpointComponent createDefaultComponent(String componentName) {
         String endpointComponentClassName = endpointComponentProperties.getProperty(componentName);
 
         try {
@@ -160,11 +222,21 @@ public class DefaultEndpointFactory implements EndpointFactory {
         return null;
     }
 
-    private Map<String, AnnotationConfigParser> getAnnotationParser(ApplicationContext applicationContext) {
-        return applicationContext.getBeansOfType(AnnotationConfigParser.class);
+    private AnnotationConfigParser resolveDefaultAnnotationParser(String qualifier) {
+        AnnotationConfigParser cached = defaultParsers.get(qualifier);
+        if (cached != null) {
+            return cached;
+        }
+
+        AnnotationConfigParser annotationParser = createDefaultAnnotationParser(qualifier);
+        if (annotationParser != null) {
+            defaultParsers.putIfAbsent(qualifier, annotationParser);
+        }
+
+        return annotationParser;
     }
 
-    private AnnotationConfigParser resolveDefaultAnnotationParser(String qualifier) {
+    private AnnotationConfigParser createDefaultAnnotationParser(String qualifier) {
         String annotationParserClassName = endpointParserProperties.getProperty(qualifier);
 
         try {
@@ -207,4 +279,19 @@ public class DefaultEndpointFactory implements EndpointFactory {
             log.warn("Unable to laod default endpoint annotation parsers from resource '%s'", e);
         }
     }
+
+    /**
+     * Endpoint components and annotation parsers found in application context.
+     */
+    private static final class ComponentRegistry {
+        private final ApplicationContext applicationContext;
+        private final Map<String, EndpointComponent> endpointComponents;
+        private final Map<String, AnnotationConfigParser> annotationParsers;
+
+        ComponentRegistry(ApplicationContext applicationContext) {
+            this.applicationContext = applicationContext;
+            this.endpointComponents = applicationContext.getBeansOfType(EndpointComponent.class);
+            this.annotationParsers = applicationContext.getBeansOfType(AnnotationConfigParser.class);
+        }
+    }
 }
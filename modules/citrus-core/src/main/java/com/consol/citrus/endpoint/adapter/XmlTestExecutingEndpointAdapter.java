@@ -19,6 +19,7 @@ package com.consol.citrus.endpoint.adapter;
 import com.consol.citrus.TestCase;
 import com.consol.citrus.channel.ChannelEndpointAdapter;
 import com.consol.citrus.channel.ChannelSyncEndpointConfiguration;
+import com.consol.citrus.context.CitrusTaskExecutor;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.endpoint.EndpointAdapter;
@@ -32,7 +33,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
 /**
@@ -43,8 +43,8 @@ import org.springframework.core.task.TaskExecutor;
  * @since 1.4
  */
 public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointAdapter implements InitializingBean, BeanNameAware, ApplicationContextAware {
-    /** Executor start action sequence logic in separate thread task */
-    private TaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+    /** Executor start action sequence logic in separate thread task, defaults to the Citrus task executor */
+    private TaskExecutor taskExecutor;
 
     /** This adapter name - used for message channel generation */
     private String name = EndpointAdapter.class.getSimpleName();
@@ -74,7 +74,7 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
                     mappingName + "' in Spring bean context", e);
         }
 
-        taskExecutor.execute(new Runnable() {
+        getTaskExecutor().execute(new Runnable() {
             public void run() {
                 prepareExecution(request, test);
                 test.execute(testContext);
@@ -175,16 +175,24 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
     }
 
     /**
-     * Gets the task executor.
+     * Gets the task executor. Falls back to the Citrus task executor used by test contexts when not set.
      * @return
      */
     public TaskExecutor getTaskExecutor() {
+        if (taskExecutor == null) {
+            if (testContextFactory != null && testContextFactory.getTaskExecutor() != null) {
+                return testContextFactory.getTaskExecutor();
+            }
+
+            return CitrusTaskExecutor.getDefault();
+        }
+
         return taskExecutor;
     }
 
     /**
      * Sets the task executor. Usually some async task executor for test execution in
-     * separate thread instance.
+     * separate thread instance. When not set tests are executed with the Citrus task executor.
      *
      * @param taskExecutor
      */
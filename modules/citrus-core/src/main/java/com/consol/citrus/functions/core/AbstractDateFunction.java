@@ -17,8 +17,11 @@
 package com.consol.citrus.functions.core;
 
 import com.consol.citrus.functions.Function;
+import com.consol.citrus.util.PatternUtils;
 
 import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Calendar;
 
@@ -30,6 +33,9 @@ import java.util.Calendar;
  */
 public abstract class AbstractDateFunction implements Function {
 
+    /** Default date pattern */
+    protected static final String DEFAULT_DATE_PATTERN = "dd.MM.yyyy";
+
     /**
      * Adds/removes date value offset by parsing offset string for
      * year/month/day/hour/minute/second offsets.
@@ -46,6 +52,23 @@ public abstract class AbstractDateFunction implements Function {
         calendar.add(Calendar.SECOND, getDateValueOffset(offsetString, 's'));
     }
 
+    /**
+     * Adds/removes date value offset by parsing offset string for
+     * year/month/day/hour/minute/second offsets.
+     *
+     * @param dateTime
+     * @param offsetString
+     * @return
+     */
+    protected ZonedDateTime applyDateOffset(ZonedDateTime dateTime, String offsetString) {
+        return dateTime.plusYears(getDateValueOffset(offsetString, 'y'))
+                .plusMonths(getDateValueOffset(offsetString, 'M'))
+                .plusDays(getDateValueOffset(offsetString, 'd'))
+                .plusHours(getDateValueOffset(offsetString, 'h'))
+                .plusMinutes(getDateValueOffset(offsetString, 'm'))
+                .plusSeconds(getDateValueOffset(offsetString, 's'));
+    }
+
     /**
      * Parse offset string and add or subtract date offset value.
      *
@@ -86,7 +109,15 @@ public abstract class AbstractDateFunction implements Function {
      * @return
      */
     protected SimpleDateFormat getDefaultDateFormat() {
-        return new SimpleDateFormat("dd.MM.yyyy");
+        return new SimpleDateFormat(DEFAULT_DATE_PATTERN);
+    }
+
+    /**
+     * Provides thread safe default date time formatter.
+     * @return
+     */
+    protected DateTimeFormatter getDefaultDateTimeFormatter() {
+        return PatternUtils.getDateTimeFormatter(DEFAULT_DATE_PATTERN);
     }
 
 }
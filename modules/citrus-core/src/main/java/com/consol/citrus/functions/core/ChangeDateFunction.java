@@ -19,13 +19,14 @@ package com.consol.citrus.functions.core;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.InvalidFunctionUsageException;
+import com.consol.citrus.util.PatternUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -49,29 +50,29 @@ public class ChangeDateFunction extends AbstractDateFunction {
             throw new InvalidFunctionUsageException("Function parameters must not be empty");
         }
 
-        Calendar calendar = Calendar.getInstance();
+        ZonedDateTime dateTime;
 
-        SimpleDateFormat dateFormat;
+        DateTimeFormatter dateFormat;
         String result = "";
 
         if (parameterList.size() > 2) {
-            dateFormat = new SimpleDateFormat(parameterList.get(2));
+            dateFormat = PatternUtils.getDateTimeFormatter(parameterList.get(2));
         } else {
-            dateFormat = getDefaultDateFormat();
+            dateFormat = getDefaultDateTimeFormatter();
         }
 
         try {
-            calendar.setTime(dateFormat.parse(parameterList.get(0)));
-        } catch (ParseException e) {
+            dateTime = PatternUtils.parseDateTime(parameterList.get(0), dateFormat);
+        } catch (DateTimeException e) {
             throw new CitrusRuntimeException(e);
         }
 
         if (parameterList.size() > 1) {
-            applyDateOffset(calendar, parameterList.get(1));
+            dateTime = applyDateOffset(dateTime, parameterList.get(1));
         }
 
         try {
-            result = dateFormat.format(calendar.getTime());
+            result = dateFormat.format(dateTime);
         } catch (RuntimeException e) {
             log.error("Error while formatting dateParameter value ", e);
             throw new CitrusRuntimeException(e);
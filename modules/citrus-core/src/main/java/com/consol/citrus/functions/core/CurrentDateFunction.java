@@ -18,12 +18,13 @@ package com.consol.citrus.functions.core;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.PatternUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -42,23 +43,23 @@ public class CurrentDateFunction extends AbstractDateFunction {
      * @throws CitrusRuntimeException
      */
     public String execute(List<String> parameterList, TestContext context) {
-        Calendar calendar = Calendar.getInstance();
+        ZonedDateTime dateTime = ZonedDateTime.now();
         
-        SimpleDateFormat dateFormat;
+        DateTimeFormatter dateFormat;
         String result = "";
         
         if (!CollectionUtils.isEmpty(parameterList)) {
-            dateFormat = new SimpleDateFormat(parameterList.get(0));
+            dateFormat = PatternUtils.getDateTimeFormatter(parameterList.get(0));
         } else {
-            dateFormat = getDefaultDateFormat();
+            dateFormat = getDefaultDateTimeFormatter();
         }
 
         if (parameterList != null && parameterList.size() > 1) {
-            applyDateOffset(calendar, parameterList.get(1));
+            dateTime = applyDateOffset(dateTime, parameterList.get(1));
         }
 
         try {
-            result = dateFormat.format(calendar.getTime());
+            result = dateFormat.format(dateTime);
         } catch (RuntimeException e) {
             log.error("Error while formatting date value ", e);
             throw new CitrusRuntimeException(e);
@@ -20,9 +20,9 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.*;
 import com.consol.citrus.functions.Function;
 import com.consol.citrus.validation.json.JsonPathFunctions;
+import com.consol.citrus.validation.json.JsonPathUtils;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -49,9 +49,7 @@ public class JsonPathFunction implements Function {
         String jsonPathExpression = parameterList.get(1);
 
         try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(context.replaceDynamicContentInString(jsonSource));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
+            ReadContext readerContext = JsonPathUtils.parse(context.replaceDynamicContentInString(jsonSource));
 
             String expression = jsonPathExpression;
             String jsonPathFunction = null;
@@ -65,10 +63,11 @@ public class JsonPathFunction implements Function {
             Object jsonPathResult = null;
             PathNotFoundException pathNotFoundException = null;
             try {
-                if (JsonPath.isPathDefinite(expression)) {
-                    jsonPathResult = readerContext.read(expression);
+                JsonPath jsonPath = JsonPathUtils.compile(expression);
+                if (jsonPath.isDefinite()) {
+                    jsonPathResult = readerContext.read(jsonPath);
                 } else {
-                    JSONArray values = readerContext.read(expression);
+                    JSONArray values = readerContext.read(jsonPath);
                     if (values.size() == 1) {
                         jsonPathResult = values.get(0);
                     } else {
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Message store limiting the number of messages and the estimated amount of bytes held in memory. When a limit is
+ * exceeded the least recently used message that was never read from the store gets evicted. Messages that have been
+ * read before are only evicted when all other messages are gone.
+ *
+ * Evicted messages are dropped by default. With spill to disk enabled evicted messages are written to an append only
+ * file so they are still available via {@link #getMessage(String)}. The spill file is deleted when the store is closed,
+ * which happens automatically when the test case using this store has finished.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class BoundedMessageStore extends DefaultMessageStore implements Closeable {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(BoundedMessageStore.class);
+
+    /** Maximum number of messages held in memory */
+    private int maxMessages = 1000;
+
+    /** Estimated size of payloads that are neither String nor byte array */
+    private static final long DEFAULT_PAYLOAD_SIZE = 1024L;
+
+    /** Maximum estimated amount of bytes held in memory */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /** Write evicted messages to disk */
+    private boolean spillToDisk = false;
+
+    /** Directory for spill files, defaults to temp directory */
+    private String spillDirectory;
+
+    /** Messages held in memory in access order */
+    private final LinkedHashMap<String, StoreEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Estimated amount of bytes held in memory */
+    private long currentBytes = 0L;
+
+    /** Number of evicted messages */
+    private long evictionCount = 0L;
+
+    /** Lazy initialized spill file */
+    private MessageSpillFile spillFile;
+
+    /**
+     * Default constructor.
+     */
+    public BoundedMessageStore() {
+        super();
+    }
+
+    /**
+     * Constructor using maximum number of messages and bytes.
+     * @param maxMessages
+     * @param maxBytes
+     */
+    public BoundedMessageStore(int maxMessages, long maxBytes) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public Message getMessage(String id) {
+        MessageSpillFile spilled;
+        synchronized (entries) {
+            Message message = super.getMessage(id);
+            if (message != null) {
+                StoreEntry entry = entries.get(id);
+                if (entry != null) {
+                    entry.referenced = true;
+                }
+
+                return message;
+            }
+
+            spilled = spillFile;
+        }
+
+        return spilled != null ? spilled.read(id) : null;
+    }
+
+    @Override
+    public void storeMessage(String id, Message message) {
+        synchronized (entries) {
+            put(id, message);
+
+            long size = estimateSize(message);
+            StoreEntry previous = entries.put(id, new StoreEntry(size));
+            if (previous != null) {
+                currentBytes -= previous.size;
+            }
+            currentBytes += size;
+
+            if (spillFile != null) {
+                spillFile.remove(id);
+            }
+
+            evict();
+        }
+
+        notifyListeners(id, message);
+    }
+
+    /**
+     * Evicts messages until both limits are satisfied. Always keeps the most recently stored message in memory.
+     */
+    private void evict() {
+        while (entries.size() > maxMessages || (currentBytes > maxBytes && entries.size() > 1)) {
+            String victim = null;
+            for (Map.Entry<String, StoreEntry> entry : entries.entrySet()) {
+                if (!entry.getValue().referenced) {
+                    victim = entry.getKey();
+                    break;
+                }
+            }
+
+            if (victim == null) {
+                victim = entries.keySet().iterator().next();
+            }
+
+            StoreEntry entry = entries.remove(victim);
+            currentBytes -= entry.size;
+            evictionCount++;
+
+            Message message = remove(victim);
+            if (spillToDisk && message != null) {
+                getSpillFile().write(victim, message);
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Evicted message '%s' from message store%s", victim, spillToDisk ? " to disk" : ""));
+            }
+        }
+    }
+
+    /**
+     * Estimates the amount of bytes a message occupies in memory. Payloads other than String and byte array are
+     * not converted but estimated with a fixed size. Subclasses may override this for custom payload types.
+     * @param message
+     * @return
+     */
+    protected long estimateSize(Message message) {
+        long size = 64L * (message.getHeaders().size() + 1);
+
+        Object payload = message.getPayload();
+        if (payload instanceof byte[]) {
+            size += ((byte[]) payload).length;
+        } else if (payload instanceof String) {
+            size += 2L * ((String) payload).length();
+        } else if (payload != null) {
+            size += DEFAULT_PAYLOAD_SIZE;
+        }
+
+        for (String headerData : message.getHeaderData()) {
+            size += 2L * headerData.length();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the spill file. Creates the file on first access.
+     * @return
+     */
+    private MessageSpillFile getSpillFile() {
+        if (spillFile == null) {
+            try {
+                spillFile = new MessageSpillFile(StringUtils.hasText(spillDirectory) ? new File(spillDirectory) : null);
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to create message spill file", e);
+            }
+        }
+
+        return spillFile;
+    }
+
+    /**
+     * Closes and deletes the spill file. Messages held in memory stay available.
+     */
+    @Override
+    public void close() {
+        synchronized (entries) {
+            if (spillFile != null) {
+                spillFile.close();
+                spillFile = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of messages held in memory.
+     * @return
+     */
+    public int getMessageCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of messages written to disk.
+     * @return
+     */
+    public int getSpilledMessageCount() {
+        synchronized (entries) {
+            return spillFile != null ? spillFile.size() : 0;
+        }
+    }
+
+    /**
+     * Gets the estimated amount of bytes held in memory.
+     * @return
+     */
+    public long getCurrentBytes() {
+        synchronized (entries) {
+            return currentBytes;
+        }
+    }
+
+    /**
+     * Gets the number of evicted messages.
+     * @return
+     */
+    public long getEvictionCount() {
+        synchronized (entries) {
+            return evictionCount;
+        }
+    }
+
+    /**
+     * Gets the maximum number of messages held in memory.
+     * @return
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Sets the maximum number of messages held in memory.
+     * @param maxMessages
+     */
+    public void setMaxMessages(int maxMessages) {
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * Gets the maximum estimated amount of bytes held in memory.
+     * @return
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Sets the maximum estimated amount of bytes held in memory.
+     * @param maxBytes
+     */
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the spill to disk flag.
+     * @return
+     */
+    public boolean isSpillToDisk() {
+        return spillToDisk;
+    }
+
+    /**
+     * Enables writing evicted messages to disk.
+     * @param spillToDisk
+     */
+    public void setSpillToDisk(boolean spillToDisk) {
+        this.spillToDisk = spillToDisk;
+    }
+
+    /**
+     * Gets the spill file directory.
+     * @return
+     */
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * Sets the spill file directory.
+     * @param spillDirectory
+     */
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Memory accounting of stored message.
+     */
+    private static final class StoreEntry {
+        private final long size;
+        private boolean referenced;
+
+        StoreEntry(long size) {
+            this.size = size;
+        }
+    }
+}
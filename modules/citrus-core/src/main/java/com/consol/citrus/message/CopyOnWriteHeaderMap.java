@@ -0,0 +1,205 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Message header map that shares its header entries with copies until one of them is mutated. Copying a message
+ * for logging, storage or in interceptors does not clone all headers up front. The first write on either the original
+ * or the copy clones the entries into a private map.
+ *
+ * Copies and writes synchronize on the header map, so a copy never shares entries that are written concurrently
+ * on the source map. Reads are not synchronized, same as the linked hash map used before.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+final class CopyOnWriteHeaderMap extends AbstractMap<String, Object> implements Serializable {
+
+    /** Serial */
+    private static final long serialVersionUID = 3260843420931373489L;
+
+    /** Header entries, possibly shared with other header maps */
+    private volatile Map<String, Object> headers;
+
+    /** Marks header entries as shared so they have to be cloned before write */
+    private boolean shared;
+
+    /**
+     * Default constructor using empty header entries.
+     */
+    CopyOnWriteHeaderMap() {
+        this(new LinkedHashMap<String, Object>(), false);
+    }
+
+    /**
+     * Constructor using header entries and shared state.
+     * @param headers
+     * @param shared
+     */
+    private CopyOnWriteHeaderMap(Map<String, Object> headers, boolean shared) {
+        this.headers = headers;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates copy of this header map sharing all header entries until either map is mutated.
+     * @return
+     */
+    synchronized CopyOnWriteHeaderMap copy() {
+        shared = true;
+        return new CopyOnWriteHeaderMap(headers, true);
+    }
+
+    /**
+     * Clones shared header entries into private map before write.
+     */
+    private void ensureWritable() {
+        if (shared) {
+            headers = new LinkedHashMap<>(headers);
+            shared = false;
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        return headers.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return headers.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return headers.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return headers.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers.isEmpty();
+    }
+
+    @Override
+    public synchronized Object put(String key, Object value) {
+        ensureWritable();
+        return headers.put(key, value);
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        ensureWritable();
+        headers.putAll(entries);
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        if (!headers.containsKey(key)) {
+            return null;
+        }
+
+        ensureWritable();
+        return headers.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (shared) {
+            headers = new LinkedHashMap<>();
+            shared = false;
+        } else {
+            headers.clear();
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new HeaderIterator(headers.entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                return headers.size();
+            }
+        };
+    }
+
+    /**
+     * Iterator over header entries. Removing entries and setting values on entries goes through the header map
+     * so shared entries get cloned before write.
+     */
+    private final class HeaderIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> delegate;
+        private final Map<String, Object> iterated;
+        private Entry<String, Object> current;
+
+        HeaderIterator(Iterator<Entry<String, Object>> delegate) {
+            this.delegate = delegate;
+            this.iterated = headers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            current = delegate.next();
+
+            return new SimpleEntry<String, Object>(current) {
+                @Override
+                public Object setValue(Object value) {
+                    super.setValue(value);
+                    return put(getKey(), value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+
+            synchronized (CopyOnWriteHeaderMap.this) {
+                if (!shared && headers == iterated) {
+                    delegate.remove();
+                } else {
+                    CopyOnWriteHeaderMap.this.remove(current.getKey());
+                }
+            }
+
+            current = null;
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.consol.citrus.message;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.TypeConversionUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
 import java.util.*;
@@ -26,6 +28,10 @@ import java.util.*;
  * Default message implementation holds message payload and message headers. Also provides access methods for special
  * header elements such as unique message id and creation timestamp.
  *
+ * Message ids are created with a pluggable {@link MessageIdGenerator}. Generator class is set via system property
+ * {@link #ID_GENERATOR_PROPERTY} and defaults to {@link TimeBasedMessageIdGenerator}. Message copies share their
+ * headers with the original message until one of them is mutated.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -34,6 +40,12 @@ public class DefaultMessage implements Message {
     /** Serial */
     private static final long serialVersionUID = 1904510540660648952L;
 
+    /** System property setting the message id generator class */
+    public static final String ID_GENERATOR_PROPERTY = "citrus.message.id.generator";
+
+    /** Message id generator */
+    private static volatile MessageIdGenerator idGenerator = createIdGenerator(System.getProperty(ID_GENERATOR_PROPERTY, TimeBasedMessageIdGenerator.class.getName()));
+
     /** Message payload object */
     private Object payload;
 
@@ -58,10 +70,24 @@ public class DefaultMessage implements Message {
      * @param message
      */
     public DefaultMessage(Message message) {
-        this(message.getPayload());
+        this.payload = message.getPayload();
+
+        if (message.getHeaders() instanceof CopyOnWriteHeaderMap) {
+            this.headers = ((CopyOnWriteHeaderMap) message.getHeaders()).copy();
+        } else {
+            this.headers = new CopyOnWriteHeaderMap();
+            this.headers.putAll(message.getHeaders());
+        }
+
+        if (!this.headers.containsKey(MessageHeaders.ID)) {
+            this.headers.put(MessageHeaders.ID, idGenerator.generateId());
+        }
+
+        if (!this.headers.containsKey(MessageHeaders.TIMESTAMP)) {
+            this.headers.put(MessageHeaders.TIMESTAMP, System.currentTimeMillis());
+        }
 
         this.setName(message.getName());
-        this.headers.putAll(message.getHeaders());
 
         for (String data : message.getHeaderData()) {
             addHeaderData(data);
@@ -73,7 +99,7 @@ public class DefaultMessage implements Message {
      * @param payload
      */
     public DefaultMessage(Object payload) {
-        this(payload, new LinkedHashMap<>());
+        this(payload, new CopyOnWriteHeaderMap());
     }
 
     /**
@@ -85,10 +111,39 @@ public class DefaultMessage implements Message {
         this.payload = payload;
         this.headers = headers;
 
-        this.headers.put(MessageHeaders.ID, UUID.randomUUID().toString());
+        this.headers.put(MessageHeaders.ID, idGenerator.generateId());
         this.headers.put(MessageHeaders.TIMESTAMP, System.currentTimeMillis());
     }
 
+    /**
+     * Creates message id generator instance from given class name.
+     * @param generatorClass
+     * @return
+     */
+    private static MessageIdGenerator createIdGenerator(String generatorClass) {
+        try {
+            return (MessageIdGenerator) BeanUtils.instantiateClass(ClassUtils.forName(generatorClass, DefaultMessage.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new CitrusRuntimeException("Failed to create message id generator: " + generatorClass, e);
+        }
+    }
+
+    /**
+     * Gets the message id generator used for new messages.
+     * @return
+     */
+    public static MessageIdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Sets the message id generator used for new messages.
+     * @param generator
+     */
+    public static void setIdGenerator(MessageIdGenerator generator) {
+        idGenerator = generator;
+    }
+
     @Override
     public String getId() {
         return headers.get(MessageHeaders.ID).toString();
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+/**
+ * Generates unique message identifiers set as message id header on newly created messages. Implementations
+ * must be thread safe as messages are created concurrently in parallel tests.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public interface MessageIdGenerator {
+
+    /**
+     * Generates new unique message id.
+     * @return
+     */
+    String generateId();
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.util.SerializationUtils;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append only file holding serialized messages evicted from memory. Messages are located by name via offset index
+ * kept in memory. Storing a message with the same name again appends a new record and updates the index. File is
+ * deleted on close or on JVM exit.
+ *
+ * Messages that are not serializable as is are stored with their payload and header values converted to String.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+final class MessageSpillFile {
+
+    /** Spill file */
+    private final File file;
+
+    /** File access */
+    private final RandomAccessFile data;
+
+    /** Offset and length of serialized messages by name */
+    private final Map<String, long[]> index = new HashMap<>();
+
+    /**
+     * Creates new spill file in given directory.
+     * @param directory
+     * @throws IOException
+     */
+    MessageSpillFile(File directory) throws IOException {
+        this.file = File.createTempFile("citrus-messages-", ".spill", directory);
+        this.file.deleteOnExit();
+        this.data = new RandomAccessFile(file, "rw");
+    }
+
+    /**
+     * Appends message to file and updates the offset index.
+     * @param id
+     * @param message
+     */
+    synchronized void write(String id, Message message) {
+        byte[] bytes = serialize(message);
+
+        try {
+            long offset = data.length();
+            data.seek(offset);
+            data.write(bytes);
+            index.put(id, new long[] { offset, bytes.length });
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to write message to spill file: " + file, e);
+        }
+    }
+
+    /**
+     * Reads message from file. Returns null when no message is stored with given name.
+     * @param id
+     * @return
+     */
+    synchronized Message read(String id) {
+        long[] position = index.get(id);
+        if (position == null) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = new byte[(int) position[1]];
+            data.seek(position[0]);
+            data.readFully(bytes);
+            return (Message) SerializationUtils.deserialize(bytes);
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            throw new CitrusRuntimeException("Failed to read message from spill file: " + file, e);
+        }
+    }
+
+    /**
+     * Removes message from offset index. Record remains in the file.
+     * @param id
+     */
+    synchronized void remove(String id) {
+        index.remove(id);
+    }
+
+    /**
+     * Gets the number of messages in this file.
+     * @return
+     */
+    synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Closes and deletes the file.
+     */
+    synchronized void close() {
+        index.clear();
+
+        try {
+            data.close();
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to close message spill file: " + file, e);
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Serializes message. Converts payload and header values to String when message is not serializable as is.
+     * @param message
+     * @return
+     */
+    private static byte[] serialize(Message message) {
+        try {
+            return SerializationUtils.serialize(message);
+        } catch (IllegalArgumentException e) {
+            DefaultMessage copy = new DefaultMessage(message);
+            copy.setPayload(message.getPayload(String.class));
+
+            for (Map.Entry<String, Object> header : message.getHeaders().entrySet()) {
+                Object value = header.getValue();
+                if (value != null && !(value instanceof String || value instanceof Number || value instanceof Boolean)) {
+                    copy.getHeaders().put(header.getKey(), value.toString());
+                }
+            }
+
+            return SerializationUtils.serialize(copy);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Message id generator creating UUID formatted identifiers from a monotonic sequence and a random node identifier.
+ * Sequence is initialized with the current time so identifiers stay unique across restarts, the node identifier is drawn
+ * once per generator instance so identifiers from different JVMs do not collide. Generating an id is a single
+ * atomic increment and does not access the secure random number generator.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class TimeBasedMessageIdGenerator implements MessageIdGenerator {
+
+    /** Monotonic sequence initialized with current time in microseconds */
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000L);
+
+    /** Random node identifier */
+    private final long node = new SecureRandom().nextLong();
+
+    @Override
+    public String generateId() {
+        return new UUID(sequence.incrementAndGet(), node).toString();
+    }
+}
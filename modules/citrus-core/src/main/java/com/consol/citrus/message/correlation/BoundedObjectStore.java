@@ -0,0 +1,115 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Object store limiting the number of stored objects. When the limit is exceeded the oldest object that was never
+ * removed by a consumer gets evicted. Prevents correlated messages that nobody receives from piling up in long running tests.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class BoundedObjectStore<T> extends DefaultObjectStore<T> {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(BoundedObjectStore.class);
+
+    /** Maximum number of stored objects */
+    private int maxSize = 1000;
+
+    /** Correlation keys in insertion order */
+    private final Set<String> keys = new LinkedHashSet<>();
+
+    /** Number of evicted objects */
+    private long evictionCount = 0L;
+
+    /**
+     * Default constructor.
+     */
+    public BoundedObjectStore() {
+        super();
+    }
+
+    /**
+     * Constructor using maximum number of stored objects.
+     * @param maxSize
+     */
+    public BoundedObjectStore(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void add(String correlationKey, T object) {
+        synchronized (keys) {
+            super.add(correlationKey, object);
+
+            keys.remove(correlationKey);
+            keys.add(correlationKey);
+
+            Iterator<String> eldest = keys.iterator();
+            while (keys.size() > maxSize) {
+                String evicted = eldest.next();
+                eldest.remove();
+                super.remove(evicted);
+                evictionCount++;
+
+                log.warn(String.format("Evicted object with correlation key '%s' from object store - maximum size of %s exceeded", evicted, maxSize));
+            }
+        }
+    }
+
+    @Override
+    public T remove(String correlationKey) {
+        synchronized (keys) {
+            keys.remove(correlationKey);
+            return super.remove(correlationKey);
+        }
+    }
+
+    /**
+     * Gets the number of evicted objects.
+     * @return
+     */
+    public long getEvictionCount() {
+        synchronized (keys) {
+            return evictionCount;
+        }
+    }
+
+    /**
+     * Gets the maximum number of stored objects.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of stored objects.
+     * @param maxSize
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -41,6 +41,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract base test implementation for testng test cases. Providing test listener support and
@@ -58,6 +59,17 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
     /** Citrus instance */
     protected Citrus citrus;
 
+    /** Data provider methods by name, scanned once per test class and released together with the class */
+    private static final ClassValue<Map<String, Method>> dataProviderMethods = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> testClass) {
+            return scanDataProviderMethods(testClass);
+        }
+    };
+
+    /** Data provider results memoized per test method */
+    private final Map<Method, Object[][]> dataProviderResults = new ConcurrentHashMap<>();
+
     @Override
     public void run(IHookCallBack callBack, ITestResult testResult) {
         Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
@@ -127,41 +139,33 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
         Object[] dataProviderParams = null;
         if (method.getAnnotation(Test.class) != null &&
                 StringUtils.hasText(method.getAnnotation(Test.class).dataProvider())) {
-            final Method[] dataProvider = new Method[1];
-            ReflectionUtils.doWithMethods(method.getDeclaringClass(), new ReflectionUtils.MethodCallback() {
-                @Override
-                public void doWith(Method current) throws IllegalArgumentException, IllegalAccessException {
-                    if (StringUtils.hasText(current.getAnnotation(DataProvider.class).name()) &&
-                            current.getAnnotation(DataProvider.class).name().equals(method.getAnnotation(Test.class).dataProvider())) {
-                        dataProvider[0] = current;
-                    } else if (current.getName().equals(method.getAnnotation(Test.class).dataProvider())) {
-                        dataProvider[0] = current;
-                    }
+            Object[][] parameters = dataProviderResults.get(method);
 
+            if (parameters == null) {
+                Method dataProvider = getDataProviderMethods(method.getDeclaringClass()).get(method.getAnnotation(Test.class).dataProvider());
+
+                if (dataProvider == null) {
+                    throw new CitrusRuntimeException("Unable to find data provider: " + method.getAnnotation(Test.class).dataProvider());
                 }
-            }, new ReflectionUtils.MethodFilter() {
-                @Override
-                public boolean matches(Method method) {
-                    return method.getAnnotation(DataProvider.class) != null;
-                }
-            });
 
-            if (dataProvider[0] == null) {
-                throw new CitrusRuntimeException("Unable to find data provider: " + method.getAnnotation(Test.class).dataProvider());
+                parameters = (Object[][]) ReflectionUtils.invokeMethod(dataProvider, this,
+                        resolveParameter(testResult, dataProvider, testCase, context, -1));
+                if (parameters != null) {
+                    dataProviderResults.put(method, parameters);
+                }
             }
 
-            Object[][] parameters = (Object[][]) ReflectionUtils.invokeMethod(dataProvider[0], this,
-                    resolveParameter(testResult, dataProvider[0], testCase, context, -1));
             if (parameters != null) {
                 dataProviderParams = parameters[invocationCount % parameters.length];
                 injectTestParameters(method, testCase, dataProviderParams);
             }
         }
 
-        Object[] values = new Object[method.getParameterTypes().length];
         Class<?>[] parameterTypes = method.getParameterTypes();
+        Annotation[][] methodParameterAnnotations = method.getParameterAnnotations();
+        Object[] values = new Object[parameterTypes.length];
         for (int i = 0; i < parameterTypes.length; i++) {
-            final Annotation[] parameterAnnotations = method.getParameterAnnotations()[i];
+            final Annotation[] parameterAnnotations = methodParameterAnnotations[i];
             Class<?> parameterType = parameterTypes[i];
             for (Annotation annotation : parameterAnnotations) {
                 if (annotation instanceof CitrusResource) {
@@ -182,6 +186,54 @@ public abstract class AbstractTestNGCitrusTest extends AbstractTestNGSpringConte
         return values;
     }
 
+    /**
+     * Gets data provider methods in given test class by data provider name. Test class is scanned only once. Data providers
+     * without explicit name are registered with their method name. Data providers in subclasses take precedence.
+     * @param testClass
+     * @return
+     */
+    private static Map<String, Method> getDataProviderMethods(Class<?> testClass) {
+        return dataProviderMethods.get(testClass);
+    }
+
+    /**
+     * Scans test class for data provider methods.
+     * @param testClass
+     * @return
+     */
+    private static Map<String, Method> scanDataProviderMethods(Class<?> testClass) {
+        final Map<String, Method> byName = new HashMap<>();
+        final Map<String, Method> byMethodName = new HashMap<>();
+
+        ReflectionUtils.doWithMethods(testClass, new ReflectionUtils.MethodCallback() {
+            @Override
+            public void doWith(Method current) throws IllegalArgumentException, IllegalAccessException {
+                ReflectionUtils.makeAccessible(current);
+                if (StringUtils.hasText(current.getAnnotation(DataProvider.class).name())) {
+                    putIfAbsent(byName, current.getAnnotation(DataProvider.class).name(), current);
+                }
+
+                putIfAbsent(byMethodName, current.getName(), current);
+            }
+        }, new ReflectionUtils.MethodFilter() {
+            @Override
+            public boolean matches(Method method) {
+                return method.getAnnotation(DataProvider.class) != null;
+            }
+        });
+
+        Map<String, Method> providers = new HashMap<>(byMethodName);
+        providers.putAll(byName);
+
+        return providers;
+    }
+
+    private static void putIfAbsent(Map<String, Method> providers, String name, Method dataProvider) {
+        if (!providers.containsKey(name)) {
+            providers.put(name, dataProvider);
+        }
+    }
+
     /**
      * Resolves value for annotated method parameter.
      *
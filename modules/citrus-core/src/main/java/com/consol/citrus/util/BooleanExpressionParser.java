@@ -154,6 +154,24 @@ public final class BooleanExpressionParser {
         return operator;
     }
 
+    /**
+     * Checks if given string is a known operator.
+     * @param operator
+     * @return
+     */
+    public static boolean isOperator(String operator) {
+        return OPERATORS.contains(operator);
+    }
+
+    /**
+     * Checks if given string is a known boolean value.
+     * @param value
+     * @return
+     */
+    public static boolean isBooleanValue(String value) {
+        return BOOLEAN_VALUES.contains(value);
+    }
+
     /**
      * Evaluates a boolean expression to a String representation (true/false).
      * @param operator
@@ -161,7 +179,7 @@ public final class BooleanExpressionParser {
      * @param value2
      * @return true/false as String
      */
-    private static String getBooleanResultAsString(String operator, String value1, String value2) {
+    public static String getBooleanResultAsString(String operator, String value1, String value2) {
         if (operator.equals("lt")) {
             return Boolean.valueOf(Integer.valueOf(value2).intValue() < Integer.valueOf(value1).intValue()).toString();
         } else if (operator.equals("lt=")) {
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import java.text.ParsePosition;
+import java.time.*;
+import java.time.format.*;
+import java.time.temporal.*;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Utility provides compiled regular expression patterns and date time formatters. Both are thread safe so compiled
+ * instances are shared in a bounded concurrent cache. Lookups do not lock, once the capacity is exceeded arbitrary
+ * entries are evicted. Validation matchers and functions evaluating the same expression over and over again do not
+ * have to compile the pattern on each call.
+ *
+ * Date patterns use the {@link java.text.SimpleDateFormat} syntax. Pattern letters with a different meaning in
+ * {@link DateTimeFormatter} are translated: 'u' is the day number of week, 'S' is the number of milliseconds and
+ * text fields accept any number of pattern letters. Letters unknown to {@link java.text.SimpleDateFormat} such as
+ * 'n' or 'Q' are rejected. Date time formatters are lenient in the same way as {@link java.text.SimpleDateFormat}
+ * used to be: numeric fields accept variable width, text fields are case insensitive and out of range field values
+ * roll over.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public abstract class PatternUtils {
+
+    /** Maximum number of cached patterns and formatters */
+    private static final int CACHE_CAPACITY = 512;
+
+    /** Pattern letters known to SimpleDateFormat */
+    private static final String DATE_PATTERN_LETTERS = "GyYMLwWDdFEuaHkKhmsSzZX";
+
+    /** Characters with special meaning in DateTimeFormatter patterns that SimpleDateFormat treats as literals */
+    private static final String RESERVED_PATTERN_CHARS = "[]{}#";
+
+    /** Compiled regular expressions by expression */
+    private static final ConcurrentMap<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
+
+    /** Date time formatters by date pattern */
+    private static final ConcurrentMap<String, DateTimeFormatter> FORMATTER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Prevent instantiation.
+     */
+    private PatternUtils() {
+        super();
+    }
+
+    /**
+     * Gets compiled pattern for given regular expression. Compiles and caches the expression on first access.
+     * @param regex
+     * @return
+     * @throws java.util.regex.PatternSyntaxException when expression is invalid
+     */
+    public static Pattern compile(String regex) {
+        Pattern pattern = PATTERN_CACHE.get(regex);
+
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            cache(PATTERN_CACHE, regex, pattern);
+        }
+
+        return pattern;
+    }
+
+    /**
+     * Gets date time formatter for given date pattern in {@link java.text.SimpleDateFormat} syntax. Creates and caches
+     * the formatter on first access.
+     * @param datePattern
+     * @return
+     * @throws IllegalArgumentException when date pattern is invalid
+     */
+    public static DateTimeFormatter getDateTimeFormatter(String datePattern) {
+        DateTimeFormatter formatter = FORMATTER_CACHE.get(datePattern);
+
+        if (formatter == null) {
+            DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .parseLenient();
+            appendDatePattern(builder, datePattern);
+
+            formatter = builder.toFormatter().withResolverStyle(ResolverStyle.LENIENT);
+            cache(FORMATTER_CACHE, datePattern, formatter);
+        }
+
+        return formatter;
+    }
+
+    /**
+     * Translates date pattern in {@link java.text.SimpleDateFormat} syntax to the date time formatter builder.
+     * @param builder
+     * @param datePattern
+     * @throws IllegalArgumentException when date pattern holds unknown pattern letters or unterminated quotes
+     */
+    private static void appendDatePattern(DateTimeFormatterBuilder builder, String datePattern) {
+        StringBuilder pattern = new StringBuilder();
+        int index = 0;
+
+        while (index < datePattern.length()) {
+            char c = datePattern.charAt(index);
+
+            if (c == '\'') {
+                int end = index + 1;
+                while (end < datePattern.length()) {
+                    if (datePattern.charAt(end) == '\'') {
+                        if (end + 1 < datePattern.length() && datePattern.charAt(end + 1) == '\'') {
+                            end += 2;
+                            continue;
+                        }
+
+                        break;
+                    }
+
+                    end++;
+                }
+
+                if (end >= datePattern.length()) {
+                    throw new IllegalArgumentException("Unterminated quote in date pattern: " + datePattern);
+                }
+
+                pattern.append(datePattern, index, end + 1);
+                index = end + 1;
+                continue;
+            }
+
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                if (RESERVED_PATTERN_CHARS.indexOf(c) >= 0) {
+                    pattern.append('\'').append(c).append('\'');
+                } else {
+                    pattern.append(c);
+                }
+
+                index++;
+                continue;
+            }
+
+            if (DATE_PATTERN_LETTERS.indexOf(c) < 0) {
+                throw new IllegalArgumentException("Illegal pattern character '" + c + "' in date pattern: " + datePattern);
+            }
+
+            int count = 1;
+            while (index + count < datePattern.length() && datePattern.charAt(index + count) == c) {
+                count++;
+            }
+            index += count;
+
+            switch (c) {
+                case 'u':
+                    appendValue(builder, pattern, ChronoField.DAY_OF_WEEK, count);
+                    break;
+                case 'S':
+                    appendValue(builder, pattern, ChronoField.MILLI_OF_SECOND, count);
+                    break;
+                case 'G':
+                case 'E':
+                case 'M':
+                case 'L':
+                case 'z':
+                    appendLetters(pattern, c, Math.min(count, 4));
+                    break;
+                case 'a':
+                case 'Z':
+                    appendLetters(pattern, c, 1);
+                    break;
+                case 'F':
+                    appendValue(builder, pattern, ChronoField.ALIGNED_WEEK_OF_MONTH, count);
+                    break;
+                case 'D':
+                    appendNumber(builder, pattern, c, count, 3, ChronoField.DAY_OF_YEAR);
+                    break;
+                case 'd':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.DAY_OF_MONTH);
+                    break;
+                case 'H':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.HOUR_OF_DAY);
+                    break;
+                case 'k':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.CLOCK_HOUR_OF_DAY);
+                    break;
+                case 'K':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.HOUR_OF_AMPM);
+                    break;
+                case 'h':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.CLOCK_HOUR_OF_AMPM);
+                    break;
+                case 'm':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.MINUTE_OF_HOUR);
+                    break;
+                case 's':
+                    appendNumber(builder, pattern, c, count, 2, ChronoField.SECOND_OF_MINUTE);
+                    break;
+                case 'w':
+                    appendLetters(pattern, c, Math.min(count, 2));
+                    break;
+                case 'W':
+                    appendLetters(pattern, c, 1);
+                    break;
+                default:
+                    appendLetters(pattern, c, count);
+            }
+        }
+
+        if (pattern.length() > 0) {
+            builder.appendPattern(pattern.toString());
+        }
+    }
+
+    /**
+     * Appends numeric field with minimum width of given pattern letter count. Flushes pending pattern before.
+     * @param builder
+     * @param pattern
+     * @param field
+     * @param count
+     */
+    private static void appendValue(DateTimeFormatterBuilder builder, StringBuilder pattern, TemporalField field, int count) {
+        if (pattern.length() > 0) {
+            builder.appendPattern(pattern.toString());
+            pattern.setLength(0);
+        }
+
+        if (count == 1) {
+            builder.appendValue(field);
+        } else {
+            builder.appendValue(field, count, 19, SignStyle.NORMAL);
+        }
+    }
+
+    /**
+     * Appends numeric pattern letter. Letter counts exceeding the maximum count supported by date time formatter
+     * patterns are appended as numeric field padded to the letter count.
+     * @param builder
+     * @param pattern
+     * @param letter
+     * @param count
+     * @param maxCount
+     * @param field
+     */
+    private static void appendNumber(DateTimeFormatterBuilder builder, StringBuilder pattern, char letter, int count, int maxCount, TemporalField field) {
+        if (count > maxCount) {
+            appendValue(builder, pattern, field, count);
+        } else {
+            appendLetters(pattern, letter, count);
+        }
+    }
+
+    /**
+     * Appends pattern letter given number of times.
+     * @param pattern
+     * @param letter
+     * @param count
+     */
+    private static void appendLetters(StringBuilder pattern, char letter, int count) {
+        for (int i = 0; i < count; i++) {
+            pattern.append(letter);
+        }
+    }
+
+    /**
+     * Adds value to given cache. Evicts arbitrary entries when the cache capacity is exceeded.
+     * @param cache
+     * @param key
+     * @param value
+     */
+    private static <T> void cache(ConcurrentMap<String, T> cache, String key, T value) {
+        cache.putIfAbsent(key, value);
+
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() > CACHE_CAPACITY && keys.hasNext()) {
+            String eldest = keys.next();
+            if (!eldest.equals(key)) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Parses date value with given date pattern. Fields missing in the pattern default to the start of epoch, so
+     * patterns without time fields result in midnight. Parsed values with zone or offset information are converted
+     * to the system default zone. Trailing text after the parsed date value is ignored.
+     * @param value
+     * @param datePattern
+     * @return
+     * @throws DateTimeException when value can not be parsed
+     */
+    public static ZonedDateTime parseDateTime(String value, String datePattern) {
+        return parseDateTime(value, getDateTimeFormatter(datePattern));
+    }
+
+    /**
+     * Parses date value with given date time formatter.
+     * @param value
+     * @param formatter
+     * @return
+     * @throws DateTimeException when value can not be parsed
+     * @see #parseDateTime(String, String)
+     */
+    public static ZonedDateTime parseDateTime(String value, DateTimeFormatter formatter) {
+        TemporalAccessor parsed = formatter.parse(value, new ParsePosition(0));
+
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            date = LocalDate.of(getField(parsed, ChronoField.YEAR, 1970),
+                    getField(parsed, ChronoField.MONTH_OF_YEAR, 1), 1)
+                    .plusDays(getField(parsed, ChronoField.DAY_OF_MONTH, 1) - 1);
+        }
+
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        if (time == null) {
+            int hours;
+            if (parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+                hours = parsed.get(ChronoField.HOUR_OF_DAY);
+            } else {
+                hours = getField(parsed, ChronoField.HOUR_OF_AMPM, 0) + getField(parsed, ChronoField.AMPM_OF_DAY, 0) * 12;
+            }
+
+            time = LocalTime.MIDNIGHT.plusHours(hours)
+                    .plusMinutes(getField(parsed, ChronoField.MINUTE_OF_HOUR, 0))
+                    .plusSeconds(getField(parsed, ChronoField.SECOND_OF_MINUTE, 0))
+                    .plusNanos(getField(parsed, ChronoField.NANO_OF_SECOND, 0));
+        }
+
+        ZoneId zone = parsed.query(TemporalQueries.zone());
+        if (zone != null) {
+            return ZonedDateTime.of(date, time, zone).withZoneSameInstant(ZoneId.systemDefault());
+        }
+
+        return ZonedDateTime.of(date, time, ZoneId.systemDefault());
+    }
+
+    /**
+     * Gets parsed field value or default value when field is not available.
+     * @param parsed
+     * @param field
+     * @param defaultValue
+     * @return
+     */
+    private static int getField(TemporalAccessor parsed, TemporalField field, int defaultValue) {
+        if (parsed.isSupported(field)) {
+            return parsed.get(field);
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Removes all cached patterns and formatters.
+     */
+    public static void clearCache() {
+        PATTERN_CACHE.clear();
+        FORMATTER_CACHE.clear();
+    }
+}
@@ -20,12 +20,25 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.net.URI;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
+ * Utility reads SQL statements from file resources. Parsed statement lists are cached by resource location so
+ * repeated executions of the same script do not read and tokenize the file again. Cache entries are invalidated
+ * when last modified timestamp, content length or content checksum of the resource changes. Statements holding
+ * test variable or function placeholders are marked once when the script is parsed so callers only need to replace
+ * dynamic content in marked statements on each execution.
+ *
+ * Besides the default statement ending the parser supports MySQL style DELIMITER commands, dollar quoted blocks
+ * as used in PostgreSQL functions and block comments.
+ *
  * @author Christoph Deppisch
  * @since 2.5
  */
@@ -40,6 +53,23 @@ public abstract class SqlUtils {
     /** Default sql statement ending */
     public static final String STMT_ENDING = ";";
 
+    /** Command changing the statement delimiter */
+    private static final String DELIMITER_COMMAND = "DELIMITER";
+
+    /** Dollar quote tags such as $$ or $body$ */
+    private static final Pattern DOLLAR_QUOTE_PATTERN = Pattern.compile("\\$[A-Za-z_0-9]*\\$");
+
+    /** Maximum number of cached SQL scripts */
+    private static final int CACHE_CAPACITY = 128;
+
+    /** Parsed SQL scripts by resource location */
+    private static final Map<String, CachedScript> SCRIPT_CACHE = new LinkedHashMap<String, CachedScript>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScript> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
     /**
      * Prevent instantiation.
      */
@@ -60,68 +90,328 @@ public abstract class SqlUtils {
 
     /**
      * Reads SQL statements from external file resource. File resource can hold several
-     * multi-line statements and comments.
+     * multi-line statements and comments. Statements are cached by resource location and
+     * only parsed again when the resource has changed.
      *
      * @param sqlResource the sql file resource.
      * @param lineDecorator optional line decorator for last script lines.
      * @return list of SQL statements.
      */
     public static List<String> createStatementsFromFileResource(Resource sqlResource, LastScriptLineDecorator lineDecorator) {
-        BufferedReader reader = null;
-        StringBuffer buffer;
+        return getCachedScript(sqlResource, lineDecorator).getStatements();
+    }
 
-        List<String> stmts = new ArrayList<>();
+    /**
+     * Reads SQL statements from external file resource. In addition to the statements marks the indexes of all
+     * statements that hold test variable or function placeholders in given bit set. Statements that are not marked
+     * do not need dynamic content replacement before execution.
+     *
+     * @param sqlResource the sql file resource.
+     * @param lineDecorator optional line decorator for last script lines.
+     * @param dynamicContent bit set receiving the indexes of statements with placeholders.
+     * @return list of SQL statements.
+     */
+    public static List<String> createStatementsFromFileResource(Resource sqlResource, LastScriptLineDecorator lineDecorator, BitSet dynamicContent) {
+        CachedScript cached = getCachedScript(sqlResource, lineDecorator);
+
+        dynamicContent.clear();
+        dynamicContent.or(cached.dynamicContent);
 
+        return cached.getStatements();
+    }
+
+    /**
+     * Checks if given statement may hold test variable or function placeholders. The check is conservative, statements
+     * holding a colon character are considered to contain function calls.
+     * @param statement
+     * @return
+     */
+    public static boolean containsDynamicContent(String statement) {
+        return statement.contains("${") || statement.indexOf(':') >= 0;
+    }
+
+    /**
+     * Gets parsed script from cache or reads and parses the resource when not cached or modified.
+     * @param sqlResource
+     * @param lineDecorator
+     * @return
+     */
+    private static CachedScript getCachedScript(Resource sqlResource, LastScriptLineDecorator lineDecorator) {
+        String cacheKey = getCacheKey(sqlResource, lineDecorator);
+        long lastModified = getLastModified(sqlResource);
+        long contentLength = lastModified > 0 ? getContentLength(sqlResource) : -1L;
+
+        CachedScript cached;
+        synchronized (SCRIPT_CACHE) {
+            cached = SCRIPT_CACHE.get(cacheKey);
+        }
+
+        if (cached != null && lastModified > 0 && cached.lastModified == lastModified && cached.contentLength == contentLength) {
+            return cached;
+        }
+
+        byte[] content;
         try {
             if (log.isDebugEnabled()) {
-                log.debug("Create statements from SQL file: " + sqlResource.getFile().getAbsolutePath());
+                log.debug("Create statements from SQL file: " + sqlResource.getDescription());
             }
 
-            reader = new BufferedReader(new InputStreamReader(sqlResource.getInputStream()));
-            buffer = new StringBuffer();
+            content = FileCopyUtils.copyToByteArray(sqlResource.getInputStream());
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Resource could not be found - filename: " + sqlResource, e);
+        }
+
+        CRC32 checksum = new CRC32();
+        checksum.update(content);
+
+        if (cached == null || cached.checksum != checksum.getValue()) {
+            cached = new CachedScript(parseStatements(content, lineDecorator), lastModified, contentLength, checksum.getValue());
+        } else {
+            cached = new CachedScript(cached.statements, lastModified, contentLength, checksum.getValue());
+        }
 
+        synchronized (SCRIPT_CACHE) {
+            SCRIPT_CACHE.put(cacheKey, cached);
+        }
+
+        return cached;
+    }
+
+    /**
+     * Splits SQL script content into statements in a single pass. Skips line comments and block comments between
+     * statements, honors DELIMITER commands and does not end statements within dollar quoted blocks or block comments.
+     * Block comments within a statement are kept as part of the statement.
+     *
+     * @param content the script content.
+     * @param lineDecorator optional line decorator for last script lines.
+     * @return list of SQL statements.
+     */
+    private static List<String> parseStatements(byte[] content, LastScriptLineDecorator lineDecorator) {
+        List<String> stmts = new ArrayList<>();
+        StringBuilder buffer = new StringBuilder();
+        String delimiter = getStatementEndingCharacter(lineDecorator);
+        String dollarQuote = null;
+        boolean blockComment = false;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content)))) {
             String line;
-            while (reader.ready()) {
-                line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+
+                if (dollarQuote == null) {
+                    if (buffer.length() == 0) {
+                        line = skipLeadingBlockComments(line, blockComment);
+                        if (line == null) {
+                            blockComment = true;
+                            continue;
+                        }
+
+                        blockComment = false;
+                        trimmed = line.trim();
+                    }
+
+                    if (!blockComment) {
+                        if (trimmed.length() == 0 || trimmed.startsWith(SQL_COMMENT)) {
+                            continue;
+                        }
+
+                        if (buffer.length() == 0 && trimmed.toUpperCase().startsWith(DELIMITER_COMMAND + " ")) {
+                            delimiter = trimmed.substring(DELIMITER_COMMAND.length()).trim();
+                            continue;
+                        }
+                    }
+
+                    blockComment = findOpenBlockComment(line, blockComment);
+                }
+
+                if (!blockComment) {
+                    dollarQuote = findOpenDollarQuote(line, dollarQuote);
+                }
 
-                if (line != null && line.trim() != null && !line.trim().startsWith(SQL_COMMENT) && line.trim().length() > 0) {
-                    if (line.trim().endsWith(getStatementEndingCharacter(lineDecorator))) {
+                if (dollarQuote == null && !blockComment && trimmed.endsWith(delimiter)) {
+                    if (delimiter.equals(getStatementEndingCharacter(lineDecorator))) {
                         if (lineDecorator != null) {
                             buffer.append(lineDecorator.decorate(line));
                         } else {
                             buffer.append(line);
                         }
+                    } else {
+                        buffer.append(trimmed.substring(0, trimmed.length() - delimiter.length()));
+                    }
 
-                        String stmt = buffer.toString().trim();
+                    String stmt = buffer.toString().trim();
 
-                        if (log.isDebugEnabled()) {
-                            log.debug("Found statement: " + stmt);
-                        }
+                    if (log.isDebugEnabled()) {
+                        log.debug("Found statement: " + stmt);
+                    }
 
-                        stmts.add(stmt);
-                        buffer.setLength(0);
-                        buffer = new StringBuffer();
-                    } else {
-                        buffer.append(line);
+                    stmts.add(stmt);
+                    buffer.setLength(0);
+                } else {
+                    buffer.append(line);
 
-                        //more lines to come for this statement add line break
-                        buffer.append("\n");
-                    }
+                    //more lines to come for this statement add line break
+                    buffer.append("\n");
                 }
             }
         } catch (IOException e) {
-            throw new CitrusRuntimeException("Resource could not be found - filename: " + sqlResource, e);
-        } finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException e) {
-                    log.warn("Warning: Error while closing reader instance", e);
+            throw new CitrusRuntimeException("Failed to read SQL statements", e);
+        }
+
+        return Collections.unmodifiableList(stmts);
+    }
+
+    /**
+     * Removes block comments at the beginning of given line. Returns the remaining line content or null when
+     * the line ends within a block comment.
+     * @param line
+     * @param openComment true when a block comment is open before this line.
+     * @return
+     */
+    private static String skipLeadingBlockComments(String line, boolean openComment) {
+        String remainder = line;
+
+        if (openComment) {
+            int commentEnd = remainder.indexOf("*/");
+            if (commentEnd < 0) {
+                return null;
+            }
+
+            remainder = remainder.substring(commentEnd + 2);
+        }
+
+        String trimmed = remainder.trim();
+        while (trimmed.startsWith("/*") && !trimmed.startsWith("/*+")) {
+            int commentEnd = trimmed.indexOf("*/", 2);
+            if (commentEnd < 0) {
+                return null;
+            }
+
+            remainder = trimmed.substring(commentEnd + 2);
+            trimmed = remainder.trim();
+        }
+
+        return remainder;
+    }
+
+    /**
+     * Evaluates block comments in given line. Returns true when a block comment is still open after this line.
+     * Block comment markers after a line comment are ignored.
+     * @param line
+     * @param openComment true when a block comment is open before this line.
+     * @return
+     */
+    private static boolean findOpenBlockComment(String line, boolean openComment) {
+        int index = 0;
+        while (index < line.length() - 1) {
+            if (openComment) {
+                int commentEnd = line.indexOf("*/", index);
+                if (commentEnd < 0) {
+                    return true;
                 }
+
+                openComment = false;
+                index = commentEnd + 2;
+            } else {
+                int commentStart = line.indexOf("/*", index);
+                int lineComment = line.indexOf(SQL_COMMENT, index);
+                if (commentStart < 0 || (lineComment >= 0 && lineComment < commentStart)) {
+                    return false;
+                }
+
+                openComment = true;
+                index = commentStart + 2;
+            }
+        }
+
+        return openComment;
+    }
+
+    /**
+     * Evaluates dollar quote tags in given line. Returns the dollar quote tag that is still open after this line
+     * or null when line ends outside of a dollar quoted block.
+     * @param line
+     * @param openQuote the dollar quote tag open before this line.
+     * @return
+     */
+    private static String findOpenDollarQuote(String line, String openQuote) {
+        if (line.indexOf('$') < 0) {
+            return openQuote;
+        }
+
+        Matcher matcher = DOLLAR_QUOTE_PATTERN.matcher(line);
+        while (matcher.find()) {
+            if (openQuote == null) {
+                openQuote = matcher.group();
+            } else if (openQuote.equals(matcher.group())) {
+                openQuote = null;
             }
         }
 
-        return stmts;
+        return openQuote;
+    }
+
+    /**
+     * Gets cache key for resource and line decorator.
+     * @param sqlResource
+     * @param lineDecorator
+     * @return
+     */
+    private static String getCacheKey(Resource sqlResource, LastScriptLineDecorator lineDecorator) {
+        String location = null;
+        try {
+            URI uri = sqlResource.getURI();
+            if (uri != null) {
+                location = uri.toString();
+            }
+        } catch (IOException e) {
+            log.debug("Unable to resolve URI of SQL resource - using resource description as cache key", e);
+        }
+
+        if (location == null) {
+            location = sqlResource.toString();
+        }
+
+        if (lineDecorator != null) {
+            return location + "|" + lineDecorator.getClass().getName() + "|" + lineDecorator.getStatementEndingCharacter();
+        }
+
+        return location;
+    }
+
+    /**
+     * Gets last modified timestamp of resource or zero if not available.
+     * @param sqlResource
+     * @return
+     */
+    private static long getLastModified(Resource sqlResource) {
+        try {
+            return sqlResource.lastModified();
+        } catch (IOException | IllegalStateException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Gets content length of resource or -1 if not available.
+     * @param sqlResource
+     * @return
+     */
+    private static long getContentLength(Resource sqlResource) {
+        try {
+            return sqlResource.contentLength();
+        } catch (IOException | IllegalStateException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Removes all cached SQL scripts.
+     */
+    public static void clearCache() {
+        synchronized (SCRIPT_CACHE) {
+            SCRIPT_CACHE.clear();
+        }
     }
 
     /**
@@ -138,6 +428,38 @@ public abstract class SqlUtils {
         return STMT_ENDING;
     }
 
+    /**
+     * Parsed SQL script with resource state used for cache invalidation. Marks statements holding placeholders.
+     */
+    private static final class CachedScript {
+        private final List<String> statements;
+        private final BitSet dynamicContent = new BitSet();
+        private final long lastModified;
+        private final long contentLength;
+        private final long checksum;
+
+        CachedScript(List<String> statements, long lastModified, long contentLength, long checksum) {
+            this.statements = statements;
+            this.lastModified = lastModified;
+            this.contentLength = contentLength;
+            this.checksum = checksum;
+
+            for (int i = 0; i < statements.size(); i++) {
+                if (containsDynamicContent(statements.get(i))) {
+                    dynamicContent.set(i);
+                }
+            }
+        }
+
+        /**
+         * Gets modifiable copy of cached statements.
+         * @return
+         */
+        List<String> getStatements() {
+            return new ArrayList<>(statements);
+        }
+    }
+
     /**
      * Line decorator decorates last script lines with custom logic.
      */
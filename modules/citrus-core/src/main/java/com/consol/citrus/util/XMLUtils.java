@@ -24,12 +24,12 @@ import org.w3c.dom.*;
 import org.w3c.dom.ls.*;
 
 import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.*;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.*;
 
-import static com.consol.citrus.xml.XmlConfigurer.VALIDATE_IF_SCHEMA;
-
 /**
  * Class providing several utility methods for XML processing.
  *
@@ -42,6 +42,9 @@ public final class XMLUtils {
     /** Configurer instance */
     private static XmlConfigurer configurer = new XmlConfigurer();
 
+    /** StAX input factory for namespace and root element lookups */
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
     /**
      * Prevent instantiation.
      */
@@ -211,8 +214,17 @@ public final class XMLUtils {
      * @return serialized XML string
      */
     public static String serialize(Document doc) {
-        LSSerializer serializer = configurer.createLSSerializer();
+        return serialize(doc, null);
+    }
 
+    /**
+     * Serializes a DOM document using given serializer filter.
+     * @param doc
+     * @param filter optional serializer filter, may be null
+     * @throws CitrusRuntimeException
+     * @return serialized XML string
+     */
+    public static String serialize(Document doc, LSSerializerFilter filter) {
         LSOutput output = configurer.createLSOutput();
         String charset = getTargetCharset(doc).displayName();
         output.setEncoding(charset);
@@ -220,7 +232,7 @@ public final class XMLUtils {
         StringWriter writer = new StringWriter();
         output.setCharacterStream(writer);
 
-        serializer.write(doc, output);
+        configurer.serialize(doc, output, filter);
 
         return writer.toString();
     }
@@ -232,9 +244,6 @@ public final class XMLUtils {
      * @return pretty printed XML string
      */
     public static String prettyPrint(String xml) {
-        LSParser parser = configurer.createLSParser();
-        configurer.setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, false);
-
         LSInput input = configurer.createLSInput();
 
         try {
@@ -248,7 +257,7 @@ public final class XMLUtils {
 
         Document doc;
         try {
-            doc = parser.parse(input);
+            doc = configurer.parseNonValidating(input);
         } catch (Exception e) {
             return xml;
         }
@@ -293,47 +302,147 @@ public final class XMLUtils {
     /**
      * Look up namespace attribute declarations in the XML fragment and
      * store them in a binding map, where the key is the namespace prefix and the value
-     * is the namespace uri.
+     * is the namespace uri. Well formed documents are read with a streaming parser, other
+     * XML fragments are searched for namespace attribute declarations.
      *
      * @param xml XML fragment.
      * @return map containing namespace prefix - namespace uri pairs.
      */
     public static Map<String, String> lookupNamespaces(String xml) {
+        if (xml.indexOf(XMLConstants.XMLNS_ATTRIBUTE) == -1) {
+            return new HashMap<String, String>();
+        }
+
+        Map<String, String> namespaces = readNamespaces(xml);
+        if (namespaces != null) {
+            return namespaces;
+        }
+
+        return tokenizeNamespaces(xml);
+    }
+
+    /**
+     * Reads all namespace declarations in the XML document with a streaming parser. Returns null
+     * when the XML is not a well formed document.
+     * @param xml
+     * @return
+     */
+    private static Map<String, String> readNamespaces(String xml) {
+        Map<String, String> namespaces = new HashMap<String, String>();
+
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new StringReader(xml.trim()));
+
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        String nsPrefix = reader.getNamespacePrefix(i);
+                        namespaces.put(nsPrefix != null ? nsPrefix : XMLConstants.DEFAULT_NS_PREFIX, reader.getNamespaceURI(i));
+                    }
+                }
+            }
+
+            return namespaces;
+        } catch (XMLStreamException e) {
+            return null;
+        } finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Looks up namespace declarations by splitting the XML string. Used for XML fragments that are
+     * not well formed documents.
+     * @param xml
+     * @return
+     */
+    private static Map<String, String> tokenizeNamespaces(String xml) {
         Map<String, String> namespaces = new HashMap<String, String>();
 
         //TODO: handle inner CDATA sections because namespaces they might interfere with real namespaces in xml fragment
-        if (xml.indexOf(XMLConstants.XMLNS_ATTRIBUTE) != -1) {
-            String[] tokens = StringUtils.split(xml, XMLConstants.XMLNS_ATTRIBUTE);
+        String[] tokens = StringUtils.split(xml, XMLConstants.XMLNS_ATTRIBUTE);
 
-            do {
-                String token = tokens[1];
-
-                String nsPrefix;
-                if (token.startsWith(":")) {
-                    nsPrefix = token.substring(1, token.indexOf('='));
-                } else if (token.startsWith("=")) {
-                    nsPrefix = XMLConstants.DEFAULT_NS_PREFIX;
-                } else {
-                    //we have found a "xmlns" phrase that is no namespace attribute - ignore and continue
-                    tokens = StringUtils.split(token, XMLConstants.XMLNS_ATTRIBUTE);
-                    continue;
-                }
+        do {
+            String token = tokens[1];
+
+            String nsPrefix;
+            if (token.startsWith(":")) {
+                nsPrefix = token.substring(1, token.indexOf('='));
+            } else if (token.startsWith("=")) {
+                nsPrefix = XMLConstants.DEFAULT_NS_PREFIX;
+            } else {
+                //we have found a "xmlns" phrase that is no namespace attribute - ignore and continue
+                tokens = StringUtils.split(token, XMLConstants.XMLNS_ATTRIBUTE);
+                continue;
+            }
+
+            String nsUri;
+            try {
+                nsUri = token.substring(token.indexOf('\"')+1, token.indexOf('\"', token.indexOf('\"')+1));
+            } catch (StringIndexOutOfBoundsException e) {
+                //maybe we have more luck with single "'"
+                nsUri = token.substring(token.indexOf('\'')+1, token.indexOf('\'', token.indexOf('\'')+1));
+            }
+
+            namespaces.put(nsPrefix, nsUri);
+
+            tokens = StringUtils.split(token, XMLConstants.XMLNS_ATTRIBUTE);
+        } while(tokens != null);
+
+        return namespaces;
+    }
+
+    /**
+     * Reads qualified name of root element in the XML document with a streaming parser. Only the XML
+     * up to the root element start tag is read. Returns null if no root element is found.
+     * @param xml
+     * @throws CitrusRuntimeException
+     * @return
+     */
+    public static QName lookupRootElement(String xml) {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new StringReader(xml.trim()));
 
-                String nsUri;
-                try {
-                    nsUri = token.substring(token.indexOf('\"')+1, token.indexOf('\"', token.indexOf('\"')+1));
-                } catch (StringIndexOutOfBoundsException e) {
-                    //maybe we have more luck with single "'"
-                    nsUri = token.substring(token.indexOf('\'')+1, token.indexOf('\'', token.indexOf('\'')+1));
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    return reader.getName();
                 }
+            }
 
-                namespaces.put(nsPrefix, nsUri);
+            return null;
+        } catch (XMLStreamException e) {
+            throw new CitrusRuntimeException("Failed to read root element of XML document", e);
+        } finally {
+            close(reader);
+        }
+    }
 
-                tokens = StringUtils.split(token, XMLConstants.XMLNS_ATTRIBUTE);
-            } while(tokens != null);
+    /**
+     * Closes stream reader quietly.
+     * @param reader
+     */
+    private static void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                //ignore
+            }
         }
+    }
 
-        return namespaces;
+    /**
+     * Creates namespace aware StAX input factory that does not resolve DTDs or external entities.
+     * @return
+     */
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 
     /**
@@ -343,7 +452,6 @@ public final class XMLUtils {
      * @return DOM document.
      */
     public static Document parseMessagePayload(String messagePayload) {
-        LSParser parser = configurer.createLSParser();
         LSInput receivedInput = configurer.createLSInput();
         try {
             Charset charset = getTargetCharset(messagePayload);
@@ -353,7 +461,7 @@ public final class XMLUtils {
             throw new CitrusRuntimeException(e);
         }
 
-        return parser.parse(receivedInput);
+        return configurer.parse(receivedInput);
     }
 
     /**
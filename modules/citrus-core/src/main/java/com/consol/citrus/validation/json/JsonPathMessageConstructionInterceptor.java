@@ -101,7 +101,7 @@ public class JsonPathMessageConstructionInterceptor extends AbstractMessageConst
                 }
 
                 try {
-                    documentContext.set(jsonPathExpression, value);
+                    documentContext.set(JsonPathUtils.compile(jsonPathExpression), value);
                 } catch (PathNotFoundException e) {
                     if (!ignoreNotFound) {
                         throw new UnknownElementException(String.format("Could not find element for expression: %s", jsonPathExpression), e);
@@ -24,7 +24,6 @@ import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,9 +53,7 @@ public class JsonPathMessageValidator extends AbstractMessageValidator<JsonPathM
 
         String jsonPathExpression = null;
         try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(receivedMessage.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
+            ReadContext readerContext = JsonPathUtils.readContext(receivedMessage);
 
             for (Map.Entry<String, Object> entry : validationContext.getJsonPathExpressions().entrySet()) {
                 jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
@@ -72,10 +69,11 @@ public class JsonPathMessageValidator extends AbstractMessageValidator<JsonPathM
                 Object jsonPathResult = null;
                 PathNotFoundException pathNotFoundException = null;
                 try {
-                    if (JsonPath.isPathDefinite(jsonPathExpression)) {
-                        jsonPathResult = readerContext.read(jsonPathExpression);
+                    JsonPath jsonPath = JsonPathUtils.compile(jsonPathExpression);
+                    if (jsonPath.isDefinite()) {
+                        jsonPathResult = readerContext.read(jsonPath);
                     } else {
-                        JSONArray values = readerContext.read(jsonPathExpression);
+                        JSONArray values = readerContext.read(jsonPath);
                         if (values.size() == 1) {
                             jsonPathResult = values.get(0);
                         } else {
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import com.consol.citrus.message.Message;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+import java.util.*;
+
+/**
+ * Utility provides compiled JsonPath expressions and parsed JSON documents. Compiled expressions are thread safe so
+ * they are shared by all JsonPath consumers in a bounded cache that evicts least recently used entries.
+ *
+ * Parsed message payloads are attached to the message instance, so validation, variable extraction and ignore expressions
+ * on the same received message parse the payload only once. Attached documents are invalidated as soon as the message
+ * payload gets replaced. Callers must not modify attached documents.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public abstract class JsonPathUtils {
+
+    /** Maximum number of cached expressions */
+    private static final int CACHE_CAPACITY = 512;
+
+    /** Compiled JsonPath expressions by expression */
+    private static final Map<String, JsonPath> EXPRESSION_CACHE = new LinkedHashMap<String, JsonPath>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    /** Parsed documents by message, weak keys so documents are released with the message */
+    private static final Map<Message, ParsedDocument> DOCUMENT_CACHE = new WeakHashMap<>();
+
+    /**
+     * Prevent instantiation.
+     */
+    private JsonPathUtils() {
+        super();
+    }
+
+    /**
+     * Gets compiled JsonPath for given expression. Compiles and caches the expression on first access.
+     * @param expression
+     * @return
+     * @throws com.jayway.jsonpath.InvalidPathException when expression is invalid
+     */
+    public static JsonPath compile(String expression) {
+        synchronized (EXPRESSION_CACHE) {
+            JsonPath jsonPath = EXPRESSION_CACHE.get(expression);
+
+            if (jsonPath == null) {
+                jsonPath = JsonPath.compile(expression);
+                EXPRESSION_CACHE.put(expression, jsonPath);
+            }
+
+            return jsonPath;
+        }
+    }
+
+    /**
+     * Gets read context for message payload. Payload is parsed on first access and attached to the message
+     * until the payload is replaced.
+     * @param message
+     * @return
+     * @throws ParseException
+     */
+    public static ReadContext readContext(Message message) throws ParseException {
+        Object payload = message.getPayload();
+
+        synchronized (DOCUMENT_CACHE) {
+            ParsedDocument document = DOCUMENT_CACHE.get(message);
+            if (document != null && document.payload == payload) {
+                return document.readContext;
+            }
+        }
+
+        ReadContext readContext = parse(message.getPayload(String.class));
+
+        synchronized (DOCUMENT_CACHE) {
+            DOCUMENT_CACHE.put(message, new ParsedDocument(payload, readContext));
+        }
+
+        return readContext;
+    }
+
+    /**
+     * Parses JSON text to read context. Result is not cached.
+     * @param jsonText
+     * @return
+     * @throws ParseException
+     */
+    public static ReadContext parse(String jsonText) throws ParseException {
+        JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+        return JsonPath.parse(parser.parse(jsonText));
+    }
+
+    /**
+     * Parsed document along with the payload instance it was parsed from.
+     */
+    private static final class ParsedDocument {
+        private final Object payload;
+        private final ReadContext readContext;
+
+        ParsedDocument(Object payload, ReadContext readContext) {
+            this.payload = payload;
+            this.readContext = readContext;
+        }
+    }
+}
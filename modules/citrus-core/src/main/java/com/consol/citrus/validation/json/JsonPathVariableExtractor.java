@@ -23,7 +23,6 @@ import com.consol.citrus.message.Message;
 import com.consol.citrus.variable.VariableExtractor;
 import com.jayway.jsonpath.*;
 import net.minidev.json.JSONArray;
-import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,9 +57,7 @@ public class JsonPathVariableExtractor implements VariableExtractor {
 
         String jsonPathExpression = null;
         try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(message.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
+            ReadContext readerContext = JsonPathUtils.readContext(message);
 
             for (Map.Entry<String, String> entry : jsonPathExpressions.entrySet()) {
                 jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
@@ -81,10 +78,11 @@ public class JsonPathVariableExtractor implements VariableExtractor {
                 Object jsonPathResult = null;
                 PathNotFoundException pathNotFoundException = null;
                 try {
-                    if (JsonPath.isPathDefinite(jsonPathExpression)) {
-                        jsonPathResult = readerContext.read(jsonPathExpression);
+                    JsonPath jsonPath = JsonPathUtils.compile(jsonPathExpression);
+                    if (jsonPath.isDefinite()) {
+                        jsonPathResult = readerContext.read(jsonPath);
                     } else {
-                        JSONArray values = readerContext.read(jsonPathExpression);
+                        JSONArray values = readerContext.read(jsonPath);
                         if (values.size() == 1) {
                             jsonPathResult = values.get(0);
                         } else {
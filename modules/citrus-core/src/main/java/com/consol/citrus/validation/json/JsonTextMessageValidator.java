@@ -25,7 +25,6 @@ import com.consol.citrus.message.MessageType;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.ReadContext;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
@@ -84,8 +83,8 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
             
             JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
         
-            Object receivedJson = parser.parse(receivedJsonText);
-            ReadContext readContext = JsonPath.parse(receivedJson);
+            ReadContext readContext = JsonPathUtils.readContext(receivedMessage);
+            Object receivedJson = readContext.json();
             Object controlJson = parser.parse(controlJsonText);
             if (receivedJson instanceof JSONObject) {
                 validateJson("$.", (JSONObject) receivedJson, (JSONObject) controlJson, validationContext, context, readContext);
@@ -228,7 +227,7 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
         }
 
         for (String jsonPathExpression : ignoreExpressions) {
-            Object foundEntry = readContext.read(jsonPathExpression);
+            Object foundEntry = readContext.read(JsonPathUtils.compile(jsonPathExpression));
 
             if (foundEntry instanceof JSONArray && ((JSONArray) foundEntry).contains(receivedJson)) {
                 if (log.isDebugEnabled()) {
@@ -18,10 +18,11 @@ package com.consol.citrus.validation.matcher.core;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.util.PatternUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcher;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
@@ -34,17 +35,17 @@ public class DatePatternValidationMatcher implements ValidationMatcher {
 
     public void validate(String fieldName, String value, List<String> controlParameters, TestContext context) throws ValidationException {
 		String control = controlParameters.get(0);
-    	SimpleDateFormat dateFormat;
+    	DateTimeFormatter dateFormat;
     	try {
-    		dateFormat = new SimpleDateFormat(control);
+    		dateFormat = PatternUtils.getDateTimeFormatter(control);
     	} catch (PatternSyntaxException e) {
     		throw new ValidationException(this.getClass().getSimpleName()
                     + " failed for field '" + fieldName + "' " + 
                     ". Found invalid date format", e);
 		}
     	try {
-			dateFormat.parse(value);
-		} catch (ParseException e) {
+			PatternUtils.parseDateTime(value, dateFormat);
+		} catch (DateTimeException e) {
             throw new ValidationException(this.getClass().getSimpleName()
                     + " failed for field '" + fieldName + "'" +
                     		". Received invalid date format for value '" + value
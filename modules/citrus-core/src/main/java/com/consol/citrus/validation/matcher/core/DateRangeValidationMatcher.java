@@ -19,14 +19,15 @@ package com.consol.citrus.validation.matcher.core;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.util.PatternUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcher;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.List;
 
 /**
@@ -97,14 +98,11 @@ public class DateRangeValidationMatcher implements ValidationMatcher {
      * @return the calendar representation
      */
     protected Calendar toCalender(String date, String datePattern) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(datePattern);
-        Calendar cal = Calendar.getInstance();
         try {
-            cal.setTime(dateFormat.parse(date));
-        } catch (ParseException e) {
+            return GregorianCalendar.from(PatternUtils.parseDateTime(date, datePattern));
+        } catch (DateTimeException e) {
             throw new CitrusRuntimeException(String.format("Error parsing date '%s' using pattern '%s'", date, datePattern), e);
         }
-        return cal;
     }
 
     private boolean checkInRange(Calendar dateFrom, Calendar dateTo, Calendar dateToCheck) {
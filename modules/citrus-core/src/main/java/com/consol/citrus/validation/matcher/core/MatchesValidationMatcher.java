@@ -18,13 +18,14 @@ package com.consol.citrus.validation.matcher.core;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.util.PatternUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcher;
 
 import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
 /**
- * ValidationMatcher based on String.matches()
+ * ValidationMatcher based on String.matches(). Compiled patterns are shared via {@link PatternUtils}.
  * 
  * @author Christian Wied
  */
@@ -35,7 +36,7 @@ public class MatchesValidationMatcher implements ValidationMatcher {
     	boolean success;
 
     	try {
-    		success = value.matches(control);
+    		success = PatternUtils.compile(control).matcher(value).matches();
     	} catch (PatternSyntaxException e) {
     		throw new ValidationException(this.getClass().getSimpleName()
                     + " failed for field '" + fieldName
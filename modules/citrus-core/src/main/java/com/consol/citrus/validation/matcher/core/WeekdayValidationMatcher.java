@@ -18,15 +18,16 @@ package com.consol.citrus.validation.matcher.core;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.util.PatternUtils;
 import com.consol.citrus.validation.matcher.ControlExpressionParser;
 import com.consol.citrus.validation.matcher.ValidationMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
@@ -51,7 +52,7 @@ public class WeekdayValidationMatcher implements ValidationMatcher, ControlExpre
 
     @Override
     public void validate(String fieldName, String value, List<String> controlParameters, TestContext context) throws ValidationException {
-        SimpleDateFormat dateFormat;
+        DateTimeFormatter dateFormat;
         String weekday = controlParameters.get(0);
         String formatString = "dd.MM.yyyy";
 
@@ -61,23 +62,20 @@ public class WeekdayValidationMatcher implements ValidationMatcher, ControlExpre
         }
 
         try {
-            dateFormat = new SimpleDateFormat(formatString);
+            dateFormat = PatternUtils.getDateTimeFormatter(formatString);
         } catch (PatternSyntaxException e) {
             throw new ValidationException(this.getClass().getSimpleName() + " failed for field '" + fieldName + "' " +
                     ". Found invalid date format", e);
         }
 
         try {
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(dateFormat.parse(value));
-
-            if (cal.get(Calendar.DAY_OF_WEEK) == Weekday.valueOf(weekday).getConstantValue()) {
+            if (PatternUtils.parseDateTime(value, dateFormat).getDayOfWeek() == DayOfWeek.valueOf(weekday)) {
                 LOG.info("Weekday validation matcher successful - All values OK");
             } else {
                 throw new ValidationException(this.getClass().getSimpleName() + " failed for field '" + fieldName + "'" +
                         ". Received invalid week day '" + value + "', expected date to be a '" + weekday + "'");
             }
-        } catch (ParseException e) {
+        } catch (DateTimeException e) {
             throw new ValidationException(this.getClass().getSimpleName() + " failed for field '" + fieldName + "'" +
                     ". Received invalid date format for value '" + value + "', expected date format is '" + formatString + "'", e);
         }
@@ -95,28 +93,5 @@ public class WeekdayValidationMatcher implements ValidationMatcher, ControlExpre
         }
         return parameters;
     }
-
-    /**
-     * Weekday enumeration links names to Java util Calendar constants.
-     */
-    private enum Weekday {
-        MONDAY(Calendar.MONDAY),
-        TUESDAY(Calendar.TUESDAY),
-        WEDNESDAY(Calendar.WEDNESDAY),
-        THURSDAY(Calendar.THURSDAY),
-        FRIDAY(Calendar.FRIDAY),
-        SATURDAY(Calendar.SATURDAY),
-        SUNDAY(Calendar.SUNDAY);
-
-        private int constantValue;
-
-        Weekday(int constant) {
-            this.constantValue = constant;
-        }
-
-        public int getConstantValue() {
-            return this.constantValue;
-        }
-    }
 }
 
@@ -49,6 +49,7 @@ import org.xml.sax.SAXParseException;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
@@ -130,7 +131,8 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
     }
 
     /**
-     * Validate message with a XML schema.
+     * Validate message with a XML schema. Schema repository and schema are selected with the root element of the
+     * message payload, the payload is only parsed to a DOM document when there is a schema to validate with.
      *
      * @param receivedMessage
      * @param validationContext
@@ -141,9 +143,13 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
 
         try {
-            Document doc = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+            String payload = receivedMessage.getPayload(String.class);
+            if (!startsWithRootElement(payload)) {
+                return;
+            }
 
-            if (!StringUtils.hasText(doc.getFirstChild().getNamespaceURI())) {
+            QName rootElement = XMLUtils.lookupRootElement(payload);
+            if (rootElement == null || !StringUtils.hasText(rootElement.getNamespaceURI())) {
                 return;
             }
 
@@ -159,14 +165,14 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 schemaRepository = schemaRepositories.get(0);
             } else if (schemaRepositories.size() > 0) {
                 for (XsdSchemaRepository repository : schemaRepositories) {
-                    if (repository.canValidate(doc)) {
+                    if (repository.canValidate(payload)) {
                         schemaRepository = repository;
                     }
                 }
                 
                 if (schemaRepository == null) {
                     throw new CitrusRuntimeException(String.format("Failed to find proper schema repository in Spring bean context for validating element '%s(%s)'",
-                            doc.getFirstChild().getLocalName(), doc.getFirstChild().getNamespaceURI()));
+                            rootElement.getLocalPart(), rootElement.getNamespaceURI()));
                 }
             } else {
                 log.warn("Neither schema instance nor schema repository defined - skipping XML schema validation");
@@ -174,10 +180,10 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             }
             
             if (schemaRepository != null) {
-                if (!schemaRepository.canValidate(doc)) {
+                if (!schemaRepository.canValidate(payload)) {
                     throw new CitrusRuntimeException(String.format("Unable to find proper XML schema definition for element '%s(%s)' in schema repository '%s'",
-                            doc.getFirstChild().getLocalName(),
-                            doc.getFirstChild().getNamespaceURI(),
+                            rootElement.getLocalPart(),
+                            rootElement.getNamespaceURI(),
                             schemaRepository.getName()));
                 }
 
@@ -207,12 +213,13 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 validator = XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
             }
             
+            Document doc = XMLUtils.parseMessagePayload(payload);
             SAXParseException[] results = validator.validate(new DOMSource(doc));
             if (results.length == 0) {
                 log.info("XML schema validation successful: All values OK");
             } else {
                 log.error("XML schema validation failed for message:\n" +
-                        XMLUtils.prettyPrint(receivedMessage.getPayload(String.class)));
+                        XMLUtils.prettyPrint(payload));
                 
                 // Report all parsing errors
                 log.debug("Found " + results.length + " schema validation errors");
@@ -232,6 +239,21 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
     }
 
+    /**
+     * Checks that the root element is the first node in the XML document. Documents starting with a document type
+     * declaration, comment or processing instruction are not schema validated.
+     * @param payload
+     * @return
+     */
+    private boolean startsWithRootElement(String payload) {
+        String xml = payload.trim();
+        if (xml.startsWith("<?xml") && xml.length() > 5 && Character.isWhitespace(xml.charAt(5))) {
+            xml = xml.substring(xml.indexOf("?>") + 2).trim();
+        }
+
+        return !xml.startsWith("<!") && !xml.startsWith("<?");
+    }
+
     /**
      * Validate namespaces in message. The method compares namespace declarations in the root
      * element of the received message to expected namespaces. Prefixes are important too, so
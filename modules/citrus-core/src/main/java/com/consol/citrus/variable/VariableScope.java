@@ -0,0 +1,188 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Layered variable scope reading through to a parent scope. Only variables written in this scope are stored locally
+ * so creating a child scope does not copy the parent variables. Changes in this scope such as setting or removing
+ * variables never affect the parent scope. Variables in parent scope that have not been overwritten locally stay visible
+ * in this scope.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class VariableScope extends AbstractMap<String, Object> {
+
+    /** Parent scope variables */
+    private final Map<String, Object> parent;
+
+    /** Variables written in this scope */
+    private final Map<String, Object> local = new ConcurrentHashMap<>();
+
+    /** Parent variables removed in this scope */
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Default constructor creating root scope.
+     */
+    public VariableScope() {
+        this(Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Constructor creating child scope of given parent variables.
+     * @param parent
+     */
+    public VariableScope(Map<String, Object> parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = local.get(key);
+        if (value != null || removed.contains(key)) {
+            return value;
+        }
+
+        return parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || (!removed.contains(key) && parent.containsKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        local.put(key, value);
+        removed.remove(key);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        local.remove(key);
+
+        if (parent.containsKey(key)) {
+            removed.add((String) key);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        removed.addAll(parent.keySet());
+    }
+
+    @Override
+    public int size() {
+        int size = local.size();
+        for (String key : parent.keySet()) {
+            if (!local.containsKey(key) && !removed.contains(key)) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                final Iterator<Entry<String, Object>> snapshot = getVisibleVariables().entrySet().iterator();
+
+                return new Iterator<Entry<String, Object>>() {
+                    private Entry<String, Object> current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return snapshot.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        current = snapshot.next();
+                        return new SimpleEntry<String, Object>(current) {
+                            @Override
+                            public Object setValue(Object value) {
+                                put(getKey(), value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (current == null) {
+                            throw new IllegalStateException();
+                        }
+
+                        VariableScope.this.remove(current.getKey());
+                        current = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return VariableScope.this.size();
+            }
+        };
+    }
+
+    /**
+     * Gets snapshot of all variables visible in this scope. Local variables overwrite parent variables.
+     * @return
+     */
+    private Map<String, Object> getVisibleVariables() {
+        Map<String, Object> visible = new LinkedHashMap<>();
+
+        for (Entry<String, Object> entry : parent.entrySet()) {
+            if (!removed.contains(entry.getKey())) {
+                visible.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        visible.putAll(local);
+        return visible;
+    }
+
+    /**
+     * Gets the variables written in this scope.
+     * @return
+     */
+    public Map<String, Object> getLocalVariables() {
+        return Collections.unmodifiableMap(local);
+    }
+
+    /**
+     * Gets the parent scope variables.
+     * @return
+     */
+    public Map<String, Object> getParent() {
+        return parent;
+    }
+}
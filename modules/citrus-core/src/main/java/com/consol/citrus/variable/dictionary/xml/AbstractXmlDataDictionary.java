@@ -28,8 +28,6 @@ import org.w3c.dom.*;
 import org.w3c.dom.ls.*;
 import org.w3c.dom.traversal.NodeFilter;
 
-import java.io.StringWriter;
-
 /**
  * Abstract data dictionary works on XML message payloads only with parsing the document and translating each element
  * and attribute with respective value in dictionary.
@@ -52,20 +50,7 @@ public abstract class AbstractXmlDataDictionary extends AbstractDataDictionary<N
 
         Document doc = XMLUtils.parseMessagePayload(messagePayload);
 
-        LSSerializer serializer = XMLUtils.createLSSerializer();
-
-        serializer.setFilter(new TranslateFilter(context));
-
-        LSOutput output = XMLUtils.createLSOutput();
-        String charset = XMLUtils.getTargetCharset(doc).displayName();
-        output.setEncoding(charset);
-
-        StringWriter writer = new StringWriter();
-        output.setCharacterStream(writer);
-
-        serializer.write(doc, output);
-
-        message.setPayload(writer.toString());
+        message.setPayload(XMLUtils.serialize(doc, new TranslateFilter(context)));
         return message;
     }
 
@@ -22,6 +22,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.w3c.dom.DOMImplementationList;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 import org.w3c.dom.bootstrap.DOMImplementationRegistry;
 import org.w3c.dom.ls.*;
 
@@ -32,6 +34,9 @@ import java.util.Map;
  * Class is loaded with Spring application context in Citrus. When loaded automatically initializes XML utilities
  * with this XML processing configuration. Configuration is pushed to XML utility classes after properties are set.
  *
+ * Parser and serializer instances used by the parse and serialize operations of this configurer are configured once and
+ * reused per thread. Nested operations on the same thread fall back to creating new instances.
+ *
  * @author Christoph Deppisch
  * @since 2.6.2
  */
@@ -48,6 +53,11 @@ public class XmlConfigurer implements InitializingBean {
     private Map<String, Object> parseSettings = new HashMap<>();
     private Map<String, Object> serializeSettings = new HashMap<>();
 
+    /** Preconfigured parser and serializer instances per thread */
+    private volatile ThreadLocal<PooledInstance<LSParser>> parsers = new ThreadLocal<>();
+    private volatile ThreadLocal<PooledInstance<LSParser>> nonValidatingParsers = new ThreadLocal<>();
+    private volatile ThreadLocal<PooledInstance<LSSerializer>> serializers = new ThreadLocal<>();
+
     public static final String SPLIT_CDATA_SECTIONS = "split-cdata-sections";
     public static final String FORMAT_PRETTY_PRINT = "format-pretty-print";
     public static final String ELEMENT_CONTENT_WHITESPACE = "element-content-whitespace";
@@ -123,6 +133,113 @@ public class XmlConfigurer implements InitializingBean {
         }
     }
 
+    /**
+     * Parses input with preconfigured parser instance of current thread.
+     * @param input
+     * @return
+     */
+    public Document parse(LSInput input) {
+        return parse(input, parsers, true);
+    }
+
+    /**
+     * Parses input with preconfigured parser instance of current thread that does not validate
+     * with XML schema.
+     * @param input
+     * @return
+     */
+    public Document parseNonValidating(LSInput input) {
+        return parse(input, nonValidatingParsers, false);
+    }
+
+    /**
+     * Parses input with pooled parser instance. Creates new parser instance when pooled instance is
+     * already in use on current thread.
+     * @param input
+     * @param pool
+     * @param validateIfSchema
+     * @return
+     */
+    private Document parse(LSInput input, ThreadLocal<PooledInstance<LSParser>> pool, boolean validateIfSchema) {
+        PooledInstance<LSParser> pooled = pool.get();
+
+        if (pooled == null) {
+            LSParser parser = createLSParser();
+            if (!validateIfSchema) {
+                setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, false);
+            }
+
+            pooled = new PooledInstance<>(parser);
+            pool.set(pooled);
+        }
+
+        if (pooled.inUse) {
+            LSParser parser = createLSParser();
+            if (!validateIfSchema) {
+                setParserConfigParameter(parser, VALIDATE_IF_SCHEMA, false);
+            }
+
+            return parser.parse(input);
+        }
+
+        pooled.inUse = true;
+        try {
+            return pooled.instance.parse(input);
+        } finally {
+            pooled.inUse = false;
+        }
+    }
+
+    /**
+     * Serializes node to output with preconfigured serializer instance of current thread.
+     * @param node
+     * @param output
+     */
+    public void serialize(Node node, LSOutput output) {
+        serialize(node, output, null);
+    }
+
+    /**
+     * Serializes node to output with preconfigured serializer instance of current thread using given filter.
+     * Creates new serializer instance when pooled instance is already in use on current thread.
+     * @param node
+     * @param output
+     * @param filter optional serializer filter, may be null
+     */
+    public void serialize(Node node, LSOutput output, LSSerializerFilter filter) {
+        PooledInstance<LSSerializer> pooled = serializers.get();
+
+        if (pooled == null) {
+            pooled = new PooledInstance<>(createLSSerializer());
+            serializers.set(pooled);
+        }
+
+        if (pooled.inUse) {
+            LSSerializer serializer = createLSSerializer();
+            serializer.setFilter(filter);
+            serializer.write(node, output);
+            return;
+        }
+
+        pooled.inUse = true;
+        try {
+            pooled.instance.setFilter(filter);
+            pooled.instance.write(node, output);
+        } finally {
+            pooled.instance.setFilter(null);
+            pooled.inUse = false;
+        }
+    }
+
+    /**
+     * Discards all pooled parser and serializer instances so new instances pick up changed settings.
+     */
+    private void resetPools() {
+        parsers = new ThreadLocal<>();
+        nonValidatingParsers = new ThreadLocal<>();
+        serializers = new ThreadLocal<>();
+    }
+
     /**
      * Creates LSInput from dom implementation.
      * @return
@@ -233,6 +350,7 @@ public class XmlConfigurer implements InitializingBean {
      */
     public void setParseSettings(Map<String, Object> parseSettings) {
         this.parseSettings = parseSettings;
+        resetPools();
     }
 
     /**
@@ -242,13 +360,27 @@ public class XmlConfigurer implements InitializingBean {
      */
     public void setSerializeSettings(Map<String, Object> serializeSettings) {
         this.serializeSettings = serializeSettings;
+        resetPools();
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
         setDefaultParseSettings();
         setDefaultSerializeSettings();
+        resetPools();
 
         XMLUtils.initialize(this);
     }
+
+    /**
+     * Pooled instance marked as in use while operation is running.
+     */
+    private static final class PooledInstance<T> {
+        private final T instance;
+        private boolean inUse = false;
+
+        PooledInstance(T instance) {
+            this.instance = instance;
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.xml;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,9 +27,13 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
+import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -51,6 +57,9 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
     /** Mapping strategy */
     private XsdSchemaMappingStrategy schemaMappingStrategy = new TargetNamespaceSchemaMappingStrategy();
     
+    /** DOM implementation for root element only documents */
+    private static final DOMImplementation domImplementation = createDomImplementation();
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(XsdSchemaRepository.class);
     
@@ -65,6 +74,43 @@ public class XsdSchemaRepository implements BeanNameAware, InitializingBean {
         XsdSchema schema = schemaMappingStrategy.getSchema(schemas, doc);
         return schema != null;
     }
+
+    /**
+     * Find the matching schema for XML document using given schema mapping strategy. Only reads the root element
+     * of the XML document instead of parsing the whole document.
+     * @param xml the XML document to validate.
+     * @return boolean flag marking matching schema instance found
+     * @throws IOException
+     * @throws SAXException
+     */
+    public boolean canValidate(String xml) throws IOException, SAXException {
+        QName rootElement = XMLUtils.lookupRootElement(xml);
+        if (rootElement == null) {
+            return false;
+        }
+
+        String qualifiedName = rootElement.getLocalPart();
+        if (!XMLConstants.DEFAULT_NS_PREFIX.equals(rootElement.getPrefix())) {
+            qualifiedName = rootElement.getPrefix() + ":" + qualifiedName;
+        }
+
+        String namespace = XMLConstants.NULL_NS_URI.equals(rootElement.getNamespaceURI()) ? null : rootElement.getNamespaceURI();
+        return canValidate(domImplementation.createDocument(namespace, qualifiedName, null));
+    }
+
+    /**
+     * Creates DOM implementation used to create root element only documents.
+     * @return
+     */
+    private static DOMImplementation createDomImplementation() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().getDOMImplementation();
+        } catch (ParserConfigurationException e) {
+            throw new CitrusRuntimeException("Failed to create DOM implementation", e);
+        }
+    }
     
     /**
      * {@inheritDoc}
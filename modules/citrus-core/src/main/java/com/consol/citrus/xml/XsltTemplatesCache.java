@@ -0,0 +1,179 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.xml;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.xml.transform.StringSource;
+
+import javax.xml.transform.*;
+import java.util.*;
+
+/**
+ * Cache holding compiled XSLT stylesheets as thread safe {@link Templates} instances. Stylesheets are keyed by their
+ * resolved content so each distinct stylesheet gets compiled only once and transformers created from the cached templates
+ * are cheap. The cache is bounded and evicts least recently used templates.
+ *
+ * When defined as bean in the Spring application context stylesheet locations are compiled on startup.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class XsltTemplatesCache implements InitializingBean {
+
+    /** Default maximum number of cached templates */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** List of location patterns that will be compiled on startup */
+    private List<String> locations = new ArrayList<>();
+
+    /** Maximum number of cached templates */
+    private int capacity = DEFAULT_CAPACITY;
+
+    /** Compiled templates by stylesheet content */
+    private final Map<String, Templates> templates = new LinkedHashMap<String, Templates>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Templates> eldest) {
+            return size() > capacity;
+        }
+    };
+
+    /** Factory used to compile stylesheets, not thread safe so guarded by cache lock */
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XsltTemplatesCache.class);
+
+    /**
+     * Gets compiled templates for given stylesheet content. Compiles and caches the stylesheet on first access.
+     * @param xslt
+     * @return
+     */
+    public Templates getTemplates(String xslt) {
+        synchronized (templates) {
+            Templates cached = templates.get(xslt);
+
+            if (cached == null) {
+                cached = compile(xslt);
+                templates.put(xslt, cached);
+            }
+
+            return cached;
+        }
+    }
+
+    /**
+     * Creates new transformer for given stylesheet content using the cached templates.
+     * @param xslt
+     * @return
+     */
+    public Transformer newTransformer(String xslt) {
+        try {
+            return getTemplates(xslt).newTransformer();
+        } catch (TransformerConfigurationException e) {
+            throw new CitrusRuntimeException("Failed to create XSLT transformer", e);
+        }
+    }
+
+    /**
+     * Compiles stylesheet to templates.
+     * @param xslt
+     * @return
+     */
+    private Templates compile(String xslt) {
+        if (log.isDebugEnabled()) {
+            log.debug("Compiling XSLT stylesheet");
+        }
+
+        try {
+            return transformerFactory.newTemplates(new StringSource(xslt));
+        } catch (TransformerConfigurationException e) {
+            throw new CitrusRuntimeException("Failed to compile XSLT stylesheet", e);
+        }
+    }
+
+    /**
+     * Gets the number of cached templates.
+     * @return
+     */
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        PathMatchingResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+        for (String location : locations) {
+            for (Resource resource : resourcePatternResolver.getResources(location)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Precompiling XSLT stylesheet " + resource.getFilename());
+                }
+
+                getTemplates(FileUtils.readToString(resource));
+            }
+        }
+    }
+
+    /**
+     * Gets the stylesheet locations.
+     * @return
+     */
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Sets the stylesheet locations that get compiled on startup.
+     * @param locations
+     */
+    public void setLocations(List<String> locations) {
+        this.locations = locations;
+    }
+
+    /**
+     * Gets the maximum number of cached templates.
+     * @return
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of cached templates.
+     * @param capacity
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+}
@@ -22,6 +22,8 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.TestCaseFailedException;
 import com.consol.citrus.functions.core.CurrentDateFunction;
+import com.consol.citrus.message.BoundedMessageStore;
+import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -43,6 +45,45 @@ public class TestCaseTest extends AbstractTestNGUnitTest {
         testcase.execute(context);
     }
     
+    @Test
+    public void testCloseMessageStoreOnFinish() {
+        BoundedMessageStore messageStore = new BoundedMessageStore(1, Long.MAX_VALUE);
+        messageStore.setSpillToDisk(true);
+        messageStore.storeMessage("first", new DefaultMessage("FirstMessage"));
+        messageStore.storeMessage("second", new DefaultMessage("SecondMessage"));
+        Assert.assertEquals(messageStore.getSpilledMessageCount(), 1L);
+
+        TestCase testcase = new TestCase();
+        testcase.setName("MyTestCase");
+        testcase.addTestAction(new EchoAction());
+
+        context.setMessageStore(messageStore, true);
+        testcase.execute(context);
+
+        Assert.assertEquals(messageStore.getSpilledMessageCount(), 0L);
+        Assert.assertEquals(messageStore.getMessage("second").getPayload(String.class), "SecondMessage");
+    }
+
+    @Test
+    public void testKeepSharedMessageStoreOnFinish() {
+        BoundedMessageStore messageStore = new BoundedMessageStore(1, Long.MAX_VALUE);
+        messageStore.setSpillToDisk(true);
+        messageStore.storeMessage("first", new DefaultMessage("FirstMessage"));
+        messageStore.storeMessage("second", new DefaultMessage("SecondMessage"));
+
+        TestCase testcase = new TestCase();
+        testcase.setName("MyTestCase");
+        testcase.addTestAction(new EchoAction());
+
+        context.setMessageStore(messageStore);
+        testcase.execute(context);
+
+        Assert.assertEquals(messageStore.getSpilledMessageCount(), 1L);
+        Assert.assertEquals(messageStore.getMessage("first").getPayload(String.class), "FirstMessage");
+
+        messageStore.close();
+    }
+
     @Test
     public void testExecutionWithVariables() {
         TestCase testcase = new TestCase();
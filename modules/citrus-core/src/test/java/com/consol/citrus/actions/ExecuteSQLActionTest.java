@@ -21,6 +21,12 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -144,4 +150,108 @@ public class ExecuteSQLActionTest extends AbstractTestNGUnitTest {
         executeSQLAction.execute(context);
         verify(jdbcTemplate).execute("DELETE * FROM ERRORS WHERE STATUS='resolved'");
     }
+
+    @Test
+    public void testSQLBatchExecution() {
+        List<String> stmts = new ArrayList<String>();
+        stmts.add("INSERT INTO ERRORS VALUES (1);");
+        stmts.add("INSERT INTO ERRORS VALUES (${id})");
+        stmts.add("INSERT INTO ERRORS VALUES (3)");
+
+        context.setVariable("id", "2");
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(2);
+
+        reset(jdbcTemplate);
+
+        executeSQLAction.execute(context);
+
+        verify(jdbcTemplate).batchUpdate("INSERT INTO ERRORS VALUES (1)", "INSERT INTO ERRORS VALUES (2)");
+        verify(jdbcTemplate).batchUpdate("INSERT INTO ERRORS VALUES (3)");
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("serial")
+    public void testSQLBatchExecutionIgnoreErrors() {
+        List<String> stmts = new ArrayList<String>();
+        stmts.add("INSERT INTO ERRORS VALUES (1)");
+        stmts.add("INSERT INTO ERRORS VALUES (2)");
+        stmts.add("INSERT INTO ERRORS VALUES (3)");
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(2);
+        executeSQLAction.setIgnoreErrors(true);
+
+        reset(jdbcTemplate);
+
+        doThrow(new DataAccessException("Something went wrong!") {}).when(jdbcTemplate).batchUpdate("INSERT INTO ERRORS VALUES (1)", "INSERT INTO ERRORS VALUES (2)");
+
+        executeSQLAction.execute(context);
+        verify(jdbcTemplate).batchUpdate("INSERT INTO ERRORS VALUES (3)");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Error while executing SQL batch 2 with statements 3 to 3")
+    @SuppressWarnings("serial")
+    public void testSQLBatchExecutionErrorForwarding() {
+        List<String> stmts = new ArrayList<String>();
+        stmts.add("INSERT INTO ERRORS VALUES (1)");
+        stmts.add("INSERT INTO ERRORS VALUES (2)");
+        stmts.add("INSERT INTO ERRORS VALUES (3)");
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setBatchSize(2);
+
+        reset(jdbcTemplate);
+
+        doThrow(new DataAccessException("Something went wrong!") {}).when(jdbcTemplate).batchUpdate("INSERT INTO ERRORS VALUES (3)");
+
+        executeSQLAction.execute(context);
+    }
+
+    @Test
+    public void testSQLExecutionInTransaction() {
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        TransactionStatus transactionStatus = Mockito.mock(TransactionStatus.class);
+
+        List<String> stmts = new ArrayList<String>();
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='resolved'");
+        stmts.add("DELETE * FROM CONFIGURATION WHERE VERSION=1");
+
+        executeSQLAction.setStatements(stmts);
+        executeSQLAction.setTransactionManager(transactionManager);
+
+        reset(jdbcTemplate);
+
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(transactionStatus);
+
+        executeSQLAction.execute(context);
+
+        verify(jdbcTemplate).execute("DELETE * FROM ERRORS WHERE STATUS='resolved'");
+        verify(jdbcTemplate).execute("DELETE * FROM CONFIGURATION WHERE VERSION=1");
+        verify(transactionManager).commit(transactionStatus);
+    }
+
+    @Test
+    public void testSQLBatchExecutionWithEmbeddedDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:hsqldb:mem:sqlBatchTest", "sa", "");
+        JdbcTemplate embeddedJdbcTemplate = new JdbcTemplate(dataSource);
+        embeddedJdbcTemplate.execute("CREATE TABLE ORDERS (ID INTEGER PRIMARY KEY, NAME VARCHAR(50))");
+
+        List<String> stmts = new ArrayList<String>();
+        for (int i = 0; i < 5000; i++) {
+            stmts.add("INSERT INTO ORDERS VALUES (" + i + ", 'order_" + i + "');");
+        }
+
+        ExecuteSQLAction batchAction = new ExecuteSQLAction();
+        batchAction.setDataSource(dataSource);
+        batchAction.setStatements(stmts);
+        batchAction.setBatchSize(500);
+        batchAction.setTransactionManager(new DataSourceTransactionManager(dataSource));
+
+        batchAction.execute(context);
+
+        Assert.assertEquals(embeddedJdbcTemplate.queryForObject("SELECT COUNT(*) FROM ORDERS", Integer.class), Integer.valueOf(5000));
+        embeddedJdbcTemplate.execute("DROP TABLE ORDERS");
+    }
 }
@@ -23,16 +23,21 @@ import com.consol.citrus.script.ScriptTypes;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.validation.script.ScriptValidationContext;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.apache.commons.codec.binary.Base64;
 
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.util.*;
 
-import static org.mockito.Mockito.reset;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 
 /**
@@ -59,7 +64,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
 	    resultMap.put("ORDERTYPE", "small");
 	    resultMap.put("STATUS", "in_progress");
 	    
-	    when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+	    doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 	    
 	    List<String> stmts = Collections.singletonList(sql);
 	    executeSQLQueryAction.setStatements(stmts);
@@ -81,7 +86,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ordertype", "small");
         resultMap.put("status", "in_progress");
 
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
                 List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -104,13 +109,13 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap1.put("ORDERTYPE", "small");
         resultMap1.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql1)).thenReturn(Collections.singletonList(resultMap1));
+        doAnswer(resultSet(Collections.singletonList(resultMap1))).when(jdbcTemplate).query(eq(sql1), any(RowCallbackHandler.class));
 
         Map<String, Object> resultMap2 = new HashMap<String, Object>();
         resultMap2.put("NAME", "Mickey Mouse");
         resultMap2.put("HEIGHT", "0,3");
         
-        when(jdbcTemplate.queryForList(sql2)).thenReturn(Collections.singletonList(resultMap2));
+        doAnswer(resultSet(Collections.singletonList(resultMap2))).when(jdbcTemplate).query(eq(sql2), any(RowCallbackHandler.class));
 
         List<String> stmts = new ArrayList<String>();
         stmts.add(sql1);
@@ -140,13 +145,13 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap1.put("ORDERTYPE", "small");
         resultMap1.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql1)).thenReturn(Collections.singletonList(resultMap1));
+        doAnswer(resultSet(Collections.singletonList(resultMap1))).when(jdbcTemplate).query(eq(sql1), any(RowCallbackHandler.class));
         
         Map<String, Object> resultMap2 = new HashMap<String, Object>();
         resultMap2.put("NAME", "Mickey Mouse");
         resultMap2.put("HEIGHT", "0,3");
         
-        when(jdbcTemplate.queryForList(sql2)).thenReturn(Collections.singletonList(resultMap2));
+        doAnswer(resultSet(Collections.singletonList(resultMap2))).when(jdbcTemplate).query(eq(sql2), any(RowCallbackHandler.class));
 
         executeSQLQueryAction.setSqlResourcePath("classpath:com/consol/citrus/actions/test-query.sql");
         
@@ -171,7 +176,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", null);
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -195,7 +200,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList("select ORDERTYPE, STATUS from orders where ID=5")).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq("select ORDERTYPE, STATUS from orders where ID=5"), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -217,7 +222,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -245,7 +250,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ordertype", "small");
         resultMap.put("status", "in_progress");
 
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -276,7 +281,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -298,7 +303,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -327,7 +332,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ordertype", "small");
         resultMap.put("status", "in_progress");
 
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -355,7 +360,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("TYPE", "small");
         resultMap.put("STATE", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -383,7 +388,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -426,7 +431,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultRow3.put("STATUS", "finished");
         resultList.add(resultRow3);
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(resultList);
+        doAnswer(resultSet(resultList)).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -474,7 +479,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultRow3.put("STATUS", "finished");
         resultList.add(resultRow3);
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(resultList);
+        doAnswer(resultSet(resultList)).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -522,7 +527,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultRow3.put("STATUS", "finished");
         resultList.add(resultRow3);
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(resultList);
+        doAnswer(resultSet(resultList)).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -571,7 +576,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultRow3.put("STATUS", "finished");
         resultList.add(resultRow3);
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(resultList);
+        doAnswer(resultSet(resultList)).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -619,13 +624,13 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap1.put("ORDERTYPE", "small");
         resultMap1.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql1)).thenReturn(Collections.singletonList(resultMap1));
+        doAnswer(resultSet(Collections.singletonList(resultMap1))).when(jdbcTemplate).query(eq(sql1), any(RowCallbackHandler.class));
         
         Map<String, Object> resultMap2 = new HashMap<String, Object>();
         resultMap2.put("NAME", "Mickey Mouse");
         resultMap2.put("HEIGHT", "0,3");
         
-        when(jdbcTemplate.queryForList(sql2)).thenReturn(Collections.singletonList(resultMap2));
+        doAnswer(resultSet(Collections.singletonList(resultMap2))).when(jdbcTemplate).query(eq(sql2), any(RowCallbackHandler.class));
 
         List<String> stmts = new ArrayList<String>();
         stmts.add(sql1);
@@ -664,13 +669,13 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap1.put("ORDERTYPE", "small");
         resultMap1.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql1)).thenReturn(Collections.singletonList(resultMap1));
+        doAnswer(resultSet(Collections.singletonList(resultMap1))).when(jdbcTemplate).query(eq(sql1), any(RowCallbackHandler.class));
         
         Map<String, Object> resultMap2 = new HashMap<String, Object>();
         resultMap2.put("NAME", "Mickey Mouse");
         resultMap2.put("HEIGHT", "0,3");
         
-        when(jdbcTemplate.queryForList(sql2)).thenReturn(Collections.singletonList(resultMap2));
+        doAnswer(resultSet(Collections.singletonList(resultMap2))).when(jdbcTemplate).query(eq(sql2), any(RowCallbackHandler.class));
 
         executeSQLQueryAction.setSqlResourcePath("classpath:com/consol/citrus/actions/test-sql-query-statements.sql");
         
@@ -695,7 +700,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -733,8 +738,8 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
             results.add(columnMap);
         }
         
-        when(jdbcTemplate.queryForList(sql1)).thenReturn(Collections.singletonList(resultMap));
-        when(jdbcTemplate.queryForList(sql2)).thenReturn(results);
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql1), any(RowCallbackHandler.class));
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq(sql2), any(RowCallbackHandler.class));
 
         List<String> stmts = new ArrayList<String>();
         stmts.add(sql1);
@@ -762,7 +767,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -792,7 +797,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("STATUS", "in_progress");
         
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -821,7 +826,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "testVariableValue");
         resultMap.put("STATUS", "in_progress");
 
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -846,7 +851,7 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         resultMap.put("ORDERTYPE", "small");
         resultMap.put("BINARY_DATA", "some_binary_data".getBytes());
 
-        when(jdbcTemplate.queryForList(sql)).thenReturn(Collections.singletonList(resultMap));
+        doAnswer(resultSet(Collections.singletonList(resultMap))).when(jdbcTemplate).query(eq(sql), any(RowCallbackHandler.class));
 
         List<String> stmts = Collections.singletonList(sql);
         executeSQLQueryAction.setStatements(stmts);
@@ -861,4 +866,68 @@ public class ExecuteSQLQueryActionTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(context.getVariable("${binaryData}"), Base64.encodeBase64String("some_binary_data".getBytes()));
         Assert.assertEquals(new String(Base64.decodeBase64(context.getVariable("${binaryData}"))), "some_binary_data");
     }
+
+
+    @Test
+    public void testSQLStatementWithFetchSizeOnEmbeddedDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:hsqldb:mem:sqlQueryTest", "sa", "");
+        JdbcTemplate embeddedJdbcTemplate = new JdbcTemplate(dataSource);
+        embeddedJdbcTemplate.execute("CREATE TABLE ORDERS (ID INTEGER PRIMARY KEY, STATUS VARCHAR(20))");
+
+        List<String> inserts = new ArrayList<String>();
+        for (int i = 1; i <= 1000; i++) {
+            inserts.add("INSERT INTO ORDERS VALUES (" + i + ", '" + (i % 2 == 0 ? "done" : "open") + "')");
+        }
+        embeddedJdbcTemplate.batchUpdate(inserts.toArray(new String[inserts.size()]));
+
+        try {
+            ExecuteSQLQueryAction queryAction = new ExecuteSQLQueryAction();
+            queryAction.setDataSource(dataSource);
+            queryAction.setFetchSize(100);
+            queryAction.setStatements(Collections.singletonList("select ID, STATUS from ORDERS where ID <= 3 order by ID"));
+
+            Map<String, List<String>> controlResultSet = new HashMap<String, List<String>>();
+            controlResultSet.put("ID", Arrays.asList("1", "2", "@greaterThan(2)@"));
+            controlResultSet.put("status", Arrays.asList("open", "done", "open"));
+            queryAction.setControlResultSet(controlResultSet);
+            queryAction.setExtractVariables(Collections.singletonMap("STATUS", "statusList"));
+
+            queryAction.execute(context);
+
+            Assert.assertEquals(context.getVariable("statusList"), "open;done;open");
+            Assert.assertEquals(context.getVariable("ID"), "1");
+        } finally {
+            embeddedJdbcTemplate.execute("DROP TABLE ORDERS");
+        }
+    }
+
+    /**
+     * Creates answer streaming given result rows to the row callback handler of a query invocation.
+     * @param results
+     * @return
+     */
+    private Answer<Void> resultSet(final List<Map<String, Object>> results) {
+        return new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                RowCallbackHandler rowCallbackHandler = invocation.getArgument(1);
+                for (Map<String, Object> row : results) {
+                    List<String> columnNames = new ArrayList<>(row.keySet());
+                    ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+                    ResultSet resultSet = Mockito.mock(ResultSet.class);
+
+                    when(resultSet.getMetaData()).thenReturn(metaData);
+                    when(metaData.getColumnCount()).thenReturn(columnNames.size());
+                    for (int i = 0; i < columnNames.size(); i++) {
+                        when(metaData.getColumnLabel(i + 1)).thenReturn(columnNames.get(i));
+                        when(resultSet.getObject(i + 1)).thenReturn(row.get(columnNames.get(i)));
+                    }
+
+                    rowCallbackHandler.processRow(resultSet);
+                }
+
+                return null;
+            }
+        };
+    }
 }
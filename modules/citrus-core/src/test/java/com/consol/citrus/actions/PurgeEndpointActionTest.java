@@ -16,18 +16,24 @@
 
 package com.consol.citrus.actions;
 
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.Endpoint;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Consumer;
 import com.consol.citrus.messaging.SelectiveConsumer;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.Mockito.*;
 
@@ -131,5 +137,50 @@ public class PurgeEndpointActionTest extends AbstractTestNGUnitTest {
 
         purgeEndpointAction.execute(context);
     }
-	
+
+    @Test
+    public void testPurgeConcurrentlyWithChildContexts() throws Exception {
+        PurgeEndpointAction purgeEndpointAction = new PurgeEndpointAction();
+        purgeEndpointAction.setBeanFactory(applicationContext);
+
+        Endpoint fullEndpoint = Mockito.mock(Endpoint.class);
+        Consumer fullConsumer = Mockito.mock(Consumer.class);
+        Consumer emptyConsumer = Mockito.mock(Consumer.class);
+        final Set<TestContext> usedContexts = Collections.synchronizedSet(new HashSet<TestContext>());
+
+        purgeEndpointAction.setEndpoints(Arrays.asList(fullEndpoint, emptyEndpoint));
+
+        reset(emptyEndpoint);
+        when(fullEndpoint.getName()).thenReturn("fullEndpoint");
+        when(emptyEndpoint.getName()).thenReturn("emptyEndpoint");
+        when(fullEndpoint.createConsumer()).thenReturn(fullConsumer);
+        when(emptyEndpoint.createConsumer()).thenReturn(emptyConsumer);
+
+        final AtomicInteger available = new AtomicInteger(3);
+        when(fullConsumer.receive(any(TestContext.class), eq(100L))).thenAnswer(new Answer<Message>() {
+            @Override
+            public Message answer(InvocationOnMock invocation) throws Throwable {
+                usedContexts.add((TestContext) invocation.getArguments()[0]);
+                if (available.getAndDecrement() > 0) {
+                    return new DefaultMessage();
+                }
+
+                throw new ActionTimeoutException();
+            }
+        });
+        when(emptyConsumer.receive(any(TestContext.class), eq(100L))).thenAnswer(new Answer<Message>() {
+            @Override
+            public Message answer(InvocationOnMock invocation) throws Throwable {
+                usedContexts.add((TestContext) invocation.getArguments()[0]);
+                throw new ActionTimeoutException();
+            }
+        });
+
+        purgeEndpointAction.execute(context);
+
+        Assert.assertEquals(purgeEndpointAction.getPurgedMessages().get("fullEndpoint"), Integer.valueOf(3));
+        Assert.assertEquals(purgeEndpointAction.getPurgedMessages().get("emptyEndpoint"), Integer.valueOf(0));
+        Assert.assertEquals(usedContexts.size(), 2);
+        Assert.assertFalse(usedContexts.contains(context));
+    }
 }
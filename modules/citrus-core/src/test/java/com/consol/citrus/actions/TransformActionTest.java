@@ -20,6 +20,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.xml.XsltTemplatesCache;
+
+import java.util.Collections;
 
 /**
  * @author Philipp Komninos
@@ -56,4 +59,54 @@ public class TransformActionTest extends AbstractTestNGUnitTest {
 		
 		Assert.assertEquals(context.getVariable("var").trim(), "Message: Hello World!");
 	}
+
+	@Test
+	public void testTransformStreaming(){
+		TransformAction transformAction = new TransformAction();
+		transformAction.setXmlResourcePath("classpath:com/consol/citrus/actions/test-request-payload.xml");
+		transformAction.setXsltResourcePath("classpath:com/consol/citrus/actions/test-transform.xslt");
+		transformAction.setStreaming(true);
+		transformAction.setTargetVariable("var");
+
+		transformAction.execute(context);
+
+		Assert.assertEquals(context.getVariable("var").trim(), "Message: Hello World!");
+	}
+
+	@Test
+	public void testTransformCachedTemplates() throws Exception {
+		XsltTemplatesCache templatesCache = new XsltTemplatesCache();
+		templatesCache.setLocations(Collections.singletonList("classpath:com/consol/citrus/actions/test-transform.xslt"));
+		templatesCache.afterPropertiesSet();
+		Assert.assertEquals(templatesCache.size(), 1L);
+
+		TransformAction transformAction = new TransformAction();
+		transformAction.setXmlData("<TestRequest><Message>${text}</Message></TestRequest>");
+		transformAction.setXsltResourcePath("classpath:com/consol/citrus/actions/test-transform.xslt");
+		transformAction.setTemplatesCache(templatesCache);
+		transformAction.setTargetVariable("var");
+
+		context.setVariable("text", "Hello World!");
+		transformAction.execute(context);
+		Assert.assertEquals(context.getVariable("var").trim(), "Message: Hello World!");
+
+		context.setVariable("text", "Hello Citrus!");
+		transformAction.execute(context);
+		Assert.assertEquals(context.getVariable("var").trim(), "Message: Hello Citrus!");
+
+		Assert.assertEquals(templatesCache.size(), 1L);
+	}
+
+	@Test
+	public void testTemplatesCacheEviction() {
+		XsltTemplatesCache templatesCache = new XsltTemplatesCache();
+		templatesCache.setCapacity(2);
+
+		for (int i = 0; i < 3; i++) {
+			templatesCache.getTemplates("<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">" +
+					"<xsl:template match=\"/\">" + i + "</xsl:template></xsl:stylesheet>");
+		}
+
+		Assert.assertEquals(templatesCache.size(), 2L);
+	}
 }
@@ -16,15 +16,28 @@
 
 package com.consol.citrus.actions;
 
+import com.consol.citrus.condition.BackoffCondition;
 import com.consol.citrus.condition.Condition;
+import com.consol.citrus.condition.NotifyingCondition;
+import com.consol.citrus.context.CitrusTaskExecutor;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.util.StringUtils;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.mockito.Mockito.*;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 /**
@@ -144,9 +157,201 @@ public class WaitActionTest {
         assertConditionExecutedWithinSeconds(seconds);
     }
 
+    @Test
+    public void shouldSatisfyNotifyingConditionBeforeNextInterval() throws Exception {
+        String seconds = "5";
+        String interval = "10000";
+
+        final AtomicBoolean satisfied = new AtomicBoolean(false);
+        NotifyingCondition condition = new NotifyingCondition() {
+            @Override
+            public Subscription subscribe(TestContext context, ScheduledExecutorService scheduler, final Runnable callback) {
+                scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        satisfied.set(true);
+                        callback.run();
+                    }
+                }, 200L, TimeUnit.MILLISECONDS);
+
+                return Mockito.mock(Subscription.class);
+            }
+
+            @Override
+            public String getName() {
+                return "notifying-check";
+            }
+
+            @Override
+            public boolean isSatisfied(TestContext context) {
+                return satisfied.get();
+            }
+
+            @Override
+            public String getSuccessMessage(TestContext context) {
+                return "Condition success!";
+            }
+
+            @Override
+            public String getErrorMessage(TestContext context) {
+                return "Condition failed!";
+            }
+        };
+
+        WaitAction testling = getWaitAction(seconds, interval);
+        testling.setCondition(condition);
+
+        reset(contextMock);
+        prepareContextMock(seconds, interval);
+        startTimer();
+        testling.doExecute(contextMock);
+        stopTimer();
+
+        assertConditionExecutedWithinSeconds("0");
+    }
+
+    @Test
+    public void shouldUseBackoffDelayInsteadOfInterval() throws Exception {
+        String seconds = "1";
+        String interval = "100";
+
+        final AtomicInteger checks = new AtomicInteger();
+        BackoffCondition condition = new BackoffCondition() {
+            @Override
+            public long getBackoffDelay(int count, long checkInterval) {
+                return 500L;
+            }
+
+            @Override
+            public String getName() {
+                return "backoff-check";
+            }
+
+            @Override
+            public boolean isSatisfied(TestContext context) {
+                checks.incrementAndGet();
+                return false;
+            }
+
+            @Override
+            public String getSuccessMessage(TestContext context) {
+                return "Condition success!";
+            }
+
+            @Override
+            public String getErrorMessage(TestContext context) {
+                return "Condition failed!";
+            }
+        };
+
+        WaitAction testling = getWaitAction(seconds, interval);
+        testling.setCondition(condition);
+
+        reset(contextMock);
+        prepareContextMock(seconds, interval);
+        try {
+            testling.doExecute(contextMock);
+            fail("Was expecting CitrusRuntimeException to be thrown");
+        } catch (CitrusRuntimeException e) {
+            // expected
+        }
+
+        assertTrue(checks.get() >= 1);
+        assertTrue(checks.get() <= 3, "Expected backoff delay to replace check interval but condition was checked " + checks.get() + " times");
+    }
+
+    @Test
+    public void shouldInterruptBlockingConditionCheckOnTimeout() throws Exception {
+        String seconds = "1";
+        String interval = "1000";
+
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        reset(contextMock, conditionMock);
+        prepareContextMock(seconds, interval);
+        when(conditionMock.getName()).thenReturn("check");
+        when(conditionMock.getErrorMessage(contextMock)).thenReturn("Condition failed!");
+        when(conditionMock.isSatisfied(contextMock)).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                try {
+                    Thread.sleep(10000L);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+
+                return false;
+            }
+        });
+
+        WaitAction testling = getWaitAction(seconds, interval);
+
+        startTimer();
+        try {
+            testling.doExecute(contextMock);
+            fail("Was expecting CitrusRuntimeException to be thrown");
+        } catch (CitrusRuntimeException e) {
+            // expected
+        }
+        stopTimer();
+
+        assertConditionExecutedWithinSeconds(seconds);
+        assertTrue(interrupted.await(2000L, TimeUnit.MILLISECONDS), "Blocking condition check was not interrupted on timeout");
+    }
+
+    @Test
+    public void shouldNotOccupyExecutorThreadBetweenChecks() throws Exception {
+        String seconds = "5";
+        String interval = "200";
+
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        taskExecutor.setName("waitActionTestExecutor");
+        taskExecutor.setPoolSize(1);
+        taskExecutor.setSchedulerPoolSize(1);
+
+        try {
+            final AtomicInteger checks = new AtomicInteger();
+            reset(contextMock, conditionMock);
+            prepareContextMock(seconds, interval);
+            when(contextMock.getTaskExecutor()).thenReturn(taskExecutor);
+            when(conditionMock.getName()).thenReturn("check");
+            when(conditionMock.getSuccessMessage(contextMock)).thenReturn("Condition success!");
+            when(conditionMock.isSatisfied(contextMock)).thenAnswer(new Answer<Boolean>() {
+                @Override
+                public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                    return checks.incrementAndGet() > 4;
+                }
+            });
+
+            final WaitAction first = getWaitAction(seconds, interval);
+            final WaitAction second = getWaitAction(seconds, interval);
+            final AtomicBoolean firstSatisfied = new AtomicBoolean(false);
+
+            Thread other = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    first.doExecute(contextMock);
+                    firstSatisfied.set(true);
+                }
+            });
+
+            startTimer();
+            other.start();
+            second.doExecute(contextMock);
+            other.join(5000L);
+            stopTimer();
+
+            assertConditionExecutedWithinSeconds("2");
+            assertTrue(firstSatisfied.get());
+            assertEquals(taskExecutor.getExecutor().getPoolSize(), 1);
+        } finally {
+            taskExecutor.destroy();
+        }
+    }
+
     private void prepareContextMock(String waitTime, String interval) {
         when(contextMock.replaceDynamicContentInString(waitTime)).thenReturn(waitTime);
         when(contextMock.replaceDynamicContentInString(interval)).thenReturn(interval);
+        when(contextMock.getTaskExecutor()).thenReturn(CitrusTaskExecutor.getDefault());
     }
 
     private WaitAction getWaitAction(String waitTimeSeconds, String interval) {
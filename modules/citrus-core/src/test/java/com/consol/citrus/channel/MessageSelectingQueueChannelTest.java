@@ -16,13 +16,16 @@
 
 package com.consol.citrus.channel;
 
+import com.consol.citrus.channel.selector.DispatchingMessageSelector;
 import com.consol.citrus.channel.selector.HeaderMatchingMessageSelector;
+import com.consol.citrus.message.DefaultMessage;
 import org.springframework.messaging.Message;
 import org.springframework.integration.core.MessageSelector;
 import org.springframework.integration.support.MessageBuilder;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
@@ -123,4 +126,52 @@ public class MessageSelectingQueueChannelTest {
         Assert.assertNull(receivedMessage);
         Assert.assertEquals(retries.get(), 4L);
     }
+
+    @Test
+    public void testReceiveSelectedFromHeaderIndex() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+
+        DefaultMessage first = new DefaultMessage("First");
+        DefaultMessage second = new DefaultMessage("Second");
+        channel.send(MessageBuilder.withPayload(first).build());
+        channel.send(MessageBuilder.withPayload(second).build());
+
+        final AtomicLong evaluations = new AtomicLong();
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put(com.consol.citrus.message.MessageHeaders.ID, second.getId());
+        MessageSelector selector = new HeaderMatchingMessageSelector(headers) {
+            @Override
+            public boolean accept(Message<?> message) {
+                evaluations.incrementAndGet();
+                return super.accept(message);
+            }
+        };
+
+        Message<?> receivedMessage = channel.receive(selector);
+
+        Assert.assertEquals(receivedMessage.getPayload(), second);
+        Assert.assertEquals(evaluations.get(), 1L);
+        Assert.assertNull(channel.receive(selector));
+        Assert.assertEquals(channel.receive(0L).getPayload(), first);
+    }
+
+    @Test
+    public void testReceiveSelectedWithIndexedHeaders() {
+        MessageSelectingQueueChannel channel = new MessageSelectingQueueChannel();
+        channel.setIndexedHeaders(Collections.singleton("operation"));
+
+        channel.send(MessageBuilder.withPayload("FooMessage").setHeader("operation", "foo").setHeader("index", 1).build());
+        channel.send(MessageBuilder.withPayload("BarMessage").setHeader("operation", "bar").build());
+        channel.send(MessageBuilder.withPayload("OtherFooMessage").setHeader("operation", "foo").setHeader("index", 2).build());
+
+        Message<?> receivedMessage = channel.receive(new DispatchingMessageSelector("operation = 'foo' AND index = '2'", null));
+        Assert.assertEquals(receivedMessage.getPayload(), "OtherFooMessage");
+
+        receivedMessage = channel.receive(new DispatchingMessageSelector("operation = 'foo'", null));
+        Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+
+        Assert.assertNull(channel.receive(new DispatchingMessageSelector("operation = 'foo'", null)));
+        Assert.assertEquals(channel.clear().size(), 1L);
+        Assert.assertNull(channel.receive(new DispatchingMessageSelector("operation = 'bar'", null)));
+    }
 }
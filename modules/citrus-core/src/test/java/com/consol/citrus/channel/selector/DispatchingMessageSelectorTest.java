@@ -176,4 +176,12 @@ public class DispatchingMessageSelectorTest {
         Assert.assertFalse(messageSelector.accept(declineMessage));
 
     }
+
+    @Test
+    public void testMatchingHeaders() {
+        DispatchingMessageSelector messageSelector = new DispatchingMessageSelector("foo = 'bar' AND root-qname = 'FooTest' AND xpath://FooTest/text = 'foobar'", beanFactory);
+
+        Assert.assertEquals(messageSelector.getMatchingHeaders().size(), 1L);
+        Assert.assertEquals(messageSelector.getMatchingHeaders().get("foo"), "bar");
+    }
 }
@@ -20,9 +20,15 @@ import com.consol.citrus.context.TestContext;
 import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.mockito.Mockito.*;
 
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -55,4 +61,38 @@ public class FileConditionTest {
         assertFalse(testling.isSatisfied(contextMock));
 
     }
+
+    @Test
+    public void shouldNotifyOnFileCreation() throws Exception {
+        File directory = Files.createTempDirectory("citrus-file-condition").toFile();
+        File file = new File(directory, "created.txt");
+
+        FileCondition testling = new FileCondition();
+        String filePath = "file:" + file.getAbsolutePath();
+        testling.setFilePath(filePath);
+
+        reset(contextMock);
+        when(contextMock.replaceDynamicContentInString(filePath)).thenReturn(filePath);
+
+        final CountDownLatch notified = new CountDownLatch(1);
+        NotifyingCondition.Subscription subscription = testling.subscribe(contextMock, null, new Runnable() {
+            @Override
+            public void run() {
+                notified.countDown();
+            }
+        });
+
+        try {
+            assertNotNull(subscription);
+            assertFalse(testling.isSatisfied(contextMock));
+
+            assertTrue(file.createNewFile());
+            assertTrue(notified.await(15, TimeUnit.SECONDS));
+            assertTrue(testling.isSatisfied(contextMock));
+        } finally {
+            subscription.cancel();
+            file.delete();
+            directory.delete();
+        }
+    }
 }
\ No newline at end of file
@@ -67,7 +67,8 @@ public class HttpConditionTest {
 
         verify(connection).setConnectTimeout(3000);
         verify(connection).setRequestMethod("HEAD");
-        verify(connection).disconnect();
+        verify(connection).getInputStream();
+        verify(connection, never()).disconnect();
     }
 
     @Test
@@ -87,4 +88,15 @@ public class HttpConditionTest {
         Assert.assertFalse(testling.isSatisfied(context));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void backoffDelayShouldGrowUpToInterval() throws Exception {
+        HttpCondition testling = new HttpCondition();
+
+        Assert.assertEquals(testling.getBackoffDelay(0, 1000L), 50L);
+        Assert.assertEquals(testling.getBackoffDelay(1, 1000L), 100L);
+        Assert.assertEquals(testling.getBackoffDelay(4, 1000L), 800L);
+        Assert.assertEquals(testling.getBackoffDelay(5, 1000L), 1000L);
+        Assert.assertEquals(testling.getBackoffDelay(100, 1000L), 1000L);
+    }
+
+}
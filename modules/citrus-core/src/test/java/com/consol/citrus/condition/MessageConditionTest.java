@@ -18,11 +18,14 @@ package com.consol.citrus.condition;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.DefaultMessageStore;
 import com.consol.citrus.message.MessageStore;
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.when;
 
@@ -64,4 +67,45 @@ public class MessageConditionTest {
         Assert.assertFalse(testling.isSatisfied(context));
     }
 
+    @Test
+    public void shouldNotifyOnStoredMessage() throws Exception {
+        String messageName = "request";
+
+        MessageCondition testling = new MessageCondition();
+        testling.setMessageName(messageName);
+
+        DefaultMessageStore defaultMessageStore = new DefaultMessageStore();
+        final AtomicInteger notifications = new AtomicInteger();
+
+        reset(context);
+        when(context.replaceDynamicContentInString(messageName)).thenReturn(messageName);
+        when(context.getMessageStore()).thenReturn(defaultMessageStore);
+
+        NotifyingCondition.Subscription subscription = testling.subscribe(context, null, new Runnable() {
+            @Override
+            public void run() {
+                notifications.incrementAndGet();
+            }
+        });
+
+        defaultMessageStore.storeMessage("other", new DefaultMessage("Other"));
+        Assert.assertEquals(notifications.get(), 0);
+
+        defaultMessageStore.storeMessage(messageName, new DefaultMessage("OK"));
+        Assert.assertEquals(notifications.get(), 1);
+
+        subscription.cancel();
+        defaultMessageStore.storeMessage(messageName, new DefaultMessage("OK"));
+        Assert.assertEquals(notifications.get(), 1);
+    }
+
+    @Test
+    public void shouldNotSubscribeToUnsupportedMessageStore() throws Exception {
+        MessageCondition testling = new MessageCondition();
+        testling.setMessageName("request");
+
+        reset(context);
+        when(context.getMessageStore()).thenReturn(messageStore);
+        Assert.assertNull(testling.subscribe(context, null, Mockito.mock(Runnable.class)));
+    }
 }
\ No newline at end of file
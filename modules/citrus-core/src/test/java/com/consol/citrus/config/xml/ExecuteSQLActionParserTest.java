@@ -30,7 +30,7 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
 
     @Test
     public void testSQLActionParser() {
-        assertActionCount(2);
+        assertActionCount(3);
         assertActionClassAndName(ExecuteSQLAction.class, "sqlUpdate:testDataSource");
         
         // 1st action
@@ -41,6 +41,8 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
         Assert.assertEquals(action.getStatements().get(0), "insert into foo_table values (foo, foo)");
         Assert.assertEquals(action.getStatements().get(1), "update foo_table set foo=foo where foo=foo");
         Assert.assertEquals(action.isIgnoreErrors(), false);
+        Assert.assertEquals(action.getBatchSize(), 0);
+        Assert.assertNull(action.getTransactionManager());
         
         // 2nd action
         action = getNextTestActionFromTest();
@@ -49,6 +51,12 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
         Assert.assertEquals(action.getSqlResourcePath(), "classpath:com/consol/citrus/actions/test-sql-statements.sql");
         Assert.assertEquals(action.getStatements().size(), 0);
         Assert.assertEquals(action.isIgnoreErrors(), true);
+
+        // 3rd action
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getSqlResourcePath(), "classpath:com/consol/citrus/actions/test-sql-statements.sql");
+        Assert.assertEquals(action.getBatchSize(), 100);
+        Assert.assertNotNull(action.getTransactionManager());
     }
     
     @Test
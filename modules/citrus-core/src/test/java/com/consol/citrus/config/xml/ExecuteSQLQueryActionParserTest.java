@@ -50,6 +50,7 @@ public class ExecuteSQLQueryActionParserTest extends AbstractActionParserTest<Ex
         Assert.assertEquals(action.getControlResultSet().get("CNT_F").get(0), "${count}");
         Assert.assertNull(action.getScriptValidationContext());
         Assert.assertEquals(action.getExtractVariables().size(), 0);
+        Assert.assertEquals(action.getFetchSize(), 0);
         
         // 2nd action
         action = getNextTestActionFromTest();
@@ -59,6 +60,7 @@ public class ExecuteSQLQueryActionParserTest extends AbstractActionParserTest<Ex
         Assert.assertEquals(action.getStatements().size(), 0);
         Assert.assertEquals(action.getControlResultSet().size(), 1);
         Assert.assertEquals(action.getControlResultSet().get("foo").get(0), "1");
+        Assert.assertEquals(action.getFetchSize(), 100);
         Assert.assertNull(action.getScriptValidationContext());
         Assert.assertEquals(action.getExtractVariables().size(), 0);
         
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.config.xml;
+
+import com.consol.citrus.container.ParallelIterate;
+import com.consol.citrus.testng.AbstractActionParserTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ParallelIterateParserTest extends AbstractActionParserTest<ParallelIterate> {
+
+    @Test
+    public void testParallelIterateParser() {
+        assertActionCount(2);
+        assertActionClassAndName(ParallelIterate.class, "parallel-iterate");
+
+        ParallelIterate action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getIterations(), 10);
+        Assert.assertEquals(action.getWorkers(), 1);
+        Assert.assertEquals(action.getIndexName(), "i");
+        Assert.assertEquals(action.getStart(), 1);
+        Assert.assertEquals(action.getRate(), 0.0D);
+        Assert.assertEquals(action.getRampUp(), 0L);
+        Assert.assertNull(action.getStatisticsPrefix());
+        Assert.assertEquals(action.getActionCount(), 1);
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getIterations(), 100);
+        Assert.assertEquals(action.getWorkers(), 4);
+        Assert.assertEquals(action.getIndexName(), "n");
+        Assert.assertEquals(action.getStart(), 0);
+        Assert.assertEquals(action.getRate(), 50.0D);
+        Assert.assertEquals(action.getRampUp(), 1000L);
+        Assert.assertEquals(action.getStatisticsPrefix(), "load.");
+        Assert.assertEquals(action.getActionCount(), 2);
+    }
+}
@@ -43,6 +43,8 @@ public class PurgeEndpointActionParserTest extends AbstractActionParserTest<Purg
         action = getNextTestActionFromTest();
         Assert.assertNotNull(action.getMessageSelector());
         Assert.assertEquals(action.getEndpoints().size(), 1);
+        Assert.assertEquals(action.getReceiveTimeout(), 125L);
+        Assert.assertEquals(action.getConcurrency(), 2);
         Assert.assertEquals(action.getEndpointNames().size(), 3);
         Assert.assertEquals(action.getEndpointNames().get(0), "testEndpoint1");
         Assert.assertEquals(action.getEndpointNames().get(1), "testEndpoint2");
@@ -30,7 +30,7 @@ public class TransformActionParserTest extends AbstractActionParserTest<Transfor
 
     @Test
     public void testTransformActionParser() {
-        assertActionCount(2);
+        assertActionCount(3);
         assertActionClassAndName(TransformAction.class, "transform");
         
         TransformAction action = getNextTestActionFromTest();
@@ -39,6 +39,7 @@ public class TransformActionParserTest extends AbstractActionParserTest<Transfor
         Assert.assertNull(action.getXmlResourcePath());
         Assert.assertTrue(StringUtils.hasText(action.getXsltData()));
         Assert.assertNull(action.getXsltResourcePath());
+        Assert.assertFalse(action.isStreaming());
         
         action = getNextTestActionFromTest();
         Assert.assertEquals(action.getTargetVariable(), "result");
@@ -48,5 +49,11 @@ public class TransformActionParserTest extends AbstractActionParserTest<Transfor
         Assert.assertFalse(StringUtils.hasText(action.getXsltData()));
         Assert.assertNotNull(action.getXsltResourcePath());
         Assert.assertEquals(action.getXsltResourcePath(), "classpath:com/consol/citrus/actions/transform.xslt");
+        Assert.assertFalse(action.isStreaming());
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getXmlResourcePath(), "classpath:com/consol/citrus/actions/transform-source.xml");
+        Assert.assertEquals(action.getXsltResourcePath(), "classpath:com/consol/citrus/actions/transform.xslt");
+        Assert.assertTrue(action.isStreaming());
     }
 }
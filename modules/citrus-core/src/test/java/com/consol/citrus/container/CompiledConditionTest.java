@@ -0,0 +1,132 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import com.consol.citrus.util.BooleanExpressionParser;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class CompiledConditionTest extends AbstractTestNGUnitTest {
+
+    @DataProvider
+    public Object[][] expressions() {
+        return new Object[][] {
+            new Object[] {"1 = 1"},
+            new Object[] {"1 lt 2"},
+            new Object[] {"2 gt= 3"},
+            new Object[] {"(1 = 1)"},
+            new Object[] {"(1 lt= 1) and (2 gt= 2)"},
+            new Object[] {"(1 gt 2) or (2 = 2)"},
+            new Object[] {"((1 = 5) and (2 = 6)) or (2 lt 1)"},
+            new Object[] {"true"},
+            new Object[] {"false = true"},
+            new Object[] {"1 lt 2 and 3 lt 4 or 5"}
+        };
+    }
+
+    @Test(dataProvider = "expressions")
+    public void testCompiledEvaluation(String expression) {
+        CompiledCondition condition = CompiledCondition.compile(expression);
+        Assert.assertTrue(condition.isCompiled());
+
+        Boolean expected;
+        try {
+            expected = BooleanExpressionParser.evaluate(expression);
+        } catch (RuntimeException e) {
+            try {
+                condition.evaluate(context);
+                Assert.fail("Missing exception for expression " + expression);
+            } catch (RuntimeException compiledError) {
+                Assert.assertEquals(compiledError.getClass(), e.getClass());
+            }
+            return;
+        }
+
+        Assert.assertEquals(condition.evaluate(context), expected.booleanValue());
+    }
+
+    @Test
+    public void testIndexSlots() {
+        CompiledCondition condition = CompiledCondition.compile("(i lt= 5) and (${i} gt 2)", "i");
+        Assert.assertTrue(condition.isCompiled());
+
+        Assert.assertFalse(condition.evaluate(1, context));
+        Assert.assertTrue(condition.evaluate(3, context));
+        Assert.assertTrue(condition.evaluate(5, context));
+        Assert.assertFalse(condition.evaluate(6, context));
+
+        condition = CompiledCondition.compile("(5 gt i)", "i");
+        Assert.assertTrue(condition.isCompiled());
+        Assert.assertTrue(condition.evaluate(4, context));
+        Assert.assertFalse(condition.evaluate(5, context));
+    }
+
+    @Test
+    public void testVariableSlots() {
+        CompiledCondition condition = CompiledCondition.compile("i lt ${end}", "i");
+        Assert.assertTrue(condition.isCompiled());
+
+        context.setVariable("end", "5");
+        Assert.assertTrue(condition.evaluate(4, context));
+
+        context.setVariable("end", "4");
+
+        condition = CompiledCondition.compile("${flag} = true");
+        Assert.assertTrue(condition.isCompiled());
+
+        context.setVariable("flag", "true");
+        Assert.assertTrue(condition.evaluate(context));
+
+        context.setVariable("flag", "false");
+        Assert.assertFalse(condition.evaluate(context));
+    }
+
+    @Test
+    public void testInterpretedFallback() {
+        CompiledCondition condition = CompiledCondition.compile("i lt= citrus:randomNumber(1)0", "i");
+        Assert.assertFalse(condition.isCompiled());
+        Assert.assertTrue(condition.evaluate(0, context));
+
+        condition = CompiledCondition.compile("@greaterThan(4)@", "i");
+        Assert.assertFalse(condition.isCompiled());
+        Assert.assertTrue(condition.evaluate(5, context));
+
+        context.setVariable("expression", "1 lt 2");
+        condition = CompiledCondition.compile("${expression}");
+        Assert.assertTrue(condition.isCompiled());
+        Assert.assertTrue(condition.evaluate(context));
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testUnknownVariable() {
+        CompiledCondition.compile("i lt ${unknown}", "i").evaluate(1, context);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testInvalidExpression() {
+        CompiledCondition condition = CompiledCondition.compile("1 = ");
+        Assert.assertFalse(condition.isCompiled());
+        condition.evaluate(context);
+    }
+}
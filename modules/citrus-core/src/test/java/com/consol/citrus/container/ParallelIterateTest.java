@@ -0,0 +1,240 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import com.consol.citrus.TestAction;
+import com.consol.citrus.actions.AbstractTestAction;
+import com.consol.citrus.actions.FailAction;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ParallelIterateTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testParallelIterations() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+
+        final Set<String> indexes = ConcurrentHashMap.newKeySet();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                indexes.add(context.getVariable("i"));
+                threads.add(Thread.currentThread().getName());
+                context.setVariable("local", "value");
+            }
+        }));
+
+        parallelIterate.setIterations(20);
+        parallelIterate.setWorkers(4);
+        parallelIterate.execute(context);
+
+        Assert.assertEquals(indexes.size(), 20);
+        for (int i = 1; i <= 20; i++) {
+            Assert.assertTrue(indexes.contains(String.valueOf(i)));
+        }
+        Assert.assertTrue(threads.size() <= 4);
+        Assert.assertFalse(context.getVariables().containsKey("i"));
+        Assert.assertFalse(context.getVariables().containsKey("local"));
+
+        Assert.assertEquals(parallelIterate.getStatistics().getIterations(), 20);
+        Assert.assertEquals(parallelIterate.getStatistics().getErrors(), 0);
+    }
+
+    @Test
+    public void testIterationVariablesIsolated() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+
+        final Set<String> leaked = ConcurrentHashMap.newKeySet();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                if (context.getVariables().containsKey("local")) {
+                    leaked.add(context.getVariable("local"));
+                }
+
+                context.setVariable("local", context.getVariable("i"));
+            }
+        }));
+
+        parallelIterate.setIterations(10);
+        parallelIterate.setWorkers(2);
+        parallelIterate.execute(context);
+
+        Assert.assertTrue(leaked.isEmpty(), "Variables leaked between iterations: " + leaked);
+    }
+
+    @Test
+    public void testChildContextExceptionReported() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                context.addException(new CitrusRuntimeException("Forked operation failed in iteration " + context.getVariable("i")));
+            }
+        }));
+
+        parallelIterate.setIterations(3);
+        parallelIterate.setWorkers(3);
+        parallelIterate.execute(context);
+
+        Assert.assertEquals(context.getExceptions().size(), 3);
+        context.getExceptions().clear();
+    }
+
+    @Test
+    public void testStatisticsVariables() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+            }
+        }));
+
+        parallelIterate.setIterations(5);
+        parallelIterate.setWorkers(2);
+        parallelIterate.setStart(0);
+        parallelIterate.setIndexName("n");
+        parallelIterate.setStatisticsPrefix("load.");
+        parallelIterate.execute(context);
+
+        Assert.assertEquals(context.getVariable("load.iterations"), "5");
+        Assert.assertEquals(context.getVariable("load.errors"), "0");
+        Assert.assertNotNull(context.getVariable("load.throughput"));
+        Assert.assertNotNull(context.getVariable("load.p50"));
+        Assert.assertNotNull(context.getVariable("load.p90"));
+        Assert.assertNotNull(context.getVariable("load.p99"));
+    }
+
+    @Test
+    public void testRateLimit() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+            }
+        }));
+
+        parallelIterate.setIterations(6);
+        parallelIterate.setWorkers(3);
+        parallelIterate.setRate(50);
+        parallelIterate.execute(context);
+
+        Assert.assertTrue(parallelIterate.getStatistics().getElapsedTime() >= 90L);
+    }
+
+    @Test
+    public void testIterationError() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(new FailAction()));
+
+        parallelIterate.setIterations(10);
+        parallelIterate.setWorkers(1);
+
+        try {
+            parallelIterate.execute(context);
+            Assert.fail("Missing exception due to failed iteration");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(parallelIterate.getStatistics().getIterations(), 0);
+            Assert.assertEquals(parallelIterate.getStatistics().getErrors(), 1);
+        }
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Unsupported nested container 'iterate' in parallel-iterate.*")
+    public void testNestedIterateRejected() {
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.addTestAction(new Iterate());
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Unsupported nested container 'iterate' in parallel-iterate.*")
+    public void testNestedIterateInSequenceRejected() {
+        Sequence sequence = new Sequence();
+        sequence.addTestAction(new Iterate());
+
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.setActions(Collections.<TestAction>singletonList(sequence));
+    }
+
+    @Test
+    public void testNestedIterateRejectedBeforeExecution() {
+        final Set<String> indexes = ConcurrentHashMap.newKeySet();
+        Iterate iterate = new Iterate();
+        iterate.setCondition("i lt 3");
+        iterate.addTestAction(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                indexes.add(context.getVariable("i"));
+            }
+        });
+
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.getActions().add(iterate);
+        parallelIterate.setIterations(4);
+        parallelIterate.setWorkers(2);
+
+        try {
+            parallelIterate.execute(context);
+            Assert.fail("Missing exception due to nested iterate");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Unsupported nested container 'iterate'"));
+            Assert.assertTrue(indexes.isEmpty());
+        }
+    }
+
+    @Test
+    public void testNestedSequence() {
+        final Set<String> indexes = ConcurrentHashMap.newKeySet();
+        Sequence sequence = new Sequence();
+        sequence.addTestAction(new AbstractTestAction() {
+            @Override
+            public void doExecute(TestContext context) {
+                indexes.add(context.getVariable("i"));
+            }
+        });
+
+        ParallelIterate parallelIterate = new ParallelIterate();
+        parallelIterate.addTestAction(sequence);
+        parallelIterate.setIterations(10);
+        parallelIterate.setWorkers(3);
+        parallelIterate.execute(context);
+
+        Assert.assertEquals(indexes.size(), 10);
+    }
+
+    @Test
+    public void testIterationStatistics() {
+        IterationStatistics statistics = new IterationStatistics(new long[] { 4000000L, 1000000L, 3000000L, 2000000L }, 0, 1000000000L);
+
+        Assert.assertEquals(statistics.getIterations(), 4);
+        Assert.assertEquals(statistics.getThroughput(), 4.0D);
+        Assert.assertEquals(statistics.getMinLatency(), 1.0D);
+        Assert.assertEquals(statistics.getMaxLatency(), 4.0D);
+        Assert.assertEquals(statistics.getMeanLatency(), 2.5D);
+        Assert.assertEquals(statistics.getPercentile(50), 2.0D);
+        Assert.assertEquals(statistics.getPercentile(90), 4.0D);
+    }
+}
@@ -19,6 +19,7 @@ package com.consol.citrus.container;
 import com.consol.citrus.TestAction;
 import com.consol.citrus.actions.FailAction;
 import com.consol.citrus.actions.SleepAction;
+import com.consol.citrus.context.CitrusTaskExecutor;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
@@ -30,6 +31,7 @@ import java.util.List;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Martin Maher
@@ -99,6 +101,29 @@ public class TimerTest extends AbstractTestNGUnitTest {
         assertNotNull(timer.timerException);
     }
 
+    @Test
+    public void shouldRunTimerOnTestContextTaskExecutor() {
+        reset(action);
+
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        context.setTaskExecutor(taskExecutor);
+
+        try {
+            Timer timer = createDefaultTimerWithNestedAction(false, action);
+            timer.execute(context);
+
+            assertTimerIndex(defaultRepeatCount, timer);
+            verify(action, times(defaultRepeatCount)).execute(context);
+
+            waitForTaskExecutorToComplete(taskExecutor, defaultRepeatCount, 5000L);
+            assertTrue(taskExecutor.getCompletedTaskCount() >= defaultRepeatCount);
+            assertEquals(taskExecutor.getQueueSize(), 0L);
+        } finally {
+            context.setTaskExecutor(null);
+            taskExecutor.destroy();
+        }
+    }
+
     private Timer createDefaultTimerWithNestedActionThatFails(boolean forked) {
         return createDefaultTimerWithNestedAction(forked, getFailAction());
     }
@@ -141,6 +166,20 @@ public class TimerTest extends AbstractTestNGUnitTest {
         }
     }
 
+    private void waitForTaskExecutorToComplete(CitrusTaskExecutor taskExecutor, long taskCount, long timeout) {
+        long timeLeft = timeout;
+        while (timeLeft > 0 && (taskExecutor.getCompletedTaskCount() < taskCount || taskExecutor.getQueueSize() > 0)) {
+            try {
+                Thread.sleep(10L);
+            } catch (InterruptedException e) {
+                log.error("Interrupted while waiting for task executor", e);
+                return;
+            }
+
+            timeLeft -= 10L;
+        }
+    }
+
     private void assertTimerIndex(int expectedValue, Timer timer) {
         assertEquals(context.getVariable(timer.getTimerId() + Timer.INDEX_SUFFIX), String.valueOf(expectedValue));
     }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.context;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class CitrusTaskExecutorTest {
+
+    @Test
+    public void testBoundedPool() throws InterruptedException {
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        taskExecutor.setPoolSize(2);
+        taskExecutor.setThreadNamePrefix("test-task-");
+
+        final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(10);
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                taskExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        threadNames.add(Thread.currentThread().getName());
+                        started.countDown();
+
+                        try {
+                            blocked.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        finished.countDown();
+                    }
+                });
+            }
+
+            Assert.assertTrue(started.await(5000L, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(taskExecutor.getActiveCount(), 2L);
+            Assert.assertEquals(taskExecutor.getCurrentPoolSize(), 2L);
+            Assert.assertEquals(taskExecutor.getQueueSize(), 8L);
+
+            blocked.countDown();
+            Assert.assertTrue(finished.await(5000L, TimeUnit.MILLISECONDS));
+
+            Assert.assertEquals(threadNames.size(), 2L);
+            for (String threadName : threadNames) {
+                Assert.assertTrue(threadName.startsWith("test-task-"));
+            }
+        } finally {
+            taskExecutor.destroy();
+        }
+    }
+
+    @Test
+    public void testInvokeAllWithConcurrencyLimit() throws Exception {
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        taskExecutor.setPoolSize(4);
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                final int index = i;
+                tasks.add(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int current = running.incrementAndGet();
+                        synchronized (maxRunning) {
+                            maxRunning.set(Math.max(maxRunning.get(), current));
+                        }
+
+                        Thread.sleep(20L);
+                        running.decrementAndGet();
+                        return index;
+                    }
+                });
+            }
+
+            List<Future<Integer>> results = taskExecutor.invokeAll(tasks, 2);
+            Assert.assertEquals(results.size(), 10);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(results.get(i).get(5000L, TimeUnit.MILLISECONDS), Integer.valueOf(i));
+            }
+
+            Assert.assertEquals(maxRunning.get(), 2);
+            Assert.assertTrue(taskExecutor.invokeAll(Collections.<Callable<Integer>>emptyList(), 2).isEmpty());
+        } finally {
+            taskExecutor.destroy();
+        }
+    }
+
+    @Test
+    public void testScheduleAtFixedRate() throws InterruptedException {
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        final CountDownLatch executions = new CountDownLatch(3);
+
+        try {
+            ScheduledFuture<?> future = taskExecutor.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    executions.countDown();
+                }
+            }, 0L, 10L, TimeUnit.MILLISECONDS);
+
+            Assert.assertTrue(executions.await(5000L, TimeUnit.MILLISECONDS));
+            future.cancel(false);
+
+            waitForEmptyQueue(taskExecutor, 5000L);
+            Assert.assertEquals(taskExecutor.getQueueSize(), 0L);
+            Assert.assertEquals(taskExecutor.getScheduledTaskCount(), 0L);
+            Assert.assertEquals(taskExecutor.getExecutor().getPoolSize(), 0L);
+        } finally {
+            taskExecutor.destroy();
+        }
+    }
+
+    @Test
+    public void testRejectWhenSaturated() throws Exception {
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        taskExecutor.setName("saturatedTaskExecutor");
+        taskExecutor.setPoolSize(1);
+        taskExecutor.setQueueCapacity(1);
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        Runnable blockingTask = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        try {
+            taskExecutor.execute(blockingTask);
+            taskExecutor.execute(blockingTask);
+
+            try {
+                taskExecutor.execute(blockingTask);
+                Assert.fail("Missing exception due to saturated task executor");
+            } catch (TaskRejectedException e) {
+                Assert.assertTrue(e.getMessage().contains("queue capacity 1 exceeded"));
+            }
+
+            Assert.assertEquals(taskExecutor.getRejectedTaskCount(), 1L);
+
+            ObjectName objectName = new ObjectName("com.consol.citrus:type=TaskExecutor,name=\"saturatedTaskExecutor\"");
+            Assert.assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "RejectedTaskCount"), 1L);
+            Assert.assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "QueueCapacity"), 1);
+        } finally {
+            blocked.countDown();
+            taskExecutor.destroy();
+        }
+
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName("com.consol.citrus:type=TaskExecutor,name=\"saturatedTaskExecutor\"")));
+    }
+
+    @Test
+    public void testSchedulerSeparatedFromBlockingTasks() throws Exception {
+        CitrusTaskExecutor taskExecutor = new CitrusTaskExecutor();
+        taskExecutor.setPoolSize(1);
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch scheduled = new CountDownLatch(1);
+
+        try {
+            taskExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        blocked.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+
+            taskExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    scheduled.countDown();
+                }
+            }, 10L, TimeUnit.MILLISECONDS);
+
+            Assert.assertTrue(scheduled.await(5000L, TimeUnit.MILLISECONDS));
+        } finally {
+            blocked.countDown();
+            taskExecutor.destroy();
+        }
+    }
+
+    /**
+     * Waits for the task queue to be empty. A periodic task that is cancelled while it runs may stay in the queue
+     * until its next execution time.
+     * @param taskExecutor
+     * @param timeout
+     */
+    private void waitForEmptyQueue(CitrusTaskExecutor taskExecutor, long timeout) throws InterruptedException {
+        long timeLeft = timeout;
+        while (timeLeft > 0 && taskExecutor.getQueueSize() > 0) {
+            Thread.sleep(10L);
+            timeLeft -= 10L;
+        }
+    }
+
+    @Test
+    public void testDefaultExecutor() {
+        Assert.assertSame(CitrusTaskExecutor.getDefault(), CitrusTaskExecutor.getDefault());
+        Assert.assertSame(new TestContext().getTaskExecutor(), CitrusTaskExecutor.getDefault());
+    }
+}
@@ -22,10 +22,14 @@ import com.consol.citrus.actions.CreateVariablesAction;
 import com.consol.citrus.container.StopTimer;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.VariableNullValueException;
+import com.consol.citrus.message.BoundedMessageStore;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.variable.GlobalVariables;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -344,4 +348,66 @@ public class TestContextTest extends AbstractTestNGUnitTest {
             return DataContainer.class.getName();
         }
     }
+
+    @Test
+    public void testCreateChildContext() {
+        context.setVariable("foo", "bar");
+        context.setVariable("shared", "parent");
+
+        TestContext childContext = context.createChildContext();
+        Assert.assertEquals(childContext.getVariable("foo"), "bar");
+        Assert.assertEquals(childContext.getGlobalVariables(), context.getGlobalVariables());
+        Assert.assertSame(childContext.getFunctionRegistry(), context.getFunctionRegistry());
+        Assert.assertSame(childContext.getMessageStore(), context.getMessageStore());
+
+        childContext.setVariable("shared", "child");
+        childContext.setVariable("local", "value");
+        childContext.getVariables().remove("foo");
+
+        Assert.assertEquals(childContext.getVariable("shared"), "child");
+        Assert.assertEquals(childContext.getVariable("local"), "value");
+        Assert.assertFalse(childContext.getVariables().containsKey("foo"));
+
+        Assert.assertEquals(context.getVariable("foo"), "bar");
+        Assert.assertEquals(context.getVariable("shared"), "parent");
+        Assert.assertFalse(context.getVariables().containsKey("local"));
+    }
+
+    @Test
+    public void testPrototypeMessageStorePerContext() {
+        GenericApplicationContext beanContext = new GenericApplicationContext();
+        RootBeanDefinition messageStore = new RootBeanDefinition(BoundedMessageStore.class);
+        messageStore.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanContext.registerBeanDefinition("messageStore", messageStore);
+        beanContext.refresh();
+
+        TestContextFactory factory = TestContextFactory.newInstance(beanContext);
+        TestContext first = factory.getObject();
+        TestContext second = factory.getObject();
+
+        Assert.assertTrue(first.getMessageStore() instanceof BoundedMessageStore);
+        Assert.assertNotSame(first.getMessageStore(), second.getMessageStore());
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Message store bean 'messageStore' must use prototype scope.*")
+    public void testSingletonMessageStoreRejected() {
+        GenericApplicationContext beanContext = new GenericApplicationContext();
+        beanContext.registerBeanDefinition("messageStore", new RootBeanDefinition(BoundedMessageStore.class));
+        beanContext.refresh();
+
+        TestContextFactory.newInstance(beanContext).getObject();
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Found multiple message store beans.*")
+    public void testMultipleMessageStoresRejected() {
+        GenericApplicationContext beanContext = new GenericApplicationContext();
+        for (String name : Arrays.asList("firstStore", "secondStore")) {
+            RootBeanDefinition messageStore = new RootBeanDefinition(BoundedMessageStore.class);
+            messageStore.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+            beanContext.registerBeanDefinition(name, messageStore);
+        }
+        beanContext.refresh();
+
+        TestContextFactory.newInstance(beanContext).getObject();
+    }
 }
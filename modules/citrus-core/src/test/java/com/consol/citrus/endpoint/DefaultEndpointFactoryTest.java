@@ -80,6 +80,24 @@ public class DefaultEndpointFactoryTest {
         Assert.assertEquals(((ChannelEndpoint)endpoint).getEndpointConfiguration().getChannelName(), "custom.channel");
     }
 
+    @Test
+    public void testCachedEndpoint() throws Exception {
+        reset(applicationContext);
+        when(applicationContext.getBeansOfType(EndpointComponent.class)).thenReturn(Collections.<String, EndpointComponent>emptyMap());
+        TestContext context = new TestContext();
+        context.setApplicationContext(applicationContext);
+        context.setVariable("channelName", "channel.name");
+
+        DefaultEndpointFactory factory = new DefaultEndpointFactory();
+        Endpoint endpoint = factory.create("channel:channel.name", context);
+
+        Assert.assertSame(factory.create("channel:channel.name", context), endpoint);
+        Assert.assertSame(factory.create("channel:${channelName}", context), endpoint);
+        Assert.assertNotSame(factory.create("channel:other.channel", context), endpoint);
+
+        verify(applicationContext, times(1)).getBeansOfType(EndpointComponent.class);
+    }
+
     @Test
     public void testOverwriteEndpointComponent() throws Exception {
         Map<String, EndpointComponent> components = new HashMap<String, EndpointComponent>();
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class BoundedMessageStoreTest {
+
+    @Test
+    public void testEvictUnreferencedMessages() {
+        BoundedMessageStore messageStore = new BoundedMessageStore(2, Long.MAX_VALUE);
+
+        messageStore.storeMessage("first", new DefaultMessage("FirstMessage"));
+        messageStore.storeMessage("second", new DefaultMessage("SecondMessage"));
+        Assert.assertNotNull(messageStore.getMessage("first"));
+
+        messageStore.storeMessage("third", new DefaultMessage("ThirdMessage"));
+
+        Assert.assertEquals(messageStore.getMessageCount(), 2L);
+        Assert.assertEquals(messageStore.getEvictionCount(), 1L);
+        Assert.assertEquals(messageStore.getMessage("first").getPayload(String.class), "FirstMessage");
+        Assert.assertNull(messageStore.getMessage("second"));
+        Assert.assertEquals(messageStore.getMessage("third").getPayload(String.class), "ThirdMessage");
+    }
+
+    @Test
+    public void testEvictByBytes() {
+        BoundedMessageStore messageStore = new BoundedMessageStore(100, 1024L);
+
+        messageStore.storeMessage("first", new DefaultMessage(new byte[600]));
+        messageStore.storeMessage("second", new DefaultMessage(new byte[600]));
+
+        Assert.assertNull(messageStore.getMessage("first"));
+        Assert.assertNotNull(messageStore.getMessage("second"));
+        Assert.assertTrue(messageStore.getCurrentBytes() <= 1024L);
+    }
+
+    @Test
+    public void testSpillToDisk() {
+        BoundedMessageStore messageStore = new BoundedMessageStore(1, Long.MAX_VALUE);
+        messageStore.setSpillToDisk(true);
+
+        try {
+            Message first = new DefaultMessage("FirstMessage", new HashMap<>(Collections.<String, Object>singletonMap("operation", "sayHello")));
+            messageStore.storeMessage("first", first);
+            messageStore.storeMessage("second", new DefaultMessage("SecondMessage"));
+            messageStore.storeMessage("third", new DefaultMessage("ThirdMessage"));
+
+            Assert.assertEquals(messageStore.getMessageCount(), 1L);
+            Assert.assertEquals(messageStore.getSpilledMessageCount(), 2L);
+
+            Message spilled = messageStore.getMessage("first");
+            Assert.assertEquals(spilled.getId(), first.getId());
+            Assert.assertEquals(spilled.getPayload(String.class), "FirstMessage");
+            Assert.assertEquals(spilled.getHeader("operation"), "sayHello");
+            Assert.assertEquals(messageStore.getMessage("second").getPayload(String.class), "SecondMessage");
+
+            messageStore.storeMessage("first", new DefaultMessage("UpdatedMessage"));
+            Assert.assertEquals(messageStore.getMessage("first").getPayload(String.class), "UpdatedMessage");
+            Assert.assertEquals(messageStore.getSpilledMessageCount(), 2L);
+        } finally {
+            messageStore.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class DefaultMessageTest {
+
+    @Test
+    public void testCopySharesHeadersUntilWrite() {
+        DefaultMessage message = new DefaultMessage("<TestRequest/>");
+        message.setHeader("operation", "sayHello");
+
+        DefaultMessage copy = new DefaultMessage(message);
+        Assert.assertEquals(copy.getId(), message.getId());
+        Assert.assertEquals(copy.getTimestamp(), message.getTimestamp());
+        Assert.assertEquals(copy.getHeaders(), message.getHeaders());
+
+        copy.setHeader("operation", "sayGoodbye");
+        copy.setHeader("additional", "foo");
+        Assert.assertEquals(copy.getHeader("operation"), "sayGoodbye");
+        Assert.assertEquals(message.getHeader("operation"), "sayHello");
+        Assert.assertNull(message.getHeader("additional"));
+
+        message.removeHeader("operation");
+        Assert.assertNull(message.getHeader("operation"));
+        Assert.assertEquals(copy.getHeader("operation"), "sayGoodbye");
+    }
+
+    @Test
+    public void testCopyIteratorRemove() {
+        DefaultMessage message = new DefaultMessage("<TestRequest/>");
+        message.setHeader("operation", "sayHello");
+
+        DefaultMessage copy = new DefaultMessage(message);
+
+        Iterator<Map.Entry<String, Object>> entries = copy.getHeaders().entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Object> entry = entries.next();
+            if (entry.getKey().equals("operation")) {
+                entries.remove();
+            }
+        }
+
+        Assert.assertFalse(copy.getHeaders().containsKey("operation"));
+        Assert.assertEquals(message.getHeader("operation"), "sayHello");
+
+        for (Map.Entry<String, Object> entry : message.getHeaders().entrySet()) {
+            if (entry.getKey().equals("operation")) {
+                entry.setValue("sayGoodbye");
+            }
+        }
+
+        Assert.assertEquals(message.getHeader("operation"), "sayGoodbye");
+        Assert.assertEquals(copy.getHeaders().size(), 2L);
+    }
+
+    @Test
+    public void testCopyOfForeignHeaders() {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("operation", "sayHello");
+
+        Message message = new DefaultMessage("<TestRequest/>", headers);
+        headers.remove(MessageHeaders.ID);
+        headers.remove(MessageHeaders.TIMESTAMP);
+
+        DefaultMessage copy = new DefaultMessage(message);
+        Assert.assertNotNull(copy.getId());
+        Assert.assertNotNull(copy.getTimestamp());
+        Assert.assertEquals(copy.getHeader("operation"), "sayHello");
+    }
+
+    @Test
+    public void testIdGenerator() {
+        MessageIdGenerator generator = DefaultMessage.getIdGenerator();
+        Assert.assertTrue(generator instanceof TimeBasedMessageIdGenerator);
+
+        try {
+            DefaultMessage.setIdGenerator(new MessageIdGenerator() {
+                @Override
+                public String generateId() {
+                    return "fixed";
+                }
+            });
+
+            Assert.assertEquals(new DefaultMessage().getId(), "fixed");
+        } finally {
+            DefaultMessage.setIdGenerator(generator);
+        }
+    }
+
+    @Test
+    public void testTimeBasedMessageIdGenerator() {
+        TimeBasedMessageIdGenerator generator = new TimeBasedMessageIdGenerator();
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = generator.generateId();
+            Assert.assertEquals(UUID.fromString(id).toString(), id);
+            ids.add(id);
+        }
+
+        Assert.assertEquals(ids.size(), 1000L);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.correlation;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class BoundedObjectStoreTest {
+
+    @Test
+    public void testEvictOldestObjects() {
+        BoundedObjectStore<String> objectStore = new BoundedObjectStore<>(2);
+
+        objectStore.add("first", "foo");
+        objectStore.add("second", "bar");
+        Assert.assertEquals(objectStore.remove("first"), "foo");
+
+        objectStore.add("third", "baz");
+        objectStore.add("fourth", "qux");
+
+        Assert.assertEquals(objectStore.size(), 2L);
+        Assert.assertEquals(objectStore.getEvictionCount(), 1L);
+        Assert.assertNull(objectStore.remove("second"));
+        Assert.assertEquals(objectStore.remove("third"), "baz");
+        Assert.assertEquals(objectStore.remove("fourth"), "qux");
+    }
+}
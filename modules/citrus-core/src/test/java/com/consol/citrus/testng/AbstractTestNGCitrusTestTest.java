@@ -0,0 +1,92 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.testng;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class AbstractTestNGCitrusTestTest {
+
+    @Test
+    public void testMemoizedDataProvider() throws Exception {
+        DataProviderTestSample sample = new DataProviderTestSample();
+        ITestResult testResult = Mockito.mock(ITestResult.class);
+
+        for (int i = 0; i < 4; i++) {
+            TestCase testCase = new TestCase();
+            Object[] values = sample.resolveParameter(testResult, DataProviderTestSample.class.getMethod("sampleTest", String.class, Integer.class),
+                    testCase, new TestContext(), i);
+
+            Assert.assertEquals(values.length, 2L);
+            Assert.assertEquals(values[0], i % 2 == 0 ? "foo" : "bar");
+            Assert.assertEquals(values[1], i % 2 == 0 ? 1 : 2);
+            Assert.assertEquals(testCase.getParameters().get("name"), values[0]);
+            Assert.assertEquals(testCase.getParameters().get("value"), values[1]);
+        }
+
+        Assert.assertEquals(sample.invocations, 1L);
+    }
+
+    @Test
+    public void testNamedDataProvider() throws Exception {
+        DataProviderTestSample sample = new DataProviderTestSample();
+        ITestResult testResult = Mockito.mock(ITestResult.class);
+
+        Object[] values = sample.resolveParameter(testResult, DataProviderTestSample.class.getMethod("namedTest", String.class, Integer.class),
+                new TestCase(), new TestContext(), 0);
+
+        Assert.assertEquals(values[0], "named");
+        Assert.assertEquals(values[1], 3);
+    }
+
+    /**
+     * Sample test class with data providers, not executed itself.
+     */
+    public static class DataProviderTestSample extends AbstractTestNGCitrusTest {
+        private int invocations = 0;
+
+        @Test(dataProvider = "sampleData")
+        @CitrusParameters({ "name", "value" })
+        public void sampleTest(String name, Integer value) {
+        }
+
+        @Test(dataProvider = "namedData")
+        @CitrusParameters({ "name", "value" })
+        public void namedTest(String name, Integer value) {
+        }
+
+        @DataProvider
+        public Object[][] sampleData() {
+            invocations++;
+            return new Object[][] { { "foo", 1 }, { "bar", 2 } };
+        }
+
+        @DataProvider(name = "namedData")
+        public Object[][] otherData() {
+            return new Object[][] { { "named", 3 } };
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.*;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class PatternUtilsTest {
+
+    @Test
+    public void testCompiledPatternCache() {
+        Assert.assertSame(PatternUtils.compile("[a-z]+"), PatternUtils.compile("[a-z]+"));
+        Assert.assertTrue(PatternUtils.compile("[a-z]+").matcher("citrus").matches());
+
+        PatternUtils.clearCache();
+        Assert.assertTrue(PatternUtils.compile("[a-z]+").matcher("citrus").matches());
+    }
+
+    @Test
+    public void testDateTimeFormatterCache() {
+        Assert.assertSame(PatternUtils.getDateTimeFormatter("yyyy-MM-dd"), PatternUtils.getDateTimeFormatter("yyyy-MM-dd"));
+    }
+
+    @Test
+    public void testParseDateTime() {
+        Assert.assertEquals(PatternUtils.parseDateTime("2017-03-15", "yyyy-MM-dd").toLocalDateTime(), LocalDateTime.of(2017, 3, 15, 0, 0));
+        Assert.assertEquals(PatternUtils.parseDateTime("5.3.2017", "dd.MM.yyyy").toLocalDate(), LocalDate.of(2017, 3, 5));
+        Assert.assertEquals(PatternUtils.parseDateTime("2017-03-15T10:20:30", "yyyy-MM-dd'T'HH:mm:ss").toLocalDateTime(), LocalDateTime.of(2017, 3, 15, 10, 20, 30));
+        Assert.assertEquals(PatternUtils.parseDateTime("15 mar 2017", "dd MMM yyyy").toLocalDate(), LocalDate.of(2017, 3, 15));
+        Assert.assertEquals(PatternUtils.parseDateTime("03.2017", "MM.yyyy").toLocalDate(), LocalDate.of(2017, 3, 1));
+        Assert.assertEquals(PatternUtils.parseDateTime("2017-03-15 trailing text", "yyyy-MM-dd").toLocalDate(), LocalDate.of(2017, 3, 15));
+    }
+
+    @Test
+    public void testParseLenientDateTime() {
+        Assert.assertEquals(PatternUtils.parseDateTime("32.01.2017", "dd.MM.yyyy").toLocalDate(), LocalDate.of(2017, 2, 1));
+        Assert.assertEquals(PatternUtils.parseDateTime("2017-03-15 10", "yyyy-MM-dd hh").toLocalDateTime(), LocalDateTime.of(2017, 3, 15, 10, 0));
+    }
+
+    @Test
+    public void testParseZonedDateTime() {
+        ZonedDateTime dateTime = PatternUtils.parseDateTime("2017-03-15T10:20:30+0100", "yyyy-MM-dd'T'HH:mm:ssZ");
+        Assert.assertEquals(dateTime.getZone(), ZoneId.systemDefault());
+        Assert.assertEquals(dateTime.toInstant(), Instant.parse("2017-03-15T09:20:30Z"));
+    }
+
+    @Test(expectedExceptions = DateTimeParseException.class)
+    public void testParseInvalidDateTime() {
+        PatternUtils.parseDateTime("2017-03-15", "dd.MM.yyyy");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidDatePattern() {
+        PatternUtils.getDateTimeFormatter("invalid");
+    }
+
+    @Test
+    public void testParseTwelveHourClock() {
+        Assert.assertEquals(PatternUtils.parseDateTime("2017-03-15 10 PM", "yyyy-MM-dd hh a").toLocalDateTime(), LocalDateTime.of(2017, 3, 15, 22, 0));
+        Assert.assertEquals(PatternUtils.parseDateTime("2017-03-15 10 am", "yyyy-MM-dd hh a").toLocalDateTime(), LocalDateTime.of(2017, 3, 15, 10, 0));
+    }
+
+    @Test
+    public void testLegacyPatternLetters() {
+        LocalDateTime dateTime = LocalDateTime.of(2017, 3, 15, 10, 20, 30, 5000000);
+
+        Assert.assertEquals(PatternUtils.getDateTimeFormatter("HH:mm:ss.SSS").format(dateTime), "10:20:30.005");
+        Assert.assertEquals(PatternUtils.getDateTimeFormatter("u").format(dateTime), "3");
+        Assert.assertEquals(PatternUtils.getDateTimeFormatter("EEEEEE, dd MMMMM yyyy").withLocale(Locale.ENGLISH).format(dateTime), "Wednesday, 15 March 2017");
+        Assert.assertEquals(PatternUtils.getDateTimeFormatter("ddd").format(dateTime), "015");
+        Assert.assertEquals(PatternUtils.getDateTimeFormatter("[yyyy]").format(dateTime), "[2017]");
+
+        Assert.assertEquals(PatternUtils.parseDateTime("10:20:30.5", "HH:mm:ss.S").toLocalTime(), LocalTime.of(10, 20, 30, 5000000));
+        Assert.assertEquals(PatternUtils.parseDateTime("[2017-03-15]", "[yyyy-MM-dd]").toLocalDate(), LocalDate.of(2017, 3, 15));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Illegal pattern character 'n'.*")
+    public void testUnsupportedPatternLetter() {
+        PatternUtils.getDateTimeFormatter("HH:mm:ss.n");
+    }
+}
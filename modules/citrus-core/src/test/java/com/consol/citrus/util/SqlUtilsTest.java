@@ -0,0 +1,185 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.FileCopyUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class SqlUtilsTest {
+
+    @BeforeMethod
+    public void clearCache() {
+        SqlUtils.clearCache();
+    }
+
+    @Test
+    public void testCreateStatements() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "-- comment\n" +
+                "/* block\n" +
+                "   comment */\n" +
+                "DELETE FROM ERRORS;\n" +
+                "INSERT INTO ERRORS\n" +
+                "  VALUES ('${id}');\n").getBytes()));
+
+        Assert.assertEquals(statements.size(), 2L);
+        Assert.assertEquals(statements.get(0), "DELETE FROM ERRORS;");
+        Assert.assertEquals(statements.get(1), "INSERT INTO ERRORS\n  VALUES ('${id}');");
+    }
+
+    @Test
+    public void testInlineLeadingBlockComment() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "/* seed */ INSERT INTO ERRORS VALUES (1);\n" +
+                "/* multi\n" +
+                "   line */ INSERT INTO ERRORS VALUES (2);\n" +
+                "DELETE FROM ERRORS;\n").getBytes()));
+
+        Assert.assertEquals(statements.size(), 3L);
+        Assert.assertEquals(statements.get(0), "INSERT INTO ERRORS VALUES (1);");
+        Assert.assertEquals(statements.get(1), "INSERT INTO ERRORS VALUES (2);");
+        Assert.assertEquals(statements.get(2), "DELETE FROM ERRORS;");
+    }
+
+    @Test
+    public void testBlockCommentWithinStatement() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "INSERT INTO ERRORS /* inline */ VALUES (1);\n" +
+                "INSERT INTO ERRORS\n" +
+                "  /* not the end;\n" +
+                "     of the statement; */\n" +
+                "  VALUES (2);\n" +
+                "DELETE FROM ERRORS;\n").getBytes()));
+
+        Assert.assertEquals(statements.size(), 3L);
+        Assert.assertEquals(statements.get(0), "INSERT INTO ERRORS /* inline */ VALUES (1);");
+        Assert.assertEquals(statements.get(1), "INSERT INTO ERRORS\n  /* not the end;\n     of the statement; */\n  VALUES (2);");
+        Assert.assertEquals(statements.get(2), "DELETE FROM ERRORS;");
+    }
+
+    @Test
+    public void testDelimiterCommand() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "DELIMITER //\n" +
+                "CREATE PROCEDURE clean()\n" +
+                "BEGIN\n" +
+                "  DELETE FROM ERRORS;\n" +
+                "END //\n" +
+                "DELIMITER ;\n" +
+                "CALL clean();\n").getBytes()));
+
+        Assert.assertEquals(statements.size(), 2L);
+        Assert.assertEquals(statements.get(0), "CREATE PROCEDURE clean()\nBEGIN\n  DELETE FROM ERRORS;\nEND");
+        Assert.assertEquals(statements.get(1), "CALL clean();");
+    }
+
+    @Test
+    public void testDollarQuotedBlocks() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "CREATE FUNCTION clean() RETURNS void AS $body$\n" +
+                "BEGIN\n" +
+                "  -- remove all errors\n" +
+                "  DELETE FROM ERRORS;\n" +
+                "END;\n" +
+                "$body$ LANGUAGE plpgsql;\n" +
+                "SELECT $$a;b$$ FROM DUAL;\n").getBytes()));
+
+        Assert.assertEquals(statements.size(), 2L);
+        Assert.assertEquals(statements.get(0), "CREATE FUNCTION clean() RETURNS void AS $body$\nBEGIN\n  -- remove all errors\n  DELETE FROM ERRORS;\nEND;\n$body$ LANGUAGE plpgsql;");
+        Assert.assertEquals(statements.get(1), "SELECT $$a;b$$ FROM DUAL;");
+    }
+
+    @Test
+    public void testLineDecorator() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "BEGIN\n" +
+                "  DELETE FROM ERRORS;\n" +
+                "END;\n" +
+                "/\n").getBytes()), new SqlUtils.LastScriptLineDecorator() {
+            @Override
+            public String decorate(String line) {
+                return line.trim().substring(0, line.trim().length() - 1);
+            }
+
+            @Override
+            public String getStatementEndingCharacter() {
+                return "/";
+            }
+        });
+
+        Assert.assertEquals(statements.size(), 1L);
+        Assert.assertEquals(statements.get(0), "BEGIN\n  DELETE FROM ERRORS;\nEND;");
+    }
+
+    @Test
+    public void testCachedStatements() throws IOException {
+        File sqlFile = File.createTempFile("sql-utils", ".sql");
+        sqlFile.deleteOnExit();
+
+        FileCopyUtils.copy("DELETE FROM ERRORS;\n".getBytes(), sqlFile);
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new FileSystemResource(sqlFile));
+        Assert.assertEquals(statements.size(), 1L);
+
+        statements.add("DELETE FROM ORDERS;");
+        statements = SqlUtils.createStatementsFromFileResource(new FileSystemResource(sqlFile));
+        Assert.assertEquals(statements.size(), 1L);
+        Assert.assertEquals(statements.get(0), "DELETE FROM ERRORS;");
+
+        FileCopyUtils.copy("DELETE FROM ERRORS;\nDELETE FROM ORDERS;\n".getBytes(), sqlFile);
+        statements = SqlUtils.createStatementsFromFileResource(new FileSystemResource(sqlFile));
+        Assert.assertEquals(statements.size(), 2L);
+        Assert.assertEquals(statements.get(1), "DELETE FROM ORDERS;");
+    }
+
+    @Test
+    public void testChecksumInvalidation() {
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource("DELETE FROM ERRORS;\n".getBytes()));
+        Assert.assertEquals(statements.get(0), "DELETE FROM ERRORS;");
+
+        statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource("DELETE FROM ORDERS;\n".getBytes()));
+        Assert.assertEquals(statements.get(0), "DELETE FROM ORDERS;");
+    }
+
+    @Test
+    public void testDynamicContentMarkers() {
+        BitSet dynamicContent = new BitSet();
+        List<String> statements = SqlUtils.createStatementsFromFileResource(new ByteArrayResource((
+                "DELETE FROM ERRORS;\n" +
+                "INSERT INTO ORDERS VALUES ('${orderId}');\n" +
+                "INSERT INTO ORDERS VALUES ('citrus:randomNumber(5)');\n" +
+                "DELETE FROM ORDERS;\n").getBytes()), null, dynamicContent);
+
+        Assert.assertEquals(statements.size(), 4L);
+        Assert.assertFalse(dynamicContent.get(0));
+        Assert.assertTrue(dynamicContent.get(1));
+        Assert.assertTrue(dynamicContent.get(2));
+        Assert.assertFalse(dynamicContent.get(3));
+    }
+}
@@ -23,6 +23,7 @@ import org.testng.annotations.Test;
 import org.w3c.dom.*;
 
 import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
 import java.io.*;
 import java.util.Map;
 
@@ -383,4 +384,48 @@ public class XMLUtilsTest {
         Assert.assertEquals(XMLUtils.omitXmlDeclaration(""), "");
         Assert.assertEquals(XMLUtils.omitXmlDeclaration("Test"), "Test");
     }
+
+    @Test
+    public void testLookupNestedNamespaces() {
+        Map<String, String> namespaces = XMLUtils.lookupNamespaces("<ns1:testRequest xmlns:ns1=\"http://www.consol.de/test\">" +
+                    "<ns2:message xmlns:ns2=\"http://www.consol.de/test2\"><![CDATA[xmlns]]></ns2:message>" +
+                "</ns1:testRequest>");
+
+        Assert.assertEquals(namespaces.size(), 2);
+        Assert.assertEquals(namespaces.get("ns1"), "http://www.consol.de/test");
+        Assert.assertEquals(namespaces.get("ns2"), "http://www.consol.de/test2");
+    }
+
+    @Test
+    public void testLookupNamespacesInFragment() {
+        Map<String, String> namespaces = XMLUtils.lookupNamespaces("<ns1:testRequest xmlns:ns1=\"http://www.consol.de/test\">" +
+                    "<ns2:message xmlns:ns2=\"http://www.consol.de/test2\">Hello</ns2:message>");
+
+        Assert.assertEquals(namespaces.size(), 2);
+        Assert.assertEquals(namespaces.get("ns1"), "http://www.consol.de/test");
+        Assert.assertEquals(namespaces.get("ns2"), "http://www.consol.de/test2");
+    }
+
+    @Test
+    public void testLookupRootElement() {
+        QName rootElement = XMLUtils.lookupRootElement("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<ns1:testRequest xmlns:ns1=\"http://www.consol.de/test\"><message>Hello</message></ns1:testRequest>");
+
+        Assert.assertEquals(rootElement.getNamespaceURI(), "http://www.consol.de/test");
+        Assert.assertEquals(rootElement.getLocalPart(), "testRequest");
+        Assert.assertEquals(rootElement.getPrefix(), "ns1");
+
+        rootElement = XMLUtils.lookupRootElement("<testRequest><message>Hello</message></testRequest>");
+        Assert.assertEquals(rootElement.getNamespaceURI(), XMLConstants.NULL_NS_URI);
+        Assert.assertEquals(rootElement.getLocalPart(), "testRequest");
+    }
+
+    @Test
+    public void testParseAndSerializeRepeatedly() {
+        for (int i = 0; i < 3; i++) {
+            Document doc = XMLUtils.parseMessagePayload("<testRequest><message id=\"" + i + "\">Hello</message></testRequest>");
+            Assert.assertTrue(XMLUtils.serialize(doc).contains("<message id=\"" + i + "\">Hello</message>"));
+            Assert.assertTrue(XMLUtils.prettyPrint("<testRequest><message id=\"" + i + "\">Hello</message></testRequest>").contains("<message id=\"" + i + "\">Hello</message>"));
+        }
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.jayway.jsonpath.ReadContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class JsonPathUtilsTest {
+
+    @Test
+    public void testCompiledExpressionCache() {
+        Assert.assertSame(JsonPathUtils.compile("$.person.name"), JsonPathUtils.compile("$.person.name"));
+        Assert.assertNotSame(JsonPathUtils.compile("$.person.name"), JsonPathUtils.compile("$.person.age"));
+        Assert.assertTrue(JsonPathUtils.compile("$.person.name").isDefinite());
+        Assert.assertFalse(JsonPathUtils.compile("$..name").isDefinite());
+    }
+
+    @Test
+    public void testParsedDocumentAttachedToMessage() throws Exception {
+        Message message = new DefaultMessage("{ \"person\": { \"name\": \"Penny\" } }");
+
+        ReadContext readContext = JsonPathUtils.readContext(message);
+        Assert.assertSame(JsonPathUtils.readContext(message), readContext);
+        Assert.assertEquals(readContext.read(JsonPathUtils.compile("$.person.name")), "Penny");
+
+        message.setPayload("{ \"person\": { \"name\": \"Leonard\" } }");
+
+        ReadContext changed = JsonPathUtils.readContext(message);
+        Assert.assertNotSame(changed, readContext);
+        Assert.assertEquals(changed.read(JsonPathUtils.compile("$.person.name")), "Leonard");
+        Assert.assertNotSame(JsonPathUtils.readContext(new DefaultMessage(message)), changed);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class VariableScopeTest {
+
+    @Test
+    public void testReadThrough() {
+        Map<String, Object> parent = new HashMap<>();
+        parent.put("foo", "bar");
+
+        VariableScope scope = new VariableScope(parent);
+        Assert.assertEquals(scope.get("foo"), "bar");
+        Assert.assertTrue(scope.containsKey("foo"));
+        Assert.assertEquals(scope.size(), 1L);
+        Assert.assertTrue(scope.getLocalVariables().isEmpty());
+
+        parent.put("new", "value");
+        Assert.assertEquals(scope.get("new"), "value");
+    }
+
+    @Test
+    public void testLocalWrites() {
+        Map<String, Object> parent = new HashMap<>();
+        parent.put("foo", "bar");
+
+        VariableScope scope = new VariableScope(parent);
+        Assert.assertEquals(scope.put("foo", "overwritten"), "bar");
+        scope.put("local", "value");
+
+        Assert.assertEquals(scope.get("foo"), "overwritten");
+        Assert.assertEquals(scope.get("local"), "value");
+        Assert.assertEquals(scope.size(), 2L);
+        Assert.assertEquals(scope.getLocalVariables().size(), 2L);
+
+        Assert.assertEquals(parent.get("foo"), "bar");
+        Assert.assertFalse(parent.containsKey("local"));
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        Map<String, Object> parent = new HashMap<>();
+        parent.put("foo", "bar");
+        parent.put("other", "value");
+
+        VariableScope scope = new VariableScope(parent);
+        Assert.assertEquals(scope.remove("foo"), "bar");
+        Assert.assertFalse(scope.containsKey("foo"));
+        Assert.assertNull(scope.get("foo"));
+        Assert.assertEquals(scope.keySet(), Collections.singleton("other"));
+
+        scope.put("foo", "again");
+        Assert.assertEquals(scope.get("foo"), "again");
+
+        scope.clear();
+        Assert.assertTrue(scope.isEmpty());
+        Assert.assertEquals(parent.size(), 2L);
+    }
+
+    @Test
+    public void testNestedScopes() {
+        VariableScope root = new VariableScope();
+        root.put("foo", "root");
+
+        VariableScope child = new VariableScope(root);
+        VariableScope grandChild = new VariableScope(child);
+
+        child.put("foo", "child");
+        Assert.assertEquals(grandChild.get("foo"), "child");
+
+        grandChild.put("foo", "grandChild");
+        Assert.assertEquals(grandChild.get("foo"), "grandChild");
+        Assert.assertEquals(child.get("foo"), "child");
+        Assert.assertEquals(root.get("foo"), "root");
+
+        Map<String, Object> visible = new HashMap<>(grandChild);
+        Assert.assertEquals(visible, Collections.singletonMap("foo", "grandChild"));
+    }
+}
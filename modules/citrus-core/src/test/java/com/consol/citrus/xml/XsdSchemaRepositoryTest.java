@@ -39,6 +39,21 @@ public class XsdSchemaRepositoryTest {
         Assert.assertEquals(schemaRepository.getSchemas().get(0).getClass(), SimpleXsdSchema.class);
     }
     
+    @Test
+    public void testCanValidateRootElement() throws Exception {
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+
+        schemaRepository.getLocations().add("classpath:com/consol/citrus/schema/citrus-config.xsd");
+
+        schemaRepository.afterPropertiesSet();
+
+        Assert.assertTrue(schemaRepository.canValidate("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<config:schema-repository xmlns:config=\"http://www.citrusframework.org/schema/config\" id=\"schemaRepository\"/>"));
+        Assert.assertTrue(schemaRepository.canValidate("<schema-repository xmlns=\"http://www.citrusframework.org/schema/config\" id=\"schemaRepository\"/>"));
+        Assert.assertFalse(schemaRepository.canValidate("<ns:schema-repository xmlns:ns=\"http://www.citrusframework.org/schema/unknown\"/>"));
+        Assert.assertFalse(schemaRepository.canValidate("<schema-repository/>"));
+    }
+
     @Test(expectedExceptions = { IllegalArgumentException.class })
     public void testUnknownLocation() throws Exception {
         XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the pooled connection manager used by a http client. Pool state such as leased, pending and available
+ * connections is read from the connection pool on access. Connect and request times are recorded by the pooled client.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ConnectionPoolStatistics implements ConnectionPoolStatisticsMBean {
+
+    /** Connection pool */
+    private final ConnPoolControl<HttpRoute> connectionPool;
+
+    private final AtomicLong connectCount = new AtomicLong();
+    private final AtomicLong connectTime = new AtomicLong();
+    private final AtomicLong maxConnectTime = new AtomicLong();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong requestTime = new AtomicLong();
+    private final AtomicLong maxRequestTime = new AtomicLong();
+
+    /**
+     * Constructor using connection pool.
+     * @param connectionPool
+     */
+    public ConnectionPoolStatistics(ConnPoolControl<HttpRoute> connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Records connect time in nanoseconds.
+     * @param nanos
+     */
+    public void recordConnect(long nanos) {
+        connectCount.incrementAndGet();
+        connectTime.addAndGet(nanos);
+        updateMax(maxConnectTime, nanos);
+    }
+
+    /**
+     * Records request time in nanoseconds.
+     * @param nanos
+     */
+    public void recordRequest(long nanos) {
+        requestCount.incrementAndGet();
+        requestTime.addAndGet(nanos);
+        updateMax(maxRequestTime, nanos);
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1E6D;
+    }
+
+    private PoolStats getPoolStats() {
+        return connectionPool.getTotalStats();
+    }
+
+    @Override
+    public int getLeasedConnections() {
+        return getPoolStats().getLeased();
+    }
+
+    @Override
+    public int getPendingConnections() {
+        return getPoolStats().getPending();
+    }
+
+    @Override
+    public int getAvailableConnections() {
+        return getPoolStats().getAvailable();
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return getPoolStats().getMax();
+    }
+
+    @Override
+    public long getConnectCount() {
+        return connectCount.get();
+    }
+
+    @Override
+    public double getAverageConnectTime() {
+        long count = connectCount.get();
+        return count > 0 ? toMillis(connectTime.get()) / count : 0.0D;
+    }
+
+    @Override
+    public double getMaxConnectTime() {
+        return toMillis(maxConnectTime.get());
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public double getAverageRequestTime() {
+        long count = requestCount.get();
+        return count > 0 ? toMillis(requestTime.get()) / count : 0.0D;
+    }
+
+    @Override
+    public double getMaxRequestTime() {
+        return toMillis(maxRequestTime.get());
+    }
+
+    @Override
+    public void reset() {
+        connectCount.set(0L);
+        connectTime.set(0L);
+        maxConnectTime.set(0L);
+        requestCount.set(0L);
+        requestTime.set(0L);
+        maxRequestTime.set(0L);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("leased=%d, pending=%d, available=%d, max=%d, connects=%d, connect avg=%.2fms, " +
+                "requests=%d, request avg=%.2fms", getLeasedConnections(), getPendingConnections(), getAvailableConnections(),
+                getMaxConnections(), getConnectCount(), getAverageConnectTime(), getRequestCount(), getAverageRequestTime());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+/**
+ * Management interface exposing http client connection pool statistics via JMX.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public interface ConnectionPoolStatisticsMBean {
+
+    /**
+     * Gets the number of connections currently leased by requests.
+     * @return
+     */
+    int getLeasedConnections();
+
+    /**
+     * Gets the number of requests waiting for a connection.
+     * @return
+     */
+    int getPendingConnections();
+
+    /**
+     * Gets the number of idle connections available in the pool.
+     * @return
+     */
+    int getAvailableConnections();
+
+    /**
+     * Gets the maximum number of connections in the pool.
+     * @return
+     */
+    int getMaxConnections();
+
+    /**
+     * Gets the number of opened connections.
+     * @return
+     */
+    long getConnectCount();
+
+    /**
+     * Gets the average connect time in milliseconds.
+     * @return
+     */
+    double getAverageConnectTime();
+
+    /**
+     * Gets the maximum connect time in milliseconds.
+     * @return
+     */
+    double getMaxConnectTime();
+
+    /**
+     * Gets the number of executed requests.
+     * @return
+     */
+    long getRequestCount();
+
+    /**
+     * Gets the average request time in milliseconds.
+     * @return
+     */
+    double getAverageRequestTime();
+
+    /**
+     * Gets the maximum request time in milliseconds.
+     * @return
+     */
+    double getMaxRequestTime();
+
+    /**
+     * Resets connect and request timing statistics.
+     */
+    void reset();
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2013 the original author or authors.
+ * Copyright 2006-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,36 +22,63 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.message.HttpMessageUtils;
 import com.consol.citrus.message.*;
 import com.consol.citrus.message.correlation.CorrelationManager;
 import com.consol.citrus.message.correlation.PollingCorrelationManager;
 import com.consol.citrus.messaging.*;
+import org.eclipse.jetty.client.api.*;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.InputStreamContentProvider;
+import org.eclipse.jetty.http.HttpField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.client.DefaultResponseErrorHandler;
-import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.*;
 
+import javax.management.*;
 import java.io.IOException;
-import java.util.Arrays;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Http client sends messages via Http protocol to some Http server instance, defined by a request endpoint url. Synchronous response
  * messages are cached in local memory and receive operations are able to fetch responses from this cache later on.
  *
+ * In asynchronous mode the client sends requests with a non-blocking http client and returns immediately. Responses are stored
+ * in the correlation manager as soon as they arrive so many requests can be outstanding at the same time.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpClient.class);
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Response error handler shared by all requests of this client */
+    private final ResponseErrorHandler errorHandler = new InternalResponseErrorHandler();
+
+    /** Marks connection pool statistics registered as MBean */
+    private final AtomicBoolean statisticsRegistered = new AtomicBoolean(false);
+
+    /** Object name of registered connection pool statistics MBean */
+    private ObjectName statisticsObjectName;
+
+    /** Maximum length of response content buffered in asynchronous mode */
+    private static final int MAX_ASYNC_RESPONSE_LENGTH = 16 * 1024 * 1024;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -67,6 +94,8 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         super(endpointConfiguration);
 
         this.correlationManager = new PollingCorrelationManager(endpointConfiguration, "Reply message did not arrive yet");
+
+        endpointConfiguration.validateAsync();
     }
 
     @Override
@@ -113,8 +142,20 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
         HttpEntity<?> requestEntity = getEndpointConfiguration().getMessageConverter().convertOutbound(httpMessage, getEndpointConfiguration(), context);
 
-        getEndpointConfiguration().getRestTemplate().setErrorHandler(new InternalResponseErrorHandler(correlationKey, context));
-        ResponseEntity<?> response = getEndpointConfiguration().getRestTemplate().exchange(endpointUri, method, requestEntity, String.class);
+        if (getEndpointConfiguration().isAsync()) {
+            sendAsync(endpointUri, method, requestEntity, correlationKey, context);
+            log.info("HTTP message was sent asynchronously to endpoint: '" + endpointUri + "'");
+            return;
+        }
+
+        RestTemplate restTemplate = getEndpointConfiguration().getRestTemplate();
+        registerConnectionPoolStatistics();
+
+        if (restTemplate.getErrorHandler() != errorHandler) {
+            restTemplate.setErrorHandler(errorHandler);
+        }
+
+        ResponseEntity<?> response = restTemplate.exchange(endpointUri, method, requestEntity, String.class);
 
         log.info("HTTP message was sent to endpoint: '" + endpointUri + "'");
 
@@ -146,35 +187,215 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
             throw new ActionTimeoutException("Action timeout while receiving synchronous reply message from http server");
         }
 
+        if (message instanceof FailedRequestMessage) {
+            throw ((FailedRequestMessage) message).getError();
+        }
+
         return message;
     }
 
     /**
-     * Handles error response messages constructing a proper response message
-     * which will be propagated to the respective reply handler for
-     * further processing.
+     * Sends request with non-blocking http client. Response is stored in correlation manager once it arrives. Errors
+     * are stored as well so receive operations for this request raise the error.
+     * @param endpointUri
+     * @param method
+     * @param requestEntity
+     * @param correlationKey
+     * @param context
      */
-    private class InternalResponseErrorHandler implements ResponseErrorHandler {
+    private void sendAsync(String endpointUri, final HttpMethod method, HttpEntity<?> requestEntity, final String correlationKey, final TestContext context) {
+        getEndpointConfiguration().validateAsync();
+
+        final LoggingClientInterceptor loggingInterceptor = getLoggingInterceptor();
+        final Charset charset = getCharset(requestEntity.getHeaders());
 
-        /** Request message associated with this response error handler */
-        private String correlationKey;
+        long requestTimeout = getEndpointConfiguration().getRequestTimeout();
+        if (requestTimeout <= 0) {
+            requestTimeout = getEndpointConfiguration().getTimeout();
+        }
 
-        /** Test context */
-        private TestContext context;
+        final Request request = getEndpointConfiguration().getAsyncClient().newRequest(endpointUri)
+                .method(method.name())
+                .timeout(requestTimeout, TimeUnit.MILLISECONDS);
 
-        /**
-         * Default constructor provided with request message
-         * associated with this error handler.
-         */
-        public InternalResponseErrorHandler(String correlationKey, TestContext context) {
-            this.correlationKey = correlationKey;
+        for (Map.Entry<String, List<String>> header : requestEntity.getHeaders().entrySet()) {
+            for (String value : header.getValue()) {
+                request.header(header.getKey(), value);
+            }
+        }
+
+        Object body = requestEntity.getBody();
+        byte[] content = null;
+        if (body instanceof byte[]) {
+            content = (byte[]) body;
+        } else if (body instanceof Resource) {
+            try {
+                request.content(new InputStreamContentProvider(((Resource) body).getInputStream()));
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read HTTP request body resource", e);
+            }
+        } else if (body != null && body.toString().length() > 0) {
+            content = body.toString().getBytes(charset);
+        }
+
+        if (content != null) {
+            request.content(new BytesContentProvider(content));
+        }
+
+        if (loggingInterceptor != null) {
+            loggingInterceptor.handleRequest(method, request.getURI(), requestEntity.getHeaders(), content != null ? content : new byte[] {});
+        }
+
+        request.send(new BufferingResponseListener(MAX_ASYNC_RESPONSE_LENGTH) {
+            @Override
+            public void onComplete(Result result) {
+                try {
+                    if (result.isFailed()) {
+                        log.warn("Failed to send asynchronous HTTP request to endpoint: '" + request.getURI() + "'", result.getFailure());
+                        correlationManager.store(correlationKey, new FailedRequestMessage(
+                                new CitrusRuntimeException("Failed to send HTTP request to endpoint: '" + request.getURI() + "'", result.getFailure())));
+                    } else {
+                        handleAsyncResponse(result.getResponse(), getContent(), correlationKey, loggingInterceptor, context);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to handle asynchronous HTTP response", e);
+                    correlationManager.store(correlationKey, new FailedRequestMessage(e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Converts asynchronous response to response message and applies error handling strategy.
+     * @param response
+     * @param content
+     * @param correlationKey
+     * @param loggingInterceptor
+     * @param context
+     */
+    private void handleAsyncResponse(Response response, byte[] content, String correlationKey,
+                                     LoggingClientInterceptor loggingInterceptor, TestContext context) {
+        HttpHeaders headers = new HttpHeaders();
+        for (HttpField field : response.getHeaders()) {
+            headers.add(field.getName(), field.getValue());
         }
 
+        HttpStatus status = HttpStatus.valueOf(response.getStatus());
+        Charset charset = getCharset(headers);
+
+        if (loggingInterceptor != null) {
+            loggingInterceptor.handleResponse(status, headers, content);
+        }
+
+        if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
+            if (status.is4xxClientError()) {
+                correlationManager.store(correlationKey, new FailedRequestMessage(
+                        new HttpClientErrorException(status, status.getReasonPhrase(), headers, content, charset)));
+                return;
+            } else if (status.is5xxServerError()) {
+                correlationManager.store(correlationKey, new FailedRequestMessage(
+                        new HttpServerErrorException(status, status.getReasonPhrase(), headers, content, charset)));
+                return;
+            }
+        }
+
+        Object body;
+        if (HttpMessageUtils.isTextContent(headers.getContentType())) {
+            body = new String(content, charset);
+        } else {
+            body = content;
+        }
+
+        correlationManager.store(correlationKey, getEndpointConfiguration().getMessageConverter().convertInbound(
+                new ResponseEntity<>(body, headers, status), getEndpointConfiguration(), context));
+    }
+
+    /**
+     * Registers statistics of pooled connection manager as MBean on the platform MBean server
+     * once per client. Statistics are only available when using the default request factory.
+     */
+    private void registerConnectionPoolStatistics() {
+        ConnectionPoolStatistics statistics = getEndpointConfiguration().getConnectionPoolStatistics();
+        if (statistics == null || statisticsRegistered.get() || !statisticsRegistered.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            ObjectName objectName = new ObjectName("com.consol.citrus.http:type=ConnectionPool,name=" + ObjectName.quote(getName()));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            if (server.isRegistered(objectName)) {
+                log.debug("Connection pool statistics MBean already registered: " + objectName);
+                return;
+            }
+
+            server.registerMBean(statistics, objectName);
+            statisticsObjectName = objectName;
+        } catch (JMException e) {
+            log.warn("Failed to register connection pool statistics MBean", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (statisticsObjectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(statisticsObjectName);
+            } catch (JMException e) {
+                log.warn("Failed to unregister connection pool statistics MBean", e);
+            }
+
+            statisticsObjectName = null;
+        }
+    }
+
+    /**
+     * Gets charset from content type header falling back to endpoint configuration charset.
+     * @param headers
+     * @return
+     */
+    private Charset getCharset(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        if (contentType != null && contentType.getCharset() != null) {
+            return contentType.getCharset();
+        }
+
+        return Charset.forName(getEndpointConfiguration().getCharset());
+    }
+
+    /**
+     * Gets logging interceptor from client interceptors if any.
+     * @return
+     */
+    private LoggingClientInterceptor getLoggingInterceptor() {
+        if (getEndpointConfiguration().getClientInterceptors() != null) {
+            for (ClientHttpRequestInterceptor interceptor : getEndpointConfiguration().getClientInterceptors()) {
+                if (interceptor instanceof LoggingClientInterceptor) {
+                    return (LoggingClientInterceptor) interceptor;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Handles error response messages according to error handling strategy. Error responses are
+     * propagated to the respective reply handler as normal response message or raise exception. Handler
+     * does not hold request specific state so it is safe to share among concurrent requests.
+     */
+    private class InternalResponseErrorHandler implements ResponseErrorHandler {
+
         /**
-         * Check for error HTTP status code in response message.
+         * Check for error HTTP status code in response message. Propagated error responses
+         * are not marked as error so they get extracted as normal response.
          * Delegates to default Spring implementation.
          */
         public boolean hasError(ClientHttpResponse response) throws IOException {
+            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
+                return false;
+            }
+
             return new DefaultResponseErrorHandler().hasError(response);
         }
 
@@ -182,11 +403,7 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
          * Handle error response message according to error strategy.
          */
         public void handleError(ClientHttpResponse response) throws IOException {
-            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.PROPAGATE)) {
-                Message responseMessage = getEndpointConfiguration().getMessageConverter().convertInbound(
-                        new ResponseEntity(response.getBody(), response.getHeaders(), response.getStatusCode()), getEndpointConfiguration(), context);
-                correlationManager.store(correlationKey, responseMessage);
-            } else if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
+            if (getEndpointConfiguration().getErrorHandlingStrategy().equals(ErrorHandlingStrategy.THROWS_EXCEPTION)) {
                 new DefaultResponseErrorHandler().handleError(response);
             } else {
                 throw new CitrusRuntimeException("Unsupported error strategy: " + getEndpointConfiguration().getErrorHandlingStrategy());
@@ -195,6 +412,21 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
 
     }
 
+    /**
+     * Message marking failed asynchronous request. Receive operations raise the error.
+     */
+    private static final class FailedRequestMessage extends DefaultMessage {
+        private final RuntimeException error;
+
+        FailedRequestMessage(RuntimeException error) {
+            this.error = error;
+        }
+
+        RuntimeException getError() {
+            return error;
+        }
+    }
+
     /**
      * Creates a message producer for this endpoint for sending messages
      * to this endpoint.
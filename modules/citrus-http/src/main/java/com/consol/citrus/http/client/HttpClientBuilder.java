@@ -44,6 +44,12 @@ public class HttpClientBuilder extends AbstractEndpointBuilder<HttpClient> {
         return endpoint;
     }
 
+    @Override
+    public HttpClient build() {
+        endpoint.getEndpointConfiguration().validateAsync();
+        return super.build();
+    }
+
     /**
      * Sets the requestUrl property.
      * @param uri
@@ -198,6 +204,106 @@ public class HttpClientBuilder extends AbstractEndpointBuilder<HttpClient> {
         return this;
     }
 
+    /**
+     * Sets the maximum number of pooled connections in total.
+     * @param maxConnections
+     * @return
+     */
+    public HttpClientBuilder maxConnections(int maxConnections) {
+        endpoint.getEndpointConfiguration().setMaxConnections(maxConnections);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections per route.
+     * @param maxConnectionsPerRoute
+     * @return
+     */
+    public HttpClientBuilder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        endpoint.getEndpointConfiguration().setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        return this;
+    }
+
+    /**
+     * Sets the keep-alive timeout of idle pooled connections in milliseconds.
+     * @param keepAliveTimeout
+     * @return
+     */
+    public HttpClientBuilder keepAliveTimeout(long keepAliveTimeout) {
+        endpoint.getEndpointConfiguration().setKeepAliveTimeout(keepAliveTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the inactivity time in milliseconds after which pooled connections are validated before reuse.
+     * @param validateAfterInactivity
+     * @return
+     */
+    public HttpClientBuilder validateAfterInactivity(int validateAfterInactivity) {
+        endpoint.getEndpointConfiguration().setValidateAfterInactivity(validateAfterInactivity);
+        return this;
+    }
+
+    /**
+     * Sets the socket send buffer size.
+     * @param sendBufferSize
+     * @return
+     */
+    public HttpClientBuilder sendBufferSize(int sendBufferSize) {
+        endpoint.getEndpointConfiguration().setSendBufferSize(sendBufferSize);
+        return this;
+    }
+
+    /**
+     * Sets the socket receive buffer size.
+     * @param receiveBufferSize
+     * @return
+     */
+    public HttpClientBuilder receiveBufferSize(int receiveBufferSize) {
+        endpoint.getEndpointConfiguration().setReceiveBufferSize(receiveBufferSize);
+        return this;
+    }
+
+    /**
+     * Enables asynchronous request sending with non-blocking http client.
+     * @param async
+     * @return
+     */
+    public HttpClientBuilder async(boolean async) {
+        endpoint.getEndpointConfiguration().setAsync(async);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of connections per destination in asynchronous mode.
+     * @param maxConnections
+     * @return
+     */
+    public HttpClientBuilder asyncMaxConnections(int maxConnections) {
+        endpoint.getEndpointConfiguration().setAsyncMaxConnections(maxConnections);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of queued requests per destination in asynchronous mode.
+     * @param maxQueuedRequests
+     * @return
+     */
+    public HttpClientBuilder asyncMaxQueuedRequests(int maxQueuedRequests) {
+        endpoint.getEndpointConfiguration().setAsyncMaxQueuedRequests(maxQueuedRequests);
+        return this;
+    }
+
+    /**
+     * Sets the request timeout in asynchronous mode.
+     * @param requestTimeout
+     * @return
+     */
+    public HttpClientBuilder requestTimeout(long requestTimeout) {
+        endpoint.getEndpointConfiguration().setRequestTimeout(requestTimeout);
+        return this;
+    }
+
     /**
      * Sets the default timeout.
      * @param timeout
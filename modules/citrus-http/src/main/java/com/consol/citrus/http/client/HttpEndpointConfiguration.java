@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2013 the original author or authors.
+ * Copyright 2006-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,26 @@ package com.consol.citrus.http.client;
 import com.consol.citrus.endpoint.AbstractPollableEndpointConfiguration;
 import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessageConverter;
 import com.consol.citrus.message.*;
+import org.apache.http.*;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.*;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.*;
@@ -29,13 +47,14 @@ import org.springframework.integration.http.support.DefaultHttpHeaderMapper;
 import org.springframework.integration.mapping.HeaderMapper;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpEndpointConfiguration extends AbstractPollableEndpointConfiguration {
+public class HttpEndpointConfiguration extends AbstractPollableEndpointConfiguration implements DisposableBean {
 
     /** Http url as service destination */
     private String requestUrl;
@@ -52,6 +71,9 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     /** The rest template */
     private RestTemplate restTemplate;
 
+    /** Marks rest template set explicitly instead of default rest template */
+    private boolean customRestTemplate = false;
+
     /** Request factory */
     private ClientHttpRequestFactory requestFactory;
 
@@ -76,6 +98,48 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     /** Auto add default accept header with os supported content-types */
     private boolean defaultAcceptHeader = true;
 
+    /** Maximum number of pooled connections in total, zero or less for default */
+    private int maxConnections = -1;
+
+    /** Maximum number of pooled connections per route, zero or less for default */
+    private int maxConnectionsPerRoute = -1;
+
+    /** Time in milliseconds idle connections are kept alive when server does not specify keep-alive timeout, negative for no limit */
+    private long keepAliveTimeout = -1L;
+
+    /** Time in milliseconds of inactivity after which pooled connections are validated before reuse, negative for default */
+    private int validateAfterInactivity = -1;
+
+    /** Socket send buffer size, zero or less for system default */
+    private int sendBufferSize = -1;
+
+    /** Socket receive buffer size, zero or less for system default */
+    private int receiveBufferSize = -1;
+
+    /** Pooled connection manager of default request factory */
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /** Statistics of pooled connection manager */
+    private ConnectionPoolStatistics connectionPoolStatistics;
+
+    /** Send requests asynchronously with non-blocking http client */
+    private boolean async = false;
+
+    /** Maximum number of connections per destination used by asynchronous client */
+    private int asyncMaxConnections = 64;
+
+    /** Maximum number of requests per destination waiting for a connection in asynchronous client */
+    private int asyncMaxQueuedRequests = 4096;
+
+    /** Request timeout in milliseconds in asynchronous mode, zero or less to use the endpoint timeout */
+    private long requestTimeout = -1L;
+
+    /** Non-blocking http client used in asynchronous mode */
+    private volatile org.eclipse.jetty.client.HttpClient asyncClient;
+
+    /** Marks asynchronous client created and managed by this configuration */
+    private boolean asyncClientManaged = false;
+
     /**
      * Get the complete request URL.
      * @return the urlPath
@@ -106,6 +170,7 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      */
     public void setRestTemplate(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
+        this.customRestTemplate = restTemplate != null;
     }
 
     /**
@@ -256,12 +321,110 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      */
     public ClientHttpRequestFactory getRequestFactory() {
         if (requestFactory == null) {
-            requestFactory = new HttpComponentsClientHttpRequestFactory();
+            requestFactory = new HttpComponentsClientHttpRequestFactory(createPooledHttpClient());
         }
 
         return requestFactory;
     }
 
+    /**
+     * Creates http client with pooled connection manager shared by all requests of this endpoint. Pool
+     * settings that are not set explicitly use the system property defaults. Connect and request times
+     * are recorded in connection pool statistics.
+     * @return
+     */
+    private org.apache.http.client.HttpClient createPooledHttpClient() {
+        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+                .build()) {
+            @Override
+            public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context) throws IOException {
+                long started = System.nanoTime();
+                super.connect(managedConn, route, connectTimeout, context);
+                connectionPoolStatistics.recordConnect(System.nanoTime() - started);
+            }
+        };
+
+        connectionManager = manager;
+        connectionPoolStatistics = new ConnectionPoolStatistics(manager);
+        configureConnectionManager();
+
+        org.apache.http.impl.client.HttpClientBuilder clientBuilder = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(manager)
+                .setRequestExecutor(new HttpRequestExecutor() {
+                    @Override
+                    public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context) throws IOException, HttpException {
+                        long started = System.nanoTime();
+                        try {
+                            return super.execute(request, conn, context);
+                        } finally {
+                            connectionPoolStatistics.recordRequest(System.nanoTime() - started);
+                        }
+                    }
+                });
+
+        clientBuilder.setKeepAliveStrategy(new ConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return (duration > 0 || keepAliveTimeout < 0) ? duration : keepAliveTimeout;
+            }
+        });
+
+        return clientBuilder.build();
+    }
+
+    /**
+     * Applies pool settings to pooled connection manager. Settings changed after the connection
+     * manager has been created are applied immediately.
+     */
+    private void configureConnectionManager() {
+        if (connectionManager == null) {
+            return;
+        }
+
+        int systemMaxConnections = Integer.parseInt(System.getProperty("http.maxConnections", "5"));
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : systemMaxConnections);
+        connectionManager.setMaxTotal(maxConnections > 0 ? maxConnections : Math.max(2 * systemMaxConnections, connectionManager.getDefaultMaxPerRoute()));
+
+        if (validateAfterInactivity >= 0) {
+            connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+        }
+
+        if (sendBufferSize > 0 || receiveBufferSize > 0) {
+            SocketConfig.Builder socketConfig = SocketConfig.custom();
+            if (sendBufferSize > 0) {
+                socketConfig.setSndBufSize(sendBufferSize);
+            }
+
+            if (receiveBufferSize > 0) {
+                socketConfig.setRcvBufSize(receiveBufferSize);
+            }
+
+            connectionManager.setDefaultSocketConfig(socketConfig.build());
+        }
+    }
+
+    /**
+     * Gets the pooled connection manager of the default request factory. Returns null when
+     * custom request factory or rest template is used.
+     * @return
+     */
+    public HttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Gets the statistics of the pooled connection manager. Returns null when custom request
+     * factory or rest template is used.
+     * @return
+     */
+    public ConnectionPoolStatistics getConnectionPoolStatistics() {
+        return connectionPoolStatistics;
+    }
+
     /**
      * Sets the client request factory.
      * @param requestFactory
@@ -303,4 +466,257 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     public boolean isDefaultAcceptHeader() {
         return defaultAcceptHeader;
     }
+
+    /**
+     * Gets the non-blocking http client used in asynchronous mode. Creates and starts
+     * the client with bounded connection pool on first access.
+     * @return
+     */
+    public org.eclipse.jetty.client.HttpClient getAsyncClient() {
+        if (asyncClient == null) {
+            synchronized (this) {
+                if (asyncClient == null) {
+                    QueuedThreadPool threadPool = new QueuedThreadPool();
+                    threadPool.setName("citrus-http-client");
+                    threadPool.setDaemon(true);
+
+                    org.eclipse.jetty.client.HttpClient client = new org.eclipse.jetty.client.HttpClient();
+                    client.setExecutor(threadPool);
+                    client.setScheduler(new ScheduledExecutorScheduler("citrus-http-client-scheduler", true));
+                    client.setMaxConnectionsPerDestination(asyncMaxConnections);
+                    client.setMaxRequestsQueuedPerDestination(asyncMaxQueuedRequests);
+                    client.setFollowRedirects(false);
+
+                    try {
+                        client.start();
+                    } catch (Exception e) {
+                        throw new CitrusRuntimeException("Failed to start asynchronous http client", e);
+                    }
+
+                    asyncClientManaged = true;
+                    asyncClient = client;
+                }
+            }
+        }
+
+        return asyncClient;
+    }
+
+    /**
+     * Verifies that asynchronous mode is not combined with rest template settings. The non-blocking client
+     * does not use rest template, request factory and client interceptors, so SSL, authentication or other
+     * settings on these components would be ignored silently. Only the logging client interceptor is supported.
+     */
+    public void validateAsync() {
+        if (!async) {
+            return;
+        }
+
+        if (customRestTemplate) {
+            throw new CitrusRuntimeException("Asynchronous http client does not support custom 'rest-template' - " +
+                    "remove the rest template or disable async mode");
+        }
+
+        if (requestFactory != null && connectionManager == null) {
+            throw new CitrusRuntimeException("Asynchronous http client does not support custom 'request-factory' - " +
+                    "remove the request factory or disable async mode");
+        }
+
+        if (clientInterceptors != null) {
+            for (ClientHttpRequestInterceptor interceptor : clientInterceptors) {
+                if (!(interceptor instanceof LoggingClientInterceptor)) {
+                    throw new CitrusRuntimeException(String.format("Asynchronous http client does not support client interceptor '%s' - " +
+                            "remove the interceptor or disable async mode", interceptor.getClass().getName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the non-blocking http client used in asynchronous mode.
+     * @param asyncClient
+     */
+    public void setAsyncClient(org.eclipse.jetty.client.HttpClient asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+
+        synchronized (this) {
+            if (asyncClient != null && asyncClientManaged) {
+                asyncClient.stop();
+                asyncClient = null;
+                asyncClientManaged = false;
+            }
+        }
+    }
+
+    /**
+     * Gets the async flag.
+     * @return
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets the async flag.
+     * @param async
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the maximum number of connections per destination in asynchronous mode.
+     * @return
+     */
+    public int getAsyncMaxConnections() {
+        return asyncMaxConnections;
+    }
+
+    /**
+     * Sets the maximum number of connections per destination in asynchronous mode.
+     * @param asyncMaxConnections
+     */
+    public void setAsyncMaxConnections(int asyncMaxConnections) {
+        this.asyncMaxConnections = asyncMaxConnections;
+    }
+
+    /**
+     * Gets the maximum number of queued requests per destination in asynchronous mode.
+     * @return
+     */
+    public int getAsyncMaxQueuedRequests() {
+        return asyncMaxQueuedRequests;
+    }
+
+    /**
+     * Sets the maximum number of queued requests per destination in asynchronous mode.
+     * @param asyncMaxQueuedRequests
+     */
+    public void setAsyncMaxQueuedRequests(int asyncMaxQueuedRequests) {
+        this.asyncMaxQueuedRequests = asyncMaxQueuedRequests;
+    }
+
+    /**
+     * Gets the request timeout in milliseconds in asynchronous mode.
+     * @return
+     */
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Sets the request timeout in milliseconds in asynchronous mode. Zero or less uses the endpoint timeout.
+     * @param requestTimeout
+     */
+    public void setRequestTimeout(long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections in total.
+     * @return
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections in total.
+     * @param maxConnections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        configureConnectionManager();
+    }
+
+    /**
+     * Gets the maximum number of pooled connections per route.
+     * @return
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections per route.
+     * @param maxConnectionsPerRoute
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        configureConnectionManager();
+    }
+
+    /**
+     * Gets the keep-alive timeout in milliseconds.
+     * @return
+     */
+    public long getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    /**
+     * Sets the keep-alive timeout in milliseconds.
+     * @param keepAliveTimeout
+     */
+    public void setKeepAliveTimeout(long keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    /**
+     * Gets the inactivity time in milliseconds after which pooled connections are validated.
+     * @return
+     */
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * Sets the inactivity time in milliseconds after which pooled connections are validated.
+     * @param validateAfterInactivity
+     */
+    public void setValidateAfterInactivity(int validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+        configureConnectionManager();
+    }
+
+    /**
+     * Gets the socket send buffer size.
+     * @return
+     */
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /**
+     * Sets the socket send buffer size.
+     * @param sendBufferSize
+     */
+    public void setSendBufferSize(int sendBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+        configureConnectionManager();
+    }
+
+    /**
+     * Gets the socket receive buffer size.
+     * @return
+     */
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * Sets the socket receive buffer size.
+     * @param receiveBufferSize
+     */
+    public void setReceiveBufferSize(int receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+        configureConnectionManager();
+    }
 }
@@ -110,6 +110,66 @@ public @interface HttpClientConfig {
      */
     String[] interceptors() default {};
 
+    /**
+     * Maximum number of pooled connections in total.
+     * @return
+     */
+    int maxConnections() default -1;
+
+    /**
+     * Maximum number of pooled connections per route.
+     * @return
+     */
+    int maxConnectionsPerRoute() default -1;
+
+    /**
+     * Keep-alive timeout of idle pooled connections.
+     * @return
+     */
+    long keepAliveTimeout() default -1L;
+
+    /**
+     * Inactivity time after which pooled connections are validated.
+     * @return
+     */
+    int validateAfterInactivity() default -1;
+
+    /**
+     * Socket send buffer size.
+     * @return
+     */
+    int sendBufferSize() default -1;
+
+    /**
+     * Socket receive buffer size.
+     * @return
+     */
+    int receiveBufferSize() default -1;
+
+    /**
+     * Send requests asynchronously.
+     * @return
+     */
+    boolean async() default false;
+
+    /**
+     * Maximum number of connections per destination in asynchronous mode.
+     * @return
+     */
+    int asyncMaxConnections() default 64;
+
+    /**
+     * Maximum number of queued requests per destination in asynchronous mode.
+     * @return
+     */
+    int asyncMaxQueuedRequests() default 4096;
+
+    /**
+     * Request timeout in asynchronous mode.
+     * @return
+     */
+    long requestTimeout() default -1L;
+
     /**
      * Timeout.
      * @return
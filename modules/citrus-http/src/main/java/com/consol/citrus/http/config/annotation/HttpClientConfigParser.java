@@ -86,6 +86,16 @@ public class HttpClientConfigParser extends AbstractAnnotationConfigParser<HttpC
         builder.charset(annotation.charset());
         builder.contentType(annotation.contentType());
         builder.pollingInterval(annotation.pollingInterval());
+        builder.maxConnections(annotation.maxConnections());
+        builder.maxConnectionsPerRoute(annotation.maxConnectionsPerRoute());
+        builder.keepAliveTimeout(annotation.keepAliveTimeout());
+        builder.validateAfterInactivity(annotation.validateAfterInactivity());
+        builder.sendBufferSize(annotation.sendBufferSize());
+        builder.receiveBufferSize(annotation.receiveBufferSize());
+        builder.async(annotation.async());
+        builder.asyncMaxConnections(annotation.asyncMaxConnections());
+        builder.asyncMaxQueuedRequests(annotation.asyncMaxQueuedRequests());
+        builder.requestTimeout(annotation.requestTimeout());
 
         builder.errorHandlingStrategy(annotation.errorStrategy());
 
@@ -137,6 +137,60 @@ public @interface HttpServerConfig {
      */
     String[] interceptors() default {};
 
+    /**
+     * Async request handling.
+     * @return
+     */
+    boolean async() default false;
+
+    /**
+     * Async request timeout.
+     * @return
+     */
+    long asyncTimeout() default 0L;
+
+    /**
+     * Number of threads handling async requests.
+     * @return
+     */
+    int asyncPoolSize() default 100;
+
+    /**
+     * Number of async requests queued when all async threads are busy.
+     * @return
+     */
+    int asyncQueueCapacity() default 0;
+
+    /**
+     * Policy for rejected async requests: abort or caller-runs.
+     * @return
+     */
+    String asyncRejectionPolicy() default "abort";
+
+    /**
+     * Minimum number of server threads.
+     * @return
+     */
+    int minThreads() default -1;
+
+    /**
+     * Maximum number of server threads.
+     * @return
+     */
+    int maxThreads() default -1;
+
+    /**
+     * Number of connector acceptor threads.
+     * @return
+     */
+    int acceptors() default -1;
+
+    /**
+     * Number of connector selector threads.
+     * @return
+     */
+    int selectors() default -1;
+
     /**
      * Test actor.
      * @return
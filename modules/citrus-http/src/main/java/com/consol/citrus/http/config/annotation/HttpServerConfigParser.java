@@ -123,6 +123,16 @@ public class HttpServerConfigParser extends AbstractAnnotationConfigParser<HttpS
             builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), HttpMessageConverter.class));
         }
 
+        builder.async(annotation.async());
+        builder.asyncTimeout(annotation.asyncTimeout());
+        builder.asyncPoolSize(annotation.asyncPoolSize());
+        builder.asyncQueueCapacity(annotation.asyncQueueCapacity());
+        builder.asyncRejectionPolicy(annotation.asyncRejectionPolicy());
+        builder.minThreads(annotation.minThreads());
+        builder.maxThreads(annotation.maxThreads());
+        builder.acceptors(annotation.acceptors());
+        builder.selectors(annotation.selectors());
+
         return builder.initialize().build();
     }
 }
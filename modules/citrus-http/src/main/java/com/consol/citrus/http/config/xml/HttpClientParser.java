@@ -72,6 +72,16 @@ public class HttpClientParser extends AbstractEndpointParser {
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("charset"), "charset");
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("content-type"), "contentType");
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("polling-interval"), "pollingInterval");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("max-connections"), "maxConnections");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("max-connections-per-route"), "maxConnectionsPerRoute");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("keep-alive-timeout"), "keepAliveTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("validate-after-inactivity"), "validateAfterInactivity");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("send-buffer-size"), "sendBufferSize");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("receive-buffer-size"), "receiveBufferSize");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("async"), "async");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("async-max-connections"), "asyncMaxConnections");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("async-max-queued-requests"), "asyncMaxQueuedRequests");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("request-timeout"), "requestTimeout");
 
         if (element.hasAttribute("error-strategy")) {
             endpointConfiguration.addPropertyValue("errorHandlingStrategy",
@@ -50,6 +50,16 @@ public class HttpServerParser extends AbstractServerParser {
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("security-handler"), "securityHandler");
 
         BeanDefinitionParserUtils.setPropertyReference(builder, element.getAttribute("message-converter"), "messageConverter");
+
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("async"), "async");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("async-timeout"), "asyncTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("async-pool-size"), "asyncPoolSize");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("async-queue-capacity"), "asyncQueueCapacity");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("async-rejection-policy"), "asyncRejectionPolicy");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("min-threads"), "minThreads");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-threads"), "maxThreads");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("acceptors"), "acceptors");
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("selectors"), "selectors");
     }
 
     @Override
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.http.client.HttpEndpointConfiguration;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.message.HttpMessageUtils;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.message.Message;
+import org.springframework.http.*;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Enumeration;
+
+/**
+ * Basic message controller converting incoming requests to Http messages and endpoint adapter response messages
+ * to response entities. Subclasses add the request mappings and decide how the endpoint adapter is called.
+ *
+ * Request bodies are read as raw bytes. Textual content is decoded to a String payload while binary content is passed
+ * to the endpoint adapter as byte array without charset decoding.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public abstract class AbstractHttpMessageController {
+
+    /** Request attribute holding the response entity of the request for message tracing reasons */
+    public static final String RESPONSE_ENTITY_ATTRIBUTE = AbstractHttpMessageController.class.getName() + ".RESPONSE_ENTITY";
+
+    /** Endpoint adapter for incoming requests, providing proper responses */
+    private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
+
+    /** Endpoint configuration */
+    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+
+    /**
+     * Reads request entity from current servlet request and converts it to Http message. Must be called on the thread
+     * handling the servlet request.
+     * @param method
+     * @return
+     */
+    protected HttpMessage createRequestMessage(HttpMethod method) {
+        HttpServletRequest servletRequest = getServletRequest();
+        ServletServerHttpRequest httpRequest = new ServletServerHttpRequest(servletRequest);
+        HttpHeaders headers = httpRequest.getHeaders();
+
+        byte[] body;
+        try {
+            CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(servletRequest, CachingHttpServletRequestWrapper.class);
+            if (cachingRequest != null && !isFormPost(servletRequest)) {
+                body = cachingRequest.getBody();
+            } else {
+                body = StreamUtils.copyToByteArray(httpRequest.getBody());
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read Http request body", e);
+        }
+
+        Object payload;
+        if (body.length == 0) {
+            payload = null;
+        } else if (HttpMessageUtils.isTextContent(headers.getContentType())) {
+            payload = new String(body, HttpMessageUtils.getCharset(headers.getContentType(), StringHttpMessageConverter.DEFAULT_CHARSET));
+        } else {
+            payload = body;
+        }
+
+        return createRequestMessage(method, new HttpEntity<>(payload, headers));
+    }
+
+    /**
+     * Checks for form post request. Form parameters may have been consumed by the servlet container so body is
+     * reconstructed from request parameters in this case.
+     * @param servletRequest
+     * @return
+     */
+    private boolean isFormPost(HttpServletRequest servletRequest) {
+        return servletRequest.getContentType() != null && servletRequest.getContentType().contains(MediaType.APPLICATION_FORM_URLENCODED_VALUE) &&
+                HttpMethod.POST.matches(servletRequest.getMethod());
+    }
+
+    /**
+     * Converts request entity to Http message. Previously sets Http request method, path, query params and headers
+     * from current servlet request. Must be called on the thread handling the servlet request.
+     * @param method
+     * @param requestEntity
+     * @return
+     */
+    protected HttpMessage createRequestMessage(HttpMethod method, HttpEntity<?> requestEntity) {
+        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
+
+        HttpServletRequest servletRequest = getServletRequest();
+        UrlPathHelper pathHelper = new UrlPathHelper();
+
+        Enumeration allHeaders = servletRequest.getHeaderNames();
+        for (String headerName : CollectionUtils.toArray(allHeaders, new String[] {})) {
+            if (request.getHeader(headerName) == null) {
+                String headerValue = servletRequest.getHeader(headerName);
+                request.header(headerName, headerValue != null ? headerValue : "");
+            }
+        }
+
+        String queryParams = pathHelper.getOriginatingQueryString(servletRequest);
+
+        if (queryParams == null) {
+            queryParams = "";
+        } else {
+            queryParams = queryParams.replaceAll("&", ",");
+        }
+
+        request.path(pathHelper.getRequestUri(servletRequest))
+                .uri(pathHelper.getRequestUri(servletRequest))
+                .contextPath(pathHelper.getContextPath(servletRequest))
+                .queryParams(queryParams)
+                .version(servletRequest.getProtocol())
+                .method(method);
+
+        return request;
+    }
+
+    /**
+     * Gets the servlet request handled on the current thread.
+     * @return
+     */
+    protected HttpServletRequest getServletRequest() {
+        return ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
+    }
+
+    /**
+     * Converts endpoint adapter response message to response entity. Response entity is saved as attribute
+     * on given servlet request.
+     * @param response
+     * @param servletRequest
+     * @return
+     */
+    protected ResponseEntity<?> createResponseEntity(Message response, HttpServletRequest servletRequest) {
+        ResponseEntity<?> responseEntity;
+        if (response == null) {
+            responseEntity = new ResponseEntity(HttpStatus.OK);
+        } else {
+            HttpMessage httpResponse;
+            if (response instanceof HttpMessage) {
+                httpResponse = (HttpMessage) response;
+            } else {
+                httpResponse = new HttpMessage(response);
+            }
+
+            if (httpResponse.getStatusCode() == null) {
+                httpResponse.status(HttpStatus.OK);
+            }
+
+            responseEntity = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
+        }
+
+        servletRequest.setAttribute(RESPONSE_ENTITY_ATTRIBUTE, responseEntity);
+        return responseEntity;
+    }
+
+    /**
+     * Sets the endpointAdapter.
+     * @param endpointAdapter the endpointAdapter to set
+     */
+    public void setEndpointAdapter(EndpointAdapter endpointAdapter) {
+        this.endpointAdapter = endpointAdapter;
+    }
+
+    /**
+     * Gets the endpoint adapter.
+     * @return
+     */
+    public EndpointAdapter getEndpointAdapter() {
+        return endpointAdapter;
+    }
+
+    /**
+     * Gets the endpoint configuration.
+     * @return
+     */
+    public HttpEndpointConfiguration getEndpointConfiguration() {
+        return endpointConfiguration;
+    }
+
+    /**
+     * Sets the endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    /**
+     * Gets the response entity of the request handled on the current thread.
+     * @return the response entity or null.
+     */
+    public ResponseEntity<?> getResponseCache() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+            return null;
+        }
+
+        return getResponseCache(getServletRequest());
+    }
+
+    /**
+     * Gets the response entity of given servlet request.
+     * @param servletRequest
+     * @return the response entity or null.
+     */
+    public ResponseEntity<?> getResponseCache(HttpServletRequest servletRequest) {
+        return (ResponseEntity<?>) servletRequest.getAttribute(RESPONSE_ENTITY_ATTRIBUTE);
+    }
+}
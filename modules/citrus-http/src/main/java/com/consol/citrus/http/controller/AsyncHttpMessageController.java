@@ -0,0 +1,181 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.http.message.HttpMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.*;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Message controller handling incoming requests asynchronously. The request is converted on the servlet container
+ * thread and then handed over to the endpoint adapter on a separate executor. The servlet container thread is released
+ * while the endpoint adapter waits for the test to provide the response. Response is written with servlet async
+ * support as soon as the endpoint adapter returns. Requests rejected by the executor are answered with service
+ * unavailable status. Without executor the endpoint adapter is called on the servlet container thread.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+@Controller
+@RequestMapping("/*")
+public class AsyncHttpMessageController extends AbstractHttpMessageController {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(AsyncHttpMessageController.class);
+
+    /** Executor calling the endpoint adapter */
+    private Executor executor = new SyncTaskExecutor();
+
+    /** Async request timeout in milliseconds, zero or less for no timeout */
+    private long timeout = 0L;
+
+    /** Number of requests waiting for endpoint adapter response */
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    @RequestMapping(value = "**", method = { RequestMethod.GET })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleGetRequest() {
+        return handleRequestInternal(HttpMethod.GET);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.POST })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handlePostRequest() {
+        return handleRequestInternal(HttpMethod.POST);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.PUT })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handlePutRequest() {
+        return handleRequestInternal(HttpMethod.PUT);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.DELETE })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleDeleteRequest() {
+        return handleRequestInternal(HttpMethod.DELETE);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleOptionsRequest() {
+        return handleRequestInternal(HttpMethod.OPTIONS);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.HEAD })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleHeadRequest() {
+        return handleRequestInternal(HttpMethod.HEAD);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.TRACE })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleTraceRequest() {
+        return handleRequestInternal(HttpMethod.TRACE);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.PATCH })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handlePatchRequest() {
+        return handleRequestInternal(HttpMethod.PATCH);
+    }
+
+    /**
+     * Converts request on current servlet container thread and hands over to endpoint adapter on executor. Deferred
+     * result is completed with the response entity or the error raised by the endpoint adapter.
+     * @param method
+     * @return
+     */
+    private DeferredResult<ResponseEntity<?>> handleRequestInternal(HttpMethod method) {
+        final HttpServletRequest servletRequest = getServletRequest();
+        final HttpMessage request = createRequestMessage(method);
+        final DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeout);
+
+        pendingRequests.incrementAndGet();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        result.setResult(createResponseEntity(getEndpointAdapter().handleMessage(request), servletRequest));
+                    } catch (RuntimeException | Error e) {
+                        log.error("Failed to handle Http request", e);
+                        result.setErrorResult(e);
+                    } finally {
+                        pendingRequests.decrementAndGet();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingRequests.decrementAndGet();
+            log.warn("Rejected Http request - all async threads are busy and request queue is full");
+            result.setResult(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the number of requests currently waiting for the endpoint adapter response.
+     * @return
+     */
+    public int getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    /**
+     * Gets the executor.
+     * @return
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor calling the endpoint adapter.
+     * @param executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the async request timeout.
+     * @return
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the async request timeout in milliseconds. Zero or less disables the timeout.
+     * @param timeout
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
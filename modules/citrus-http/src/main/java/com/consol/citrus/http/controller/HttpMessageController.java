@@ -16,21 +16,9 @@
 
 package com.consol.citrus.http.controller;
 
-import com.consol.citrus.endpoint.EndpointAdapter;
-import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
-import com.consol.citrus.http.client.HttpEndpointConfiguration;
-import com.consol.citrus.http.message.HttpMessage;
-import com.consol.citrus.message.Message;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.util.UrlPathHelper;
-
-import javax.servlet.http.HttpServletRequest;
-import java.util.Enumeration;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
@@ -40,158 +28,173 @@ import java.util.Enumeration;
  */
 @Controller
 @RequestMapping("/*")
-public class HttpMessageController {
-
-    /** Endpoint adapter for incoming requests, providing proper responses */
-    private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
-
-    /** Endpoint configuration */
-    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+public class HttpMessageController extends AbstractHttpMessageController {
 
-    /** Hold the latest response message for message tracing reasons */
-    private ResponseEntity<String> responseCache;
-    
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
-    public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.GET, requestEntity);
+    public ResponseEntity<?> handleGetRequest() {
+        return handleRequestInternal(HttpMethod.GET);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.POST })
     @ResponseBody
-    public ResponseEntity<String> handlePostRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.POST, requestEntity);
+    public ResponseEntity<?> handlePostRequest() {
+        return handleRequestInternal(HttpMethod.POST);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.PUT })
     @ResponseBody
-    public ResponseEntity<String> handlePutRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.PUT, requestEntity);
+    public ResponseEntity<?> handlePutRequest() {
+        return handleRequestInternal(HttpMethod.PUT);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.DELETE })
     @ResponseBody
-    public ResponseEntity<String> handleDeleteRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.DELETE, requestEntity);
+    public ResponseEntity<?> handleDeleteRequest() {
+        return handleRequestInternal(HttpMethod.DELETE);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
     @ResponseBody
-    public ResponseEntity<String> handleOptionsRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
+    public ResponseEntity<?> handleOptionsRequest() {
+        return handleRequestInternal(HttpMethod.OPTIONS);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.HEAD })
     @ResponseBody
-    public ResponseEntity<String> handleHeadRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.HEAD, requestEntity);
+    public ResponseEntity<?> handleHeadRequest() {
+        return handleRequestInternal(HttpMethod.HEAD);
     }
     
     @RequestMapping(value= "**", method = { RequestMethod.TRACE })
     @ResponseBody
-    public ResponseEntity<String> handleTraceRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.TRACE, requestEntity);
+    public ResponseEntity<?> handleTraceRequest() {
+        return handleRequestInternal(HttpMethod.TRACE);
     }
 
     @RequestMapping(value= "**", method = { RequestMethod.PATCH })
     @ResponseBody
-    public ResponseEntity<String> handlePatchRequest(HttpEntity<String> requestEntity) {
-        return handleRequestInternal(HttpMethod.PATCH, requestEntity);
+    public ResponseEntity<?> handlePatchRequest() {
+        return handleRequestInternal(HttpMethod.PATCH);
     }
     
     /**
-     * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
-     * @param method
+     * Handles GET request with given request entity.
      * @param requestEntity
      * @return
+     * @deprecated request body is read by the controller, use {@link #handleGetRequest()} instead.
      */
-    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
-        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
-
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        UrlPathHelper pathHelper = new UrlPathHelper();
-
-        Enumeration allHeaders = servletRequest.getHeaderNames();
-        for (String headerName : CollectionUtils.toArray(allHeaders, new String[] {})) {
-            if (request.getHeader(headerName) == null) {
-                String headerValue = servletRequest.getHeader(headerName);
-                request.header(headerName, headerValue != null ? headerValue : "");
-            }
-        }
-
-        String queryParams = pathHelper.getOriginatingQueryString(servletRequest);
-
-        if (queryParams == null) {
-            queryParams = "";
-        } else {
-            queryParams = queryParams.replaceAll("&", ",");
-        }
+    @Deprecated
+    public ResponseEntity<String> handleGetRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.GET, requestEntity);
+    }
 
-        request.path(pathHelper.getRequestUri(servletRequest))
-                .uri(pathHelper.getRequestUri(servletRequest))
-                .contextPath(pathHelper.getContextPath(servletRequest))
-                .queryParams(queryParams)
-                .version(servletRequest.getProtocol())
-                .method(method);
+    /**
+     * Handles POST request with given request entity.
+     * @param requestEntity
+     * @return
+     * @deprecated request body is read by the controller, use {@link #handlePostRequest()} instead.
+     */
+    @Deprecated
+    public ResponseEntity<String> handlePostRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.POST, requestEntity);
+    }
 
-        Message response = endpointAdapter.handleMessage(request);
-        if (response == null) {
-            responseCache = new ResponseEntity(HttpStatus.OK);
-        } else {
-            HttpMessage httpResponse;
-            if (response instanceof HttpMessage) {
-                httpResponse = (HttpMessage) response;
-            } else {
-                httpResponse = new HttpMessage(response);
-            }
+    /**
+     * Handles PUT request with given request entity.
+     * @param requestEntity
+     * @return
+     * @deprecated request body is read by the controller, use {@link #handlePutRequest()} instead.
+     */
+    @Deprecated
+    public ResponseEntity<String> handlePutRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.PUT, requestEntity);
+    }
 
-            if (httpResponse.getStatusCode() == null) {
-                httpResponse.status(HttpStatus.OK);
-            }
+    /**
+     * Handles DELETE request with given request entity.
+     * @param requestEntity
+     * @return
+     * @deprecated request body is read by the controller, use {@link #handleDeleteRequest()} instead.
+     */
+    @Deprecated
+    public ResponseEntity<String> handleDeleteRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.DELETE, requestEntity);
+    }
 
-            responseCache = (ResponseEntity) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
-        }
+    /**
+     * Handles OPTIONS request with given request entity.
+     * @param requestEntity
+     * @return
+     * @deprecated request body is read by the controller, use {@link #handleOptionsRequest()} instead.
+     */
+    @Deprecated
+    public ResponseEntity<String> handleOptionsRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
+    }
 
-        return responseCache;
+    /**
+     * Handles HEAD request with given request entity.
+     * @param requestEntity
+     * @return
+     * @deprecated request body is read by the controller, use {@link #handleHeadRequest()} instead.
+     */
+    @Deprecated
+    public ResponseEntity<String> handleHeadRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.HEAD, requestEntity);
     }
-    
+
     /**
-     * Sets the endpointAdapter.
-     * @param endpointAdapter the endpointAdapter to set
+     * Handles TRACE request with given request entity.
+     * @param requestEntity
+     * @return
+     * @deprecated request body is read by the controller, use {@link #handleTraceRequest()} instead.
      */
-    public void setEndpointAdapter(EndpointAdapter endpointAdapter) {
-        this.endpointAdapter = endpointAdapter;
+    @Deprecated
+    public ResponseEntity<String> handleTraceRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.TRACE, requestEntity);
     }
 
     /**
-     * Gets the endpoint adapter.
+     * Handles PATCH request with given request entity.
+     * @param requestEntity
      * @return
+     * @deprecated request body is read by the controller, use {@link #handlePatchRequest()} instead.
      */
-    public EndpointAdapter getEndpointAdapter() {
-        return endpointAdapter;
+    @Deprecated
+    public ResponseEntity<String> handlePatchRequest(HttpEntity<String> requestEntity) {
+        return handleRequestInternal(HttpMethod.PATCH, requestEntity);
     }
 
     /**
-     * Gets the endpoint configuration.
+     * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
+     * @param method
      * @return
      */
-    public HttpEndpointConfiguration getEndpointConfiguration() {
-        return endpointConfiguration;
+    private ResponseEntity<?> handleRequestInternal(HttpMethod method) {
+        return createResponseEntity(getEndpointAdapter().handleMessage(createRequestMessage(method)), getServletRequest());
     }
 
     /**
-     * Sets the endpoint configuration.
-     * @param endpointConfiguration
+     * Handles requests with given request entity. Response entity is returned with String body as before binary body support.
+     * @param method
+     * @param requestEntity
+     * @return
      */
-    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
-        this.endpointConfiguration = endpointConfiguration;
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<String> handleRequestInternal(HttpMethod method, HttpEntity<String> requestEntity) {
+        return (ResponseEntity<String>) createResponseEntity(getEndpointAdapter().handleMessage(createRequestMessage(method, requestEntity)), getServletRequest());
     }
 
     /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
+     * Gets the response entity of the request handled on the current thread.
+     * @return the response entity or null.
+     * @deprecated response body is a byte array for binary content, use {@link #getResponseCache(javax.servlet.http.HttpServletRequest)} instead.
      */
+    @Override
+    @Deprecated
+    @SuppressWarnings("unchecked")
     public ResponseEntity<String> getResponseCache() {
-        return responseCache;
+        return (ResponseEntity<String>) super.getResponseCache();
     }
 }
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.http.interceptor;
 
+import com.consol.citrus.Citrus;
+import com.consol.citrus.http.message.HttpMessageUtils;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import org.slf4j.Logger;
@@ -27,12 +29,15 @@ import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.*;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map.Entry;
 
 /**
- * Simple logging interceptor writes Http request and response messages to the console.
+ * Simple logging interceptor writes Http request and response messages to the console. Request and response content
+ * is only buffered and converted to raw message content when message listeners are present or debug logging is enabled.
+ * Binary bodies are not decoded but summarized in the raw message content.
  * 
  * @author Christoph Deppisch
  * @since 1.2
@@ -51,7 +56,11 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, 
         ClientHttpRequestExecution execution) throws IOException {
-        handleRequest(getRequestContent(request, new String(body)));
+        if (!isLoggingEnabled()) {
+            return execution.execute(request, body);
+        }
+
+        handleRequest(getRequestContent(request, body));
         
         ClientHttpResponse response = execution.execute(request, body);
         CachingClientHttpResponseWrapper bufferedResponse = new CachingClientHttpResponseWrapper(response);
@@ -60,12 +69,28 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         return bufferedResponse;
     }
 
+    /**
+     * Checks if raw message content is of any interest. Either message listeners are present or debug logging is enabled.
+     * @return
+     */
+    private boolean isLoggingEnabled() {
+        return hasMessageListeners() || log.isDebugEnabled();
+    }
+
+    /**
+     * Checks for message listeners being present.
+     * @return
+     */
+    private boolean hasMessageListeners() {
+        return messageListener != null && !messageListener.isEmpty();
+    }
+
     /**
      * Handles request messages for logging.
      * @param request
      */
     public void handleRequest(String request) {
-        if (messageListener != null) {
+        if (hasMessageListeners()) {
             log.debug("Sending Http request message");
             messageListener.onOutboundMessage(new RawMessage(request), null);
         } else {
@@ -80,7 +105,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
      * @param response
      */
     public void handleResponse(String response) {
-        if (messageListener != null) {
+        if (hasMessageListeners()) {
             log.debug("Received Http response message");
             messageListener.onInboundMessage(new RawMessage(response), null);
         } else {
@@ -90,24 +115,78 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         }
     }
     
+    /**
+     * Handles request messages for logging using request method, uri, headers and raw body. Request content is only
+     * built when logging is enabled.
+     * @param method
+     * @param uri
+     * @param headers
+     * @param body
+     */
+    public void handleRequest(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+        if (isLoggingEnabled()) {
+            handleRequest(getRequestContent(method, uri, headers, body));
+        }
+    }
+
+    /**
+     * Handles response messages for logging using response status, headers and raw body. Response content is only
+     * built when logging is enabled.
+     * @param status
+     * @param headers
+     * @param body
+     */
+    public void handleResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+        if (!isLoggingEnabled()) {
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("HTTP/1.1 ");
+        builder.append(status);
+        builder.append(" ");
+        builder.append(status.getReasonPhrase());
+        builder.append(NEWLINE);
+
+        appendHeaders(headers, builder);
+
+        builder.append(NEWLINE);
+        builder.append(HttpMessageUtils.toLogString(body, headers.getContentType(), getDefaultCharset()));
+
+        handleResponse(builder.toString());
+    }
+
     /**
      * Builds request content string from request and body.
      * @param request
      * @param body
      * @return
      */
-    private String getRequestContent(HttpRequest request, String body) {
+    private String getRequestContent(HttpRequest request, byte[] body) {
+        return getRequestContent(request.getMethod(), request.getURI(), request.getHeaders(), body);
+    }
+
+    /**
+     * Builds request content string from request method, uri, headers and body.
+     * @param method
+     * @param uri
+     * @param headers
+     * @param body
+     * @return
+     */
+    private String getRequestContent(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
         StringBuilder builder = new StringBuilder();
         
-        builder.append(request.getMethod());
+        builder.append(method);
         builder.append(" ");
-        builder.append(request.getURI());
+        builder.append(uri);
         builder.append(NEWLINE);
         
-        appendHeaders(request.getHeaders(), builder);
+        appendHeaders(headers, builder);
         
         builder.append(NEWLINE);
-        builder.append(body);
+        builder.append(HttpMessageUtils.toLogString(body, headers.getContentType(), getDefaultCharset()));
         
         return builder.toString(); 
     }
@@ -139,6 +218,14 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         }
     }
     
+    /**
+     * Gets the charset used for request and response bodies that do not define a charset in their content type.
+     * @return
+     */
+    private static Charset getDefaultCharset() {
+        return Charset.forName(Citrus.CITRUS_FILE_ENCODING);
+    }
+
     /**
      * Append Http headers to string builder.
      * @param headers
@@ -199,7 +286,7 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
                 getBody();
             }
             
-            return new String(body, Charset.forName("UTF-8"));
+            return HttpMessageUtils.toLogString(body, getHeaders().getContentType(), getDefaultCharset());
         }
 
         public void close() {
@@ -16,21 +16,30 @@
 
 package com.consol.citrus.http.interceptor;
 
-import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.Citrus;
+import com.consol.citrus.http.controller.AbstractHttpMessageController;
+import com.consol.citrus.http.message.HttpMessageUtils;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
-import com.consol.citrus.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.WebUtils;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Enumeration;
 
 /**
@@ -38,7 +47,8 @@ import java.util.Enumeration;
  * as a server.
  * 
  * Interceptor is capable of informing message tracing test listener on the request and response
- * messages arriving and leaving Citrus.
+ * messages arriving and leaving Citrus. Raw message content is only built when message listeners are present or
+ * debug logging is enabled. Binary bodies are not decoded but summarized in the raw message content.
  * 
  * @author Christoph Deppisch
  * @since 1.2
@@ -59,7 +69,9 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public boolean preHandle(HttpServletRequest request, 
             HttpServletResponse response, Object handler) throws Exception {
-        handleRequest(getRequestContent(request));
+        if (!DispatcherType.ASYNC.equals(request.getDispatcherType()) && isLoggingEnabled()) {
+            handleRequest(getRequestContent(request));
+        }
         return true;
     }
 
@@ -68,7 +80,9 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
      */
     public void postHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        handleResponse(getResponseContent(response, handler));
+        if (isLoggingEnabled()) {
+            handleResponse(getResponseContent(request, response, handler));
+        }
     }
 
     /**
@@ -78,6 +92,14 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
             HttpServletResponse response, Object handler, Exception ex) throws Exception {
     }
     
+    /**
+     * Checks if raw message content is of any interest. Either message listeners are present or debug logging is enabled.
+     * @return
+     */
+    private boolean isLoggingEnabled() {
+        return messageListener != null || log.isDebugEnabled();
+    }
+
     /**
      * Handle request message and write request to logger.
      * @param request
@@ -145,28 +167,57 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         }
         
         builder.append(NEWLINE);
-        builder.append(FileUtils.readToString(request.getInputStream()));
+
+        byte[] body;
+        CachingHttpServletRequestWrapper cachingRequest = WebUtils.getNativeRequest(request, CachingHttpServletRequestWrapper.class);
+        if (cachingRequest != null) {
+            body = cachingRequest.getBody();
+        } else {
+            body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        builder.append(HttpMessageUtils.toLogString(body, getContentType(request), Charset.forName(Citrus.CITRUS_FILE_ENCODING)));
         
         return builder.toString();
     }
     
     /**
+     * Gets request content type. Returns null when content type is not set or invalid.
+     * @param request
+     * @return
+     */
+    private MediaType getContentType(HttpServletRequest request) {
+        if (!StringUtils.hasText(request.getContentType())) {
+            return null;
+        }
+
+        try {
+            return MediaType.parseMediaType(request.getContentType());
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param request
      * @param response
+     * @param handler
      * @return
      */
-    private String getResponseContent(HttpServletResponse response, Object handler) {
+    private String getResponseContent(HttpServletRequest request, HttpServletResponse response, Object handler) {
         StringBuilder builder = new StringBuilder();
 
         builder.append(response);
 
         if (handler instanceof HandlerMethod) {
             HandlerMethod handlerMethod = (HandlerMethod) handler;
-            if (handlerMethod.getBean() instanceof HttpMessageController) {
-                ResponseEntity<String> responseEntity =
-                        ((HttpMessageController) handlerMethod.getBean()).getResponseCache();
+            if (handlerMethod.getBean() instanceof AbstractHttpMessageController) {
+                ResponseEntity<?> responseEntity =
+                        ((AbstractHttpMessageController) handlerMethod.getBean()).getResponseCache(request);
                 if (responseEntity != null) {
                     builder.append(NEWLINE);
-                    builder.append(responseEntity.getBody());
+                    builder.append(HttpMessageUtils.toLogString(responseEntity.getBody(), responseEntity.getHeaders().getContentType(),
+                            Charset.forName(Citrus.CITRUS_FILE_ENCODING)));
                 }
             }
         }
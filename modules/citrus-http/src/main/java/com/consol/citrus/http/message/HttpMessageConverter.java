@@ -19,9 +19,11 @@ package com.consol.citrus.http.message;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.message.*;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
 import org.springframework.util.StringUtils;
 
+import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -60,6 +62,10 @@ public class HttpMessageConverter implements MessageConverter<HttpEntity, HttpEn
         }
 
         Object payload = httpMessage.getPayload();
+        if (payload instanceof InputStream) {
+            payload = new InputStreamResource((InputStream) payload);
+        }
+
         if (httpMessage.getStatusCode() != null) {
             return new ResponseEntity(payload, httpHeaders, httpMessage.getStatusCode());
         }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.message;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.Charset;
+
+/**
+ * Utility methods deciding how Http message bodies are represented. Textual content is handled as String payload
+ * while binary content is kept as raw bytes so it is never decoded with a charset.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public abstract class HttpMessageUtils {
+
+    /**
+     * Prevent instantiation.
+     */
+    private HttpMessageUtils() {
+        super();
+    }
+
+    /**
+     * Checks if content type marks textual content. Missing content type as well as content types with
+     * charset parameter are considered textual.
+     * @param contentType
+     * @return
+     */
+    public static boolean isTextContent(MediaType contentType) {
+        if (contentType == null || contentType.getCharset() != null) {
+            return true;
+        }
+
+        if (contentType.getType().equals("text")) {
+            return true;
+        }
+
+        String subtype = contentType.getSubtype();
+        return subtype.contains("xml") || subtype.contains("json") || subtype.contains("html") ||
+                subtype.contains("javascript") || subtype.contains("x-www-form-urlencoded") ||
+                subtype.contains("yaml") || subtype.contains("csv");
+    }
+
+    /**
+     * Gets charset from content type falling back to given default charset.
+     * @param contentType
+     * @param defaultCharset
+     * @return
+     */
+    public static Charset getCharset(MediaType contentType, Charset defaultCharset) {
+        if (contentType != null && contentType.getCharset() != null) {
+            return contentType.getCharset();
+        }
+
+        return defaultCharset;
+    }
+
+    /**
+     * Renders body for logging purpose. Binary content is not decoded but summarized.
+     * @param body
+     * @param contentType
+     * @param defaultCharset
+     * @return
+     */
+    public static String toLogString(Object body, MediaType contentType, Charset defaultCharset) {
+        if (body == null) {
+            return "";
+        } else if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            if (isTextContent(contentType)) {
+                return new String(bytes, getCharset(contentType, defaultCharset));
+            }
+
+            return "<binary content of " + bytes.length + " bytes>";
+        } else if (body instanceof Resource) {
+            return "<" + ((Resource) body).getDescription() + ">";
+        }
+
+        return body.toString();
+    }
+}
@@ -21,10 +21,10 @@ import com.consol.citrus.http.message.HttpMessageConverter;
 import com.consol.citrus.http.servlet.*;
 import com.consol.citrus.server.AbstractServer;
 import org.eclipse.jetty.security.SecurityHandler;
-import org.eclipse.jetty.server.Connector;
-import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.handler.*;
 import org.eclipse.jetty.servlet.*;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
@@ -33,25 +33,43 @@ import org.springframework.context.*;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.DispatcherServlet;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
 import javax.servlet.ServletContext;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Simple Http server implementation starting an embedded Jetty server instance with
  * Spring Application context support. Incoming requests are handled with Spring MVC.
  *
+ * In async mode the servlet container thread is released while the endpoint adapter waits for the response
+ * so the server thread pool is not exhausted by many concurrent requests. The endpoint adapter is called on a bounded
+ * thread pool with optional request queue. Requests exceeding pool size and queue capacity are either rejected with
+ * service unavailable status or handled on the servlet container thread, depending on the async rejection policy.
+ *
  * @author Christoph Deppisch
  * @since 2007
  */
 public class HttpServer extends AbstractServer implements ApplicationContextAware {
+    /** Default application context location for request controllers */
+    private static final String DEFAULT_CONTEXT_CONFIG_LOCATION = "classpath:com/consol/citrus/http/citrus-servlet-context.xml";
+
+    /** Application context location for async request controllers */
+    private static final String ASYNC_CONTEXT_CONFIG_LOCATION = "classpath:com/consol/citrus/http/citrus-async-servlet-context.xml";
+
+    /** Async rejection policies */
+    public static final String ASYNC_REJECTION_ABORT = "abort";
+    public static final String ASYNC_REJECTION_CALLER_RUNS = "caller-runs";
+
     /** Server port */
     private int port = 8080;
 
@@ -59,7 +77,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     private String resourceBase = "src/main/resources";
 
     /** Application context location for request controllers */
-    private String contextConfigLocation = "classpath:com/consol/citrus/http/citrus-servlet-context.xml";
+    private String contextConfigLocation = DEFAULT_CONTEXT_CONFIG_LOCATION;
 
     /** Server instance to be wrapped */
     private Server jettyServer;
@@ -103,6 +121,35 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Handle requests asynchronously with servlet async support */
+    private boolean async = false;
+
+    /** Async request timeout in milliseconds, zero or less for no timeout */
+    private long asyncTimeout = 0L;
+
+    /** Maximum number of threads calling the endpoint adapter in async mode */
+    private int asyncPoolSize = 100;
+
+    /** Number of async requests queued when all async threads are busy */
+    private int asyncQueueCapacity = 0;
+
+    /** Handling of async requests exceeding pool size and queue capacity */
+    private String asyncRejectionPolicy = ASYNC_REJECTION_ABORT;
+
+    /** Executor calling the endpoint adapter in async mode */
+    private ThreadPoolTaskExecutor asyncExecutor;
+
+    /** Server thread pool sizing, zero or less for Jetty defaults */
+    private int minThreads = -1;
+    private int maxThreads = -1;
+
+    /** Connector acceptor and selector thread count, negative values for Jetty defaults */
+    private int acceptors = -1;
+    private int selectors = -1;
+
+    /** Request statistics */
+    private StatisticsHandler statisticsHandler;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -112,6 +159,11 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 }
             } catch (Exception e) {
                 throw new CitrusRuntimeException(e);
+            } finally {
+                if (asyncExecutor != null) {
+                    asyncExecutor.shutdown();
+                    asyncExecutor = null;
+                }
             }
         }
     }
@@ -126,7 +178,15 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 jettyServer = connector.getServer();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                jettyServer = new Server(createThreadPool());
+
+                ServerConnector serverConnector = new ServerConnector(jettyServer, acceptors, selectors);
+                serverConnector.setPort(port);
+                jettyServer.addConnector(serverConnector);
+            }
+
+            if (async) {
+                asyncExecutor = createAsyncExecutor();
             }
             
             HandlerCollection handlers = new HandlerCollection();
@@ -157,6 +217,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
                 FilterHolder filterHolder = new FilterHolder();
                 filterHolder.setName(filterEntry.getKey());
                 filterHolder.setFilter(filterEntry.getValue());
+                filterHolder.setAsyncSupported(async);
 
                 servletHandler.addFilter(filterHolder, filterMapping);
             }
@@ -178,8 +239,11 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
             
             handlers.addHandler(new DefaultHandler());
             handlers.addHandler(new RequestLogHandler());
+
+            statisticsHandler = new StatisticsHandler();
+            statisticsHandler.setHandler(handlers);
             
-            jettyServer.setHandler(handlers);
+            jettyServer.setHandler(statisticsHandler);
             
             try {
                 jettyServer.start();
@@ -189,13 +253,64 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         }
     }
 
+    /**
+     * Creates server thread pool with optional custom sizing.
+     * @return
+     */
+    private QueuedThreadPool createThreadPool() {
+        QueuedThreadPool threadPool = new QueuedThreadPool();
+
+        if (maxThreads > 0) {
+            threadPool.setMaxThreads(maxThreads);
+        }
+
+        if (minThreads > 0) {
+            threadPool.setMinThreads(minThreads);
+        }
+
+        return threadPool;
+    }
+
+    /**
+     * Creates bounded executor for endpoint adapter calls in async mode. Threads are created on demand up to the
+     * async pool size and discarded when idle.
+     * @return
+     */
+    private ThreadPoolTaskExecutor createAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncPoolSize);
+        executor.setMaxPoolSize(asyncPoolSize);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix(getName() + "-async-");
+        executor.setDaemon(true);
+
+        if (ASYNC_REJECTION_CALLER_RUNS.equals(asyncRejectionPolicy)) {
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        } else if (ASYNC_REJECTION_ABORT.equals(asyncRejectionPolicy)) {
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        } else {
+            throw new CitrusRuntimeException(String.format("Unsupported async rejection policy '%s' - use one of '%s', '%s'",
+                    asyncRejectionPolicy, ASYNC_REJECTION_ABORT, ASYNC_REJECTION_CALLER_RUNS));
+        }
+
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Adds default Spring dispatcher servlet with servlet mapping.
      */
     private void addDispatcherServlet() {
         ServletHolder servletHolder = new ServletHolder(getDispatherServlet());
         servletHolder.setName(getServletName());
-        servletHolder.setInitParameter("contextConfigLocation", contextConfigLocation);
+        servletHolder.setAsyncSupported(async);
+
+        if (async && DEFAULT_CONTEXT_CONFIG_LOCATION.equals(contextConfigLocation)) {
+            servletHolder.setInitParameter("contextConfigLocation", ASYNC_CONTEXT_CONFIG_LOCATION);
+        } else {
+            servletHolder.setInitParameter("contextConfigLocation", contextConfigLocation);
+        }
 
         servletHandler.addServlet(servletHolder);
 
@@ -225,6 +340,7 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
 
         FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
         filterHolder.setName("request-caching-filter");
+        filterHolder.setAsyncSupported(async);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -236,8 +352,13 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
         filterMapping.setFilterName("gzip-filter");
         filterMapping.setPathSpec("/*");
 
+        if (async) {
+            filterMapping.setDispatcherTypes(EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC));
+        }
+
         FilterHolder filterHolder = new FilterHolder(new GzipServletFilter());
         filterHolder.setName("gzip-filter");
+        filterHolder.setAsyncSupported(async);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -628,4 +749,197 @@ public class HttpServer extends AbstractServer implements ApplicationContextAwar
     public void setMessageConverter(HttpMessageConverter messageConverter) {
         this.messageConverter = messageConverter;
     }
+
+    /**
+     * Gets the number of requests currently handled including requests waiting asynchronously.
+     * @return
+     */
+    public int getActiveRequests() {
+        return statisticsHandler != null ? statisticsHandler.getRequestsActive() : 0;
+    }
+
+    /**
+     * Gets the maximum number of requests handled at the same time.
+     * @return
+     */
+    public int getMaxActiveRequests() {
+        return statisticsHandler != null ? statisticsHandler.getRequestsActiveMax() : 0;
+    }
+
+    /**
+     * Gets the number of requests currently occupying a server thread.
+     * @return
+     */
+    public int getActiveDispatches() {
+        return statisticsHandler != null ? statisticsHandler.getDispatchedActive() : 0;
+    }
+
+    /**
+     * Gets the number of requests currently waiting asynchronously for a response.
+     * @return
+     */
+    public int getAsyncWaitingRequests() {
+        return statisticsHandler != null ? statisticsHandler.getAsyncRequestsWaiting() : 0;
+    }
+
+    /**
+     * Gets the total number of requests handled since server startup.
+     * @return
+     */
+    public int getTotalRequests() {
+        return statisticsHandler != null ? statisticsHandler.getRequests() : 0;
+    }
+
+    /**
+     * Gets the async mode.
+     * @return
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets the async mode.
+     * @param async
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the async request timeout.
+     * @return
+     */
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    /**
+     * Sets the async request timeout in milliseconds. Zero or less disables the timeout.
+     * @param asyncTimeout
+     */
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Gets the executor calling the endpoint adapter in async mode. Only available while server is running.
+     * @return
+     */
+    public ThreadPoolTaskExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Gets the maximum number of threads calling the endpoint adapter in async mode.
+     * @return
+     */
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of threads calling the endpoint adapter in async mode.
+     * @param asyncPoolSize
+     */
+    public void setAsyncPoolSize(int asyncPoolSize) {
+        this.asyncPoolSize = asyncPoolSize;
+    }
+
+    /**
+     * Gets the number of async requests queued when all async threads are busy.
+     * @return
+     */
+    public int getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
+
+    /**
+     * Sets the number of async requests queued when all async threads are busy.
+     * @param asyncQueueCapacity
+     */
+    public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+    }
+
+    /**
+     * Gets the async rejection policy.
+     * @return
+     */
+    public String getAsyncRejectionPolicy() {
+        return asyncRejectionPolicy;
+    }
+
+    /**
+     * Sets the handling of async requests exceeding pool size and queue capacity. Policy "abort" responds with
+     * service unavailable status, policy "caller-runs" calls the endpoint adapter on the servlet container thread.
+     * @param asyncRejectionPolicy
+     */
+    public void setAsyncRejectionPolicy(String asyncRejectionPolicy) {
+        this.asyncRejectionPolicy = asyncRejectionPolicy;
+    }
+
+    /**
+     * Gets the minimum number of server threads.
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the minimum number of server threads.
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Gets the maximum number of server threads.
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the maximum number of server threads.
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the number of connector acceptor threads.
+     * @return
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Sets the number of connector acceptor threads.
+     * @param acceptors
+     */
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /**
+     * Gets the number of connector selector threads.
+     * @return
+     */
+    public int getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Sets the number of connector selector threads.
+     * @param selectors
+     */
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
 }
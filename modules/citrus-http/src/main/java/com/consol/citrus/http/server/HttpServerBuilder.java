@@ -221,4 +221,94 @@ public class HttpServerBuilder extends AbstractEndpointBuilder<HttpServer> {
         endpoint.setInterceptors((List) interceptors);
         return this;
     }
+
+    /**
+     * Enables async request handling.
+     * @param async
+     * @return
+     */
+    public HttpServerBuilder async(boolean async) {
+        endpoint.setAsync(async);
+        return this;
+    }
+
+    /**
+     * Sets the async request timeout.
+     * @param asyncTimeout
+     * @return
+     */
+    public HttpServerBuilder asyncTimeout(long asyncTimeout) {
+        endpoint.setAsyncTimeout(asyncTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the number of threads handling async requests.
+     * @param asyncPoolSize
+     * @return
+     */
+    public HttpServerBuilder asyncPoolSize(int asyncPoolSize) {
+        endpoint.setAsyncPoolSize(asyncPoolSize);
+        return this;
+    }
+
+    /**
+     * Sets the number of async requests queued when all async threads are busy.
+     * @param asyncQueueCapacity
+     * @return
+     */
+    public HttpServerBuilder asyncQueueCapacity(int asyncQueueCapacity) {
+        endpoint.setAsyncQueueCapacity(asyncQueueCapacity);
+        return this;
+    }
+
+    /**
+     * Sets the policy for rejected async requests.
+     * @param asyncRejectionPolicy
+     * @return
+     */
+    public HttpServerBuilder asyncRejectionPolicy(String asyncRejectionPolicy) {
+        endpoint.setAsyncRejectionPolicy(asyncRejectionPolicy);
+        return this;
+    }
+
+    /**
+     * Sets the minimum number of server threads.
+     * @param minThreads
+     * @return
+     */
+    public HttpServerBuilder minThreads(int minThreads) {
+        endpoint.setMinThreads(minThreads);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of server threads.
+     * @param maxThreads
+     * @return
+     */
+    public HttpServerBuilder maxThreads(int maxThreads) {
+        endpoint.setMaxThreads(maxThreads);
+        return this;
+    }
+
+    /**
+     * Sets the number of connector acceptor threads.
+     * @param acceptors
+     * @return
+     */
+    public HttpServerBuilder acceptors(int acceptors) {
+        endpoint.setAcceptors(acceptors);
+        return this;
+    }
+
+    /**
+     * Sets the number of connector selector threads.
+     * @param selectors
+     * @return
+     */
+    public HttpServerBuilder selectors(int selectors) {
+        endpoint.setSelectors(selectors);
+        return this;
+    }
 }
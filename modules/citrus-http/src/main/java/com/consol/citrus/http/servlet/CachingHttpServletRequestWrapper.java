@@ -36,6 +36,9 @@ import java.util.*;
  * @author Christoph Deppisch
  */
 public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper {
+    /** Maximum size of initial body buffer regardless of declared content length */
+    private static final int MAX_INITIAL_BUFFER_SIZE = 64 * 1024;
+
     /** Cached request data initialized when first read from input stream */
     private byte[] body;
 
@@ -69,14 +72,46 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
+        return new RequestCachingInputStream(getBody());
+    }
+
+    /**
+     * Gets the cached request body. Reads the body from the original request on first access. When request
+     * content length is known the body is read in chunks into a buffer growing up to the content length. Initial
+     * buffer size is limited so a large declared content length does not allocate memory before data is received.
+     * @return
+     * @throws IOException
+     */
+    public byte[] getBody() throws IOException {
         if (body == null) {
-            if (super.getInputStream() != null) {
-                body = FileCopyUtils.copyToByteArray(super.getInputStream());
-            } else {
+            InputStream inputStream = super.getInputStream();
+            int contentLength = getContentLength();
+
+            if (inputStream == null) {
                 body = new byte[] {};
+            } else if (contentLength >= 0) {
+                byte[] content = new byte[Math.min(contentLength, MAX_INITIAL_BUFFER_SIZE)];
+
+                int offset = 0;
+                int read = 0;
+                while (offset < contentLength && read != -1) {
+                    if (offset == content.length) {
+                        content = Arrays.copyOf(content, (int) Math.min((long) content.length * 2, contentLength));
+                    }
+
+                    read = inputStream.read(content, offset, content.length - offset);
+                    if (read > 0) {
+                        offset += read;
+                    }
+                }
+
+                body = offset == content.length ? content : Arrays.copyOf(content, offset);
+            } else {
+                body = FileCopyUtils.copyToByteArray(inputStream);
             }
         }
-        return new RequestCachingInputStream();
+
+        return body;
     }
 
     /**
@@ -103,7 +138,7 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
     private final class RequestCachingInputStream extends ServletInputStream {
         private final ByteArrayInputStream is;
 
-        private RequestCachingInputStream() {
+        private RequestCachingInputStream(byte[] body) {
             this.is = new ByteArrayInputStream(body);
         }
 
@@ -126,6 +161,16 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
         public int read() throws IOException {
             return is.read();
         }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return is.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return is.available();
+        }
     }
 
 }
\ No newline at end of file
@@ -18,7 +18,8 @@ package com.consol.citrus.http.servlet;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
-import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.controller.AbstractHttpMessageController;
+import com.consol.citrus.http.controller.AsyncHttpMessageController;
 import com.consol.citrus.http.interceptor.*;
 import com.consol.citrus.http.server.HttpServer;
 import org.springframework.context.ApplicationContext;
@@ -85,7 +86,7 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
      */
     protected void configureMessageController(ApplicationContext context) {
         if (context.containsBean(MESSAGE_CONTROLLER_BEAN_NAME)) {
-            HttpMessageController messageController = context.getBean(MESSAGE_CONTROLLER_BEAN_NAME, HttpMessageController.class);
+            AbstractHttpMessageController messageController = context.getBean(MESSAGE_CONTROLLER_BEAN_NAME, AbstractHttpMessageController.class);
             EndpointAdapter endpointAdapter = httpServer.getEndpointAdapter();
 
             HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
@@ -96,6 +97,11 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
             if (endpointAdapter != null) {
                 messageController.setEndpointAdapter(endpointAdapter);
             }
+
+            if (messageController instanceof AsyncHttpMessageController && httpServer.getAsyncExecutor() != null) {
+                ((AsyncHttpMessageController) messageController).setExecutor(httpServer.getAsyncExecutor());
+                ((AsyncHttpMessageController) messageController).setTimeout(httpServer.getAsyncTimeout());
+            }
         }
     }
 
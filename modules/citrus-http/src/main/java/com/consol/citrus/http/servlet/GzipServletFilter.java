@@ -27,7 +27,8 @@ import java.io.IOException;
 
 /**
  * Filter watches for gzip accept header and add gzip compression on response body when applicable. Only
- * applies gzip compression on requests with Accept-Encoding="gzip".
+ * applies gzip compression on requests with Accept-Encoding="gzip". Asynchronously handled requests
+ * are compressed and finished with the async dispatch.
  *
  * @author Christoph Deppisch
  * @since 2.6.2
@@ -37,13 +38,38 @@ public class GzipServletFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        if (response instanceof GzipHttpServletResponseWrapper) {
+            //async dispatch of already compressing response
+            filterChain.doFilter(request, response);
+            finish(request, (GzipHttpServletResponseWrapper) response);
+            return;
+        }
+
         String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
         if (acceptEncoding != null && acceptEncoding.indexOf("gzip") >= 0) {
             GzipHttpServletResponseWrapper gzipResponse = new GzipHttpServletResponseWrapper(response);
             filterChain.doFilter(request, gzipResponse);
-            gzipResponse.finish();
+            finish(request, gzipResponse);
         } else {
             filterChain.doFilter(request, response);
         }
     }
+
+    /**
+     * Finishes compressed response unless request processing continues asynchronously. In that case
+     * response is finished with the async dispatch.
+     * @param request
+     * @param gzipResponse
+     * @throws IOException
+     */
+    private void finish(HttpServletRequest request, GzipHttpServletResponseWrapper gzipResponse) throws IOException {
+        if (!isAsyncStarted(request)) {
+            gzipResponse.finish();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2013 the original author or authors.
+ * Copyright 2006-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,21 +17,33 @@
 package com.consol.citrus.http.client;
 
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.message.*;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.web.client.*;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
-import java.util.Collections;
-import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.*;
 
@@ -532,4 +544,200 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
         verify(restTemplate).setInterceptors(any(List.class));
         verify(restTemplate).setErrorHandler(any(ResponseErrorHandler.class));
     }
+
+    @Test
+    public void testAsyncHttpRequest() throws Exception {
+        final CountDownLatch requestsArrived = new CountDownLatch(3);
+        Server server = new Server(8097);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                String body = FileCopyUtils.copyToString(request.getReader());
+
+                if (target.equals("/error")) {
+                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                } else {
+                    requestsArrived.countDown();
+
+                    try {
+                        requestsArrived.await(5000L, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    response.setStatus(HttpServletResponse.SC_OK);
+                }
+
+                response.setContentType("text/plain;charset=UTF-8");
+                response.setHeader("Operation", request.getHeader("Operation"));
+                response.getWriter().write("Hello " + body);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl("http://localhost:8097/test");
+        endpointConfiguration.setAsync(true);
+        endpointConfiguration.setAsyncMaxConnections(3);
+
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+
+        try {
+            List<Message> requests = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                Message requestMessage = new DefaultMessage("client" + i).setHeader("Operation", "greet" + i);
+                requests.add(requestMessage);
+
+                httpClient.send(requestMessage, context);
+            }
+
+            Assert.assertTrue(requestsArrived.await(5000L, TimeUnit.MILLISECONDS));
+
+            for (int i = 1; i <= 3; i++) {
+                HttpMessage responseMessage = (HttpMessage) httpClient.receive(
+                        endpointConfiguration.getCorrelator().getCorrelationKey(requests.get(i - 1)), context, 5000L);
+                Assert.assertEquals(responseMessage.getPayload(String.class), "Hello client" + i);
+                Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.OK);
+                Assert.assertEquals(responseMessage.getHeader("Operation"), "greet" + i);
+            }
+
+            endpointConfiguration.setRequestUrl("http://localhost:8097/error");
+            endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.PROPAGATE);
+            httpClient.send(new DefaultMessage("client4"), context);
+
+            HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, 5000L);
+            Assert.assertEquals(responseMessage.getPayload(String.class), "Hello client4");
+            Assert.assertEquals(responseMessage.getStatusCode(), HttpStatus.FORBIDDEN);
+
+            endpointConfiguration.setErrorHandlingStrategy(ErrorHandlingStrategy.THROWS_EXCEPTION);
+            httpClient.send(new DefaultMessage("client5"), context);
+
+            try {
+                httpClient.receive(context, 5000L);
+                Assert.fail("Missing exception due to http error status code");
+            } catch (HttpClientErrorException e) {
+                Assert.assertEquals(e.getStatusCode(), HttpStatus.FORBIDDEN);
+                Assert.assertEquals(e.getResponseBodyAsString(), "Hello client5");
+            }
+        } finally {
+            endpointConfiguration.destroy();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testAsyncRequestTimeout() throws Exception {
+        Server server = new Server(8093);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                try {
+                    Thread.sleep(2000L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                response.setStatus(HttpServletResponse.SC_OK);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRequestUrl("http://localhost:8093/test");
+        endpointConfiguration.setAsync(true);
+        endpointConfiguration.setRequestTimeout(200L);
+        endpointConfiguration.setTimeout(5000L);
+
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+
+        try {
+            long started = System.currentTimeMillis();
+            httpClient.send(new DefaultMessage("slow"), context);
+
+            try {
+                httpClient.receive(context);
+                Assert.fail("Missing exception due to request timeout");
+            } catch (CitrusRuntimeException e) {
+                Assert.assertTrue(e.getMessage().startsWith("Failed to send HTTP request"), e.getMessage());
+                Assert.assertTrue(System.currentTimeMillis() - started < 2000L);
+            }
+        } finally {
+            endpointConfiguration.destroy();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testAsyncWithClientInterceptor() {
+        try {
+            new HttpClientBuilder()
+                    .requestUrl("http://localhost:8080/test")
+                    .async(true)
+                    .interceptor(Mockito.mock(ClientHttpRequestInterceptor.class))
+                    .build();
+            Assert.fail("Missing exception due to client interceptor set in async mode");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("does not support client interceptor"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testConnectionPoolStatistics() throws Exception {
+        Server server = new Server(8098);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write("Hello " + FileCopyUtils.copyToString(request.getReader()));
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setRequestMethod(HttpMethod.POST);
+        endpointConfiguration.setRequestUrl("http://localhost:8098/test");
+        endpointConfiguration.setMaxConnections(10);
+        endpointConfiguration.setMaxConnectionsPerRoute(5);
+
+        HttpClient httpClient = new HttpClient(endpointConfiguration);
+        httpClient.setName("pooledHttpClient");
+
+        ObjectName objectName = new ObjectName("com.consol.citrus.http:type=ConnectionPool,name=\"pooledHttpClient\"");
+
+        try {
+            for (int i = 1; i <= 2; i++) {
+                httpClient.send(new DefaultMessage("client" + i), context);
+
+                HttpMessage responseMessage = (HttpMessage) httpClient.receive(context, 5000L);
+                Assert.assertEquals(responseMessage.getPayload(String.class), "Hello client" + i);
+            }
+
+            ConnectionPoolStatistics statistics = endpointConfiguration.getConnectionPoolStatistics();
+            Assert.assertEquals(statistics.getRequestCount(), 2L);
+            Assert.assertEquals(statistics.getConnectCount(), 1L);
+            Assert.assertTrue(statistics.getAverageRequestTime() > 0.0D);
+            Assert.assertTrue(statistics.getMaxConnectTime() > 0.0D);
+            Assert.assertEquals(statistics.getLeasedConnections(), 0);
+            Assert.assertEquals(statistics.getPendingConnections(), 0);
+            Assert.assertEquals(statistics.getAvailableConnections(), 1);
+            Assert.assertEquals(statistics.getMaxConnections(), 10);
+
+            Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+            Assert.assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "RequestCount"), 2L);
+
+            statistics.reset();
+            Assert.assertEquals(statistics.getRequestCount(), 0L);
+        } finally {
+            httpClient.destroy();
+            endpointConfiguration.destroy();
+            server.stop();
+        }
+
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
 }
@@ -21,7 +21,9 @@ import com.consol.citrus.annotations.CitrusAnnotations;
 import com.consol.citrus.annotations.CitrusEndpoint;
 import com.consol.citrus.context.SpringBeanReferenceResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.http.client.HttpClient;
+import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessageConverter;
 import com.consol.citrus.message.DefaultMessageCorrelator;
 import com.consol.citrus.message.MessageCorrelator;
@@ -29,6 +31,7 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.*;
 import org.springframework.web.client.RestTemplate;
@@ -69,6 +72,16 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
     @HttpClientConfig(requestUrl = "http://localhost:8080/test",
             interceptors={ "clientInterceptor" },
             pollingInterval=250,
+            async=true,
+            asyncMaxConnections=16,
+            asyncMaxQueuedRequests=1000,
+            requestTimeout=30000L,
+            maxConnections=100,
+            maxConnectionsPerRoute=20,
+            keepAliveTimeout=30000L,
+            validateAfterInactivity=1000,
+            sendBufferSize=8192,
+            receiveBufferSize=16384,
             actor="testActor")
     private HttpClient httpClient4;
 
@@ -86,7 +99,7 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
     @Mock
     private MessageCorrelator messageCorrelator = Mockito.mock(MessageCorrelator.class);
     @Mock
-    private ClientHttpRequestInterceptor clientInterceptor = Mockito.mock(ClientHttpRequestInterceptor.class);
+    private LoggingClientInterceptor clientInterceptor = Mockito.mock(LoggingClientInterceptor.class);
     @Mock
     private TestActor testActor = Mockito.mock(TestActor.class);
     @Mock
@@ -121,6 +134,13 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpClient1.getEndpointConfiguration().isDefaultAcceptHeader(), true);
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertFalse(httpClient1.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getAsyncMaxConnections(), 64);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getAsyncMaxQueuedRequests(), 4096);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getRequestTimeout(), -1L);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxConnections(), -1);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxConnectionsPerRoute(), -1);
+        Assert.assertNotNull(httpClient1.getEndpointConfiguration().getConnectionPoolStatistics());
 
         // 2nd message sender
         Assert.assertNotNull(httpClient2.getEndpointConfiguration().getRestTemplate());
@@ -149,5 +169,43 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getClientInterceptors().size(), 1L);
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getClientInterceptors().get(0), clientInterceptor);
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(httpClient4.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getAsyncMaxConnections(), 16);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getAsyncMaxQueuedRequests(), 1000);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getRequestTimeout(), 30000L);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxConnectionsPerRoute(), 20);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getKeepAliveTimeout(), 30000L);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getValidateAfterInactivity(), 1000);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getSendBufferSize(), 8192);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getReceiveBufferSize(), 16384);
+        PoolingHttpClientConnectionManager connectionManager = (PoolingHttpClientConnectionManager) httpClient4.getEndpointConfiguration().getConnectionManager();
+        Assert.assertEquals(connectionManager.getMaxTotal(), 100);
+        Assert.assertEquals(connectionManager.getDefaultMaxPerRoute(), 20);
+        Assert.assertEquals(connectionManager.getValidateAfterInactivity(), 1000);
+        Assert.assertEquals(connectionManager.getDefaultSocketConfig().getSndBufSize(), 8192);
+        Assert.assertEquals(connectionManager.getDefaultSocketConfig().getRcvBufSize(), 16384);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getConnectionPoolStatistics().getMaxConnections(), 100);
+    }
+
+    @Test
+    public void testAsyncClientWithRequestFactory() {
+        try {
+            CitrusAnnotations.injectEndpoints(new AsyncClientHolder(), context);
+            Assert.fail("Missing exception due to request factory set in async mode");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("does not support custom 'request-factory'"), e.getMessage());
+        }
+    }
+
+    /**
+     * Holds async client with unsupported request factory setting.
+     */
+    private static class AsyncClientHolder {
+        @CitrusEndpoint
+        @HttpClientConfig(requestUrl = "http://localhost:8080/test",
+                requestFactory="soapRequestFactory",
+                async=true)
+        private HttpClient httpClient;
     }
 }
@@ -73,7 +73,16 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
     @CitrusEndpoint
     @HttpServerConfig(autoStart=false,
             port=8084,
-            servletHandler="servletHandler")
+            servletHandler="servletHandler",
+            async=true,
+            asyncTimeout=10000L,
+            asyncPoolSize=10,
+            asyncQueueCapacity=50,
+            asyncRejectionPolicy="caller-runs",
+            minThreads=4,
+            maxThreads=50,
+            acceptors=2,
+            selectors=4)
     private HttpServer httpServer4;
 
     @CitrusEndpoint
@@ -158,6 +167,15 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpServer1.getContextPath(), "/");
         Assert.assertEquals(httpServer1.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(httpServer1.getServletMappingPath(), "/*");
+        Assert.assertFalse(httpServer1.isAsync());
+        Assert.assertEquals(httpServer1.getAsyncTimeout(), 0L);
+        Assert.assertEquals(httpServer1.getAsyncPoolSize(), 100);
+        Assert.assertEquals(httpServer1.getAsyncQueueCapacity(), 0);
+        Assert.assertEquals(httpServer1.getAsyncRejectionPolicy(), "abort");
+        Assert.assertEquals(httpServer1.getMinThreads(), -1);
+        Assert.assertEquals(httpServer1.getMaxThreads(), -1);
+        Assert.assertEquals(httpServer1.getAcceptors(), -1);
+        Assert.assertEquals(httpServer1.getSelectors(), -1);
 
         // 2nd message sender
         Assert.assertNotNull(httpServer2.getConnector());
@@ -203,6 +221,15 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertFalse(httpServer4.isAutoStart());
         Assert.assertFalse(httpServer4.isUseRootContextAsParent());
         Assert.assertEquals(httpServer4.getServletName(), "httpServer4-servlet");
+        Assert.assertTrue(httpServer4.isAsync());
+        Assert.assertEquals(httpServer4.getAsyncTimeout(), 10000L);
+        Assert.assertEquals(httpServer4.getAsyncPoolSize(), 10);
+        Assert.assertEquals(httpServer4.getAsyncQueueCapacity(), 50);
+        Assert.assertEquals(httpServer4.getAsyncRejectionPolicy(), "caller-runs");
+        Assert.assertEquals(httpServer4.getMinThreads(), 4);
+        Assert.assertEquals(httpServer4.getMaxThreads(), 50);
+        Assert.assertEquals(httpServer4.getAcceptors(), 2);
+        Assert.assertEquals(httpServer4.getSelectors(), 4);
         Assert.assertNotNull(httpServer4.getInterceptors());
         Assert.assertEquals(httpServer4.getInterceptors().size(), 0L);
         
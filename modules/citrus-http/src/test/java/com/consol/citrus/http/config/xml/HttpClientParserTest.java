@@ -20,7 +20,9 @@ import com.consol.citrus.TestActor;
 import com.consol.citrus.http.client.HttpClient;
 import com.consol.citrus.message.DefaultMessageCorrelator;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.parsing.BeanDefinitionParsingException;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.InterceptingClientHttpRequestFactory;
@@ -50,7 +52,13 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(httpClient.getEndpointConfiguration().isDefaultAcceptHeader(), true);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 5000L);
-
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncMaxConnections(), 64);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncMaxQueuedRequests(), 4096);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestTimeout(), -1L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), -1);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), -1);
+        Assert.assertNotNull(httpClient.getEndpointConfiguration().getConnectionPoolStatistics());
 
         // 2nd message sender
         httpClient = clients.get("httpClient2");
@@ -82,6 +90,23 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNotNull(httpClient.getEndpointConfiguration().getClientInterceptors());
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().get(0), beanDefinitionContext.getBean("clientInterceptor"));
         Assert.assertEquals(httpClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isAsync());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncMaxConnections(), 16);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getAsyncMaxQueuedRequests(), 1000);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getRequestTimeout(), 30000L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 20);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getKeepAliveTimeout(), 30000L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getValidateAfterInactivity(), 1000);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getSendBufferSize(), 8192);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getReceiveBufferSize(), 16384);
+        PoolingHttpClientConnectionManager connectionManager = (PoolingHttpClientConnectionManager) httpClient.getEndpointConfiguration().getConnectionManager();
+        Assert.assertEquals(connectionManager.getMaxTotal(), 100);
+        Assert.assertEquals(connectionManager.getDefaultMaxPerRoute(), 20);
+        Assert.assertEquals(connectionManager.getValidateAfterInactivity(), 1000);
+        Assert.assertEquals(connectionManager.getDefaultSocketConfig().getSndBufSize(), 8192);
+        Assert.assertEquals(connectionManager.getDefaultSocketConfig().getRcvBufSize(), 16384);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getConnectionPoolStatistics().getMaxConnections(), 100);
     }
 
     @Test
@@ -104,4 +129,14 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         }
     }
 
+    @Test
+    public void testAsyncWithRestTemplate() {
+        try {
+            createApplicationContext("failed3");
+            Assert.fail("Missing bean creation exception due to rest template set in async mode");
+        } catch (BeanCreationException e) {
+            Assert.assertTrue(e.getMessage().contains("does not support custom 'rest-template'"), e.getMessage());
+        }
+    }
+
 }
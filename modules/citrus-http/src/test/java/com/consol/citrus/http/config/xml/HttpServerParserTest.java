@@ -61,6 +61,15 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(server.getContextPath(), "/");
         Assert.assertEquals(server.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(server.getServletMappingPath(), "/*");
+        Assert.assertFalse(server.isAsync());
+        Assert.assertEquals(server.getAsyncTimeout(), 0L);
+        Assert.assertEquals(server.getAsyncPoolSize(), 100);
+        Assert.assertEquals(server.getAsyncQueueCapacity(), 0);
+        Assert.assertEquals(server.getAsyncRejectionPolicy(), "abort");
+        Assert.assertEquals(server.getMinThreads(), -1);
+        Assert.assertEquals(server.getMaxThreads(), -1);
+        Assert.assertEquals(server.getAcceptors(), -1);
+        Assert.assertEquals(server.getSelectors(), -1);
 
         // 2nd message sender
         server = servers.get("httpServer2");
@@ -107,6 +116,15 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isAutoStart());
         Assert.assertFalse(server.isUseRootContextAsParent());
         Assert.assertEquals(server.getServletName(), "httpServer4-servlet");
+        Assert.assertTrue(server.isAsync());
+        Assert.assertEquals(server.getAsyncTimeout(), 10000L);
+        Assert.assertEquals(server.getAsyncPoolSize(), 10);
+        Assert.assertEquals(server.getAsyncQueueCapacity(), 50);
+        Assert.assertEquals(server.getAsyncRejectionPolicy(), "caller-runs");
+        Assert.assertEquals(server.getMinThreads(), 4);
+        Assert.assertEquals(server.getMaxThreads(), 50);
+        Assert.assertEquals(server.getAcceptors(), 2);
+        Assert.assertEquals(server.getSelectors(), 4);
         Assert.assertNotNull(server.getInterceptors());
         Assert.assertEquals(server.getInterceptors().size(), 0L);
         
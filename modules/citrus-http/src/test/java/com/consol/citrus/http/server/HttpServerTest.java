@@ -18,20 +18,32 @@ package com.consol.citrus.http.server;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.endpoint.adapter.StaticEndpointAdapter;
 import com.consol.citrus.http.client.HttpClient;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.http.message.HttpMessageHeaders;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.web.client.ResourceAccessException;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Simple unit test for HttpServer
@@ -81,4 +93,204 @@ public class HttpServerTest extends AbstractTestNGUnitTest {
             Assert.assertTrue(e.getMessage().contains("Connection refused"));
         }
     }
+
+    @Test
+    public void asyncRequestHandlingTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        HttpServer server = new HttpServer();
+        server.setName("asyncHttpServer");
+        server.setPort(8096);
+        server.setAsync(true);
+        server.setMaxThreads(20);
+        server.setApplicationContext(applicationContext);
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                try {
+                    release.await(5000L, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return new HttpMessage("Hello " + message.getPayload(String.class));
+            }
+        });
+
+        server.startup();
+
+        ExecutorService clients = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                final String name = "client" + i;
+                final boolean gzip = i == 0;
+                responses.add(clients.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return post("http://localhost:8096/test", name, gzip);
+                    }
+                }));
+            }
+
+            long timeout = System.currentTimeMillis() + 5000L;
+            while (server.getAsyncWaitingRequests() < 3 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50L);
+            }
+
+            Assert.assertEquals(server.getAsyncWaitingRequests(), 3);
+            Assert.assertEquals(server.getActiveRequests(), 3);
+            Assert.assertEquals(server.getActiveDispatches(), 0);
+
+            release.countDown();
+
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(responses.get(i).get(5000L, TimeUnit.MILLISECONDS), "Hello client" + i);
+            }
+
+            Assert.assertEquals(server.getTotalRequests(), 3);
+            Assert.assertEquals(server.getMaxActiveRequests(), 3);
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void asyncRequestRejectedTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        HttpServer server = new HttpServer();
+        server.setName("rejectingHttpServer");
+        server.setPort(8094);
+        server.setAsync(true);
+        server.setAsyncPoolSize(1);
+        server.setAsyncQueueCapacity(0);
+        server.setApplicationContext(applicationContext);
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                try {
+                    release.await(5000L, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return new HttpMessage("Hello " + message.getPayload(String.class));
+            }
+        });
+
+        server.startup();
+
+        ExecutorService clients = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> response = clients.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return post("http://localhost:8094/test", "client", false);
+                }
+            });
+
+            long timeout = System.currentTimeMillis() + 5000L;
+            while (server.getAsyncExecutor().getActiveCount() < 1 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50L);
+            }
+
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:8094/test").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "text/plain");
+            connection.getOutputStream().write("rejected".getBytes());
+            connection.getOutputStream().close();
+
+            try {
+                Assert.assertEquals(connection.getResponseCode(), HttpStatus.SERVICE_UNAVAILABLE.value());
+            } finally {
+                connection.disconnect();
+            }
+
+            release.countDown();
+            Assert.assertEquals(response.get(5000L, TimeUnit.MILLISECONDS), "Hello client");
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void binaryContentTest() throws Exception {
+        final byte[] requestBody = new byte[] { 0x00, (byte) 0xFF, (byte) 0xC3, 0x28, 0x0A, (byte) 0x80 };
+        final byte[] responseBody = new byte[] { (byte) 0xFE, 0x01, (byte) 0xA0, (byte) 0xA1 };
+        final List<Object> received = new ArrayList<>();
+
+        HttpServer server = new HttpServer();
+        server.setName("binaryHttpServer");
+        server.setPort(8099);
+        server.setApplicationContext(applicationContext);
+        server.setEndpointAdapter(new StaticEndpointAdapter() {
+            @Override
+            protected Message handleMessageInternal(Message message) {
+                received.add(message.getPayload());
+                return new HttpMessage(responseBody)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            }
+        });
+
+        server.startup();
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:8099/test").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            connection.getOutputStream().write(requestBody);
+            connection.getOutputStream().close();
+
+            Assert.assertEquals(connection.getResponseCode(), HttpStatus.OK.value());
+            Assert.assertEquals(connection.getContentType(), MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+            InputStream response = connection.getInputStream();
+            try {
+                Assert.assertEquals(FileCopyUtils.copyToByteArray(response), responseBody);
+            } finally {
+                connection.disconnect();
+            }
+
+            Assert.assertEquals(received.size(), 1);
+            Assert.assertTrue(received.get(0) instanceof byte[]);
+            Assert.assertEquals((byte[]) received.get(0), requestBody);
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private String post(String url, String body, boolean gzip) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "text/plain");
+        if (gzip) {
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+        }
+
+        connection.getOutputStream().write(body.getBytes());
+        connection.getOutputStream().close();
+
+        Assert.assertEquals(connection.getResponseCode(), HttpStatus.OK.value());
+
+        InputStream response = connection.getInputStream();
+        if (gzip) {
+            Assert.assertEquals(connection.getHeaderField("Content-Encoding"), "gzip");
+            response = new GZIPInputStream(response);
+        }
+
+        try {
+            return FileUtils.readToString(response);
+        } finally {
+            response.close();
+            connection.disconnect();
+        }
+    }
 }
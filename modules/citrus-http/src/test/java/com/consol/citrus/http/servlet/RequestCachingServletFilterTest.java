@@ -111,4 +111,32 @@ public class RequestCachingServletFilterTest {
         filterChain.doFilter(request, response);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCachedBodyWithLargeDeclaredContentLength() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "http://localhost:8080/cache") {
+            @Override
+            public int getContentLength() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        request.setContent("Some content".getBytes());
+
+        CachingHttpServletRequestWrapper cachingRequest = new CachingHttpServletRequestWrapper(request);
+        Assert.assertEquals(cachingRequest.getBody(), "Some content".getBytes());
+    }
+
+    @Test
+    public void testCachedBodyExceedingInitialBuffer() throws Exception {
+        byte[] content = new byte[200 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "http://localhost:8080/cache");
+        request.setContent(content);
+
+        CachingHttpServletRequestWrapper cachingRequest = new CachingHttpServletRequestWrapper(request);
+        Assert.assertEquals(cachingRequest.getBody(), content);
+        Assert.assertEquals(StreamUtils.copyToByteArray(cachingRequest.getInputStream()), content);
+    }
+}
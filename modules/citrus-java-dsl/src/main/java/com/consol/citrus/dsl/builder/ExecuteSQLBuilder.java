@@ -20,6 +20,7 @@ import com.consol.citrus.actions.ExecuteSQLAction;
 import com.consol.citrus.util.SqlUtils;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.util.List;
@@ -114,4 +115,22 @@ public class ExecuteSQLBuilder extends AbstractTestActionBuilder<ExecuteSQLActio
 		action.setIgnoreErrors(ignoreErrors);
 		return this;
 	}
+
+	/**
+	 * Sets the number of statements sent to the database in one JDBC batch.
+	 * @param batchSize
+	 */
+	public ExecuteSQLBuilder batchSize(int batchSize) {
+		action.setBatchSize(batchSize);
+		return this;
+	}
+
+	/**
+	 * Sets the transaction manager executing all statements in one single transaction.
+	 * @param transactionManager
+	 */
+	public ExecuteSQLBuilder transactionManager(PlatformTransactionManager transactionManager) {
+		action.setTransactionManager(transactionManager);
+		return this;
+	}
 }
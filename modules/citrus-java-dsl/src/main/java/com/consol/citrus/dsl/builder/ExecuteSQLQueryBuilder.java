@@ -189,4 +189,13 @@ public class ExecuteSQLQueryBuilder extends AbstractTestActionBuilder<ExecuteSQL
 		action.setValidator(validator);
 		return this;
 	}
+
+	/**
+	 * Sets the number of rows fetched from the database in one round trip.
+	 * @param fetchSize
+	 */
+	public ExecuteSQLQueryBuilder fetchSize(int fetchSize) {
+		action.setFetchSize(fetchSize);
+		return this;
+	}
 }
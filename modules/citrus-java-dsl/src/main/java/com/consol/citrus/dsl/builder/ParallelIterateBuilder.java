@@ -0,0 +1,132 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.dsl.builder;
+
+import com.consol.citrus.container.ParallelIterate;
+import com.consol.citrus.dsl.design.TestDesigner;
+import com.consol.citrus.dsl.runner.TestRunner;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ParallelIterateBuilder extends AbstractTestContainerBuilder<ParallelIterate> {
+
+    /**
+     * Default constructor using designer and action container.
+     * @param designer
+     * @param action
+     */
+    public ParallelIterateBuilder(TestDesigner designer, ParallelIterate action) {
+        super(designer, action);
+    }
+
+    /**
+     * Default constructor using test designer.
+     * @param designer
+     */
+    public ParallelIterateBuilder(TestDesigner designer) {
+        this(designer, new ParallelIterate());
+    }
+
+    /**
+     * Default constructor using runner and action container.
+     * @param runner
+     * @param action
+     */
+    public ParallelIterateBuilder(TestRunner runner, ParallelIterate action) {
+        super(runner, action);
+    }
+
+    /**
+     * Default constructor using test runner.
+     * @param runner
+     */
+    public ParallelIterateBuilder(TestRunner runner) {
+        this(runner, new ParallelIterate());
+    }
+
+    /**
+     * Sets the number of iterations.
+     * @param iterations
+     * @return
+     */
+    public ParallelIterateBuilder iterations(int iterations) {
+        action.setIterations(iterations);
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     * @param workers
+     * @return
+     */
+    public ParallelIterateBuilder workers(int workers) {
+        action.setWorkers(workers);
+        return this;
+    }
+
+    /**
+     * Sets the index variable name.
+     * @param name
+     * @return
+     */
+    public ParallelIterateBuilder index(String name) {
+        action.setIndexName(name);
+        return this;
+    }
+
+    /**
+     * Sets the index start value.
+     * @param index
+     * @return
+     */
+    public ParallelIterateBuilder startsWith(int index) {
+        action.setStart(index);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of iterations started per second.
+     * @param rate
+     * @return
+     */
+    public ParallelIterateBuilder rate(double rate) {
+        action.setRate(rate);
+        return this;
+    }
+
+    /**
+     * Sets the ramp-up time in milliseconds.
+     * @param rampUp
+     * @return
+     */
+    public ParallelIterateBuilder rampUp(long rampUp) {
+        action.setRampUp(rampUp);
+        return this;
+    }
+
+    /**
+     * Sets the variable name prefix for statistic results.
+     * @param prefix
+     * @return
+     */
+    public ParallelIterateBuilder statistics(String prefix) {
+        action.setStatisticsPrefix(prefix);
+        return this;
+    }
+}
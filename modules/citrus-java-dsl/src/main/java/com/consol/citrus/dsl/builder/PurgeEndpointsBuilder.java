@@ -139,6 +139,15 @@ public class PurgeEndpointsBuilder extends AbstractTestActionBuilder<PurgeEndpoi
 		return this;
 	}
 
+	/**
+	 * Sets the maximum number of endpoints purged in parallel.
+	 * @param concurrency
+	 */
+	public PurgeEndpointsBuilder concurrency(int concurrency) {
+		action.setConcurrency(concurrency);
+		return this;
+	}
+
 	/**
 	 * Sets the Spring bean factory for using endpoint names.
 	 * @param applicationContext
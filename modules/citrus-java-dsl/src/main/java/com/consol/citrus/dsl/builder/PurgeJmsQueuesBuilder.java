@@ -136,6 +136,15 @@ public class PurgeJmsQueuesBuilder extends AbstractTestActionBuilder<PurgeJmsQue
         return this;
     }
 
+    /**
+     * Sets the maximum number of queues purged in parallel.
+     * @param concurrency
+     */
+    public PurgeJmsQueuesBuilder concurrency(int concurrency) {
+        action.setConcurrency(concurrency);
+        return this;
+    }
+
     /**
      * Checks if connection factory is set properly.
      * @return
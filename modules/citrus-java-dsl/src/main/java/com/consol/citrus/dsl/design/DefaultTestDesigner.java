@@ -589,6 +589,13 @@ public class DefaultTestDesigner implements TestDesigner {
         return builder;
     }
 
+    @Override
+    public ParallelIterateBuilder parallelIterate() {
+        ParallelIterateBuilder builder = new ParallelIterateBuilder(this);
+        containers.push(builder.build());
+        return builder;
+    }
+
     @Override
     public RepeatOnErrorBuilder repeatOnError() {
         RepeatOnErrorBuilder builder = new RepeatOnErrorBuilder(this);
@@ -461,6 +461,12 @@ public interface TestDesigner extends ApplicationContextAware {
      */
     ParallelBuilder parallel();
 
+    /**
+     * Adds parallel iterate container with nested test actions.
+     * @return
+     */
+    ParallelIterateBuilder parallelIterate();
+
     /**
      * Adds repeat on error until true container with nested test actions.
      * @return
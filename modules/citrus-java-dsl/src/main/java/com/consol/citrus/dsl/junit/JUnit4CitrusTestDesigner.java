@@ -382,6 +382,11 @@ public class JUnit4CitrusTestDesigner extends JUnit4CitrusTest implements TestDe
         return testDesigner.parallel();
     }
 
+    @Override
+    public ParallelIterateBuilder parallelIterate() {
+        return testDesigner.parallelIterate();
+    }
+
     @Override
     public RepeatOnErrorBuilder repeatOnError() {
         return testDesigner.repeatOnError();
@@ -316,6 +316,11 @@ public class JUnit4CitrusTestRunner extends JUnit4CitrusTest implements TestRunn
         return testRunner.parallel();
     }
 
+    @Override
+    public ParallelIterateBuilder parallelIterate() {
+        return testRunner.parallelIterate();
+    }
+
     @Override
     public RepeatOnErrorBuilder repeatOnError() {
         return testRunner.repeatOnError();
@@ -464,6 +464,13 @@ public class DefaultTestRunner implements TestRunner {
         return builder;
     }
 
+    @Override
+    public ParallelIterateBuilder parallelIterate() {
+        ParallelIterateBuilder builder = new ParallelIterateBuilder(this);
+        containers.push(builder.build());
+        return builder;
+    }
+
     @Override
     public RepeatOnErrorBuilder repeatOnError() {
         RepeatOnErrorBuilder builder = new RepeatOnErrorBuilder(this);
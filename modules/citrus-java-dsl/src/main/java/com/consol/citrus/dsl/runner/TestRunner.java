@@ -405,6 +405,12 @@ public interface TestRunner extends ApplicationContextAware {
      */
     ParallelBuilder parallel();
 
+    /**
+     * Run nested test actions a given number of times using a pool of worker threads.
+     * @return
+     */
+    ParallelIterateBuilder parallelIterate();
+
     /**
      * Adds repeat on error until true container with nested test actions.
      * @return
@@ -383,6 +383,11 @@ public class TestNGCitrusTestDesigner extends TestNGCitrusTest implements TestDe
         return testDesigner.parallel();
     }
 
+    @Override
+    public ParallelIterateBuilder parallelIterate() {
+        return testDesigner.parallelIterate();
+    }
+
     @Override
     public RepeatOnErrorBuilder repeatOnError() {
         return testDesigner.repeatOnError();
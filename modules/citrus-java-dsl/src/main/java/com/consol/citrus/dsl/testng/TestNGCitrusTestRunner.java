@@ -315,6 +315,11 @@ public class TestNGCitrusTestRunner extends TestNGCitrusTest implements TestRunn
         return testRunner.parallel();
     }
 
+    @Override
+    public ParallelIterateBuilder parallelIterate() {
+        return testRunner.parallelIterate();
+    }
+
     @Override
     public RepeatOnErrorBuilder repeatOnError() {
         return testRunner.repeatOnError();
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.dsl.design;
+
+import com.consol.citrus.TestCase;
+import com.consol.citrus.actions.EchoAction;
+import com.consol.citrus.container.ParallelIterate;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class ParallelIterateTestDesignerTest extends AbstractTestNGUnitTest {
+
+    @Test
+    public void testParallelIterateBuilder() {
+        MockTestDesigner builder = new MockTestDesigner(applicationContext, context) {
+            @Override
+            public void configure() {
+                parallelIterate()
+                    .iterations(100)
+                    .workers(4)
+                    .index("n")
+                    .startsWith(0)
+                    .rate(50)
+                    .rampUp(1000)
+                    .statistics("load.")
+                    .actions(echo("${n}"), sleep(100));
+            }
+        };
+
+        builder.configure();
+
+        TestCase test = builder.getTestCase();
+        assertEquals(test.getActionCount(), 1);
+        assertEquals(test.getActions().get(0).getClass(), ParallelIterate.class);
+        assertEquals(test.getActions().get(0).getName(), "parallel-iterate");
+
+        ParallelIterate container = (ParallelIterate)test.getActions().get(0);
+        assertEquals(container.getActionCount(), 2);
+        assertEquals(container.getTestAction(0).getClass(), EchoAction.class);
+        assertEquals(container.getIterations(), 100);
+        assertEquals(container.getWorkers(), 4);
+        assertEquals(container.getIndexName(), "n");
+        assertEquals(container.getStart(), 0);
+        assertEquals(container.getRate(), 50.0D);
+        assertEquals(container.getRampUp(), 1000L);
+        assertEquals(container.getStatisticsPrefix(), "load.");
+    }
+}
@@ -24,14 +24,19 @@ import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.validation.script.ScriptValidationContext;
 import com.consol.citrus.validation.script.sql.SqlResultSetScriptValidator;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.util.*;
 
 import static org.mockito.Mockito.*;
@@ -54,8 +59,9 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
 
         reset(jdbcTemplate);
 
-        when(jdbcTemplate.queryForList(anyString())).thenReturn(results)
-                                                    .thenReturn(Collections.singletonList(Collections.<String, Object>singletonMap("CNT_EPISODES", "100000")));
+        doAnswer(resultSet(results))
+                .doAnswer(resultSet(Collections.singletonList(Collections.<String, Object>singletonMap("CNT_EPISODES", "100000"))))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -105,8 +111,8 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
         results.add(Collections.<String, Object>singletonMap("NAME", "Sheldon"));
 
         reset(jdbcTemplate);
-        when(jdbcTemplate.queryForList("SELECT NAME FROM ACTORS")).thenReturn(results);
-        when(jdbcTemplate.queryForList("SELECT COUNT(*) as CNT_EPISODES FROM EPISODES")).thenReturn(Collections.singletonList(Collections.<String, Object>singletonMap("CNT_EPISODES", "9999")));
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq("SELECT NAME FROM ACTORS"), any(RowCallbackHandler.class));
+        doAnswer(resultSet(Collections.singletonList(Collections.<String, Object>singletonMap("CNT_EPISODES", "9999")))).when(jdbcTemplate).query(eq("SELECT COUNT(*) as CNT_EPISODES FROM EPISODES"), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -155,7 +161,7 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
         results.add(Collections.<String, Object>singletonMap("NAME", "Sheldon"));
 
         reset(jdbcTemplate);
-        when(jdbcTemplate.queryForList("SELECT NAME FROM ACTORS")).thenReturn(results);
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq("SELECT NAME FROM ACTORS"), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -191,7 +197,7 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
 
         reset(jdbcTemplate, resource);
         when(resource.getInputStream()).thenReturn(new ByteArrayInputStream("assert rows[0].NAME == 'Radj'".getBytes()));
-        when(jdbcTemplate.queryForList("SELECT NAME FROM ACTORS")).thenReturn(results);
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq("SELECT NAME FROM ACTORS"), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -226,7 +232,7 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
         results.add(Collections.<String, Object>singletonMap("NAME", "Sheldon"));
 
         reset(jdbcTemplate);
-        when(jdbcTemplate.queryForList("SELECT NAME FROM ACTORS")).thenReturn(results);
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq("SELECT NAME FROM ACTORS"), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -263,7 +269,7 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
 
         reset(jdbcTemplate, resource);
         when(resource.getInputStream()).thenReturn(new ByteArrayInputStream("assert rows[1].NAME == 'Howard'".getBytes()));
-        when(jdbcTemplate.queryForList("SELECT NAME FROM ACTORS")).thenReturn(results);
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq("SELECT NAME FROM ACTORS"), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -299,7 +305,7 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
         results.add(Collections.<String, Object>singletonMap("NAME", "Sheldon"));
 
         reset(jdbcTemplate, validator);
-        when(jdbcTemplate.queryForList("SELECT NAME FROM ACTORS")).thenReturn(results);
+        doAnswer(resultSet(results)).when(jdbcTemplate).query(eq("SELECT NAME FROM ACTORS"), any(RowCallbackHandler.class));
         MockTestRunner builder = new MockTestRunner(getClass().getSimpleName(), applicationContext, context) {
             @Override
             public void execute() {
@@ -345,4 +351,34 @@ public class ExecuteSQLQueryTestRunnerTest extends AbstractTestNGUnitTest {
 
         throw new AssertionError(String.format("Missing column in result set for name '%s'", columnName));
     }
+
+    /**
+     * Creates answer streaming given result rows to the row callback handler of a query invocation.
+     * @param results
+     * @return
+     */
+    private Answer<Void> resultSet(final List<Map<String, Object>> results) {
+        return new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                RowCallbackHandler rowCallbackHandler = invocation.getArgument(1);
+                for (Map<String, Object> row : results) {
+                    List<String> columnNames = new ArrayList<>(row.keySet());
+                    ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+                    ResultSet resultSet = Mockito.mock(ResultSet.class);
+
+                    when(resultSet.getMetaData()).thenReturn(metaData);
+                    when(metaData.getColumnCount()).thenReturn(columnNames.size());
+                    for (int i = 0; i < columnNames.size(); i++) {
+                        when(metaData.getColumnLabel(i + 1)).thenReturn(columnNames.get(i));
+                        when(resultSet.getObject(i + 1)).thenReturn(row.get(columnNames.get(i)));
+                    }
+
+                    rowCallbackHandler.processRow(resultSet);
+                }
+
+                return null;
+            }
+        };
+    }
 }
@@ -26,7 +26,12 @@ import org.springframework.jms.support.destination.DynamicDestinationResolver;
 
 import javax.jms.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
 
 /**
  * Action to purge JMS queue destinations by simply consuming 
@@ -34,8 +39,10 @@ import java.util.List;
  * many cases this action clears all messages from a destination regardless of
  * JMS broker vendor implementations.
  *
- * Consumer will continue to receive messages until message receive timeout is reached,
- * so no messages are left.
+ * Destinations are purged concurrently on the task executor of the test context with a limited number of destinations
+ * purged at the same time, each using its own session on a shared connection. Consumer drains all available messages
+ * in batches until message receive timeout is reached. Queue browser confirms that no messages are left before the
+ * destination is considered empty. Number of purged messages per destination is available after execution.
  *  
  * @author Christoph Deppisch
  * @since 2007
@@ -54,8 +61,14 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     /** Time to wait until timeout in ms */
     private long receiveTimeout = 100;
     
-    /** Wait some time between message consumption in ms */
-    private long sleepTime = 350;
+    /** Optional time to wait between message consumption in ms, no pause by default */
+    private long sleepTime = 0;
+
+    /** Maximum number of destinations purged concurrently */
+    private int concurrency = 4;
+
+    /** Number of purged messages per destination name of last execution */
+    private volatile Map<String, Integer> purgedMessages = Collections.emptyMap();
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(PurgeJmsQueuesAction.class);
@@ -73,59 +86,97 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         log.debug("Purging JMS queues...");
         
         Connection connection = null;
-        Session session = null;
+        List<Future<Integer>> results = null;
         
         try {
         	connection = createConnection();
-            session = createSession(connection);
             connection.start();
-            
+
+            List<Callable<Integer>> purgeTasks = new ArrayList<>();
+            List<String> destinationNames = new ArrayList<>();
             for (Queue queue : queues) {
-                purgeQueue(queue, session);
+                purgeTasks.add(new PurgeTask(connection, queue, null));
+                destinationNames.add(queue.getQueueName());
             }
             for (String queueName : queueNames) {
-                purgeQueue(queueName, session);
+                purgeTasks.add(new PurgeTask(connection, null, queueName));
+                destinationNames.add(queueName);
+            }
+
+            List<Integer> purged = new ArrayList<>();
+            if (Math.min(concurrency, purgeTasks.size()) <= 1) {
+                for (Callable<Integer> purgeTask : purgeTasks) {
+                    purged.add(purgeTask.call());
+                }
+            } else {
+                results = context.getTaskExecutor().invokeAll(purgeTasks, concurrency);
+                for (Future<Integer> result : results) {
+                    purged.add(getPurgeResult(result));
+                }
+            }
+
+            Map<String, Integer> purgedByName = new LinkedHashMap<>();
+            StringBuilder report = new StringBuilder();
+            for (int i = 0; i < purged.size(); i++) {
+                purgedByName.put(destinationNames.get(i), purged.get(i));
+                report.append(i > 0 ? ", " : "").append(destinationNames.get(i)).append("=").append(purged.get(i));
             }
 
+            purgedMessages = Collections.unmodifiableMap(purgedByName);
+            log.info("Purged JMS queues: " + report.toString());
         } catch (JMSException e) {
             log.error("Error while establishing jms connection", e);
             throw new CitrusRuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while purging JMS queues", e);
+        } catch (CitrusRuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CitrusRuntimeException("Failed to purge JMS queues", e);
         } finally {
-            JmsUtils.closeSession(session);
+            if (results != null) {
+                for (Future<Integer> result : results) {
+                    result.cancel(true);
+                }
+            }
+
             JmsUtils.closeConnection(connection, true);
         }
-
-        log.info("Purged JMS queues");
     }
 
     /**
-     * Purges a queue destination identified by its name.
-     * @param queueName
-     * @param session
-     * @throws JMSException
+     * Gets number of purged messages from purge task result.
+     * @param result
+     * @return
+     * @throws InterruptedException
      */
-    private void purgeQueue(String queueName, Session session) throws JMSException {
-        purgeDestination(getDestination(session, queueName), session, queueName);
-    }
+    private int getPurgeResult(Future<Integer> result) throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JMSException) {
+                log.error("Error while purging jms destination", e.getCause());
+            }
 
-    /**
-     * Purges a queue destination. 
-     * @param queue
-     * @param session
-     * @throws JMSException
-     */
-    private void purgeQueue(Queue queue, Session session) throws JMSException {
-        purgeDestination(queue, session, queue.getQueueName());
+            if (e.getCause() instanceof CitrusRuntimeException) {
+                throw (CitrusRuntimeException) e.getCause();
+            }
+
+            throw new CitrusRuntimeException(e.getCause());
+        }
     }
 
     /**
-     * Purge destination by receiving all available messages.
+     * Purge destination by receiving all available messages. Messages are received in batches without waiting as long
+     * as messages are available. Queue browser confirms that destination is empty after each batch.
      * @param destination
      * @param session
      * @param destinationName
+     * @return number of purged messages
      * @throws JMSException
      */
-    private void purgeDestination(Destination destination, Session session, String destinationName) throws JMSException {
+    private int purgeDestination(Destination destination, Session session, String destinationName) throws JMSException {
         if (log.isDebugEnabled()) {
             log.debug("Try to purge destination " + destinationName);
         }
@@ -133,28 +184,61 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         int messagesPurged = 0;
         MessageConsumer messageConsumer = session.createConsumer(destination);
         try {
-            javax.jms.Message message;
+            int batch;
             do {
-                message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receive();
-    
-                if (message != null) {
-                    log.debug("Removed message from destination " + destinationName);
-                    messagesPurged++;
-
-                    try {
-                        Thread.sleep(sleepTime);
-                    } catch (InterruptedException e) {
-                        log.warn("Interrupted during wait", e);
+                batch = 0;
+                javax.jms.Message message = (receiveTimeout >= 0) ? messageConsumer.receive(receiveTimeout) : messageConsumer.receive();
+
+                while (message != null) {
+                    batch++;
+
+                    if (sleepTime > 0) {
+                        try {
+                            Thread.sleep(sleepTime);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new CitrusRuntimeException("Interrupted while purging destination " + destinationName, e);
+                        }
                     }
+
+                    message = messageConsumer.receiveNoWait();
                 }
-            } while (message != null);
 
-            if (log.isDebugEnabled()) {
-                log.debug("Purged " + messagesPurged + " messages from destination");
-            }
+                messagesPurged += batch;
+            } while (batch > 0 && !isEmpty(destination, session));
+
+            log.info("Purged " + messagesPurged + " messages from destination " + destinationName);
         } finally {
             JmsUtils.closeMessageConsumer(messageConsumer);
         }
+
+        return messagesPurged;
+    }
+
+    /**
+     * Checks that queue destination has no messages left using a queue browser. Destinations other than queues are
+     * considered empty.
+     * @param destination
+     * @param session
+     * @return
+     * @throws JMSException
+     */
+    private boolean isEmpty(Destination destination, Session session) throws JMSException {
+        if (!(destination instanceof Queue)) {
+            return true;
+        }
+
+        QueueBrowser browser = session.createBrowser((Queue) destination);
+        if (browser == null) {
+            return true;
+        }
+
+        try {
+            Enumeration<?> messages = browser.getEnumeration();
+            return messages == null || !messages.hasMoreElements();
+        } finally {
+            JmsUtils.closeQueueBrowser(browser);
+        }
     }
     
     /**
@@ -257,7 +341,32 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
     }
 
     /**
-     * Sets the sleepTime.
+     * Gets the number of purged messages per destination name of the last execution.
+     * @return
+     */
+    public Map<String, Integer> getPurgedMessages() {
+        return purgedMessages;
+    }
+
+    /**
+     * Gets the maximum number of destinations purged concurrently.
+     * @return
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the maximum number of destinations purged concurrently.
+     * @param concurrency
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sets the time to pause after each purged message. Default is no pause, previous versions paused 350 milliseconds
+     * after each message.
      * @param sleepTime the sleepTime to set
      */
     public void setSleepTime(long sleepTime) {
@@ -272,4 +381,32 @@ public class PurgeJmsQueuesAction extends AbstractTestAction {
         return sleepTime;
     }
 
+    /**
+     * Purges single destination using its own session on the shared connection.
+     */
+    private final class PurgeTask implements Callable<Integer> {
+        private final Connection connection;
+        private final Queue queue;
+        private final String queueName;
+
+        PurgeTask(Connection connection, Queue queue, String queueName) {
+            this.connection = connection;
+            this.queue = queue;
+            this.queueName = queueName;
+        }
+
+        @Override
+        public Integer call() throws JMSException {
+            Session session = createSession(connection);
+            try {
+                if (queue != null) {
+                    return purgeDestination(queue, session, queue.getQueueName());
+                } else {
+                    return purgeDestination(getDestination(session, queueName), session, queueName);
+                }
+            } finally {
+                JmsUtils.closeSession(session);
+            }
+        }
+    }
 }
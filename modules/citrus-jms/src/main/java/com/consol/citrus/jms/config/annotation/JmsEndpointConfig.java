@@ -71,6 +71,18 @@ public @interface JmsEndpointConfig {
      */
     boolean useObjectMessages() default false;
 
+    /**
+     * Use persistent consumer with local message buffer.
+     * @return
+     */
+    boolean persistentConsumer() default false;
+
+    /**
+     * Maximum number of messages prefetched by persistent consumer.
+     * @return
+     */
+    int persistentConsumerCapacity() default 1000;
+
     /**
      * Timeout.
      * @return
@@ -87,6 +87,8 @@ public class JmsEndpointConfigParser extends AbstractAnnotationConfigParser<JmsE
 
         builder.pubSubDomain(annotation.pubSubDomain());
         builder.useObjectMessages(annotation.useObjectMessages());
+        builder.persistentConsumer(annotation.persistentConsumer());
+        builder.persistentConsumerCapacity(annotation.persistentConsumerCapacity());
 
         if (StringUtils.hasText(annotation.messageConverter())) {
             builder.messageConverter(getReferenceResolver().resolve(annotation.messageConverter(), JmsMessageConverter.class));
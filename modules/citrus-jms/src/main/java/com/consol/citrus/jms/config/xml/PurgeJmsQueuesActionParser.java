@@ -60,6 +60,7 @@ public class PurgeJmsQueuesActionParser implements BeanDefinitionParser {
         beanDefinition.addPropertyReference("connectionFactory", connectionFactory);
         
         BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("receive-timeout"), "receiveTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("concurrency"), "concurrency");
         
         List<String> queueNames = new ArrayList<String>();
         ManagedList<BeanDefinition> queueRefs = new ManagedList<BeanDefinition>();
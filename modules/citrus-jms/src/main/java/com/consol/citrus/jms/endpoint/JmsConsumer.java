@@ -25,6 +25,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 /**
+ * Consumer receives JMS messages on the endpoint destination. By default each receive operation uses the JMS template
+ * to receive or selectively receive a message. When persistent consumer is enabled on the endpoint configuration a
+ * single long-lived consumer prefetches messages into a local {@link JmsMessageBuffer} and receive operations
+ * evaluate message selectors on this buffer.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -36,6 +41,9 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
     /** Endpoint configuration */
     private final JmsEndpointConfiguration endpointConfiguration;
 
+    /** Local message buffer used with persistent consumer */
+    private JmsMessageBuffer messageBuffer;
+
     /**
      * Default constructor using endpoint.
      * @param name
@@ -58,12 +66,15 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
 
         log.debug("Receiving JMS message on destination: '" + destinationName + "'");
 
-        endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
         javax.jms.Message receivedJmsMessage;
 
-        if (StringUtils.hasText(selector)) {
+        if (endpointConfiguration.isPersistentConsumer()) {
+            receivedJmsMessage = getMessageBuffer().receive(selector, timeout);
+        } else if (StringUtils.hasText(selector)) {
+            endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
             receivedJmsMessage = endpointConfiguration.getJmsTemplate().receiveSelected(selector);
         } else {
+            endpointConfiguration.getJmsTemplate().setReceiveTimeout(timeout);
             receivedJmsMessage = endpointConfiguration.getJmsTemplate().receive();
         }
 
@@ -79,4 +90,26 @@ public class JmsConsumer extends AbstractSelectiveMessageConsumer {
         return receivedMessage;
     }
 
+    /**
+     * Gets the local message buffer. Creates new buffer on first access.
+     * @return
+     */
+    private synchronized JmsMessageBuffer getMessageBuffer() {
+        if (messageBuffer == null) {
+            messageBuffer = new JmsMessageBuffer(endpointConfiguration);
+        }
+
+        return messageBuffer;
+    }
+
+    /**
+     * Destroy method stops persistent consumer if any.
+     */
+    public synchronized void destroy() {
+        if (messageBuffer != null) {
+            messageBuffer.destroy();
+            messageBuffer = null;
+        }
+    }
+
 }
@@ -107,6 +107,26 @@ public class JmsEndpointBuilder extends AbstractEndpointBuilder<JmsEndpoint> {
         return this;
     }
 
+    /**
+     * Sets the persistentConsumer property.
+     * @param persistentConsumer
+     * @return
+     */
+    public JmsEndpointBuilder persistentConsumer(boolean persistentConsumer) {
+        endpoint.getEndpointConfiguration().setPersistentConsumer(persistentConsumer);
+        return this;
+    }
+
+    /**
+     * Sets the persistentConsumerCapacity property.
+     * @param persistentConsumerCapacity
+     * @return
+     */
+    public JmsEndpointBuilder persistentConsumerCapacity(int persistentConsumerCapacity) {
+        endpoint.getEndpointConfiguration().setPersistentConsumerCapacity(persistentConsumerCapacity);
+        return this;
+    }
+
     /**
      * Sets the default timeout.
      * @param timeout
@@ -64,6 +64,12 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     /** Should always use object messages */
     private boolean useObjectMessages = false;
 
+    /** Use single long-lived consumer with local message buffer */
+    private boolean persistentConsumer = false;
+
+    /** Maximum number of messages prefetched by persistent consumer */
+    private int persistentConsumerCapacity = 1000;
+
     /**
      * Gets the destination name.
      * @return the destinationName
@@ -260,4 +266,37 @@ public class JmsEndpointConfiguration extends AbstractEndpointConfiguration {
     public void setUseObjectMessages(boolean useObjectMessages) {
         this.useObjectMessages = useObjectMessages;
     }
+
+    /**
+     * Determines weather to use a single long-lived consumer that prefetches messages into a local buffer. Selective
+     * receive operations are then evaluated on the local buffer instead of creating a new consumer on the broker.
+     * @return
+     */
+    public boolean isPersistentConsumer() {
+        return persistentConsumer;
+    }
+
+    /**
+     * Sets the persistent consumer mode.
+     * @param persistentConsumer
+     */
+    public void setPersistentConsumer(boolean persistentConsumer) {
+        this.persistentConsumer = persistentConsumer;
+    }
+
+    /**
+     * Gets the maximum number of messages the persistent consumer prefetches into its local buffer.
+     * @return
+     */
+    public int getPersistentConsumerCapacity() {
+        return persistentConsumerCapacity;
+    }
+
+    /**
+     * Sets the maximum number of messages the persistent consumer prefetches into its local buffer.
+     * @param persistentConsumerCapacity
+     */
+    public void setPersistentConsumerCapacity(int persistentConsumerCapacity) {
+        this.persistentConsumerCapacity = persistentConsumerCapacity;
+    }
 }
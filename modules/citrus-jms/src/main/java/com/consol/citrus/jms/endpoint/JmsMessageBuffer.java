@@ -0,0 +1,510 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.connection.ConnectionFactoryUtils;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
+import org.springframework.util.StringUtils;
+
+import javax.jms.*;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local message buffer fed by a single long-lived JMS consumer on the endpoint destination. Incoming messages are
+ * prefetched into memory and indexed by common JMS headers and all custom message properties. Selective receive
+ * operations evaluate the message selector against this index instead of creating a new selective consumer on the
+ * broker for each receive.
+ *
+ * Supported message selectors are equality expressions on JMS headers or message properties combined with AND, for
+ * instance <code>JMSCorrelationID = '123' AND operation = 'sayHello'</code>. Values are compared with their type, numeric
+ * values are compared numerically.
+ *
+ * Messages are acknowledged as soon as they arrive in the buffer. The buffer holds a limited number of messages, when
+ * the buffer is full message delivery blocks so further messages stay on the broker. Buffered messages are kept when the
+ * buffer is stopped, e.g. because of connection failures, and are only discarded when the buffer is destroyed.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class JmsMessageBuffer {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JmsMessageBuffer.class);
+
+    /** Single selector expression term */
+    private static final String TERM = "([A-Za-z_$][\\w$.]*)\\s*=\\s*('(?:[^']|'')*'|[-+]?\\d+(?:\\.\\d+)?|(?i:true|false))";
+
+    /** Pattern matching single terms in message selector */
+    private static final Pattern TERM_PATTERN = Pattern.compile(TERM);
+
+    /** Pattern matching supported message selectors */
+    private static final Pattern SELECTOR_PATTERN = Pattern.compile("\\s*" + TERM + "(?:\\s+(?i:AND)\\s+" + TERM + ")*\\s*");
+
+    /** Maximum number of cached message selectors */
+    private static final int SELECTOR_CACHE_CAPACITY = 256;
+
+    /** Compiled message selectors shared by all buffers, least recently used selectors are evicted */
+    private static final Map<String, Map<String, Object>> SELECTORS = new LinkedHashMap<String, Map<String, Object>>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+            return size() > SELECTOR_CACHE_CAPACITY;
+        }
+    };
+
+    /** Endpoint configuration */
+    private final JmsEndpointConfiguration endpointConfiguration;
+
+    /** Buffered messages in arrival order */
+    private final Map<Long, BufferedMessage> messages = new LinkedHashMap<>();
+
+    /** Sequence numbers of buffered messages by header name and value */
+    private final Map<String, Map<Object, Set<Long>>> index = new HashMap<>();
+
+    /** Guards buffer and index */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signals new messages in buffer */
+    private final Condition messageArrived = lock.newCondition();
+
+    /** Signals free space in buffer or stopped consumer */
+    private final Condition spaceAvailable = lock.newCondition();
+
+    /** Maximum number of buffered messages */
+    private final int capacity;
+
+    /** Whether message delivery into this buffer is active, guarded by lock */
+    private boolean running = false;
+
+    /** Sequence number of last buffered message */
+    private long sequence = 0L;
+
+    /** Long-lived JMS resources */
+    private Connection connection;
+    private Session session;
+    private MessageConsumer consumer;
+
+    /**
+     * Default constructor using endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public JmsMessageBuffer(JmsEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+        this.capacity = Math.max(1, endpointConfiguration.getPersistentConsumerCapacity());
+    }
+
+    /**
+     * Creates connection, session and consumer on the endpoint destination and starts message delivery
+     * into this buffer. Does nothing when buffer is already started.
+     */
+    public synchronized void start() {
+        if (connection != null) {
+            return;
+        }
+
+        setRunning(true);
+
+        JmsTemplate jmsTemplate = endpointConfiguration.getJmsTemplate();
+        try {
+            connection = jmsTemplate.getConnectionFactory().createConnection();
+            connection.setExceptionListener(new ExceptionListener() {
+                @Override
+                public void onException(JMSException exception) {
+                    log.warn("Persistent JMS consumer connection failed - reconnecting on next receive", exception);
+                    stop();
+                }
+            });
+
+            session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            consumer = session.createConsumer(getDestination(jmsTemplate));
+            consumer.setMessageListener(new MessageListener() {
+                @Override
+                public void onMessage(Message message) {
+                    add(message);
+                }
+            });
+
+            connection.start();
+
+            if (log.isDebugEnabled()) {
+                log.debug("Started persistent JMS consumer on destination: '" + endpointConfiguration.getDefaultDestinationName() + "'");
+            }
+        } catch (JMSException e) {
+            stop();
+            throw new CitrusRuntimeException("Failed to start persistent JMS consumer", e);
+        }
+    }
+
+    /**
+     * Closes consumer, session and connection. Buffered messages have already been acknowledged and are kept so they
+     * can be received after the buffer is started again.
+     */
+    public synchronized void stop() {
+        // release delivery thread waiting for free space before closing the consumer
+        setRunning(false);
+
+        JmsUtils.closeMessageConsumer(consumer);
+        JmsUtils.closeSession(session);
+        ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getJmsTemplate().getConnectionFactory(), true);
+
+        consumer = null;
+        session = null;
+        connection = null;
+    }
+
+    /**
+     * Stops the buffer and discards all buffered messages.
+     */
+    public synchronized void destroy() {
+        stop();
+
+        lock.lock();
+        try {
+            if (!messages.isEmpty()) {
+                log.warn("Discarding " + messages.size() + " unreceived messages of persistent JMS consumer");
+            }
+
+            messages.clear();
+            index.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the running state and wakes up delivery thread waiting for free space.
+     * @param running
+     */
+    private void setRunning(boolean running) {
+        lock.lock();
+        try {
+            this.running = running;
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receives next buffered message matching the given selector. Waits for matching messages to arrive until timeout
+     * is reached. Timeout of zero waits indefinitely, negative timeout does not wait at all. Returns null on timeout.
+     * @param selector
+     * @param timeout
+     * @return
+     */
+    public Message receive(String selector, long timeout) {
+        Map<String, Object> conditions = compile(selector);
+        start();
+
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                BufferedMessage match = find(conditions);
+                if (match != null) {
+                    remove(match);
+                    return match.message;
+                }
+
+                if (timeout < 0 || (timeout > 0 && nanos <= 0)) {
+                    return null;
+                }
+
+                if (timeout == 0) {
+                    messageArrived.await();
+                } else {
+                    nanos = messageArrived.awaitNanos(nanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for JMS message", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of currently buffered messages.
+     * @return
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return messages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds message to buffer and index. Called by the JMS provider delivery thread. Blocks while the buffer is full so
+     * the message is not acknowledged and further messages stay on the broker. Message is added regardless of the
+     * capacity when the buffer gets stopped while waiting as the message may already be acknowledged then.
+     * @param message
+     */
+    private void add(Message message) {
+        BufferedMessage bufferedMessage;
+        try {
+            bufferedMessage = new BufferedMessage(message, getIndexValues(message));
+        } catch (JMSException e) {
+            log.error("Failed to read JMS message headers for persistent consumer buffer", e);
+            return;
+        }
+
+        lock.lock();
+        try {
+            while (running && messages.size() >= capacity) {
+                spaceAvailable.awaitUninterruptibly();
+            }
+
+            bufferedMessage.sequence = ++sequence;
+            messages.put(bufferedMessage.sequence, bufferedMessage);
+
+            for (Map.Entry<String, Object> value : bufferedMessage.values.entrySet()) {
+                Map<Object, Set<Long>> valueIndex = index.get(value.getKey());
+                if (valueIndex == null) {
+                    valueIndex = new HashMap<>();
+                    index.put(value.getKey(), valueIndex);
+                }
+
+                Set<Long> sequences = valueIndex.get(value.getValue());
+                if (sequences == null) {
+                    sequences = new LinkedHashSet<>();
+                    valueIndex.put(value.getValue(), sequences);
+                }
+
+                sequences.add(bufferedMessage.sequence);
+            }
+
+            messageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes message from buffer and index.
+     * @param bufferedMessage
+     */
+    private void remove(BufferedMessage bufferedMessage) {
+        messages.remove(bufferedMessage.sequence);
+        spaceAvailable.signal();
+
+        for (Map.Entry<String, Object> value : bufferedMessage.values.entrySet()) {
+            Map<Object, Set<Long>> valueIndex = index.get(value.getKey());
+            Set<Long> sequences = valueIndex.get(value.getValue());
+            sequences.remove(bufferedMessage.sequence);
+
+            if (sequences.isEmpty()) {
+                valueIndex.remove(value.getValue());
+                if (valueIndex.isEmpty()) {
+                    index.remove(value.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds oldest buffered message matching all conditions. Uses the smallest index entry of all conditions
+     * as candidates.
+     * @param conditions
+     * @return
+     */
+    private BufferedMessage find(Map<String, Object> conditions) {
+        if (messages.isEmpty()) {
+            return null;
+        }
+
+        if (conditions.isEmpty()) {
+            return messages.values().iterator().next();
+        }
+
+        Set<Long> candidates = null;
+        for (Map.Entry<String, Object> condition : conditions.entrySet()) {
+            Map<Object, Set<Long>> valueIndex = index.get(condition.getKey());
+            Set<Long> sequences = valueIndex != null ? valueIndex.get(condition.getValue()) : null;
+
+            if (sequences == null) {
+                return null;
+            }
+
+            if (candidates == null || sequences.size() < candidates.size()) {
+                candidates = sequences;
+            }
+        }
+
+        for (Long candidate : candidates) {
+            BufferedMessage bufferedMessage = messages.get(candidate);
+            if (bufferedMessage.matches(conditions)) {
+                return bufferedMessage;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the values of all indexed JMS headers and custom properties. Numeric values are normalized so equal numbers
+     * of different type or scale are equal.
+     * @param message
+     * @return
+     * @throws JMSException
+     */
+    private Map<String, Object> getIndexValues(Message message) throws JMSException {
+        Map<String, Object> values = new HashMap<>();
+
+        putIfPresent(values, "JMSCorrelationID", message.getJMSCorrelationID());
+        putIfPresent(values, "JMSMessageID", message.getJMSMessageID());
+        putIfPresent(values, "JMSType", message.getJMSType());
+        values.put("JMSPriority", normalize(message.getJMSPriority()));
+        values.put("JMSDeliveryMode", message.getJMSDeliveryMode() == DeliveryMode.PERSISTENT ? "PERSISTENT" : "NON_PERSISTENT");
+
+        Enumeration<?> propertyNames = message.getPropertyNames();
+        while (propertyNames.hasMoreElements()) {
+            String propertyName = propertyNames.nextElement().toString();
+            Object value = message.getObjectProperty(propertyName);
+
+            if (value instanceof Number) {
+                values.put(propertyName, normalize((Number) value));
+            } else if (value != null) {
+                values.put(propertyName, value);
+            }
+        }
+
+        return values;
+    }
+
+    private static void putIfPresent(Map<String, Object> values, String name, String value) {
+        if (value != null) {
+            values.put(name, value);
+        }
+    }
+
+    /**
+     * Converts number to decimal without trailing zeros so numeric values compare independent of type and scale.
+     * Values without decimal representation such as NaN are kept as is.
+     * @param value
+     * @return
+     */
+    private static Object normalize(Number value) {
+        try {
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    /**
+     * Compiles message selector to required header values. Empty selector matches any message. Compiled selectors
+     * are cached up to a fixed number of selectors.
+     * @param selector
+     * @return
+     */
+    private static Map<String, Object> compile(String selector) {
+        if (!StringUtils.hasText(selector)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Object> conditions;
+        synchronized (SELECTORS) {
+            conditions = SELECTORS.get(selector);
+        }
+
+        if (conditions == null) {
+            if (!SELECTOR_PATTERN.matcher(selector).matches()) {
+                throw new CitrusRuntimeException("Unsupported message selector for persistent JMS consumer: '" + selector + "' - " +
+                        "only equality expressions combined with AND are supported");
+            }
+
+            conditions = new HashMap<>();
+            Matcher matcher = TERM_PATTERN.matcher(selector);
+            while (matcher.find()) {
+                String literal = matcher.group(2);
+                Object value;
+                if (literal.startsWith("'")) {
+                    value = literal.substring(1, literal.length() - 1).replace("''", "'");
+                } else if (literal.equalsIgnoreCase("true") || literal.equalsIgnoreCase("false")) {
+                    value = Boolean.valueOf(literal);
+                } else {
+                    value = new BigDecimal(literal).stripTrailingZeros();
+                }
+
+                conditions.put(matcher.group(1), value);
+            }
+
+            conditions = Collections.unmodifiableMap(conditions);
+            synchronized (SELECTORS) {
+                SELECTORS.put(selector, conditions);
+            }
+        }
+
+        return conditions;
+    }
+
+    /**
+     * Gets the destination to consume from.
+     * @param jmsTemplate
+     * @return
+     * @throws JMSException
+     */
+    private Destination getDestination(JmsTemplate jmsTemplate) throws JMSException {
+        if (jmsTemplate.getDefaultDestination() != null) {
+            return jmsTemplate.getDefaultDestination();
+        }
+
+        if (jmsTemplate.getDestinationResolver() != null) {
+            return jmsTemplate.getDestinationResolver().resolveDestinationName(session, jmsTemplate.getDefaultDestinationName(), endpointConfiguration.isPubSubDomain());
+        }
+
+        return new DynamicDestinationResolver().resolveDestinationName(session, jmsTemplate.getDefaultDestinationName(), endpointConfiguration.isPubSubDomain());
+    }
+
+    /**
+     * Buffered message holding its sequence number and indexed values.
+     */
+    private static final class BufferedMessage {
+        private final Message message;
+        private final Map<String, Object> values;
+        private long sequence;
+
+        BufferedMessage(Message message, Map<String, Object> values) {
+            this.message = message;
+            this.values = values;
+        }
+
+        boolean matches(Map<String, Object> conditions) {
+            for (Map.Entry<String, Object> condition : conditions.entrySet()) {
+                if (!condition.getValue().equals(values.get(condition.getKey()))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
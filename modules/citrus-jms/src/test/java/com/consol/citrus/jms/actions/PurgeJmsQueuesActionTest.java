@@ -167,4 +167,39 @@ public class PurgeJmsQueuesActionTest extends AbstractTestNGUnitTest {
         purgeQueuesAction.execute(context);
         verify(connection).start();
     }
+
+    @Test
+    public void testPurgeDrainsBatchesUntilBrowserConfirmsEmpty() throws JMSException {
+        PurgeJmsQueuesAction purgeQueuesAction = new PurgeJmsQueuesAction();
+        purgeQueuesAction.setConnectionFactory(connectionFactory);
+
+        List<String> queueNames = new ArrayList<String>();
+        queueNames.add("myQueue");
+        purgeQueuesAction.setQueueNames(queueNames);
+
+        TextMessage jmsRequest = new TextMessageImpl("<TestRequest>Hello World!</TestRequest>", new HashMap<String, Object>());
+        QueueBrowser queueBrowser = Mockito.mock(QueueBrowser.class);
+
+        reset(connectionFactory, connection, session, messageConsumer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createQueue("myQueue")).thenReturn(queue);
+
+        when(session.createConsumer(queue)).thenReturn(messageConsumer);
+        when(session.createBrowser(queue)).thenReturn(queueBrowser);
+        when(queueBrowser.getEnumeration()).thenReturn(Collections.enumeration(Collections.singletonList(jmsRequest)))
+                .thenReturn(Collections.emptyEnumeration());
+        when(messageConsumer.receive(100L)).thenReturn(jmsRequest).thenReturn(jmsRequest);
+        when(messageConsumer.receiveNoWait()).thenReturn(jmsRequest).thenReturn(null).thenReturn(null);
+
+        purgeQueuesAction.execute(context);
+        verify(connection).start();
+        verify(messageConsumer, times(2)).receive(100L);
+        verify(messageConsumer, times(3)).receiveNoWait();
+        verify(queueBrowser, times(2)).close();
+        verify(messageConsumer).close();
+    }
 }
@@ -55,6 +55,8 @@ public class JmsEndpointConfigParserTest extends AbstractTestNGUnitTest {
     @CitrusEndpoint
     @JmsEndpointConfig(pubSubDomain=true,
             useObjectMessages=true,
+            persistentConsumer=true,
+            persistentConsumerCapacity=50,
             jmsTemplate="jmsTemplate")
     private JmsEndpoint jmsEndpoint3;
 
@@ -107,6 +109,8 @@ public class JmsEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertNull(jmsEndpoint1.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().isUseObjectMessages(), false);
+        Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().isPersistentConsumer(), false);
+        Assert.assertEquals(jmsEndpoint1.getEndpointConfiguration().getPersistentConsumerCapacity(), 1000);
 
         // 2nd message receiver
         Assert.assertNotNull(jmsEndpoint2.getEndpointConfiguration().getConnectionFactory());
@@ -122,6 +126,8 @@ public class JmsEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertNull(jmsEndpoint3.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint3.getEndpointConfiguration().isPubSubDomain(), true);
         Assert.assertEquals(jmsEndpoint3.getEndpointConfiguration().isUseObjectMessages(), true);
+        Assert.assertEquals(jmsEndpoint3.getEndpointConfiguration().isPersistentConsumer(), true);
+        Assert.assertEquals(jmsEndpoint3.getEndpointConfiguration().getPersistentConsumerCapacity(), 50);
 
         // 4th message receiver
         Assert.assertNotNull(jmsEndpoint4.getActor());
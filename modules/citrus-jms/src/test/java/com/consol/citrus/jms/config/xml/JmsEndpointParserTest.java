@@ -45,6 +45,8 @@ public class JmsEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(jmsEndpoint.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isUseObjectMessages(), false);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isPersistentConsumer(), false);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getPersistentConsumerCapacity(), 1000);
 
         // 2nd message receiver
         jmsEndpoint = endpoints.get("jmsEndpoint2");
@@ -62,6 +64,8 @@ public class JmsEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertNull(jmsEndpoint.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isPubSubDomain(), true);
         Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isUseObjectMessages(), true);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().isPersistentConsumer(), true);
+        Assert.assertEquals(jmsEndpoint.getEndpointConfiguration().getPersistentConsumerCapacity(), 50);
 
         // 4th message receiver
         jmsEndpoint = endpoints.get("jmsEndpoint4");
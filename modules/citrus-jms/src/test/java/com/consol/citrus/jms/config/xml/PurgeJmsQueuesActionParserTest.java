@@ -45,6 +45,7 @@ public class PurgeJmsQueuesActionParserTest extends AbstractActionParserTest<Pur
         action = getNextTestActionFromTest();
         Assert.assertNotNull(action.getReceiveTimeout());
         Assert.assertEquals(action.getReceiveTimeout(), 125);
+        Assert.assertEquals(action.getConcurrency(), 2);
         Assert.assertNotNull(action.getConnectionFactory());
         Assert.assertEquals(action.getQueues().size(), 0);
         Assert.assertEquals(action.getQueueNames().size(), 3);
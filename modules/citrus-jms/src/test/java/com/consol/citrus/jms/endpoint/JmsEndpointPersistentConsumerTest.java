@@ -0,0 +1,195 @@
+/*
+ * Copyright 2006-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.jms.message.JmsMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.SelectiveConsumer;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import javax.jms.TextMessage;
+import java.util.concurrent.*;
+
+/**
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+public class JmsEndpointPersistentConsumerTest extends AbstractTestNGUnitTest {
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection brokerConnection;
+    private JmsEndpoint endpoint;
+
+    @BeforeClass
+    public void setupBroker() throws JMSException {
+        connectionFactory = new ActiveMQConnectionFactory("vm://persistentConsumerBroker?broker.persistent=false&broker.useJmx=false");
+        connectionFactory.setWatchTopicAdvisories(false);
+
+        // keep embedded broker alive while producers open and close connections
+        brokerConnection = connectionFactory.createConnection();
+        brokerConnection.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void shutdownBroker() throws JMSException {
+        brokerConnection.close();
+    }
+
+    @BeforeMethod
+    public void setupEndpoint() {
+        endpoint = new JmsEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+        endpoint.getEndpointConfiguration().setDestinationName("persistent.consumer.queue");
+        endpoint.getEndpointConfiguration().setPersistentConsumer(true);
+    }
+
+    @AfterMethod
+    public void destroyEndpoint() throws Exception {
+        endpoint.destroy();
+    }
+
+    @Test
+    public void testSelectiveReceive() {
+        SelectiveConsumer consumer = (SelectiveConsumer) endpoint.createConsumer();
+
+        endpoint.createProducer().send(new JmsMessage("Hello 1").correlationId("c1").setHeader("operation", "a"), context);
+        endpoint.createProducer().send(new JmsMessage("Hello 2").correlationId("c2").setHeader("operation", "b"), context);
+        endpoint.createProducer().send(new JmsMessage("Hello 3").correlationId("c3").setHeader("operation", "a").setHeader("count", 3), context);
+
+        Assert.assertEquals(consumer.receive("operation = 'b'", context, 5000L).getPayload(String.class), "Hello 2");
+        Assert.assertEquals(consumer.receive("JMSCorrelationID = 'c3' AND operation = 'a'", context, 5000L).getPayload(String.class), "Hello 3");
+        Assert.assertEquals(consumer.receive(context, 5000L).getPayload(String.class), "Hello 1");
+    }
+
+    @Test
+    public void testSelectorValueTypes() {
+        SelectiveConsumer consumer = (SelectiveConsumer) endpoint.createConsumer();
+
+        endpoint.createProducer().send(new JmsMessage("Hello 1").setHeader("count", 1).setHeader("name", "O'Brien"), context);
+        endpoint.createProducer().send(new JmsMessage("Hello 2").setHeader("count", 2).setHeader("valid", true), context);
+
+        Assert.assertEquals(consumer.receive("valid = TRUE AND count = 2", context, 5000L).getPayload(String.class), "Hello 2");
+        Assert.assertEquals(consumer.receive("name = 'O''Brien'", context, 5000L).getPayload(String.class), "Hello 1");
+    }
+
+    @Test
+    public void testNumericSelectorValues() {
+        SelectiveConsumer consumer = (SelectiveConsumer) endpoint.createConsumer();
+
+        endpoint.createProducer().send(new JmsMessage("Hello 1").setHeader("count", "1"), context);
+        endpoint.createProducer().send(new JmsMessage("Hello 2").setHeader("count", 1), context);
+        endpoint.createProducer().send(new JmsMessage("Hello 3").setHeader("amount", 2.50D), context);
+
+        Assert.assertEquals(consumer.receive("count = 1.0", context, 5000L).getPayload(String.class), "Hello 2");
+        Assert.assertEquals(consumer.receive("amount = 2.5", context, 5000L).getPayload(String.class), "Hello 3");
+        Assert.assertEquals(consumer.receive("count = '1'", context, 5000L).getPayload(String.class), "Hello 1");
+    }
+
+    @Test
+    public void testBufferCapacity() throws Exception {
+        endpoint.getEndpointConfiguration().setPersistentConsumerCapacity(2);
+        JmsMessageBuffer buffer = new JmsMessageBuffer(endpoint.getEndpointConfiguration());
+        buffer.start();
+
+        try {
+            for (int i = 1; i <= 5; i++) {
+                endpoint.createProducer().send(new JmsMessage("Hello " + i), context);
+            }
+
+            long timeout = System.currentTimeMillis() + 5000L;
+            while (buffer.size() < 2 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50L);
+            }
+
+            Thread.sleep(200L);
+            Assert.assertEquals(buffer.size(), 2);
+
+            for (int i = 1; i <= 5; i++) {
+                Assert.assertEquals(((TextMessage) buffer.receive(null, 5000L)).getText(), "Hello " + i);
+            }
+        } finally {
+            buffer.destroy();
+        }
+    }
+
+    @Test
+    public void testStopKeepsBufferedMessages() throws Exception {
+        JmsMessageBuffer buffer = new JmsMessageBuffer(endpoint.getEndpointConfiguration());
+        buffer.start();
+
+        try {
+            endpoint.createProducer().send(new JmsMessage("Hello 1"), context);
+            endpoint.createProducer().send(new JmsMessage("Hello 2"), context);
+
+            long timeout = System.currentTimeMillis() + 5000L;
+            while (buffer.size() < 2 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50L);
+            }
+
+            buffer.stop();
+            Assert.assertEquals(buffer.size(), 2);
+            Assert.assertEquals(((TextMessage) buffer.receive(null, 5000L)).getText(), "Hello 1");
+            Assert.assertEquals(((TextMessage) buffer.receive(null, 5000L)).getText(), "Hello 2");
+        } finally {
+            buffer.destroy();
+        }
+
+        Assert.assertEquals(buffer.size(), 0);
+    }
+
+    @Test
+    public void testWaitForMatchingMessage() throws Exception {
+        final SelectiveConsumer consumer = (SelectiveConsumer) endpoint.createConsumer();
+
+        Future<Message> received = Executors.newSingleThreadExecutor().submit(new Callable<Message>() {
+            @Override
+            public Message call() throws Exception {
+                return consumer.receive("operation = 'late'", context, 5000L);
+            }
+        });
+
+        endpoint.createProducer().send(new JmsMessage("Other").setHeader("operation", "other"), context);
+        endpoint.createProducer().send(new JmsMessage("Late").setHeader("operation", "late"), context);
+
+        Assert.assertEquals(received.get(5000L, TimeUnit.MILLISECONDS).getPayload(String.class), "Late");
+        Assert.assertEquals(consumer.receive(context, 5000L).getPayload(String.class), "Other");
+    }
+
+    @Test(expectedExceptions = ActionTimeoutException.class)
+    public void testReceiveTimeout() {
+        endpoint.createProducer().send(new JmsMessage("Hello").setHeader("operation", "a"), context);
+
+        SelectiveConsumer consumer = (SelectiveConsumer) endpoint.createConsumer();
+        try {
+            consumer.receive("operation = 'b'", context, 500L);
+        } finally {
+            Assert.assertEquals(consumer.receive(context, 5000L).getPayload(String.class), "Hello");
+        }
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Unsupported message selector.*")
+    public void testUnsupportedSelector() {
+        ((SelectiveConsumer) endpoint.createConsumer()).receive("operation LIKE 'a%'", context, 500L);
+    }
+}
@@ -67,6 +67,12 @@ public @interface RmiServerConfig {
      */
     boolean createRegistry() default false;
 
+    /**
+     * Object mode passing service invocations without XML marshalling.
+     * @return
+     */
+    boolean objectMode() default false;
+
     /**
      * Message converter.
      * @return
@@ -58,6 +58,7 @@ public class RmiServerConfigParser extends AbstractAnnotationConfigParser<RmiSer
         }
 
         builder.createRegistry(annotation.createRegistry());
+        builder.objectMode(annotation.objectMode());
 
         builder.remoteInterfaces(annotation.remoteInterfaces());
 
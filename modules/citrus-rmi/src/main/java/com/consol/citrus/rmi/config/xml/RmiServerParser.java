@@ -34,6 +34,7 @@ public class RmiServerParser extends AbstractServerParser {
     protected void parseServer(BeanDefinitionBuilder serverBuilder, Element element, ParserContext parserContext) {
         BeanDefinitionBuilder configurationBuilder = BeanDefinitionBuilder.genericBeanDefinition(RmiEndpointConfiguration.class);
         new RmiEndpointConfigurationParser().parseEndpointConfiguration(configurationBuilder, element);
+        BeanDefinitionParserUtils.setPropertyValue(configurationBuilder, element.getAttribute("object-mode"), "objectMode");
 
         BeanDefinitionParserUtils.setPropertyValue(serverBuilder, element.getAttribute("interface"), "remoteInterfaces");
         BeanDefinitionParserUtils.setPropertyValue(serverBuilder, element.getAttribute("create-registry"), "createRegistry");
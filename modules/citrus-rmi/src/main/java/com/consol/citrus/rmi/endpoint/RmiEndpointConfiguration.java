@@ -46,6 +46,9 @@ public class RmiEndpointConfiguration extends AbstractPollableEndpointConfigurat
 
     private String method;
 
+    /** Pass service invocations and results as model objects without XML marshalling */
+    private boolean objectMode = false;
+
     /** RMI registry */
     private Registry registry;
 
@@ -134,6 +137,23 @@ public class RmiEndpointConfiguration extends AbstractPollableEndpointConfigurat
         this.method = method;
     }
 
+    /**
+     * Gets the object mode.
+     * @return
+     */
+    public boolean isObjectMode() {
+        return objectMode;
+    }
+
+    /**
+     * Enables or disables object mode. In object mode service invocations are passed to the endpoint adapter
+     * as model objects without XML marshalling.
+     * @param objectMode
+     */
+    public void setObjectMode(boolean objectMode) {
+        this.objectMode = objectMode;
+    }
+
     public MessageCorrelator getCorrelator() {
         return correlator;
     }
@@ -33,7 +33,8 @@ public class RmiMessage extends DefaultMessage {
     private RmiServiceInvocation serviceInvocation;
     private RmiServiceResult serviceResult;
 
-    private RmiMarshaller marshaller = new RmiMarshaller();
+    /** Marshaller shared by all messages */
+    private static final RmiMarshaller marshaller = new RmiMarshaller();
 
     /**
      * Prevent traditional instantiation.
@@ -116,6 +117,22 @@ public class RmiMessage extends DefaultMessage {
         return this;
     }
 
+    /**
+     * Gets the service invocation model object.
+     * @return
+     */
+    public RmiServiceInvocation getServiceInvocation() {
+        return serviceInvocation;
+    }
+
+    /**
+     * Gets the service result model object.
+     * @return
+     */
+    public RmiServiceResult getServiceResult() {
+        return serviceResult;
+    }
+
     @Override
     public <T> T getPayload(Class<T> type) {
         if (String.class.equals(type)) {
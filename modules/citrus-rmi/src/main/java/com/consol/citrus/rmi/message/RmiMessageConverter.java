@@ -49,10 +49,16 @@ public class RmiMessageConverter implements MessageConverter<RmiServiceInvocatio
 
     @Override
     public Message convertInbound(RmiServiceInvocation serviceInvocation, RmiEndpointConfiguration endpointConfiguration, TestContext context) {
-        StringResult payload = new StringResult();
-        endpointConfiguration.getMarshaller().marshal(serviceInvocation, payload);
+        Object payload;
+        if (endpointConfiguration.isObjectMode()) {
+            payload = serviceInvocation;
+        } else {
+            StringResult result = new StringResult();
+            endpointConfiguration.getMarshaller().marshal(serviceInvocation, result);
+            payload = result.toString();
+        }
 
-        return new DefaultMessage(payload.toString())
+        return new DefaultMessage(payload)
                 .setHeader(RmiMessageHeaders.RMI_INTERFACE, serviceInvocation.getRemote())
                 .setHeader(RmiMessageHeaders.RMI_METHOD, serviceInvocation.getMethod());
     }
@@ -54,15 +54,27 @@ public class RmiServiceInvocation {
      * @return
      */
     public static RmiServiceInvocation create(Object remoteTarget, Method method, Object[] args) {
-        RmiServiceInvocation serviceInvocation = new RmiServiceInvocation();
-
+        String remote;
         if (Proxy.isProxyClass(remoteTarget.getClass())) {
-            serviceInvocation.setRemote(method.getDeclaringClass().getName());
+            remote = method.getDeclaringClass().getName();
         } else {
-            serviceInvocation.setRemote(remoteTarget.getClass().getName());
+            remote = remoteTarget.getClass().getName();
         }
 
-        serviceInvocation.setMethod(method.getName());
+        return create(remote, method.getName(), args);
+    }
+
+    /**
+     * Static create method from already resolved remote interface name and method name.
+     * @param remote
+     * @param method
+     * @param args
+     * @return
+     */
+    public static RmiServiceInvocation create(String remote, String method, Object[] args) {
+        RmiServiceInvocation serviceInvocation = new RmiServiceInvocation();
+        serviceInvocation.setRemote(remote);
+        serviceInvocation.setMethod(method);
 
         if (args != null) {
             serviceInvocation.setArgs(new RmiServiceInvocation.Args());
@@ -71,13 +83,7 @@ public class RmiServiceInvocation {
                 MethodArg methodArg = new MethodArg();
 
                 methodArg.setValueObject(arg);
-                if (Map.class.isAssignableFrom(arg.getClass())) {
-                    methodArg.setType(Map.class.getName());
-                } else if (List.class.isAssignableFrom(arg.getClass())) {
-                    methodArg.setType(List.class.getName());
-                } else {
-                    methodArg.setType(arg.getClass().getName());
-                }
+                methodArg.setType(TypeCache.getTypeName(arg.getClass()));
 
                 serviceInvocation.getArgs().getArgs().add(methodArg);
             }
@@ -95,11 +101,7 @@ public class RmiServiceInvocation {
 
         if (args != null) {
             for (MethodArg arg : args.getArgs()) {
-                try {
-                    types.add(Class.forName(arg.getType()));
-                } catch (ClassNotFoundException e) {
-                    throw new CitrusRuntimeException("Failed to access method argument type", e);
-                }
+                types.add(TypeCache.forName(arg.getType()));
             }
         }
 
@@ -113,54 +115,50 @@ public class RmiServiceInvocation {
     public Object[] getArgValues(ApplicationContext applicationContext) {
         List<Object> argValues = new ArrayList<>();
 
-        try {
-            if (args != null) {
-                for (MethodArg methodArg : args.getArgs()) {
-                    Class argType = Class.forName(methodArg.getType());
-                    Object value = null;
-
-                    if (methodArg.getValueObject() != null) {
-                        value = methodArg.getValueObject();
-                    } else if (methodArg.getValue() != null) {
-                        value = methodArg.getValue();
-                    } else if (StringUtils.hasText(methodArg.getRef()) && applicationContext != null) {
-                        value = applicationContext.getBean(methodArg.getRef());
+        if (args != null) {
+            for (MethodArg methodArg : args.getArgs()) {
+                Class argType = TypeCache.forName(methodArg.getType());
+                Object value = null;
+
+                if (methodArg.getValueObject() != null) {
+                    value = methodArg.getValueObject();
+                } else if (methodArg.getValue() != null) {
+                    value = methodArg.getValue();
+                } else if (StringUtils.hasText(methodArg.getRef()) && applicationContext != null) {
+                    value = applicationContext.getBean(methodArg.getRef());
+                }
+
+                if (value == null) {
+                    argValues.add(null);
+                } else if (argType.isInstance(value) || argType.isAssignableFrom(value.getClass())) {
+                    argValues.add(argType.cast(value));
+                } else if(Map.class.equals(argType)) {
+                    String mapString = value.toString();
+
+                    Properties props = new Properties();
+                    try {
+                        props.load(new StringReader(mapString.substring(1, mapString.length() - 1).replace(", ", "\n")));
+                    } catch (IOException e) {
+                        throw new CitrusRuntimeException("Failed to reconstruct method argument of type map", e);
+                    }
+                    Map<String, String> map = new LinkedHashMap<>();
+                    for (Map.Entry<Object, Object> entry : props.entrySet()) {
+                        map.put(entry.getKey().toString(), entry.getValue().toString());
                     }
 
-                    if (value == null) {
-                        argValues.add(null);
-                    } else if (argType.isInstance(value) || argType.isAssignableFrom(value.getClass())) {
-                        argValues.add(argType.cast(value));
-                    } else if(Map.class.equals(argType)) {
-                        String mapString = value.toString();
-
-                        Properties props = new Properties();
-                        try {
-                            props.load(new StringReader(mapString.substring(1, mapString.length() - 1).replace(", ", "\n")));
-                        } catch (IOException e) {
-                            throw new CitrusRuntimeException("Failed to reconstruct method argument of type map", e);
-                        }
-                        Map<String, String> map = new LinkedHashMap<>();
-                        for (Map.Entry<Object, Object> entry : props.entrySet()) {
-                            map.put(entry.getKey().toString(), entry.getValue().toString());
+                    argValues.add(map);
+                } else {
+                    try {
+                        argValues.add(new SimpleTypeConverter().convertIfNecessary(value, argType));
+                    } catch (ConversionNotSupportedException e) {
+                        if (String.class.equals(argType)) {
+                            argValues.add(value.toString());
                         }
 
-                        argValues.add(map);
-                    } else {
-                        try {
-                            argValues.add(new SimpleTypeConverter().convertIfNecessary(value, argType));
-                        } catch (ConversionNotSupportedException e) {
-                            if (String.class.equals(argType)) {
-                                argValues.add(value.toString());
-                            }
-
-                            throw e;
-                        }
+                        throw e;
                     }
                 }
             }
-        } catch (ClassNotFoundException e) {
-            throw new CitrusRuntimeException("Failed to construct method arg objects", e);
         }
 
         return argValues.toArray(new Object[argValues.size()]);
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2006-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.rmi.model;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches class lookups and type names used in RMI service invocation and result model objects so
+ * repeated invocations do not have to resolve the same types via reflection over and over again.
+ *
+ * @author Christoph Deppisch
+ * @since 2.7.2
+ */
+final class TypeCache {
+
+    /** Resolved classes by type name */
+    private static final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+    /** Model type names by class */
+    private static final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+    /**
+     * Prevent instantiation.
+     */
+    private TypeCache() {
+    }
+
+    /**
+     * Resolves class for given type name.
+     * @param typeName
+     * @return
+     */
+    static Class<?> forName(String typeName) {
+        Class<?> type = classes.get(typeName);
+
+        if (type == null) {
+            try {
+                type = ClassUtils.forName(typeName, TypeCache.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new CitrusRuntimeException("Failed to resolve type: " + typeName, e);
+            }
+
+            classes.put(typeName, type);
+        }
+
+        return type;
+    }
+
+    /**
+     * Gets model type name for given class. Map and list implementations are represented by their interface type.
+     * @param type
+     * @return
+     */
+    static String getTypeName(Class<?> type) {
+        String typeName = typeNames.get(type);
+
+        if (typeName == null) {
+            if (Map.class.isAssignableFrom(type)) {
+                typeName = Map.class.getName();
+            } else if (List.class.isAssignableFrom(type)) {
+                typeName = List.class.getName();
+            } else {
+                typeName = type.getName();
+            }
+
+            typeNames.put(type, typeName);
+        }
+
+        return typeName;
+    }
+}
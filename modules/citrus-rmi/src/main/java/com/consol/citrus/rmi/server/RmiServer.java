@@ -19,11 +19,14 @@ package com.consol.citrus.rmi.server;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.rmi.endpoint.RmiEndpointConfiguration;
+import com.consol.citrus.rmi.message.RmiMessage;
 import com.consol.citrus.rmi.model.RmiServiceInvocation;
 import com.consol.citrus.rmi.model.RmiServiceResult;
 import com.consol.citrus.server.AbstractServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -34,6 +37,8 @@ import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Christoph Deppisch
@@ -58,6 +63,9 @@ public class RmiServer extends AbstractServer implements InvocationHandler {
     private Remote proxy;
     private Registry registry;
 
+    /** Cached metadata of invoked remote methods */
+    private final Map<Method, MethodMetadata> methodMetadata = new ConcurrentHashMap<>();
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -79,27 +87,59 @@ public class RmiServer extends AbstractServer implements InvocationHandler {
             log.debug("Received message on RMI server: '" + endpointConfiguration.getBinding() + "'");
         }
 
+        MethodMetadata metadata = getMethodMetadata(proxy, method);
         Message response = getEndpointAdapter().handleMessage(endpointConfiguration.getMessageConverter()
-                .convertInbound(RmiServiceInvocation.create(proxy, method, args), endpointConfiguration, null));
-
-        RmiServiceResult serviceResult = null;
-        if (response != null && response.getPayload() != null) {
-            if (response.getPayload() instanceof RmiServiceResult) {
-                serviceResult = (RmiServiceResult) response.getPayload();
-            } else if (response.getPayload() instanceof String) {
-                serviceResult = (RmiServiceResult) endpointConfiguration.getMarshaller().unmarshal(response.getPayload(Source.class));
-            }
+                .convertInbound(RmiServiceInvocation.create(metadata.remote, metadata.method, args), endpointConfiguration, null));
+
+        if (response == null || response.getPayload() == null) {
+            return null;
+        }
 
-            if (serviceResult != null && StringUtils.hasText(serviceResult.getException())) {
+        Object payload;
+        if (response instanceof RmiMessage && ((RmiMessage) response).getServiceResult() != null) {
+            payload = ((RmiMessage) response).getServiceResult();
+        } else {
+            payload = response.getPayload();
+        }
+
+        if (payload instanceof String) {
+            payload = endpointConfiguration.getMarshaller().unmarshal(response.getPayload(Source.class));
+        }
+
+        if (payload instanceof RmiServiceResult) {
+            RmiServiceResult serviceResult = (RmiServiceResult) payload;
+            if (StringUtils.hasText(serviceResult.getException())) {
                 throw new RemoteException(serviceResult.getException());
             }
+
+            return metadata.convertResult(serviceResult.getResultObject(endpointConfiguration.getApplicationContext()));
         }
 
-        if (serviceResult != null) {
-            return serviceResult.getResultObject(endpointConfiguration.getApplicationContext());
-        } else {
-            return null;
+        return metadata.convertResult(payload);
+    }
+
+    /**
+     * Gets cached metadata for given method or creates new metadata on first invocation.
+     * @param proxy
+     * @param method
+     * @return
+     */
+    private MethodMetadata getMethodMetadata(Object proxy, Method method) {
+        MethodMetadata metadata = methodMetadata.get(method);
+
+        if (metadata == null) {
+            String remote;
+            if (Proxy.isProxyClass(proxy.getClass())) {
+                remote = method.getDeclaringClass().getName();
+            } else {
+                remote = proxy.getClass().getName();
+            }
+
+            metadata = new MethodMetadata(remote, method);
+            methodMetadata.put(method, metadata);
         }
+
+        return metadata;
     }
 
     @Override
@@ -176,6 +216,39 @@ public class RmiServer extends AbstractServer implements InvocationHandler {
         this.remoteInterfaces = remoteInterfaces;
     }
 
+    /**
+     * Remote method metadata resolved once per method. Holds remote interface and method names used in service invocations
+     * as well as the method return type that service results get converted to.
+     */
+    private static final class MethodMetadata {
+        private final String remote;
+        private final String method;
+        private final Class<?> returnType;
+
+        MethodMetadata(String remote, Method method) {
+            this.remote = remote;
+            this.method = method.getName();
+            this.returnType = ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType());
+        }
+
+        /**
+         * Converts result object to method return type if necessary.
+         * @param result
+         * @return
+         */
+        Object convertResult(Object result) {
+            if (result == null || Void.class.equals(returnType)) {
+                return null;
+            }
+
+            if (returnType.isInstance(result)) {
+                return result;
+            }
+
+            return new SimpleTypeConverter().convertIfNecessary(result, returnType);
+        }
+    }
+
     public boolean isCreateRegistry() {
         return createRegistry;
     }
@@ -97,6 +97,16 @@ public class RmiServerBuilder  extends AbstractEndpointBuilder<RmiServer> {
         return this;
     }
 
+    /**
+     * Sets the object mode property.
+     * @param objectMode
+     * @return
+     */
+    public RmiServerBuilder objectMode(boolean objectMode) {
+        endpoint.getEndpointConfiguration().setObjectMode(objectMode);
+        return this;
+    }
+
     /**
      * Sets the message converter.
      * @param messageConverter
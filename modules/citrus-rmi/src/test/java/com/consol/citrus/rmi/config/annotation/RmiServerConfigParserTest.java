@@ -52,6 +52,7 @@ public class RmiServerConfigParserTest extends AbstractTestNGUnitTest {
             binding="newsService",
             remoteInterfaces = { NewsService.class },
             createRegistry=true,
+            objectMode=true,
             messageConverter="messageConverter",
             timeout=10000L)
     private RmiServer rmiServer2;
@@ -92,6 +93,7 @@ public class RmiServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(rmiServer1.getEndpointConfiguration().getPort(), Registry.REGISTRY_PORT);
         Assert.assertEquals(rmiServer1.getEndpointConfiguration().getBinding(), "helloService");
         Assert.assertFalse(rmiServer1.isCreateRegistry());
+        Assert.assertFalse(rmiServer1.getEndpointConfiguration().isObjectMode());
         Assert.assertEquals(rmiServer1.getRemoteInterfaces().size(), 1L);
         Assert.assertEquals(rmiServer1.getRemoteInterfaces().get(0), HelloService.class);
         Assert.assertEquals(rmiServer1.getEndpointConfiguration().getTimeout(), 5000L);
@@ -102,6 +104,7 @@ public class RmiServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(rmiServer2.getEndpointConfiguration().getPort(), 2099);
         Assert.assertEquals(rmiServer2.getEndpointConfiguration().getBinding(), "newsService");
         Assert.assertTrue(rmiServer2.isCreateRegistry());
+        Assert.assertTrue(rmiServer2.getEndpointConfiguration().isObjectMode());
         Assert.assertEquals(rmiServer2.getRemoteInterfaces().size(), 1L);
         Assert.assertEquals(rmiServer2.getRemoteInterfaces().get(0), NewsService.class);
         Assert.assertEquals(rmiServer2.getEndpointConfiguration().getTimeout(), 10000L);
@@ -46,6 +46,7 @@ public class RmiServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(rmiServer.getEndpointConfiguration().getPort(), Registry.REGISTRY_PORT);
         Assert.assertEquals(rmiServer.getEndpointConfiguration().getBinding(), "helloService");
         Assert.assertFalse(rmiServer.isCreateRegistry());
+        Assert.assertFalse(rmiServer.getEndpointConfiguration().isObjectMode());
         Assert.assertEquals(rmiServer.getRemoteInterfaces().size(), 1L);
         Assert.assertEquals(rmiServer.getRemoteInterfaces().get(0), HelloService.class);
         Assert.assertEquals(rmiServer.getEndpointConfiguration().getTimeout(), 5000L);
@@ -57,6 +58,7 @@ public class RmiServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(rmiServer.getEndpointConfiguration().getPort(), 2099);
         Assert.assertEquals(rmiServer.getEndpointConfiguration().getBinding(), "newsService");
         Assert.assertTrue(rmiServer.isCreateRegistry());
+        Assert.assertTrue(rmiServer.getEndpointConfiguration().isObjectMode());
         Assert.assertEquals(rmiServer.getRemoteInterfaces().size(), 1L);
         Assert.assertEquals(rmiServer.getRemoteInterfaces().get(0), NewsService.class);
         Assert.assertEquals(rmiServer.getEndpointConfiguration().getTimeout(), 10000L);
@@ -21,6 +21,7 @@ import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.rmi.message.RmiMessage;
 import com.consol.citrus.rmi.message.RmiMessageHeaders;
+import com.consol.citrus.rmi.model.RmiServiceInvocation;
 import com.consol.citrus.rmi.remote.HelloService;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
@@ -152,4 +153,53 @@ public class RmiServerTest extends AbstractTestNGUnitTest {
             Assert.fail("Faidled to invoke remote service", throwable);
         }
     }
+
+    @Test
+    public void testServiceInvocationObjectMode() throws Exception {
+        RmiServer rmiServer = new RmiServer();
+        rmiServer.setRemoteInterfaces(Arrays.<Class<? extends Remote>>asList(HelloService.class));
+        rmiServer.setEndpointAdapter(endpointAdapter);
+        rmiServer.getEndpointConfiguration().setRegistry(registry);
+        rmiServer.getEndpointConfiguration().setBinding("helloService");
+        rmiServer.getEndpointConfiguration().setObjectMode(true);
+
+        final Remote[] remote = new Remote[1];
+
+        reset(registry, endpointAdapter);
+
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                remote[0] = (Remote) invocationOnMock.getArguments()[1];
+                return null;
+            }
+        }).when(registry).bind(eq("helloService"), any(Remote.class));
+
+        doAnswer(new Answer<Message>() {
+            @Override
+            public Message answer(InvocationOnMock invocation) throws Throwable {
+                Message message = (Message) invocation.getArguments()[0];
+
+                Assert.assertTrue(message.getPayload() instanceof RmiServiceInvocation);
+                Assert.assertEquals(message.getHeader(RmiMessageHeaders.RMI_INTERFACE), HelloService.class.getName());
+                Assert.assertEquals(message.getHeader(RmiMessageHeaders.RMI_METHOD), "getHelloCount");
+
+                RmiServiceInvocation serviceInvocation = (RmiServiceInvocation) message.getPayload();
+                Assert.assertEquals(serviceInvocation.getRemote(), HelloService.class.getName());
+                Assert.assertEquals(serviceInvocation.getMethod(), "getHelloCount");
+                Assert.assertNull(serviceInvocation.getArgs());
+
+                return RmiMessage.result(10);
+            }
+        }).when(endpointAdapter).handleMessage(any(Message.class));
+
+        rmiServer.startup();
+
+        try {
+            Assert.assertEquals(((HelloService)remote[0]).getHelloCount(), 10);
+            Assert.assertEquals(((HelloService)remote[0]).getHelloCount(), 10);
+        } catch (Throwable throwable) {
+            Assert.fail("Failed to invoke remote service", throwable);
+        }
+    }
 }